@@ -16,6 +16,7 @@
 package org.projectnessie.client.builder;
 
 import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.stream.Stream;
 import org.projectnessie.client.api.GetCommitLogBuilder;
 import org.projectnessie.error.NessieNotFoundException;
@@ -80,7 +81,17 @@ public abstract class BaseGetCommitLogBuilder<PARAMS>
   @Override
   public Stream<LogEntry> stream() throws NessieNotFoundException {
     PARAMS p = params();
+    return stream(pageToken -> paramsForPage.apply(p, pageToken));
+  }
+
+  /**
+   * Retrieves the entries of all pages, using the parameters returned by the given function for
+   * the page tokens. Protocol specific implementations may override this function to read the
+   * entries while those are received.
+   */
+  protected Stream<LogEntry> stream(Function<String, PARAMS> pageParams)
+      throws NessieNotFoundException {
     return StreamingUtil.generateStream(
-        LogResponse::getLogEntries, pageToken -> get(paramsForPage.apply(p, pageToken)));
+        LogResponse::getLogEntries, pageToken -> get(pageParams.apply(pageToken)));
   }
 }
@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.stream.Stream;
 import org.projectnessie.client.api.GetDiffBuilder;
 import org.projectnessie.error.NessieNotFoundException;
@@ -129,7 +130,17 @@ public abstract class BaseGetDiffBuilder<PARAMS> implements GetDiffBuilder {
   @Override
   public Stream<DiffResponse.DiffEntry> stream() throws NessieNotFoundException {
     PARAMS p = params();
+    return stream(pageToken -> paramsForPage.apply(p, pageToken));
+  }
+
+  /**
+   * Retrieves the entries of all pages, using the parameters returned by the given function for
+   * the page tokens. Protocol specific implementations may override this function to read the
+   * entries while those are received.
+   */
+  protected Stream<DiffResponse.DiffEntry> stream(Function<String, PARAMS> pageParams)
+      throws NessieNotFoundException {
     return StreamingUtil.generateStream(
-        DiffResponse::getDiffs, pageToken -> get(paramsForPage.apply(p, pageToken)));
+        DiffResponse::getDiffs, pageToken -> get(pageParams.apply(pageToken)));
   }
 }
@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.stream.Stream;
 import org.projectnessie.client.api.GetEntriesBuilder;
 import org.projectnessie.error.NessieNotFoundException;
@@ -111,7 +112,17 @@ public abstract class BaseGetEntriesBuilder<PARAMS>
   @Override
   public Stream<Entry> stream() throws NessieNotFoundException {
     PARAMS p = params();
+    return stream(pageToken -> paramsForPage.apply(p, pageToken));
+  }
+
+  /**
+   * Retrieves the entries of all pages, using the parameters returned by the given function for
+   * the page tokens. Protocol specific implementations may override this function to read the
+   * entries while those are received.
+   */
+  protected Stream<Entry> stream(Function<String, PARAMS> pageParams)
+      throws NessieNotFoundException {
     return StreamingUtil.generateStream(
-        EntriesResponse::getEntries, pageToken -> get(paramsForPage.apply(p, pageToken)));
+        EntriesResponse::getEntries, pageToken -> get(pageParams.apply(pageToken)));
   }
 }
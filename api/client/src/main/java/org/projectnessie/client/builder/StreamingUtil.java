@@ -15,8 +15,10 @@
  */
 package org.projectnessie.client.builder;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Spliterator;
+import java.util.Spliterators.AbstractSpliterator;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Stream;
@@ -49,6 +51,94 @@ public final class StreamingUtil {
     return new ResultStreamPaginator<>(entriesExtractor, pageFetcher).generateStream();
   }
 
+  /**
+   * A response page, of which the entries are read incrementally while being consumed, for example
+   * from a streaming HTTP response.
+   *
+   * @param <E> entry type
+   * @param <R> REST result page type
+   */
+  public interface StreamedPage<E, R extends PaginatedResponse> extends Iterator<E>, AutoCloseable {
+
+    /**
+     * The response page, which is available after all entries have been consumed and provides the
+     * paging information. The entries of the returned response are not used.
+     */
+    R response();
+
+    @Override
+    void close();
+  }
+
+  @FunctionalInterface
+  public interface StreamedPageFetcher<E, R extends PaginatedResponse> {
+    StreamedPage<E, R> fetchPage(String pageToken) throws NessieNotFoundException;
+  }
+
+  /**
+   * Like {@link #generateStream(Function, PageFetcher)}, but for pages of which the entries are
+   * consumed while those are read. The first page is fetched eagerly to propagate {@link
+   * NessieNotFoundException}. Closing the returned stream closes the current page.
+   */
+  public static <ENTRY, RESP extends PaginatedResponse> Stream<ENTRY> generateStreamFromPages(
+      StreamedPageFetcher<ENTRY, RESP> pageFetcher) throws NessieNotFoundException {
+    StreamedPagesSpliterator<ENTRY, RESP> spliterator =
+        new StreamedPagesSpliterator<>(pageFetcher, pageFetcher.fetchPage(null));
+    return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+  }
+
+  static final class StreamedPagesSpliterator<E, R extends PaginatedResponse>
+      extends AbstractSpliterator<E> {
+
+    private final StreamedPageFetcher<E, R> fetcher;
+    private StreamedPage<E, R> currentPage;
+    private boolean emptyPage;
+
+    StreamedPagesSpliterator(StreamedPageFetcher<E, R> fetcher, StreamedPage<E, R> firstPage) {
+      super(Long.MAX_VALUE, 0);
+      this.fetcher = fetcher;
+      this.currentPage = firstPage;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super E> action) {
+      while (currentPage != null) {
+        if (currentPage.hasNext()) {
+          emptyPage = false;
+          action.accept(currentPage.next());
+          return true;
+        }
+
+        R response = currentPage.response();
+        close();
+        if (!response.isHasMore()) {
+          return false;
+        }
+        if (emptyPage) {
+          // an empty returned page is probably an error, let's assume something went wrong
+          throw new IllegalStateException(
+              "Backend returned empty page, but indicates there are more results");
+        }
+
+        try {
+          currentPage = fetcher.fetchPage(response.getToken());
+          emptyPage = true;
+        } catch (NessieNotFoundException e) {
+          throw new RuntimeException(e);
+        }
+      }
+      return false;
+    }
+
+    void close() {
+      StreamedPage<E, R> page = currentPage;
+      currentPage = null;
+      if (page != null) {
+        page.close();
+      }
+    }
+  }
+
   /**
    * Internal helper class to implement continuation token driven paging for a result stream.
    *
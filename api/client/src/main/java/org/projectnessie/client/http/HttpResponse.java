@@ -53,6 +53,26 @@ public class HttpResponse {
     }
   }
 
+  /**
+   * Read the entity from the underlying HTTP response as a sequence of JSON values, for example
+   * from a newline-delimited JSON response. Values are read while the returned iterator is
+   * consumed, the returned iterator must be closed.
+   *
+   * @return an iterator over the values, empty if the response has no content
+   * @throws HttpClientException if the entity cannot be read
+   */
+  public <V> MappingIterator<V> readEntities(Class<V> clazz) {
+    try {
+      InputStream is = responseContext.getInputStream();
+      if (is == null) {
+        return MappingIterator.emptyIterator();
+      }
+      return mapper.readerFor(clazz).readValues(is);
+    } catch (IOException e) {
+      throw new HttpClientException("Failed to read entity", e);
+    }
+  }
+
   private <V> V decodeEntity(ObjectReader reader, InputStream is) throws IOException {
     if (is != null) {
       CapturingInputStream capturing = new CapturingInputStream(is);
@@ -117,4 +137,8 @@ public class HttpResponse {
   public Status getStatus() {
     return responseContext.getStatus();
   }
+
+  public String getContentType() {
+    return responseContext.getContentType();
+  }
 }
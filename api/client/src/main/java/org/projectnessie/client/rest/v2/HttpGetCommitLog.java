@@ -15,12 +15,21 @@
  */
 package org.projectnessie.client.rest.v2;
 
+import static org.projectnessie.client.rest.v2.StreamedResponsePage.ACCEPT_STREAMING;
+import static org.projectnessie.client.rest.v2.StreamedResponsePage.streamedPage;
+
+import java.util.function.Function;
+import java.util.stream.Stream;
 import org.projectnessie.api.v2.params.CommitLogParams;
 import org.projectnessie.client.builder.BaseGetCommitLogBuilder;
+import org.projectnessie.client.builder.StreamingUtil;
 import org.projectnessie.client.http.HttpClient;
+import org.projectnessie.client.http.HttpRequest;
+import org.projectnessie.client.rest.v2.StreamedResponsePage.LogLine;
 import org.projectnessie.error.NessieNotFoundException;
 import org.projectnessie.model.FetchOption;
 import org.projectnessie.model.LogResponse;
+import org.projectnessie.model.LogResponse.LogEntry;
 import org.projectnessie.model.Reference;
 
 final class HttpGetCommitLog extends BaseGetCommitLogBuilder<CommitLogParams> {
@@ -44,6 +53,25 @@ final class HttpGetCommitLog extends BaseGetCommitLogBuilder<CommitLogParams> {
 
   @Override
   protected LogResponse get(CommitLogParams p) throws NessieNotFoundException {
+    return request(p).unwrap(NessieNotFoundException.class).get().readEntity(LogResponse.class);
+  }
+
+  @Override
+  protected Stream<LogEntry> stream(Function<String, CommitLogParams> pageParams)
+      throws NessieNotFoundException {
+    return StreamingUtil.generateStreamFromPages(
+        pageToken ->
+            streamedPage(
+                request(pageParams.apply(pageToken))
+                    .accept(ACCEPT_STREAMING)
+                    .unwrap(NessieNotFoundException.class)
+                    .get(),
+                LogLine.class,
+                LogResponse.class,
+                LogResponse::getLogEntries));
+  }
+
+  private HttpRequest request(CommitLogParams p) {
     return client
         .newRequest()
         .path("trees/{ref}/history")
@@ -54,9 +82,6 @@ final class HttpGetCommitLog extends BaseGetCommitLogBuilder<CommitLogParams> {
         .queryParam("page-token", p.pageToken())
         .queryParam("filter", p.filter())
         .queryParam("limit-hash", p.startHash())
-        .queryParam("fetch", FetchOption.getFetchOptionName(p.fetchOption()))
-        .unwrap(NessieNotFoundException.class)
-        .get()
-        .readEntity(LogResponse.class);
+        .queryParam("fetch", FetchOption.getFetchOptionName(p.fetchOption()));
   }
 }
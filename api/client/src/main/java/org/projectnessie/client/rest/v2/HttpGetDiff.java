@@ -15,13 +15,21 @@
  */
 package org.projectnessie.client.rest.v2;
 
+import static org.projectnessie.client.rest.v2.StreamedResponsePage.ACCEPT_STREAMING;
+import static org.projectnessie.client.rest.v2.StreamedResponsePage.streamedPage;
+
+import java.util.function.Function;
+import java.util.stream.Stream;
 import org.projectnessie.api.v2.params.DiffParams;
 import org.projectnessie.client.builder.BaseGetDiffBuilder;
+import org.projectnessie.client.builder.StreamingUtil;
 import org.projectnessie.client.http.HttpClient;
 import org.projectnessie.client.http.HttpRequest;
+import org.projectnessie.client.rest.v2.StreamedResponsePage.DiffLine;
 import org.projectnessie.error.NessieNotFoundException;
 import org.projectnessie.model.ContentKey;
 import org.projectnessie.model.DiffResponse;
+import org.projectnessie.model.DiffResponse.DiffEntry;
 import org.projectnessie.model.Reference;
 
 final class HttpGetDiff extends BaseGetDiffBuilder<DiffParams> {
@@ -50,6 +58,28 @@ final class HttpGetDiff extends BaseGetDiffBuilder<DiffParams> {
 
   @Override
   public DiffResponse get(DiffParams params) throws NessieNotFoundException {
+    return request(params)
+        .unwrap(NessieNotFoundException.class)
+        .get()
+        .readEntity(DiffResponse.class);
+  }
+
+  @Override
+  protected Stream<DiffEntry> stream(Function<String, DiffParams> pageParams)
+      throws NessieNotFoundException {
+    return StreamingUtil.generateStreamFromPages(
+        pageToken ->
+            streamedPage(
+                request(pageParams.apply(pageToken))
+                    .accept(ACCEPT_STREAMING)
+                    .unwrap(NessieNotFoundException.class)
+                    .get(),
+                DiffLine.class,
+                DiffResponse.class,
+                DiffResponse::getDiffs));
+  }
+
+  private HttpRequest request(DiffParams params) {
     HttpRequest req =
         client
             .newRequest()
@@ -72,6 +102,6 @@ final class HttpGetDiff extends BaseGetDiffBuilder<DiffParams> {
     if (k != null) {
       req.queryParam("prefix-key", api.toPathString(k));
     }
-    return req.unwrap(NessieNotFoundException.class).get().readEntity(DiffResponse.class);
+    return req;
   }
 }
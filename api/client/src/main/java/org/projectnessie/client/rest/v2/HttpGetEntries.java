@@ -15,14 +15,22 @@
  */
 package org.projectnessie.client.rest.v2;
 
+import static org.projectnessie.client.rest.v2.StreamedResponsePage.ACCEPT_STREAMING;
+import static org.projectnessie.client.rest.v2.StreamedResponsePage.streamedPage;
+
+import java.util.function.Function;
+import java.util.stream.Stream;
 import org.projectnessie.api.v2.params.EntriesParams;
 import org.projectnessie.client.api.GetEntriesBuilder;
 import org.projectnessie.client.builder.BaseGetEntriesBuilder;
+import org.projectnessie.client.builder.StreamingUtil;
 import org.projectnessie.client.http.HttpClient;
 import org.projectnessie.client.http.HttpRequest;
+import org.projectnessie.client.rest.v2.StreamedResponsePage.EntriesLine;
 import org.projectnessie.error.NessieNotFoundException;
 import org.projectnessie.model.ContentKey;
 import org.projectnessie.model.EntriesResponse;
+import org.projectnessie.model.EntriesResponse.Entry;
 import org.projectnessie.model.Reference;
 
 final class HttpGetEntries extends BaseGetEntriesBuilder<EntriesParams> {
@@ -57,6 +65,25 @@ final class HttpGetEntries extends BaseGetEntriesBuilder<EntriesParams> {
 
   @Override
   protected EntriesResponse get(EntriesParams p) throws NessieNotFoundException {
+    return request(p).unwrap(NessieNotFoundException.class).get().readEntity(EntriesResponse.class);
+  }
+
+  @Override
+  protected Stream<Entry> stream(Function<String, EntriesParams> pageParams)
+      throws NessieNotFoundException {
+    return StreamingUtil.generateStreamFromPages(
+        pageToken ->
+            streamedPage(
+                request(pageParams.apply(pageToken))
+                    .accept(ACCEPT_STREAMING)
+                    .unwrap(NessieNotFoundException.class)
+                    .get(),
+                EntriesLine.class,
+                EntriesResponse.class,
+                EntriesResponse::getEntries));
+  }
+
+  private HttpRequest request(EntriesParams p) {
     HttpRequest req =
         client
             .newRequest()
@@ -79,6 +106,6 @@ final class HttpGetEntries extends BaseGetEntriesBuilder<EntriesParams> {
     if (k != null) {
       req.queryParam("prefix-key", api.toPathString(k));
     }
-    return req.unwrap(NessieNotFoundException.class).get().readEntity(EntriesResponse.class);
+    return req;
   }
 }
@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.client.rest.v2;
+
+import static org.projectnessie.api.v2.http.HttpTreeApi.APPLICATION_NDJSON;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import org.projectnessie.client.builder.StreamingUtil.StreamedPage;
+import org.projectnessie.client.http.HttpClientException;
+import org.projectnessie.client.http.HttpResponse;
+import org.projectnessie.model.DiffResponse;
+import org.projectnessie.model.DiffResponse.DiffEntry;
+import org.projectnessie.model.EntriesResponse;
+import org.projectnessie.model.EntriesResponse.Entry;
+import org.projectnessie.model.LogResponse;
+import org.projectnessie.model.LogResponse.LogEntry;
+import org.projectnessie.model.PaginatedResponse;
+
+/**
+ * Reads the entries of a streaming response, see {@link
+ * org.projectnessie.api.v2.http.HttpTreeApi#APPLICATION_NDJSON}, while those are consumed.
+ *
+ * <p>Servers that do not support streaming responses return the regular JSON response, the
+ * entries are then taken from that response.
+ */
+abstract class StreamedResponsePage<E, R extends PaginatedResponse>
+    implements StreamedPage<E, R> {
+
+  /** Value of the {@code Accept} header for requests that prefer a streaming response. */
+  static final String ACCEPT_STREAMING = APPLICATION_NDJSON + ", application/json;q=0.5";
+
+  static <E, R extends PaginatedResponse> StreamedPage<E, R> streamedPage(
+      HttpResponse response,
+      Class<? extends Line<E, R>> lineType,
+      Class<R> responseType,
+      Function<R, List<E>> entries) {
+    String contentType = response.getContentType();
+    if (contentType != null && contentType.startsWith(APPLICATION_NDJSON)) {
+      return new Streaming<>(response.readEntities(lineType));
+    }
+    return new Complete<>(response.readEntity(responseType), entries);
+  }
+
+  /** A line of a streaming response, contains either an entry or the trailing response. */
+  static class Line<E, R> {
+    public E entry;
+    public R response;
+  }
+
+  static final class EntriesLine extends Line<Entry, EntriesResponse> {}
+
+  static final class LogLine extends Line<LogEntry, LogResponse> {}
+
+  static final class DiffLine extends Line<DiffEntry, DiffResponse> {}
+
+  private static final class Streaming<E, R extends PaginatedResponse>
+      extends StreamedResponsePage<E, R> {
+    private final MappingIterator<? extends Line<E, R>> lines;
+    private E next;
+    private R response;
+
+    Streaming(MappingIterator<? extends Line<E, R>> lines) {
+      this.lines = lines;
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (next == null && response == null) {
+        if (!lines.hasNext()) {
+          throw new HttpClientException("Incomplete streaming response, trailing response missing");
+        }
+        Line<E, R> line = lines.next();
+        if (line.entry != null) {
+          next = line.entry;
+        } else if (line.response != null) {
+          response = line.response;
+        }
+      }
+      return next != null;
+    }
+
+    @Override
+    public E next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      E e = next;
+      next = null;
+      return e;
+    }
+
+    @Override
+    public R response() {
+      while (hasNext()) {
+        next();
+      }
+      return response;
+    }
+
+    @Override
+    public void close() {
+      try {
+        lines.close();
+      } catch (IOException e) {
+        throw new HttpClientException("Failed to close response", e);
+      }
+    }
+  }
+
+  private static final class Complete<E, R extends PaginatedResponse>
+      extends StreamedResponsePage<E, R> {
+    private final R response;
+    private final Iterator<E> entries;
+
+    Complete(R response, Function<R, List<E>> entries) {
+      this.response = response;
+      this.entries = entries.apply(response).iterator();
+    }
+
+    @Override
+    public boolean hasNext() {
+      return entries.hasNext();
+    }
+
+    @Override
+    public E next() {
+      return entries.next();
+    }
+
+    @Override
+    public R response() {
+      return response;
+    }
+
+    @Override
+    public void close() {}
+  }
+}
@@ -20,14 +20,17 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.annotation.Nullable;
 import org.junit.jupiter.api.Test;
 import org.projectnessie.client.builder.StreamingUtil.ResultStreamPaginator;
+import org.projectnessie.client.builder.StreamingUtil.StreamedPage;
 import org.projectnessie.error.NessieReferenceNotFoundException;
 import org.projectnessie.model.PaginatedResponse;
 
@@ -157,6 +160,97 @@ class TestResultStreamPaginator {
         .hasMessage("Backend returned empty page, but indicates there are more results");
   }
 
+  @Test
+  void testStreamedPages() throws Exception {
+    Iterator<String> expectedTokens = Arrays.asList(null, "token").iterator();
+    Iterator<MockStreamedPage> pages =
+        Arrays.asList(
+                new MockStreamedPage(true, "token", Arrays.asList("1", "2", "3")),
+                new MockStreamedPage(false, null, Arrays.asList("4", "5", "6")))
+            .iterator();
+    List<MockStreamedPage> fetched = new ArrayList<>();
+
+    try (Stream<String> stream =
+        StreamingUtil.generateStreamFromPages(
+            token -> {
+              assertEquals(expectedTokens.next(), token);
+              MockStreamedPage page = pages.next();
+              fetched.add(page);
+              return page;
+            })) {
+      assertThat(stream).containsExactly("1", "2", "3", "4", "5", "6");
+    }
+    assertThat(fetched).hasSize(2).allMatch(p -> p.closed);
+  }
+
+  @Test
+  void testStreamedPagesClosedEarly() throws Exception {
+    MockStreamedPage page = new MockStreamedPage(true, "token", Arrays.asList("1", "2", "3"));
+    try (Stream<String> stream = StreamingUtil.generateStreamFromPages(token -> page)) {
+      assertThat(stream.findFirst()).contains("1");
+    }
+    assertThat(page.closed).isTrue();
+  }
+
+  @Test
+  void testStreamedPagesNotFound() {
+    assertThatThrownBy(
+            () ->
+                StreamingUtil.<String, MockPaginatedResponse>generateStreamFromPages(
+                    token -> {
+                      throw new NessieReferenceNotFoundException("Ref not found");
+                    }))
+        .isInstanceOf(NessieReferenceNotFoundException.class)
+        .hasMessage("Ref not found");
+  }
+
+  @SuppressWarnings("ResultOfMethodCallIgnored")
+  @Test
+  void testStreamedPagesEmptyButMore() {
+    Iterator<MockStreamedPage> pages =
+        Arrays.asList(
+                new MockStreamedPage(true, "token", Arrays.asList("1", "2", "3")),
+                new MockStreamedPage(true, "wtf", Collections.emptyList()))
+            .iterator();
+    assertThatThrownBy(
+            () ->
+                StreamingUtil.generateStreamFromPages(token -> pages.next())
+                    .collect(Collectors.toList()))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("Backend returned empty page, but indicates there are more results");
+  }
+
+  private static class MockStreamedPage implements StreamedPage<String, MockPaginatedResponse> {
+    private final MockPaginatedResponse response;
+    private final Iterator<String> entries;
+    private boolean closed;
+
+    MockStreamedPage(boolean more, String token, List<String> elements) {
+      this.response = new MockPaginatedResponse(more, token, Collections.emptyList());
+      this.entries = elements.iterator();
+    }
+
+    @Override
+    public boolean hasNext() {
+      return entries.hasNext();
+    }
+
+    @Override
+    public String next() {
+      return entries.next();
+    }
+
+    @Override
+    public MockPaginatedResponse response() {
+      return response;
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+  }
+
   private static class MockPaginatedResponse implements PaginatedResponse {
     private final boolean more;
     private final String token;
@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.client.rest.v2;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.projectnessie.api.v2.http.HttpTreeApi.APPLICATION_NDJSON;
+import static org.projectnessie.client.rest.v2.StreamedResponsePage.streamedPage;
+import static org.projectnessie.model.EntriesResponse.Entry.entry;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.projectnessie.client.builder.StreamingUtil.StreamedPage;
+import org.projectnessie.client.http.HttpClientException;
+import org.projectnessie.client.http.HttpResponse;
+import org.projectnessie.client.http.ResponseContext;
+import org.projectnessie.client.http.Status;
+import org.projectnessie.client.rest.v2.StreamedResponsePage.EntriesLine;
+import org.projectnessie.model.Content;
+import org.projectnessie.model.ContentKey;
+import org.projectnessie.model.EntriesResponse;
+import org.projectnessie.model.EntriesResponse.Entry;
+
+class TestStreamedResponsePage {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private static final Entry ENTRY1 = entry(ContentKey.of("a"), Content.Type.ICEBERG_TABLE);
+  private static final Entry ENTRY2 = entry(ContentKey.of("b", "c"), Content.Type.NAMESPACE);
+
+  @Test
+  void streaming() throws Exception {
+    String body =
+        line("entry", ENTRY1)
+            + line("entry", ENTRY2)
+            + line("response", EntriesResponse.builder().isHasMore(true).token("next").build());
+
+    try (StreamedPage<Entry, EntriesResponse> page =
+        page(APPLICATION_NDJSON + ";charset=utf-8", body)) {
+      assertThat(drain(page)).containsExactly(ENTRY1, ENTRY2);
+      assertThat(page.hasNext()).isFalse();
+      assertThat(page.response())
+          .extracting(EntriesResponse::isHasMore, EntriesResponse::getToken)
+          .containsExactly(true, "next");
+    }
+  }
+
+  @Test
+  void streamingResponseBeforeAllEntriesConsumed() throws Exception {
+    String body = line("entry", ENTRY1) + line("response", EntriesResponse.builder().build());
+
+    try (StreamedPage<Entry, EntriesResponse> page = page(APPLICATION_NDJSON, body)) {
+      // response() skips the remaining entries
+      assertThat(page.response())
+          .extracting(EntriesResponse::isHasMore, EntriesResponse::getToken)
+          .containsExactly(false, null);
+      assertThat(page.hasNext()).isFalse();
+    }
+  }
+
+  @Test
+  void streamingWithoutTrailingResponse() throws Exception {
+    String body = line("entry", ENTRY1) + line("entry", ENTRY2);
+
+    try (StreamedPage<Entry, EntriesResponse> page = page(APPLICATION_NDJSON, body)) {
+      assertThat(page.next()).isEqualTo(ENTRY1);
+      assertThat(page.next()).isEqualTo(ENTRY2);
+      assertThatThrownBy(page::hasNext)
+          .isInstanceOf(HttpClientException.class)
+          .hasMessage("Incomplete streaming response, trailing response missing");
+    }
+  }
+
+  @Test
+  void streamingEmptyBody() {
+    try (StreamedPage<Entry, EntriesResponse> page = page(APPLICATION_NDJSON, "")) {
+      assertThatThrownBy(page::response)
+          .isInstanceOf(HttpClientException.class)
+          .hasMessage("Incomplete streaming response, trailing response missing");
+    }
+  }
+
+  @Test
+  void jsonResponse() throws Exception {
+    String body =
+        MAPPER.writeValueAsString(
+            EntriesResponse.builder()
+                .addEntries(ENTRY1, ENTRY2)
+                .isHasMore(true)
+                .token("next")
+                .build());
+
+    try (StreamedPage<Entry, EntriesResponse> page = page("application/json", body)) {
+      assertThat(drain(page)).containsExactly(ENTRY1, ENTRY2);
+      assertThat(page.response())
+          .extracting(EntriesResponse::isHasMore, EntriesResponse::getToken)
+          .containsExactly(true, "next");
+    }
+  }
+
+  private static String line(String field, Object value) throws Exception {
+    return MAPPER.writeValueAsString(Map.of(field, value)) + "\n";
+  }
+
+  private static List<Entry> drain(StreamedPage<Entry, EntriesResponse> page) {
+    List<Entry> entries = new ArrayList<>();
+    page.forEachRemaining(entries::add);
+    return entries;
+  }
+
+  private static StreamedPage<Entry, EntriesResponse> page(String contentType, String body) {
+    InputStream input = new ByteArrayInputStream(body.getBytes(UTF_8));
+    ResponseContext context =
+        new ResponseContext() {
+          @Override
+          public Status getStatus() {
+            return Status.OK;
+          }
+
+          @Override
+          public InputStream getInputStream() {
+            return input;
+          }
+
+          @Override
+          public String getContentType() {
+            return contentType;
+          }
+
+          @Override
+          public URI getRequestedUri() {
+            return URI.create("http://localhost/api/v2/trees/main/entries");
+          }
+        };
+    return streamedPage(
+        new HttpResponse(context, MAPPER),
+        EntriesLine.class,
+        EntriesResponse.class,
+        EntriesResponse::getEntries);
+  }
+}
@@ -85,6 +85,21 @@ import org.projectnessie.model.ser.Views;
 @Tag(name = "v2")
 public interface HttpTreeApi extends TreeApi {
 
+  /**
+   * Media type of the streaming responses of the entries, commit log and diff endpoints, requested
+   * via the {@code Accept} header.
+   *
+   * <p>Streaming responses are newline-delimited JSON: every line is a JSON object. Each entry of
+   * the page is written as soon as it is produced as {@code {"entry": <entry>}}, the last line is
+   * {@code {"response": <response>}}, containing the regular response object without the entries,
+   * for example with {@code hasMore} and {@code token}. A response without that trailing line is
+   * incomplete.
+   *
+   * <p>Streaming responses are only returned if explicitly accepted by the client, requests that
+   * accept any media type receive the regular JSON response.
+   */
+  String APPLICATION_NDJSON = "application/x-ndjson";
+
   @Override
   @GET
   @jakarta.ws.rs.GET
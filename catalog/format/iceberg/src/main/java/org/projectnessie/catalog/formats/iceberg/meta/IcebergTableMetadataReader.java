@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.catalog.formats.iceberg.meta;
+
+import static org.projectnessie.catalog.formats.iceberg.meta.IcebergTableMetadata.NO_SNAPSHOT_ID;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming reader for Iceberg table metadata JSON that only retains the parts that are needed to
+ * build a Nessie table snapshot.
+ *
+ * <p>Iceberg table metadata files of tables with a long history are dominated by the {@code
+ * snapshots}, {@code snapshot-log}, {@code metadata-log} and statistics arrays, of which Nessie
+ * only needs the entries for the current snapshot. This reader processes the JSON at the token
+ * level, drops the history logs and all snapshots and statistics that do not belong to the current
+ * snapshot while parsing, and only deserializes the retained tokens into an {@link
+ * IcebergTableMetadata}. The heap usage is therefore proportional to the retained parts and not to
+ * the size of the metadata file.
+ *
+ * <p>The returned {@link IcebergTableMetadata} is <em>not</em> a faithful representation of the
+ * metadata file and must not be written back.
+ */
+public final class IcebergTableMetadataReader {
+  private IcebergTableMetadataReader() {}
+
+  static final String CURRENT_SNAPSHOT_ID = "current-snapshot-id";
+  static final String SNAPSHOT_ID = "snapshot-id";
+  static final String SNAPSHOTS = "snapshots";
+  static final String STATISTICS = "statistics";
+  static final String PARTITION_STATISTICS = "partition-statistics";
+  static final String SNAPSHOT_LOG = "snapshot-log";
+  static final String METADATA_LOG = "metadata-log";
+
+  /**
+   * Reads the Iceberg table metadata from the given input, retaining only the current snapshot and
+   * its statistics, see {@link IcebergTableMetadataReader}.
+   */
+  public static IcebergTableMetadata readCurrentTableMetadata(InputStream input)
+      throws IOException {
+    ObjectMapper mapper = IcebergJson.objectMapper();
+    try (JsonParser parser = mapper.createParser(input)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        throw new JsonParseException(parser, "Iceberg table metadata must be a JSON object");
+      }
+
+      TokenBuffer retained = new TokenBuffer(parser);
+      retained.writeStartObject();
+
+      // Iceberg writes 'current-snapshot-id' before the 'snapshots' and statistics arrays, but
+      // that is not guaranteed. If it has not been seen yet, all elements are collected and
+      // filtered at the end.
+      Long currentSnapshotId = null;
+      List<JsonNode> snapshots = new ArrayList<>();
+      List<JsonNode> statistics = new ArrayList<>();
+      List<JsonNode> partitionStatistics = new ArrayList<>();
+
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String field = parser.currentName();
+        JsonToken value = parser.nextToken();
+        switch (field) {
+          case CURRENT_SNAPSHOT_ID:
+            currentSnapshotId =
+                value == JsonToken.VALUE_NULL ? NO_SNAPSHOT_ID : parser.getLongValue();
+            retained.writeFieldName(field);
+            retained.copyCurrentEvent(parser);
+            break;
+          case SNAPSHOTS:
+            collectForSnapshot(parser, currentSnapshotId, snapshots);
+            break;
+          case STATISTICS:
+            collectForSnapshot(parser, currentSnapshotId, statistics);
+            break;
+          case PARTITION_STATISTICS:
+            collectForSnapshot(parser, currentSnapshotId, partitionStatistics);
+            break;
+          case SNAPSHOT_LOG:
+          case METADATA_LOG:
+            parser.skipChildren();
+            break;
+          default:
+            retained.writeFieldName(field);
+            retained.copyCurrentStructure(parser);
+            break;
+        }
+      }
+
+      long snapshotId = currentSnapshotId != null ? currentSnapshotId : NO_SNAPSHOT_ID;
+      writeForSnapshot(retained, SNAPSHOTS, snapshots, snapshotId);
+      writeForSnapshot(retained, STATISTICS, statistics, snapshotId);
+      writeForSnapshot(retained, PARTITION_STATISTICS, partitionStatistics, snapshotId);
+      retained.writeEndObject();
+
+      try (JsonParser retainedParser = retained.asParser(mapper)) {
+        return mapper.readValue(retainedParser, IcebergTableMetadata.class);
+      }
+    }
+  }
+
+  /**
+   * Reads the array at the current parser position element by element, collecting only the
+   * elements that may belong to the current snapshot.
+   */
+  private static void collectForSnapshot(
+      JsonParser parser, Long currentSnapshotId, List<JsonNode> collected) throws IOException {
+    if (parser.currentToken() != JsonToken.START_ARRAY) {
+      parser.skipChildren();
+      return;
+    }
+    while (parser.nextToken() != JsonToken.END_ARRAY) {
+      JsonNode element = parser.readValueAsTree();
+      if (currentSnapshotId == null || belongsTo(element, currentSnapshotId)) {
+        collected.add(element);
+      }
+    }
+  }
+
+  private static void writeForSnapshot(
+      TokenBuffer retained, String field, List<JsonNode> elements, long snapshotId)
+      throws IOException {
+    retained.writeFieldName(field);
+    retained.writeStartArray();
+    for (JsonNode element : elements) {
+      if (belongsTo(element, snapshotId)) {
+        retained.writeTree(element);
+      }
+    }
+    retained.writeEndArray();
+  }
+
+  private static boolean belongsTo(JsonNode element, long snapshotId) {
+    JsonNode id = element.get(SNAPSHOT_ID);
+    return snapshotId != NO_SNAPSHOT_ID && id != null && id.asLong() == snapshotId;
+  }
+}
@@ -26,6 +26,17 @@ public final class IcebergTableProperties {
   public static final String DELETE_AVRO_COMPRESSION_LEVEL = "write.delete.avro.compression-level";
   public static final String AVRO_COMPRESSION_LEVEL_DEFAULT = null;
 
+  /**
+   * Compression codec for table and view metadata JSON files, either {@code none} or {@code gzip}.
+   * Compressed metadata files use the {@code .gz.metadata.json} suffix.
+   *
+   * <p>See {@code org.apache.iceberg.TableProperties#METADATA_COMPRESSION}.
+   */
+  public static final String METADATA_COMPRESSION = "write.metadata.compression-codec";
+
+  public static final String METADATA_COMPRESSION_DEFAULT = "none";
+  public static final String METADATA_COMPRESSION_GZIP = "gzip";
+
   /**
    * Iceberg truncates per-column statistics in manifest-files for variable size types (strings,
    * blobs) to this length by default.
@@ -80,6 +80,7 @@ import org.projectnessie.catalog.formats.iceberg.meta.IcebergSortField;
 import org.projectnessie.catalog.formats.iceberg.meta.IcebergSortOrder;
 import org.projectnessie.catalog.formats.iceberg.meta.IcebergStatisticsFile;
 import org.projectnessie.catalog.formats.iceberg.meta.IcebergTableMetadata;
+import org.projectnessie.catalog.formats.iceberg.meta.IcebergTableProperties;
 import org.projectnessie.catalog.formats.iceberg.meta.IcebergTransform;
 import org.projectnessie.catalog.formats.iceberg.meta.IcebergViewMetadata;
 import org.projectnessie.catalog.formats.iceberg.meta.IcebergViewRepresentation;
@@ -895,7 +896,30 @@ public class NessieModelIceberg {
 
   /** Returns the table or view metadata JSON location. */
   public static String icebergMetadataJsonLocation(String baseLocation) {
-    return String.format("%s/metadata/00000-%s.metadata.json", baseLocation, randomUUID());
+    return icebergMetadataJsonLocation(baseLocation, false);
+  }
+
+  /**
+   * Returns the table or view metadata JSON location, using the {@code .gz.metadata.json} suffix
+   * for gzip compressed metadata.
+   */
+  public static String icebergMetadataJsonLocation(String baseLocation, boolean gzip) {
+    return String.format(
+        "%s/metadata/00000-%s%s",
+        baseLocation,
+        randomUUID(),
+        gzip ? ".gz.metadata.json" : ".metadata.json");
+  }
+
+  /**
+   * Returns whether metadata JSON files shall be gzip compressed according to the {@value
+   * IcebergTableProperties#METADATA_COMPRESSION} property.
+   */
+  public static boolean icebergMetadataGzip(Map<String, String> properties) {
+    return IcebergTableProperties.METADATA_COMPRESSION_GZIP.equalsIgnoreCase(
+        properties.getOrDefault(
+            IcebergTableProperties.METADATA_COMPRESSION,
+            IcebergTableProperties.METADATA_COMPRESSION_DEFAULT));
   }
 
   public static NessieTableSnapshot newIcebergTableSnapshot(String icebergUuid) {
@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.catalog.formats.iceberg.meta;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static org.projectnessie.catalog.formats.iceberg.fixtures.IcebergFixtures.tableMetadataBare;
+import static org.projectnessie.catalog.formats.iceberg.fixtures.IcebergFixtures.tableMetadataWithStatistics;
+import static org.projectnessie.catalog.formats.iceberg.meta.IcebergJson.objectMapper;
+import static org.projectnessie.catalog.formats.iceberg.meta.IcebergTableMetadataReader.readCurrentTableMetadata;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.ByteArrayInputStream;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.catalog.formats.iceberg.nessie.NessieModelIceberg;
+import org.projectnessie.catalog.model.NessieTable;
+import org.projectnessie.catalog.model.id.NessieId;
+import org.projectnessie.catalog.model.snapshot.NessieTableSnapshot;
+import org.projectnessie.catalog.model.snapshot.TableFormat;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestIcebergTableMetadataReader {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  static IcebergTableMetadata withHistory() {
+    IcebergTableMetadata.Builder builder = tableMetadataWithStatistics();
+    for (int i = 0; i < 50; i++) {
+      long id = 1000L + i;
+      builder
+          .addSnapshots(
+              IcebergSnapshot.builder()
+                  .snapshotId(id)
+                  .putSummary("operation", "append")
+                  .sequenceNumber(id)
+                  .timestampMs(id)
+                  .manifestList("manifest-list-" + id)
+                  .build())
+          .addStatistics(
+              IcebergStatisticsFile.statisticsFile(
+                  id,
+                  "statistics-" + id,
+                  1L,
+                  1L,
+                  singletonList(
+                      IcebergBlobMetadata.blobMetadata(
+                          "type", id, 1, singletonList(1), emptyMap()))))
+          .addPartitionStatistic(
+              IcebergPartitionStatisticsFile.partitionStatisticsFile(id, "part-stats-" + id, 1L))
+          .addSnapshotLog(IcebergSnapshotLogEntry.builder().snapshotId(id).timestampMs(id).build())
+          .addMetadataLog(IcebergHistoryEntry.historyEntry(id, "metadata-" + id + ".json"));
+    }
+    return builder.build();
+  }
+
+  @Test
+  public void retainsCurrentSnapshot() throws Exception {
+    IcebergTableMetadata full = withHistory();
+    IcebergTableMetadata current = read(objectMapper().writeValueAsString(full));
+
+    soft.assertThat(current.snapshots()).containsExactly(full.currentSnapshot().orElseThrow());
+    soft.assertThat(current.statistics())
+        .hasSize(1)
+        .allMatch(s -> s.snapshotId() == full.currentSnapshotIdAsLong());
+    soft.assertThat(current.partitionStatistics())
+        .hasSize(1)
+        .allMatch(s -> s.snapshotId() == full.currentSnapshotIdAsLong());
+    soft.assertThat(current.snapshotLog()).isEmpty();
+    soft.assertThat(current.metadataLog()).isEmpty();
+
+    soft.assertThat(current.tableUuid()).isEqualTo(full.tableUuid());
+    soft.assertThat(current.schemas()).isEqualTo(full.schemas());
+    soft.assertThat(current.refs()).isEqualTo(full.refs());
+    soft.assertThat(current.properties()).isEqualTo(full.properties());
+
+    // The Nessie snapshot built from the pruned metadata is the same
+    soft.assertThat(toNessie(current)).isEqualTo(toNessie(full));
+  }
+
+  @Test
+  public void currentSnapshotIdAfterSnapshots() throws Exception {
+    IcebergTableMetadata full = withHistory();
+
+    // Move 'current-snapshot-id' to the end of the JSON object
+    ObjectNode json = objectMapper().valueToTree(full);
+    ObjectNode reordered = objectMapper().createObjectNode();
+    for (Iterator<Map.Entry<String, JsonNode>> it = json.fields(); it.hasNext(); ) {
+      Map.Entry<String, JsonNode> field = it.next();
+      if (!field.getKey().equals(IcebergTableMetadataReader.CURRENT_SNAPSHOT_ID)) {
+        reordered.set(field.getKey(), field.getValue());
+      }
+    }
+    reordered.set(
+        IcebergTableMetadataReader.CURRENT_SNAPSHOT_ID,
+        json.get(IcebergTableMetadataReader.CURRENT_SNAPSHOT_ID));
+
+    IcebergTableMetadata current = read(objectMapper().writeValueAsString(reordered));
+    soft.assertThat(current.snapshots())
+        .extracting(IcebergSnapshot::snapshotId)
+        .containsExactly(full.currentSnapshotIdAsLong());
+    soft.assertThat(current.statistics()).hasSize(1);
+    soft.assertThat(toNessie(current)).isEqualTo(toNessie(full));
+  }
+
+  @Test
+  public void noCurrentSnapshot() throws Exception {
+    IcebergTableMetadata full = tableMetadataBare().build();
+    IcebergTableMetadata current = read(objectMapper().writeValueAsString(full));
+    soft.assertThat(current).isEqualTo(full);
+    soft.assertThat(current.snapshots()).isEqualTo(emptyList());
+  }
+
+  private static IcebergTableMetadata read(String json) throws Exception {
+    return readCurrentTableMetadata(new ByteArrayInputStream(json.getBytes(UTF_8)));
+  }
+
+  private static NessieTableSnapshot toNessie(IcebergTableMetadata metadata) {
+    NessieTable table =
+        NessieTable.builder()
+            .tableFormat(TableFormat.ICEBERG)
+            .nessieContentId(metadata.tableUuid())
+            .icebergUuid(metadata.tableUuid())
+            .createdTimestamp(Instant.EPOCH)
+            .build();
+    return NessieModelIceberg.icebergTableSnapshotToNessie(
+        NessieId.emptyNessieId(), null, table, metadata, IcebergSnapshot::manifestList);
+  }
+}
@@ -17,20 +17,36 @@ package org.projectnessie.catalog.service.files;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 import org.projectnessie.catalog.files.api.ObjectIO;
 import org.projectnessie.storage.uri.StorageUri;
 
 public final class MetadataUtil {
   private MetadataUtil() {}
 
+  public static boolean isCompressed(StorageUri uri) {
+    return uri.requiredPath().endsWith(".gz") || uri.requiredPath().endsWith(".gz.metadata.json");
+  }
+
   public static InputStream readMetadata(ObjectIO io, StorageUri uri) throws IOException {
-    boolean compressed =
-        uri.requiredPath().endsWith(".gz") || uri.requiredPath().endsWith(".gz.metadata.json");
     final InputStream input = io.readObject(uri);
-    if (compressed) {
-      return new GZIPInputStream(input);
+    if (isCompressed(uri)) {
+      return new GZIPInputStream(input, 65536);
     }
     return input;
   }
+
+  /**
+   * Returns an output stream to write a metadata file, gzip compressed if the file name indicates
+   * compression, see {@link #isCompressed(StorageUri)}.
+   */
+  public static OutputStream writeMetadata(ObjectIO io, StorageUri uri) throws IOException {
+    final OutputStream output = io.writeObject(uri);
+    if (isCompressed(uri)) {
+      return new GZIPOutputStream(output, 65536);
+    }
+    return output;
+  }
 }
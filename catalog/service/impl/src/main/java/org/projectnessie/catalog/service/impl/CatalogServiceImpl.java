@@ -25,6 +25,7 @@ import static org.projectnessie.catalog.formats.iceberg.meta.IcebergTableMetadat
 import static org.projectnessie.catalog.formats.iceberg.nessie.IcebergConstants.NESSIE_COMMIT_ID;
 import static org.projectnessie.catalog.formats.iceberg.nessie.IcebergConstants.NESSIE_COMMIT_REF;
 import static org.projectnessie.catalog.formats.iceberg.nessie.IcebergConstants.NESSIE_CONTENT_ID;
+import static org.projectnessie.catalog.formats.iceberg.nessie.NessieModelIceberg.icebergMetadataGzip;
 import static org.projectnessie.catalog.formats.iceberg.nessie.NessieModelIceberg.icebergMetadataJsonLocation;
 import static org.projectnessie.catalog.formats.iceberg.nessie.NessieModelIceberg.icebergMetadataToContent;
 import static org.projectnessie.catalog.formats.iceberg.nessie.NessieModelIceberg.icebergNewEntityBaseLocation;
@@ -36,6 +37,7 @@ import static org.projectnessie.catalog.formats.iceberg.nessie.NessieModelIceber
 import static org.projectnessie.catalog.formats.iceberg.rest.IcebergMetadataUpdate.SetLocation.setTrustedLocation;
 import static org.projectnessie.catalog.formats.iceberg.rest.IcebergMetadataUpdate.SetProperties.setProperties;
 import static org.projectnessie.catalog.service.api.NessieSnapshotResponse.nessieSnapshotResponse;
+import static org.projectnessie.catalog.service.files.MetadataUtil.writeMetadata;
 import static org.projectnessie.catalog.service.impl.Util.objIdToNessieId;
 import static org.projectnessie.catalog.service.objtypes.EntitySnapshotObj.snapshotObjIdForContent;
 import static org.projectnessie.error.ReferenceConflicts.referenceConflicts;
@@ -680,7 +682,9 @@ public class CatalogServiceImpl implements CatalogService {
                 updateState -> {
                   NessieTableSnapshot nessieSnapshot = updateState.snapshot();
                   String metadataJsonLocation =
-                      icebergMetadataJsonLocation(nessieSnapshot.icebergLocation());
+                      icebergMetadataJsonLocation(
+                          nessieSnapshot.icebergLocation(),
+                          icebergMetadataGzip(nessieSnapshot.properties()));
                   IcebergTableMetadata icebergMetadata =
                       storeTableSnapshot(metadataJsonLocation, nessieSnapshot, multiTableUpdate);
                   Content updated =
@@ -751,7 +755,9 @@ public class CatalogServiceImpl implements CatalogService {
                 updateState -> {
                   NessieViewSnapshot nessieSnapshot = updateState.snapshot();
                   String metadataJsonLocation =
-                      icebergMetadataJsonLocation(nessieSnapshot.icebergLocation());
+                      icebergMetadataJsonLocation(
+                          nessieSnapshot.icebergLocation(),
+                          icebergMetadataGzip(nessieSnapshot.properties()));
                   IcebergViewMetadata icebergMetadata =
                       storeViewSnapshot(metadataJsonLocation, nessieSnapshot, multiTableUpdate);
                   Content updated =
@@ -877,7 +883,7 @@ public class CatalogServiceImpl implements CatalogService {
   private <M> M storeSnapshot(
       String metadataJsonLocation, M metadata, MultiTableUpdate multiTableUpdate) {
     multiTableUpdate.addStoredLocation(metadataJsonLocation);
-    try (OutputStream out = objectIO.writeObject(StorageUri.of(metadataJsonLocation))) {
+    try (OutputStream out = writeMetadata(objectIO, StorageUri.of(metadataJsonLocation))) {
       IcebergJson.objectMapper().writeValue(out, metadata);
     } catch (Exception ex) {
       throw new RuntimeException("Failed to write snapshot to: " + metadataJsonLocation, ex);
@@ -15,6 +15,7 @@
  */
 package org.projectnessie.catalog.service.impl;
 
+import static org.projectnessie.catalog.formats.iceberg.meta.IcebergTableMetadataReader.readCurrentTableMetadata;
 import static org.projectnessie.catalog.formats.iceberg.nessie.NessieModelIceberg.icebergTableSnapshotToNessie;
 import static org.projectnessie.catalog.formats.iceberg.nessie.NessieModelIceberg.icebergViewSnapshotToNessie;
 import static org.projectnessie.catalog.service.files.MetadataUtil.readMetadata;
@@ -94,7 +95,10 @@ final class ImportSnapshotWorker {
       NessieTable table;
       IcebergTableMetadata tableMetadata;
       try {
-        tableMetadata = icebergMetadata(metadataLocation, IcebergTableMetadata.class);
+        // Only the current snapshot is needed, do not materialize the table's whole history
+        try (InputStream input = readMetadata(taskRequest.objectIO(), metadataLocation)) {
+          tableMetadata = readCurrentTableMetadata(input);
+        }
         table = entityObjForContent(content, tableMetadata, entityObjId);
       } catch (Exception e) {
         throw new RuntimeException(
@@ -266,7 +270,8 @@ final class ImportSnapshotWorker {
 
   private <T> T icebergMetadata(StorageUri metadataLocation, Class<? extends T> metadataType)
       throws IOException {
-    InputStream input = readMetadata(taskRequest.objectIO(), metadataLocation);
-    return IcebergJson.objectMapper().readValue(input, metadataType);
+    try (InputStream input = readMetadata(taskRequest.objectIO(), metadataLocation)) {
+      return IcebergJson.objectMapper().readValue(input, metadataType);
+    }
   }
 }
@@ -15,6 +15,11 @@
  */
 package org.projectnessie.events.quarkus;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
 import io.quarkus.runtime.ShutdownEvent;
 import io.quarkus.runtime.StartupEvent;
 import io.quarkus.vertx.ConsumeEvent;
@@ -25,14 +30,20 @@ import io.vertx.core.eventbus.Message;
 import io.vertx.core.eventbus.MessageConsumer;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import org.projectnessie.events.api.Event;
 import org.projectnessie.events.api.EventType;
 import org.projectnessie.events.quarkus.config.EventBusConfigurer;
 import org.projectnessie.events.quarkus.delivery.EventDelivery;
 import org.projectnessie.events.quarkus.delivery.EventDeliveryFactory;
+import org.projectnessie.events.service.AsyncEventDelivery;
+import org.projectnessie.events.service.AsyncEventDelivery.SubscriberQueue;
 import org.projectnessie.events.service.EventConfig;
 import org.projectnessie.events.service.EventFactory;
 import org.projectnessie.events.service.EventService;
@@ -60,14 +71,41 @@ public class QuarkusEventService extends EventService {
    */
   public static final String NESSIE_EVENTS_SUBSCRIBERS_ADDR_PREFIX = "nessie.events.subscribers.";
 
+  /**
+   * The number of events waiting in a subscriber's delivery queue, exposed as a gauge, when events
+   * are delivered asynchronously.
+   */
+  public static final String NESSIE_EVENTS_QUEUE_DEPTH = "nessie.events.queue.depth";
+
+  /**
+   * The age of the oldest event waiting in a subscriber's delivery queue, exposed as a time gauge,
+   * when events are delivered asynchronously.
+   */
+  public static final String NESSIE_EVENTS_QUEUE_LAG = "nessie.events.queue.lag";
+
+  /**
+   * The number of events dropped from a subscriber's delivery queue, exposed as a counter, when
+   * events are delivered asynchronously.
+   */
+  public static final String NESSIE_EVENTS_DROPPED = "nessie.events.dropped";
+
+  /**
+   * The number of events handed over to a subscriber, exposed as a counter, when events are
+   * delivered asynchronously.
+   */
+  public static final String NESSIE_EVENTS_DELIVERED = "nessie.events.delivered";
+
+  public static final String SUBSCRIPTION_TAG_NAME = "subscription";
+
   private final EventBus bus;
   private final EventDeliveryFactory deliveryFactory;
   private final DeliveryOptions deliveryOptions;
+  private final MeterRegistry registry;
 
   // Mandatory for CDI.
   @SuppressWarnings("unused")
   public QuarkusEventService() {
-    this(null, null, null, null, null, null);
+    this(null, null, null, null, null, null, null);
   }
 
   @Inject
@@ -78,15 +116,25 @@ public class QuarkusEventService extends EventService {
       EventBus bus,
       EventDeliveryFactory deliveryFactory,
       @Named(EventBusConfigurer.EVENTS_DELIVERY_OPTIONS_BEAN_NAME)
-          DeliveryOptions deliveryOptions) {
+          DeliveryOptions deliveryOptions,
+      @Any Instance<MeterRegistry> registries) {
     super(config, factory, subscribers);
     this.bus = bus;
     this.deliveryFactory = deliveryFactory;
     this.deliveryOptions = deliveryOptions;
+    this.registry = registries != null && registries.isResolvable() ? registries.get() : null;
   }
 
   public void onStartup(@Observes StartupEvent event) {
     start();
+    AsyncEventDelivery asyncDelivery = getAsyncDelivery();
+    if (asyncDelivery != null) {
+      // Events are delivered from the per-subscriber queues, not via the event bus.
+      if (registry != null) {
+        asyncDelivery.getQueues().values().forEach(this::registerQueueMetrics);
+      }
+      return;
+    }
     for (Map.Entry<EventSubscription, EventSubscriber> entry :
         subscribers.getSubscriptions().entrySet()) {
       EventSubscription subscription = entry.getKey();
@@ -112,8 +160,30 @@ public class QuarkusEventService extends EventService {
     super.onVersionStoreEvent(event);
   }
 
+  private void registerQueueMetrics(SubscriberQueue queue) {
+    Tags tags = Tags.of(SUBSCRIPTION_TAG_NAME, queue.getSubscription().getIdAsText());
+    Gauge.builder(NESSIE_EVENTS_QUEUE_DEPTH, queue, SubscriberQueue::getQueueDepth)
+        .tags(tags)
+        .register(registry);
+    TimeGauge.builder(
+            NESSIE_EVENTS_QUEUE_LAG, queue, TimeUnit.MILLISECONDS, q -> q.getLag().toMillis())
+        .tags(tags)
+        .register(registry);
+    FunctionCounter.builder(NESSIE_EVENTS_DROPPED, queue, SubscriberQueue::getDroppedCount)
+        .tags(tags)
+        .register(registry);
+    FunctionCounter.builder(NESSIE_EVENTS_DELIVERED, queue, SubscriberQueue::getDeliveredCount)
+        .tags(tags)
+        .register(registry);
+  }
+
   @Override
   protected void fireEvent(Event event) {
+    if (getAsyncDelivery() != null) {
+      // Enqueue the event into the bounded per-subscriber queues.
+      super.fireEvent(event);
+      return;
+    }
     // Publish the event to all interested subscribers that are listening to this address.
     String address = NESSIE_EVENTS_SUBSCRIBERS_ADDR_PREFIX + event.getType();
     bus.publish(address, event, deliveryOptions);
@@ -125,4 +195,18 @@ public class QuarkusEventService extends EventService {
     EventDelivery delivery = deliveryFactory.create(event, subscriber, subscription);
     delivery.start();
   }
+
+  /**
+   * Delivers the events dequeued by {@link AsyncEventDelivery} one by one, applying the configured
+   * retries, logging, metrics and tracing. Retries are executed on the calling delivery thread, so
+   * that the subscriber still receives its events in order.
+   */
+  @Override
+  protected void deliverEvents(
+      List<Event> events, EventSubscriber subscriber, EventSubscription subscription) {
+    for (Event event : events) {
+      EventDelivery delivery = deliveryFactory.createSynchronous(event, subscriber, subscription);
+      delivery.start();
+    }
+  }
 }
@@ -20,6 +20,7 @@ import io.smallrye.config.WithDefault;
 import io.smallrye.config.WithName;
 import java.time.Duration;
 import java.util.Map;
+import java.util.OptionalInt;
 import org.projectnessie.events.service.EventConfig;
 
 @ConfigMapping(prefix = "nessie.version.store.events")
@@ -42,6 +43,36 @@ public interface QuarkusEventConfig extends EventConfig {
   @WithName("retry")
   RetryConfig getRetryConfig();
 
+  @WithName("delivery")
+  DeliveryConfig getDeliveryConfig();
+
+  @Override
+  default int getDeliveryQueueCapacity() {
+    return getDeliveryConfig().getQueueCapacity();
+  }
+
+  @Override
+  default int getDeliveryParallelism() {
+    return getDeliveryConfig()
+        .getParallelism()
+        .orElseGet(EventConfig.super::getDeliveryParallelism);
+  }
+
+  @Override
+  default int getDeliveryBatchSize() {
+    return getDeliveryConfig().getBatchSize();
+  }
+
+  @Override
+  default OverflowPolicy getDeliveryOverflowPolicy() {
+    return getDeliveryConfig().getOverflowPolicy();
+  }
+
+  @Override
+  default Duration getDeliveryShutdownTimeout() {
+    return getDeliveryConfig().getShutdownTimeout();
+  }
+
   interface RetryConfig {
 
     /**
@@ -74,4 +105,47 @@ public interface QuarkusEventConfig extends EventConfig {
       return next.compareTo(max) > 0 ? max : next;
     }
   }
+
+  interface DeliveryConfig {
+
+    /**
+     * The capacity of the per-subscriber delivery queue. If zero (the default), events are
+     * published to the subscribers on the Vert.x event bus. If positive, events are enqueued into a
+     * bounded queue per subscriber and delivered by a dedicated pool of delivery threads. In both
+     * cases, the {@linkplain #getRetryConfig() retry settings} apply; with delivery queues, retries
+     * are executed on the delivery thread and delay the subscriber's subsequent events.
+     */
+    @WithName("queue-capacity")
+    @WithDefault("0")
+    int getQueueCapacity();
+
+    /**
+     * The number of threads used for asynchronous event delivery. Defaults to the number of
+     * available processors, but not more than 4.
+     */
+    @WithName("parallelism")
+    OptionalInt getParallelism();
+
+    /**
+     * The maximum number of events taken from a subscriber's queue at once, before the delivery
+     * thread moves on to the next subscriber.
+     */
+    @WithName("batch-size")
+    @WithDefault("100")
+    int getBatchSize();
+
+    /**
+     * What to do when a subscriber's delivery queue is full: {@code BLOCK} the thread that fires
+     * the event, drop the event being fired ({@code DROP_NEWEST}) or drop the oldest enqueued event
+     * ({@code DROP_OLDEST}).
+     */
+    @WithName("overflow-policy")
+    @WithDefault("BLOCK")
+    OverflowPolicy getOverflowPolicy();
+
+    /** The maximum time to wait for the delivery queues to drain on shutdown. */
+    @WithName("shutdown-timeout")
+    @WithDefault("PT10S")
+    Duration getShutdownTimeout();
+  }
 }
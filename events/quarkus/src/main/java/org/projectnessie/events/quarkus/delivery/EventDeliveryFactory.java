@@ -59,6 +59,23 @@ public class EventDeliveryFactory {
         subscriber.isBlocking()
             ? new BlockingEventDelivery(event, subscriber, config.getRetryConfig(), vertx)
             : new StandardEventDelivery(event, subscriber, config.getRetryConfig(), vertx);
+    return decorate(delivery, event, subscription);
+  }
+
+  /**
+   * Creates a delivery that runs all attempts, including retries, on the calling thread, for
+   * events that have already been accepted by the subscriber, for example when delivering events
+   * from the queues of {@link org.projectnessie.events.service.AsyncEventDelivery}.
+   */
+  public EventDelivery createSynchronous(
+      Event event, EventSubscriber subscriber, EventSubscription subscription) {
+    RetriableEventDelivery delivery =
+        new SynchronousEventDelivery(event, subscriber, config.getRetryConfig());
+    return decorate(delivery, event, subscription);
+  }
+
+  private RetriableEventDelivery decorate(
+      RetriableEventDelivery delivery, Event event, EventSubscription subscription) {
     if (LoggingEventDelivery.isLoggingEnabled()) {
       delivery = new LoggingEventDelivery(delivery, event, subscription);
     }
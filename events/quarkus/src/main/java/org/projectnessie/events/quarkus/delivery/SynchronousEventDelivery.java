@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.events.quarkus.delivery;
+
+import java.time.Duration;
+import org.projectnessie.events.api.Event;
+import org.projectnessie.events.quarkus.config.QuarkusEventConfig;
+import org.projectnessie.events.service.AsyncEventDelivery;
+import org.projectnessie.events.spi.EventSubscriber;
+
+/**
+ * A {@link RetriableEventDelivery} that executes all delivery attempts, including the backoff
+ * between them, on the calling thread. Used to deliver events from the per-subscriber queues of
+ * {@link AsyncEventDelivery}, whose dedicated delivery threads may block: retrying on the calling
+ * thread preserves the per-subscriber ordering and applies backpressure to the queue.
+ *
+ * <p>Events are {@linkplain EventSubscriber#accepts(Event) filtered} when they are enqueued, so
+ * this delivery does not evaluate the subscriber's event filter again.
+ */
+class SynchronousEventDelivery extends StandardEventDelivery {
+
+  private final QuarkusEventConfig.RetryConfig config;
+
+  SynchronousEventDelivery(
+      Event event, EventSubscriber subscriber, QuarkusEventConfig.RetryConfig config) {
+    super(event, subscriber, config, null);
+    this.config = config;
+  }
+
+  @Override
+  public void start() {
+    getSelf().startAttempt(1, config.getInitialDelay(), null);
+  }
+
+  @Override
+  void scheduleRetry(int lastAttempt, Duration nextDelay, Throwable lastError) {
+    try {
+      Thread.sleep(nextDelay.toMillis());
+    } catch (InterruptedException e) {
+      // The event service is shutting down
+      Thread.currentThread().interrupt();
+      getSelf().deliveryFailed(lastAttempt, addSuppressed(lastError, e));
+      return;
+    }
+    getSelf().startAttempt(lastAttempt + 1, config.getNextDelay(nextDelay), lastError);
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.events.quarkus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.projectnessie.events.quarkus.QuarkusEventService.NESSIE_EVENTS_DELIVERED;
+import static org.projectnessie.events.quarkus.QuarkusEventService.NESSIE_EVENTS_DROPPED;
+import static org.projectnessie.events.quarkus.QuarkusEventService.NESSIE_EVENTS_QUEUE_DEPTH;
+import static org.projectnessie.events.quarkus.QuarkusEventService.NESSIE_EVENTS_QUEUE_LAG;
+import static org.projectnessie.events.quarkus.QuarkusEventService.SUBSCRIPTION_TAG_NAME;
+import static org.projectnessie.events.quarkus.delivery.MetricsEventDelivery.EVENT_TYPE_TAG_NAME;
+import static org.projectnessie.events.quarkus.delivery.MetricsEventDelivery.NESSIE_EVENTS_RETRIES;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.search.Search;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.projectnessie.events.api.Event;
+import org.projectnessie.events.api.EventType;
+import org.projectnessie.events.quarkus.assertions.EventAssertions;
+import org.projectnessie.events.quarkus.fixtures.MockEventSubscriber;
+import org.projectnessie.events.quarkus.fixtures.MockEventSubscriber.MockEventSubscriber1;
+import org.projectnessie.events.quarkus.fixtures.MockEventSubscriber.MockEventSubscriber2;
+import org.projectnessie.events.quarkus.scenarios.EventScenarios;
+
+@QuarkusTest
+@TestProfile(TestQuarkusEventsAsyncDelivery.Profile.class)
+class TestQuarkusEventsAsyncDelivery {
+
+  static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+  @Inject EventScenarios scenarios;
+  @Inject EventAssertions events;
+  @Inject QuarkusEventService service;
+  @Inject MeterRegistry registry;
+  @Inject MockEventSubscriber1 subscriber1;
+  @Inject MockEventSubscriber2 subscriber2;
+
+  @AfterEach
+  void reset() {
+    // Do not clear the meter registry, the queue meters are only registered on startup.
+    events.reset();
+  }
+
+  @Test
+  void deliveredFromQueues() {
+    assertThat(service.getAsyncDelivery()).isNotNull();
+    scenarios.referenceCreated();
+    events.awaitAndAssertReferenceCreatedEvents(true);
+    await().atMost(TIMEOUT).untilAsserted(() -> assertQueueMetrics(subscriber1));
+    await().atMost(TIMEOUT).untilAsserted(() -> assertQueueMetrics(subscriber2));
+  }
+
+  @Test
+  void retriedFromQueues() {
+    scenarios.commit();
+    // subscriber2 fails twice on CONTENT_REMOVED, the 3rd attempt succeeds
+    events.awaitAndAssertCommitEvents(true);
+    await()
+        .atMost(TIMEOUT)
+        .untilAsserted(
+            () ->
+                assertThat(
+                        registry
+                            .find(NESSIE_EVENTS_RETRIES)
+                            .tag(EVENT_TYPE_TAG_NAME, EventType.CONTENT_REMOVED.name())
+                            .counter())
+                    .isNotNull()
+                    .satisfies(c -> assertThat(c.count()).isEqualTo(2d)));
+  }
+
+  @Test
+  void failedEventDoesNotAffectOtherSubscribers() {
+    scenarios.referenceDeleted();
+    // subscriber2 fails on REFERENCE_DELETED, delivery fails after 3 attempts
+    await()
+        .atMost(TIMEOUT)
+        .untilAsserted(
+            () ->
+                assertThat(subscriber1.getEvents())
+                    .extracting(Event::getType)
+                    .containsExactly(EventType.REFERENCE_DELETED));
+    assertThat(subscriber2.getEvents()).isEmpty();
+  }
+
+  private void assertQueueMetrics(MockEventSubscriber subscriber) {
+    String subscription = subscriber.getSubscription().getIdAsText();
+    assertThat(find(NESSIE_EVENTS_QUEUE_DEPTH, subscription).gauge())
+        .isNotNull()
+        .satisfies(g -> assertThat(g.value()).isEqualTo(0d));
+    assertThat(find(NESSIE_EVENTS_QUEUE_LAG, subscription).timeGauge()).isNotNull();
+    assertThat(find(NESSIE_EVENTS_DROPPED, subscription).functionCounter())
+        .isNotNull()
+        .satisfies(c -> assertThat(c.count()).isEqualTo(0d));
+    assertThat(find(NESSIE_EVENTS_DELIVERED, subscription).functionCounter())
+        .isNotNull()
+        .satisfies(c -> assertThat(c.count()).isGreaterThanOrEqualTo(1d));
+  }
+
+  private Search find(String name, String subscription) {
+    return registry.find(name).tag(SUBSCRIPTION_TAG_NAME, subscription);
+  }
+
+  public static class Profile extends TestQuarkusEvents.Profile {
+
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      Map<String, String> map = new HashMap<>(super.getConfigOverrides());
+      map.put("nessie.version.store.events.delivery.queue-capacity", "100");
+      map.put("nessie.version.store.events.delivery.parallelism", "2");
+      map.put("nessie.version.store.events.delivery.batch-size", "10");
+      return map;
+    }
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.events.quarkus.delivery;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.projectnessie.events.quarkus.config.TestQuarkusEventConfig;
+
+@ExtendWith(MockitoExtension.class)
+public class TestSynchronousEventDelivery
+    extends TestRetriableEventDelivery<SynchronousEventDelivery> {
+
+  @Override
+  SynchronousEventDelivery newDelivery() {
+    retryConfig =
+        new TestQuarkusEventConfig.MockRetryConfig() {
+          @Override
+          public Duration getInitialDelay() {
+            return Duration.ofMillis(1);
+          }
+        };
+    SynchronousEventDelivery spy =
+        spy(new SynchronousEventDelivery(event, subscriber, retryConfig));
+    spy.setSelf(spy);
+    return spy;
+  }
+
+  // The subscriber's event filter has already been applied when the event was enqueued, so the
+  // tests below do not stub EventSubscriber.accepts().
+
+  @Override
+  @Test
+  void testDeliverySuccessNoRetry() {
+    delivery.start();
+    verify(subscriber).onEvent(event);
+    verify(subscriber, never()).accepts(event);
+    verify(delivery).deliverySuccessful(1);
+  }
+
+  @Override
+  @Test
+  void testDeliverySuccessWithRetry() {
+    AtomicReference<Throwable> errorHolder = mockSubscriberFailures(2);
+    delivery.start();
+    Throwable fail2 = errorHolder.get();
+    assertThat(fail2).hasMessage("fail2");
+    assertThat(fail2.getSuppressed()[0]).hasMessage("fail1");
+    verify(subscriber, times(3)).onEvent(event);
+    verify(delivery).deliverySuccessful(3);
+    // retries are executed on the calling thread
+    verifyNoInteractions(vertx);
+  }
+
+  @Override
+  @Test
+  void testDeliveryFailureWithRetry() {
+    AtomicReference<Throwable> errorHolder = mockSubscriberFailures(3);
+    delivery.start();
+    Throwable fail3 = errorHolder.get();
+    assertThat(fail3).hasMessage("fail3");
+    verify(subscriber, times(3)).onEvent(event);
+    verify(delivery).deliveryFailed(eq(3), any());
+    verifyNoInteractions(vertx);
+  }
+
+  @Override
+  @Test
+  void testDeliveryRejected() {
+    delivery.start();
+    verify(subscriber, never()).accepts(event);
+    verify(delivery, never()).deliveryRejected();
+    verify(subscriber).onEvent(event);
+  }
+
+  @Test
+  void testInterruptedDuringBackoff() {
+    mockSubscriberFailures(3);
+    Thread.currentThread().interrupt();
+    try {
+      delivery.start();
+    } finally {
+      assertThat(Thread.interrupted()).isTrue();
+    }
+    verify(subscriber, times(1)).onEvent(event);
+    ArgumentCaptor<Throwable> error = ArgumentCaptor.forClass(Throwable.class);
+    verify(delivery).deliveryFailed(eq(1), error.capture());
+    assertThat(error.getValue()).hasMessage("fail1");
+    assertThat(error.getValue().getSuppressed())
+        .singleElement()
+        .isInstanceOf(InterruptedException.class);
+  }
+}
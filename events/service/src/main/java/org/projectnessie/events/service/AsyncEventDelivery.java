@@ -0,0 +1,356 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.events.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.projectnessie.events.api.Event;
+import org.projectnessie.events.service.EventConfig.OverflowPolicy;
+import org.projectnessie.events.spi.EventSubscriber;
+import org.projectnessie.events.spi.EventSubscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Asynchronous event delivery engine, used by {@link EventService} when {@link
+ * EventConfig#getDeliveryQueueCapacity()} is positive.
+ *
+ * <p>Each subscriber has its own bounded queue. Firing an event only enqueues it into the queues of
+ * the subscribers that accept it; the events are then delivered in batches by a fixed pool of
+ * delivery threads. A queue is drained by at most one thread at a time, so that each subscriber
+ * receives its events in order; after each batch, the queue is re-scheduled, so that a slow
+ * subscriber cannot starve the others.
+ *
+ * <p>When a queue is full, the configured {@link OverflowPolicy} applies.
+ */
+public final class AsyncEventDelivery implements AutoCloseable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(AsyncEventDelivery.class);
+
+  /** Delivers a batch of events to a subscriber. */
+  @FunctionalInterface
+  interface BatchDelivery {
+    void deliver(List<Event> events, EventSubscriber subscriber, EventSubscription subscription);
+  }
+
+  private final Map<EventSubscription, SubscriberQueue> queues;
+  private final ExecutorService executor;
+  private final BatchDelivery delivery;
+  private final int batchSize;
+  private final OverflowPolicy overflowPolicy;
+  private final Duration shutdownTimeout;
+  private final Clock clock;
+
+  private volatile boolean closed;
+
+  AsyncEventDelivery(
+      EventConfig config,
+      Map<EventSubscription, EventSubscriber> subscriptions,
+      BatchDelivery delivery) {
+    int capacity = config.getDeliveryQueueCapacity();
+    int parallelism = config.getDeliveryParallelism();
+    int batchSize = config.getDeliveryBatchSize();
+    if (capacity <= 0 || parallelism <= 0 || batchSize <= 0) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Invalid event delivery configuration: queue capacity %d, parallelism %d, "
+                  + "batch size %d, all values must be positive",
+              capacity, parallelism, batchSize));
+    }
+    this.delivery = delivery;
+    this.batchSize = batchSize;
+    this.overflowPolicy = config.getDeliveryOverflowPolicy();
+    this.shutdownTimeout = config.getDeliveryShutdownTimeout();
+    this.clock = config.getClock();
+    this.executor = Executors.newFixedThreadPool(parallelism, new DeliveryThreadFactory());
+
+    Map<EventSubscription, SubscriberQueue> queues = new LinkedHashMap<>();
+    subscriptions.forEach(
+        (subscription, subscriber) ->
+            queues.put(subscription, new SubscriberQueue(subscription, subscriber, capacity)));
+    this.queues = Collections.unmodifiableMap(queues);
+  }
+
+  /** Enqueues the event for all subscribers that accept it. */
+  void submit(Event event) {
+    for (SubscriberQueue queue : queues.values()) {
+      if (queue.subscriber.accepts(event)) {
+        queue.offer(event);
+      }
+    }
+  }
+
+  /** The per-subscriber queues, for example to expose their metrics. */
+  public Map<EventSubscription, SubscriberQueue> getQueues() {
+    return queues;
+  }
+
+  /** Total number of events dropped so far, across all subscribers. */
+  public long getDroppedCount() {
+    return queues.values().stream().mapToLong(SubscriberQueue::getDroppedCount).sum();
+  }
+
+  /**
+   * Stops accepting new events and waits up to {@link EventConfig#getDeliveryShutdownTimeout()}
+   * for the already enqueued events to be delivered.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+    try {
+      for (SubscriberQueue queue : queues.values()) {
+        if (!queue.awaitIdle(deadline)) {
+          LOGGER.warn(
+              "Event delivery queue for subscription {} not drained after {}, dropping {} events",
+              queue.subscription.getIdAsText(),
+              shutdownTimeout,
+              queue.getQueueDepth());
+          break;
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /** Bounded delivery queue of a single subscriber, also provides the subscriber's metrics. */
+  public final class SubscriberQueue {
+    private final EventSubscription subscription;
+    private final EventSubscriber subscriber;
+    private final int capacity;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final Condition idle = lock.newCondition();
+
+    /** Guarded by {@link #lock}. */
+    private final ArrayDeque<Event> events;
+
+    /** Whether a drain task is scheduled or running, guarded by {@link #lock}. */
+    private boolean scheduled;
+
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+
+    SubscriberQueue(EventSubscription subscription, EventSubscriber subscriber, int capacity) {
+      this.subscription = subscription;
+      this.subscriber = subscriber;
+      this.capacity = capacity;
+      this.events = new ArrayDeque<>(Math.min(capacity, 1024));
+    }
+
+    public EventSubscription getSubscription() {
+      return subscription;
+    }
+
+    /** Number of events waiting to be delivered. */
+    public int getQueueDepth() {
+      lock.lock();
+      try {
+        return events.size();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /**
+     * The age of the oldest event waiting to be delivered, based on its {@linkplain
+     * Event#getEventCreationTimestamp() creation timestamp}, or {@link Duration#ZERO} if the queue
+     * is empty.
+     */
+    public Duration getLag() {
+      Event oldest;
+      lock.lock();
+      try {
+        oldest = events.peekFirst();
+      } finally {
+        lock.unlock();
+      }
+      if (oldest == null) {
+        return Duration.ZERO;
+      }
+      Duration lag = Duration.between(oldest.getEventCreationTimestamp(), Instant.now(clock));
+      return lag.isNegative() ? Duration.ZERO : lag;
+    }
+
+    /** Number of events dropped, because the queue was full or the event service was closed. */
+    public long getDroppedCount() {
+      return dropped.get();
+    }
+
+    /** Number of events handed over to the subscriber. */
+    public long getDeliveredCount() {
+      return delivered.get();
+    }
+
+    void offer(Event event) {
+      boolean schedule = false;
+      lock.lock();
+      try {
+        while (events.size() >= capacity) {
+          if (closed) {
+            drop(event);
+            return;
+          }
+          switch (overflowPolicy) {
+            case BLOCK:
+              try {
+                notFull.await(100, TimeUnit.MILLISECONDS);
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                drop(event);
+                return;
+              }
+              break;
+            case DROP_NEWEST:
+              drop(event);
+              return;
+            case DROP_OLDEST:
+              drop(events.pollFirst());
+              break;
+            default:
+              throw new IllegalStateException("Unknown overflow policy: " + overflowPolicy);
+          }
+        }
+        if (closed) {
+          drop(event);
+          return;
+        }
+        events.addLast(event);
+        if (!scheduled) {
+          scheduled = true;
+          schedule = true;
+        }
+      } finally {
+        lock.unlock();
+      }
+      if (schedule) {
+        schedule();
+      }
+    }
+
+    private void drop(Event event) {
+      dropped.incrementAndGet();
+      LOGGER.debug(
+          "Dropping event {} for subscription {}",
+          event.getIdAsText(),
+          subscription.getIdAsText());
+    }
+
+    private void schedule() {
+      try {
+        executor.execute(this::drain);
+      } catch (RejectedExecutionException e) {
+        // Executor has been shut down
+        lock.lock();
+        try {
+          events.forEach(this::drop);
+          events.clear();
+          scheduled = false;
+          notFull.signalAll();
+          idle.signalAll();
+        } finally {
+          lock.unlock();
+        }
+      }
+    }
+
+    /** Delivers one batch of events, then re-schedules itself if there are more events. */
+    private void drain() {
+      List<Event> batch;
+      lock.lock();
+      try {
+        int n = Math.min(batchSize, events.size());
+        batch = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+          batch.add(events.pollFirst());
+        }
+        notFull.signalAll();
+      } finally {
+        lock.unlock();
+      }
+
+      try {
+        if (!batch.isEmpty()) {
+          delivery.deliver(batch, subscriber, subscription);
+          delivered.addAndGet(batch.size());
+        }
+      } finally {
+        boolean more;
+        lock.lock();
+        try {
+          more = !events.isEmpty();
+          if (!more) {
+            scheduled = false;
+            idle.signalAll();
+          }
+        } finally {
+          lock.unlock();
+        }
+        if (more) {
+          schedule();
+        }
+      }
+    }
+
+    /** Waits until all events have been delivered, returns {@code false} on timeout. */
+    boolean awaitIdle(long deadlineNanos) throws InterruptedException {
+      lock.lock();
+      try {
+        while (scheduled || !events.isEmpty()) {
+          long remaining = deadlineNanos - System.nanoTime();
+          if (remaining <= 0L) {
+            return false;
+          }
+          idle.awaitNanos(remaining);
+        }
+        return true;
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  private static final class DeliveryThreadFactory implements ThreadFactory {
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable r) {
+      Thread t = new Thread(r, "nessie-events-delivery-" + count.incrementAndGet());
+      t.setDaemon(true);
+      return t;
+    }
+  }
+}
@@ -16,6 +16,7 @@
 package org.projectnessie.events.service;
 
 import java.time.Clock;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.Map;
 import java.util.UUID;
@@ -57,4 +58,55 @@ public interface EventConfig {
   default Clock getClock() {
     return Clock.systemUTC();
   }
+
+  /**
+   * The capacity of the per-subscriber delivery queue.
+   *
+   * <p>If zero (the default), events are delivered synchronously on the thread that produced them.
+   * If positive, events are enqueued into a bounded queue per subscriber and delivered
+   * asynchronously by a pool of {@linkplain #getDeliveryParallelism() delivery threads}, see
+   * {@link AsyncEventDelivery}.
+   */
+  default int getDeliveryQueueCapacity() {
+    return 0;
+  }
+
+  /**
+   * The number of threads used for asynchronous event delivery. Events for the same subscriber are
+   * always delivered in order, by at most one thread at a time.
+   */
+  default int getDeliveryParallelism() {
+    return Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+  }
+
+  /**
+   * The maximum number of events delivered to a subscriber in one {@link
+   * org.projectnessie.events.spi.EventSubscriber#onEvents(java.util.List)} invocation.
+   */
+  default int getDeliveryBatchSize() {
+    return 100;
+  }
+
+  /** What to do when a subscriber's delivery queue is full. */
+  default OverflowPolicy getDeliveryOverflowPolicy() {
+    return OverflowPolicy.BLOCK;
+  }
+
+  /**
+   * The maximum time to wait for the delivery queues to drain when the event service is closed.
+   * Events that are still enqueued after this timeout are dropped.
+   */
+  default Duration getDeliveryShutdownTimeout() {
+    return Duration.ofSeconds(10);
+  }
+
+  /** Policies that apply when an event is fired, but a subscriber's delivery queue is full. */
+  enum OverflowPolicy {
+    /** Block the thread that fires the event until there is space in the queue. */
+    BLOCK,
+    /** Drop the event that is being fired. */
+    DROP_NEWEST,
+    /** Drop the oldest event in the queue to make room for the event that is being fired. */
+    DROP_OLDEST,
+  }
 }
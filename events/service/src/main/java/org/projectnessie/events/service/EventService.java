@@ -69,6 +69,7 @@ public class EventService implements AutoCloseable {
   protected final EventSubscribers subscribers;
 
   private volatile boolean started;
+  private volatile AsyncEventDelivery asyncDelivery;
   private boolean hasContentSubscribers;
   private boolean hasCommitSubscribers;
 
@@ -92,6 +93,10 @@ public class EventService implements AutoCloseable {
               || subscribers.hasSubscribersFor(EventType.CONTENT_REMOVED);
       hasCommitSubscribers =
           hasContentSubscribers || subscribers.hasSubscribersFor(EventType.COMMIT);
+      if (config.getDeliveryQueueCapacity() > 0) {
+        asyncDelivery =
+            new AsyncEventDelivery(config, subscribers.getSubscriptions(), this::deliverEvents);
+      }
       started = true;
     }
   }
@@ -99,9 +104,22 @@ public class EventService implements AutoCloseable {
   /** Closes the event service by deactivating the subscribers. */
   @Override
   public synchronized void close() {
+    AsyncEventDelivery delivery = asyncDelivery;
+    if (delivery != null) {
+      delivery.close();
+    }
     subscribers.close();
   }
 
+  /**
+   * Returns the asynchronous delivery engine, which provides per-subscriber metrics, or {@code
+   * null} if events are delivered synchronously.
+   */
+  @Nullable
+  public AsyncEventDelivery getAsyncDelivery() {
+    return asyncDelivery;
+  }
+
   /**
    * Invoked when a result is received from the version store by {@link ResultCollector}, then
    * forwarded to this service for delivery.
@@ -232,12 +250,19 @@ public class EventService implements AutoCloseable {
   /**
    * Forwards the event to all subscribers.
    *
-   * @implNote This implementation is the simplest possible and just invokes all the subscribers one
-   *     by one, synchronously and sequentially. Subclasses may override this method to implement a
-   *     more sophisticated delivery mechanism, e.g. using an asynchronous event bus.
+   * @implNote If {@linkplain EventConfig#getDeliveryQueueCapacity() asynchronous delivery} is
+   *     enabled, this implementation enqueues the event into the bounded per-subscriber queues of
+   *     {@link AsyncEventDelivery}. Otherwise, it just invokes all the subscribers one by one,
+   *     synchronously and sequentially. Subclasses may override this method to implement a
+   *     different delivery mechanism, e.g. using an asynchronous event bus.
    */
   protected void fireEvent(Event event) {
     LOGGER.debug("Firing {} event: {}", event.getType(), event);
+    AsyncEventDelivery delivery = asyncDelivery;
+    if (delivery != null) {
+      delivery.submit(event);
+      return;
+    }
     for (Map.Entry<EventSubscription, EventSubscriber> entry :
         subscribers.getSubscriptions().entrySet()) {
       EventSubscription subscription = entry.getKey();
@@ -265,4 +290,22 @@ public class EventService implements AutoCloseable {
       MDC.remove(EVENT_ID_MDC_KEY);
     }
   }
+
+  /**
+   * Delivers a batch of events, that have already been accepted by the subscriber, when events are
+   * delivered {@linkplain AsyncEventDelivery asynchronously}.
+   */
+  protected void deliverEvents(
+      List<Event> events, EventSubscriber subscriber, EventSubscription subscription) {
+    MDC.put(SUBSCRIPTION_ID_MDC_KEY, subscription.getIdAsText());
+    try {
+      LOGGER.debug("Delivering {} events to subscriber {}", events.size(), subscriber);
+      subscriber.onEvents(events);
+      LOGGER.debug("{} events successfully delivered", events.size());
+    } catch (Exception e) {
+      LOGGER.error("{} events could not be delivered: {}", events.size(), events, e);
+    } finally {
+      MDC.remove(SUBSCRIPTION_ID_MDC_KEY);
+    }
+  }
 }
@@ -0,0 +1,215 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.events.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.projectnessie.events.api.Event;
+import org.projectnessie.events.service.EventConfig.OverflowPolicy;
+import org.projectnessie.events.spi.EventSubscriber;
+import org.projectnessie.events.spi.EventSubscription;
+import org.projectnessie.versioned.BranchName;
+import org.projectnessie.versioned.Hash;
+import org.projectnessie.versioned.ImmutableReferenceCreatedResult;
+
+class TestAsyncEventDelivery {
+
+  private final EventFactory factory = new EventFactory(new EventConfig() {});
+
+  @Test
+  void orderedBatchedDelivery() {
+    Map<EventSubscription, EventSubscriber> subscriptions = new LinkedHashMap<>();
+    for (int i = 0; i < 3; i++) {
+      subscriptions.put(mock(EventSubscription.class), acceptingSubscriber());
+    }
+    Map<EventSubscriber, List<List<Event>>> received = new LinkedHashMap<>();
+    for (EventSubscriber subscriber : subscriptions.values()) {
+      received.put(subscriber, Collections.synchronizedList(new ArrayList<>()));
+    }
+
+    List<Event> events = new ArrayList<>();
+    try (AsyncEventDelivery delivery =
+        new AsyncEventDelivery(
+            config(1000, 2, 10, OverflowPolicy.BLOCK),
+            subscriptions,
+            (batch, subscriber, subscription) -> received.get(subscriber).add(batch))) {
+      for (int i = 0; i < 100; i++) {
+        Event event = newEvent();
+        events.add(event);
+        delivery.submit(event);
+      }
+    }
+
+    for (List<List<Event>> batches : received.values()) {
+      List<Event> all = new ArrayList<>();
+      batches.forEach(all::addAll);
+      assertThat(all).containsExactlyElementsOf(events);
+      assertThat(batches).allSatisfy(b -> assertThat(b).hasSizeBetween(1, 10));
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(OverflowPolicy.class)
+  void overflow(OverflowPolicy policy) throws Exception {
+    EventSubscription subscription = mock(EventSubscription.class);
+    EventSubscriber subscriber = acceptingSubscriber();
+    CountDownLatch entered = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    List<Event> received = Collections.synchronizedList(new ArrayList<>());
+
+    Event[] events = {newEvent(), newEvent(), newEvent(), newEvent()};
+    try (AsyncEventDelivery delivery =
+        new AsyncEventDelivery(
+            config(2, 1, 1, policy),
+            Map.of(subscription, subscriber),
+            (batch, s, sub) -> {
+              entered.countDown();
+              try {
+                release.await();
+              } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+              }
+              received.addAll(batch);
+            })) {
+      AsyncEventDelivery.SubscriberQueue queue = delivery.getQueues().get(subscription);
+
+      // First event blocks the delivery thread, the next two fill the queue
+      delivery.submit(events[0]);
+      assertThat(entered.await(30, TimeUnit.SECONDS)).isTrue();
+      delivery.submit(events[1]);
+      delivery.submit(events[2]);
+      assertThat(queue.getQueueDepth()).isEqualTo(2);
+      assertThat(queue.getLag()).isGreaterThanOrEqualTo(Duration.ZERO);
+
+      CompletableFuture<Void> overflowing =
+          CompletableFuture.runAsync(() -> delivery.submit(events[3]));
+      if (policy == OverflowPolicy.BLOCK) {
+        Thread.sleep(200L);
+        assertThat(overflowing).isNotDone();
+      }
+      release.countDown();
+      overflowing.get(30, TimeUnit.SECONDS);
+      delivery.close();
+
+      switch (policy) {
+        case BLOCK:
+          assertThat(received).containsExactly(events);
+          assertThat(delivery.getDroppedCount()).isEqualTo(0L);
+          break;
+        case DROP_NEWEST:
+          assertThat(received).containsExactly(events[0], events[1], events[2]);
+          assertThat(delivery.getDroppedCount()).isEqualTo(1L);
+          break;
+        case DROP_OLDEST:
+          assertThat(received).containsExactly(events[0], events[2], events[3]);
+          assertThat(delivery.getDroppedCount()).isEqualTo(1L);
+          break;
+        default:
+          throw new IllegalStateException();
+      }
+      assertThat(queue.getQueueDepth()).isEqualTo(0);
+      assertThat(queue.getLag()).isEqualTo(Duration.ZERO);
+      assertThat(queue.getDeliveredCount()).isEqualTo(received.size());
+    } finally {
+      release.countDown();
+    }
+  }
+
+  @Test
+  void eventServiceDeliversAsynchronously() throws Exception {
+    EventSubscriber subscriber = acceptingSubscriber();
+    List<Event> received = Collections.synchronizedList(new ArrayList<>());
+    EventConfig config = config(10, 1, 10, OverflowPolicy.BLOCK);
+    EventSubscribers subscribers = new EventSubscribers(subscriber);
+    try (EventService eventService =
+        new EventService(config, new EventFactory(config), subscribers) {
+          @Override
+          protected void deliverEvents(
+              List<Event> events, EventSubscriber s, EventSubscription subscription) {
+            received.addAll(events);
+          }
+        }) {
+      eventService.start();
+      assertThat(eventService.getAsyncDelivery()).isNotNull();
+      eventService.onVersionStoreEvent(
+          ImmutableVersionStoreEvent.builder()
+              .result(
+                  ImmutableReferenceCreatedResult.builder()
+                      .namedRef(BranchName.of("branch1"))
+                      .hash(Hash.of("cafebabe"))
+                      .build())
+              .repositoryId("repo")
+              .build());
+    }
+    assertThat(received).hasSize(1);
+  }
+
+  private static EventSubscriber acceptingSubscriber() {
+    EventSubscriber subscriber = mock(EventSubscriber.class);
+    when(subscriber.accepts(any(Event.class))).thenReturn(true);
+    return subscriber;
+  }
+
+  private Event newEvent() {
+    return factory.newReferenceCreatedEvent(
+        ImmutableReferenceCreatedResult.builder()
+            .namedRef(BranchName.of("branch1"))
+            .hash(Hash.of("cafebabe"))
+            .build(),
+        "repo",
+        null);
+  }
+
+  private static EventConfig config(
+      int capacity, int parallelism, int batchSize, OverflowPolicy policy) {
+    return new EventConfig() {
+      @Override
+      public int getDeliveryQueueCapacity() {
+        return capacity;
+      }
+
+      @Override
+      public int getDeliveryParallelism() {
+        return parallelism;
+      }
+
+      @Override
+      public int getDeliveryBatchSize() {
+        return batchSize;
+      }
+
+      @Override
+      public OverflowPolicy getDeliveryOverflowPolicy() {
+        return policy;
+      }
+    };
+  }
+}
@@ -15,6 +15,7 @@
  */
 package org.projectnessie.events.spi;
 
+import java.util.List;
 import org.projectnessie.events.api.CommitEvent;
 import org.projectnessie.events.api.ContentRemovedEvent;
 import org.projectnessie.events.api.ContentStoredEvent;
@@ -160,6 +161,35 @@ public interface EventSubscriber extends AutoCloseable {
     }
   }
 
+  /**
+   * Called with a batch of events, in the order in which they were produced, when Nessie delivers
+   * events asynchronously. All events have been {@linkplain #accepts(Event) accepted} by this
+   * subscriber.
+   *
+   * <p>The default implementation calls {@link #onEvent(Event)} for each event. If that fails for
+   * an event, the remaining events of the batch are still delivered, then the first failure is
+   * rethrown, with the subsequent failures added as suppressed exceptions. Subscribers that can
+   * process multiple events more efficiently than one by one, for example by sending a single
+   * request to a remote system, should override this method.
+   */
+  default void onEvents(List<Event> events) {
+    RuntimeException failure = null;
+    for (Event event : events) {
+      try {
+        onEvent(event);
+      } catch (RuntimeException e) {
+        if (failure == null) {
+          failure = e;
+        } else {
+          failure.addSuppressed(e);
+        }
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
   /**
    * Called when the Nessie server is stopped. Subscribers should release any resources they hold in
    * this method.
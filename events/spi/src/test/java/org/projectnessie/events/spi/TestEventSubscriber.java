@@ -16,13 +16,17 @@
 package org.projectnessie.events.spi;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.projectnessie.events.api.CommitEvent;
+import org.projectnessie.events.api.Event;
 import org.projectnessie.events.api.EventType;
 import org.projectnessie.events.api.MergeEvent;
 
@@ -84,4 +88,35 @@ class TestEventSubscriber {
     assertThat(subscriber.accepts(commit2)).isFalse();
     assertThat(subscriber.accepts(merge)).isFalse();
   }
+
+  @Test
+  void onEventsDeliversRemainingEventsAfterFailure() {
+    List<Event> delivered = new ArrayList<>();
+    EventSubscriber subscriber =
+        new EventSubscriber() {
+          @Override
+          public void onSubscribe(EventSubscription subscription) {}
+
+          @Override
+          public void onEvent(Event event) {
+            delivered.add(event);
+            if (event != merge) {
+              throw new IllegalStateException("failed " + delivered.size());
+            }
+          }
+
+          @Override
+          public void close() {}
+        };
+    assertThatThrownBy(() -> subscriber.onEvents(List.of(commit1, merge, commit2)))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("failed 1")
+        .satisfies(
+            e ->
+                assertThat(e.getSuppressed())
+                    .singleElement()
+                    .extracting(Throwable::getMessage)
+                    .isEqualTo("failed 3"));
+    assertThat(delivered).containsExactly(commit1, merge, commit2);
+  }
 }
@@ -40,4 +40,28 @@ public interface ContentToFiles {
    */
   @MustBeClosed
   Stream<FileReference> extractFiles(@NotNull ContentReference contentReference);
+
+  /**
+   * Extracts all files and base locations from all given {@link ContentReference}s, which all
+   * belong to the same content ID.
+   *
+   * <p>Implementations can override this function to skip the files that have already been returned
+   * for a previous content reference of the same content, for example files that are shared by
+   * multiple snapshots of the same table. The default implementation delegates to {@link
+   * #extractFiles(ContentReference)} for each content reference.
+   *
+   * @param contentId the content ID of all given content references
+   * @param contentReferences the live content references for the content ID
+   * @return stream of files, see {@link #extractFiles(ContentReference)}
+   */
+  @MustBeClosed
+  default Stream<FileReference> extractFilesForContent(
+      @NotNull String contentId, @NotNull Stream<ContentReference> contentReferences) {
+    return contentReferences.flatMap(
+        c -> {
+          @SuppressWarnings("MustBeClosedChecker")
+          Stream<FileReference> r = extractFiles(c);
+          return r;
+        });
+  }
 }
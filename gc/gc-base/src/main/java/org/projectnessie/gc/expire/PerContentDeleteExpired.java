@@ -90,7 +90,9 @@ public abstract class PerContentDeleteExpired {
 
     expireParameters().liveContentSet().associateBaseLocations(contentId(), baseLocations);
 
-    return baseLocations.stream()
+    // Base locations are processed concurrently, the files of each base location are listed
+    // sequentially, the concurrency of the deletes is up to the FileDeleter.
+    return baseLocations.parallelStream()
         .map(
             baseLocation -> {
               try (Stream<FileReference> fileObjects = identifyExpiredFiles(filter, baseLocation)) {
@@ -120,14 +122,10 @@ public abstract class PerContentDeleteExpired {
     long liveFileCount;
     try (Stream<FileReference> contents =
         expireParameters()
-            .liveContentSet()
-            .fetchContentReferences(contentId())
-            .flatMap(
-                c -> {
-                  @SuppressWarnings("MustBeClosedChecker")
-                  Stream<FileReference> r = expireParameters().contentToFiles().extractFiles(c);
-                  return r;
-                })) {
+            .contentToFiles()
+            .extractFilesForContent(
+                contentId(),
+                expireParameters().liveContentSet().fetchContentReferences(contentId()))) {
       liveFileCount =
           contents
               .peek(f -> addBaseLocation.accept(f.base()))
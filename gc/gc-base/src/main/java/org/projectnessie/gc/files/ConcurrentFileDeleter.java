@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.gc.files;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+import org.immutables.value.Value;
+import org.projectnessie.storage.uri.StorageUri;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link FileDeleter} that splits the files passed to {@link #deleteMultiple(StorageUri, Stream)}
+ * into batches of {@link #batchSize()} files and lets the {@link #delegate() delegate} delete the
+ * batches concurrently.
+ *
+ * <p>The number of concurrently running batch deletions is bounded by {@link #parallelism()} for
+ * all callers of the same instance. Callers, and therefore the stream of files to delete, are
+ * blocked until a batch can be submitted, which bounds the number of files held in memory.
+ *
+ * <p>Delegates that support bulk deletions, like {@code IcebergFiles} for object stores, issue one
+ * bulk delete request per batch.
+ */
+@Value.Immutable
+public abstract class ConcurrentFileDeleter implements FileDeleter, AutoCloseable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrentFileDeleter.class);
+
+  public static final int DEFAULT_PARALLELISM = 4;
+  public static final int DEFAULT_BATCH_SIZE = 1000;
+
+  public static Builder builder() {
+    return ImmutableConcurrentFileDeleter.builder();
+  }
+
+  public interface Builder {
+    /** The file deleter that actually deletes the files. */
+    @CanIgnoreReturnValue
+    Builder delegate(FileDeleter delegate);
+
+    /**
+     * The maximum number of concurrently running batch deletions, defaults to {@value
+     * #DEFAULT_PARALLELISM}.
+     */
+    @CanIgnoreReturnValue
+    Builder parallelism(int parallelism);
+
+    /**
+     * The maximum number of files per batch passed to {@link FileDeleter#deleteMultiple(StorageUri,
+     * Stream)} of the delegate, defaults to {@value #DEFAULT_BATCH_SIZE}, which is the maximum
+     * number of keys per S3 {@code DeleteObjects} request.
+     */
+    @CanIgnoreReturnValue
+    Builder batchSize(int batchSize);
+
+    ConcurrentFileDeleter build();
+  }
+
+  abstract FileDeleter delegate();
+
+  @Value.Default
+  int parallelism() {
+    return DEFAULT_PARALLELISM;
+  }
+
+  @Value.Default
+  int batchSize() {
+    return DEFAULT_BATCH_SIZE;
+  }
+
+  @SuppressWarnings("immutables:incompat")
+  private volatile boolean hasExecutor;
+
+  @Value.Lazy
+  ExecutorService executor() {
+    hasExecutor = true;
+    return Executors.newFixedThreadPool(
+        parallelism(),
+        new ThreadFactoryBuilder().setDaemon(true).setNameFormat("nessie-gc-delete-%d").build());
+  }
+
+  @Value.Lazy
+  Semaphore permits() {
+    return new Semaphore(parallelism());
+  }
+
+  @Value.Check
+  void verify() {
+    Preconditions.checkArgument(parallelism() >= 1, "Parallelism must be greater than 0");
+    Preconditions.checkArgument(batchSize() >= 1, "Batch size must be greater than 0");
+  }
+
+  @Override
+  public void close() {
+    if (hasExecutor) {
+      executor().shutdown();
+    }
+  }
+
+  @Override
+  public DeleteResult delete(FileReference fileReference) {
+    return delegate().delete(fileReference);
+  }
+
+  @Override
+  public DeleteSummary deleteMultiple(StorageUri baseUri, Stream<FileReference> fileObjects) {
+    int batchSize = batchSize();
+    List<CompletableFuture<DeleteSummary>> submitted = new ArrayList<>();
+    try {
+      List<FileReference> batch = new ArrayList<>(batchSize);
+      for (Iterator<FileReference> iter = fileObjects.iterator(); iter.hasNext(); ) {
+        batch.add(iter.next());
+        if (batch.size() == batchSize) {
+          submitted.add(submit(baseUri, batch));
+          batch = new ArrayList<>(batchSize);
+        }
+      }
+      if (!batch.isEmpty()) {
+        submitted.add(submit(baseUri, batch));
+      }
+    } finally {
+      // Wait for the already submitted batches, even if the stream of files failed.
+      CompletableFuture.allOf(submitted.toArray(new CompletableFuture<?>[0]))
+          .exceptionally(e -> null)
+          .join();
+    }
+
+    return submitted.stream()
+        .map(CompletableFuture::join)
+        .reduce(DeleteSummary.EMPTY, DeleteSummary::add);
+  }
+
+  private CompletableFuture<DeleteSummary> submit(StorageUri baseUri, List<FileReference> batch) {
+    Semaphore permits = permits();
+    try {
+      permits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while waiting to delete files in " + baseUri, e);
+    }
+
+    try {
+      return CompletableFuture.supplyAsync(
+              () -> delegate().deleteMultiple(baseUri, batch.stream()), executor())
+          .exceptionally(
+              e -> {
+                LOGGER.debug("Failed to delete {} files in {}", batch.size(), baseUri, e);
+                return DeleteSummary.of(0L, batch.size());
+              })
+          .whenComplete((summary, e) -> permits.release());
+    } catch (RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+  }
+}
@@ -19,10 +19,9 @@ import static org.projectnessie.gc.identify.CutoffPolicy.NO_TIMESTAMP;
 
 import jakarta.annotation.Nonnull;
 import java.time.Instant;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.agrona.collections.ObjectHashSet;
 
 /**
@@ -37,30 +36,42 @@ import org.agrona.collections.ObjectHashSet;
  * been visited with a cutoff-timestamp that is equal to or older than the given cutoff-timestamp,
  * live-contents-identification can stop.
  *
+ * <p>This class is safe for concurrent use. There is no global lock, each set of visited commits is
+ * guarded by its own monitor, so that concurrent calls for different cutoff-timestamps do not
+ * block each other. Concurrent calls for the same commit ID with different cutoff-timestamps may
+ * both return {@code false}, which only results in a redundant commit log scan.
+ *
  * <p>NOTE: the reason that this deduplicator is not wired up to the Nessie GC tool is that the
  * exact heap pressure needs to be thoroughly determined, because a Java OutOfMemory situation must
  * be avoided.
  */
 public final class DefaultVisitedDeduplicator implements VisitedDeduplicator {
 
-  private final Map<Instant, Set<String>> alreadyVisited = new HashMap<>();
+  private final Map<Instant, ObjectHashSet<String>> alreadyVisited = new ConcurrentHashMap<>();
 
   @Override
-  public synchronized boolean alreadyVisited(
-      @Nonnull Instant cutoffTimestamp, @Nonnull String commitId) {
+  public boolean alreadyVisited(@Nonnull Instant cutoffTimestamp, @Nonnull String commitId) {
     if (cutoffTimestamp.equals(NO_TIMESTAMP)) {
       return false;
     }
 
-    for (Entry<Instant, Set<String>> instantSetEntry : alreadyVisited.entrySet()) {
+    for (Entry<Instant, ObjectHashSet<String>> instantSetEntry : alreadyVisited.entrySet()) {
       if (!instantSetEntry.getKey().isAfter(cutoffTimestamp)
-          && instantSetEntry.getValue().contains(commitId)) {
+          && contains(instantSetEntry.getValue(), commitId)) {
         return true;
       }
     }
 
-    Set<String> commits =
+    ObjectHashSet<String> commits =
         alreadyVisited.computeIfAbsent(cutoffTimestamp, x -> new ObjectHashSet<>());
-    return !commits.add(commitId);
+    synchronized (commits) {
+      return !commits.add(commitId);
+    }
+  }
+
+  private static boolean contains(ObjectHashSet<String> commits, String commitId) {
+    synchronized (commits) {
+      return commits.contains(commitId);
+    }
   }
 }
@@ -18,20 +18,27 @@ package org.projectnessie.gc.identify;
 import static java.lang.String.format;
 
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import jakarta.annotation.Nullable;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Spliterator;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import org.immutables.value.Value;
 import org.projectnessie.error.NessieNotFoundException;
 import org.projectnessie.gc.contents.AddContents;
@@ -39,6 +46,7 @@ import org.projectnessie.gc.contents.LiveContentSetsRepository;
 import org.projectnessie.gc.repository.RepositoryConnector;
 import org.projectnessie.model.CommitMeta;
 import org.projectnessie.model.Content;
+import org.projectnessie.model.ContentKey;
 import org.projectnessie.model.Detached;
 import org.projectnessie.model.LogResponse;
 import org.projectnessie.model.Operation;
@@ -64,7 +72,10 @@ import org.slf4j.LoggerFactory;
  *       GC run.
  *   <li>A consumer via {@link #liveContentSetsRepository()} for the identified live content
  *       objects}.
- *   <li>The desired number of named-references being walked concurrently.
+ *   <li>The desired number of named-references being walked concurrently, which is also the
+ *       number of concurrently processed partitions of the contents of one reference.
+ *   <li>The number of commit log entries that are {@link #commitLogPrefetch() fetched ahead} of
+ *       processing.
  *   <li>A {@link #visitedDeduplicator() de-duplication functionality} to prevent walking the same
  *       commit(s) with compatible cut-off timestamps.
  * </ul>
@@ -74,6 +85,7 @@ public abstract class IdentifyLiveContents {
   private static final Logger LOGGER = LoggerFactory.getLogger(IdentifyLiveContents.class);
 
   public static final int DEFAULT_PARALLELISM = 4;
+  public static final int DEFAULT_COMMIT_LOG_PREFETCH = 250;
 
   private final AtomicBoolean executed = new AtomicBoolean();
 
@@ -149,6 +161,14 @@ public abstract class IdentifyLiveContents {
     @CanIgnoreReturnValue
     Builder parallelism(int parallelism);
 
+    /**
+     * Configures the number of commit log entries that are fetched ahead of processing the commit
+     * log of a reference, default is {@value #DEFAULT_COMMIT_LOG_PREFETCH}. Prefetching is
+     * disabled, if set to {@code 0}.
+     */
+    @CanIgnoreReturnValue
+    Builder commitLogPrefetch(int commitLogPrefetch);
+
     IdentifyLiveContents build();
   }
 
@@ -167,14 +187,26 @@ public abstract class IdentifyLiveContents {
 
     @SuppressWarnings("resource")
     ForkJoinPool forkJoinPool = new ForkJoinPool(parallelism());
+    // Prefetching threads block on the commit log streams and must not use fork-join threads.
+    ExecutorService prefetchExecutor =
+        commitLogPrefetch() > 0
+            ? Executors.newCachedThreadPool(
+                new ThreadFactoryBuilder()
+                    .setDaemon(true)
+                    .setNameFormat("nessie-gc-commit-log-prefetch-%d")
+                    .build())
+            : null;
     try {
-      return forkJoinPool.invoke(ForkJoinTask.adapt(this::walkAllReferences));
+      return forkJoinPool.invoke(ForkJoinTask.adapt(() -> walkAllReferences(prefetchExecutor)));
     } finally {
       forkJoinPool.shutdown();
+      if (prefetchExecutor != null) {
+        prefetchExecutor.shutdown();
+      }
     }
   }
 
-  private UUID walkAllReferences() {
+  private UUID walkAllReferences(ExecutorService prefetchExecutor) {
     try (AddContents addContents = liveContentSetsRepository().newAddContents()) {
       try {
         @SuppressWarnings("resource")
@@ -190,7 +222,7 @@ public abstract class IdentifyLiveContents {
 
         Optional<ReferencesWalkResult> result =
             refs.parallel()
-                .map(ref -> identifyContentsForReference(addContents, ref))
+                .map(ref -> identifyContentsForReference(addContents, ref, prefetchExecutor))
                 .reduce(ReferencesWalkResult::add);
 
         LOGGER.info(
@@ -216,7 +248,7 @@ public abstract class IdentifyLiveContents {
 
   @SuppressWarnings("resource")
   private ReferencesWalkResult identifyContentsForReference(
-      AddContents addContents, Reference namedReference) {
+      AddContents addContents, Reference namedReference, ExecutorService prefetchExecutor) {
     CutoffPolicy cutoffPolicy = cutOffPolicySupplier().get(namedReference);
 
     if (visitedDeduplicator().alreadyVisited(cutoffPolicy.timestamp(), namedReference.getHash())) {
@@ -239,7 +271,7 @@ public abstract class IdentifyLiveContents {
     int numCommits = 0;
     long numContents = 0;
 
-    try (Stream<LogResponse.LogEntry> commits = repositoryConnector().commitLog(namedReference)) {
+    try (Stream<LogResponse.LogEntry> commits = commitLog(namedReference, prefetchExecutor)) {
 
       LogEntryHolder holder = new LogEntryHolder();
       String lastCommitId = null;
@@ -341,12 +373,58 @@ public abstract class IdentifyLiveContents {
     }
   }
 
-  @SuppressWarnings("resource")
+  private Stream<LogResponse.LogEntry> commitLog(
+      Reference namedReference, ExecutorService prefetchExecutor) throws NessieNotFoundException {
+    Stream<LogResponse.LogEntry> commits = repositoryConnector().commitLog(namedReference);
+    if (prefetchExecutor == null) {
+      return commits;
+    }
+    PrefetchingSpliterator<LogResponse.LogEntry> prefetching =
+        new PrefetchingSpliterator<>(commits, commitLogPrefetch(), prefetchExecutor);
+    return StreamSupport.stream(prefetching, false).onClose(prefetching::close);
+  }
+
+  /**
+   * Adds all contents at the given commit. The contents are split into partitions, up to {@link
+   * #parallelism()} partitions are processed concurrently in the current fork-join pool.
+   */
   private long collectAllKeys(AddContents addContents, Detached ref)
       throws NessieNotFoundException {
+    try (Stream<Map.Entry<ContentKey, Content>> contents =
+        repositoryConnector().allContents(ref, contentTypeFilter().validTypes())) {
+      Spliterator<Map.Entry<ContentKey, Content>> remaining = contents.spliterator();
+
+      long numContents = 0L;
+      Deque<ForkJoinTask<Long>> partitions = new ArrayDeque<>();
+      try {
+        for (Spliterator<Map.Entry<ContentKey, Content>> partition;
+            (partition = remaining.trySplit()) != null; ) {
+          if (partitions.size() >= parallelism()) {
+            numContents += partitions.removeFirst().join();
+          }
+          Spliterator<Map.Entry<ContentKey, Content>> p = partition;
+          partitions.addLast(ForkJoinTask.adapt(() -> addPartition(addContents, ref, p)).fork());
+        }
+        numContents += addPartition(addContents, ref, remaining);
+      } finally {
+        // Wait for the already forked partitions, even if splitting or adding contents failed.
+        for (ForkJoinTask<Long> partition : partitions) {
+          partition.quietlyJoin();
+        }
+      }
+      for (ForkJoinTask<Long> partition : partitions) {
+        numContents += partition.join();
+      }
+      return numContents;
+    }
+  }
+
+  private long addPartition(
+      AddContents addContents,
+      Detached ref,
+      Spliterator<Map.Entry<ContentKey, Content>> partition) {
     return addContents.addLiveContent(
-        repositoryConnector()
-            .allContents(ref, contentTypeFilter().validTypes())
+        StreamSupport.stream(partition, false)
             .map(
                 e ->
                     contentToContentReference()
@@ -432,8 +510,15 @@ public abstract class IdentifyLiveContents {
     return DEFAULT_PARALLELISM;
   }
 
+  @Value.Default
+  int commitLogPrefetch() {
+    return DEFAULT_COMMIT_LOG_PREFETCH;
+  }
+
   @Value.Check
   void verify() {
     Preconditions.checkArgument(parallelism() >= 1, "Parallelism must be greater than 0");
+    Preconditions.checkArgument(
+        commitLogPrefetch() >= 0, "Commit log prefetch must not be negative");
   }
 }
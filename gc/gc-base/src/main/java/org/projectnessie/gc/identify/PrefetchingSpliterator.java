@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.gc.identify;
+
+import java.util.Iterator;
+import java.util.Spliterators.AbstractSpliterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Consumes a source stream in a separate thread and buffers up to {@code capacity} elements ahead
+ * of the consumer of this spliterator, so that fetching the next pages of the source, for example
+ * of a Nessie commit log, overlaps with processing the already fetched elements.
+ *
+ * <p>{@link #close()} must be called, even if not all elements have been consumed, to stop the
+ * producing thread, which then closes the source stream.
+ */
+final class PrefetchingSpliterator<T> extends AbstractSpliterator<T> implements AutoCloseable {
+
+  private static final Object END = new Object();
+
+  private final BlockingQueue<Object> queue;
+  private volatile boolean closed;
+  private boolean exhausted;
+
+  PrefetchingSpliterator(Stream<T> source, int capacity, Executor executor) {
+    super(Long.MAX_VALUE, ORDERED | NONNULL);
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    executor.execute(() -> produce(source));
+  }
+
+  private void produce(Stream<T> source) {
+    try (Stream<T> s = source) {
+      Object last = END;
+      try {
+        for (Iterator<T> iter = s.iterator(); iter.hasNext(); ) {
+          if (!enqueue(iter.next())) {
+            return;
+          }
+        }
+      } catch (RuntimeException | Error e) {
+        last = new Failure(e);
+      }
+      enqueue(last);
+    }
+  }
+
+  private boolean enqueue(Object element) {
+    try {
+      while (!closed) {
+        if (queue.offer(element, 100, TimeUnit.MILLISECONDS)) {
+          return true;
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return false;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super T> action) {
+    if (exhausted) {
+      return false;
+    }
+
+    Object element;
+    try {
+      element = queue.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while waiting for the next element", e);
+    }
+
+    if (element == END) {
+      exhausted = true;
+      return false;
+    }
+    if (element instanceof Failure) {
+      exhausted = true;
+      Throwable failure = ((Failure) element).failure;
+      if (failure instanceof Error) {
+        throw (Error) failure;
+      }
+      throw (RuntimeException) failure;
+    }
+
+    @SuppressWarnings("unchecked")
+    T e = (T) element;
+    action.accept(e);
+    return true;
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+    queue.clear();
+  }
+
+  private static final class Failure {
+    final Throwable failure;
+
+    Failure(Throwable failure) {
+      this.failure = failure;
+    }
+  }
+}
@@ -22,6 +22,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.Spliterator;
 import java.util.Spliterators.AbstractSpliterator;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
@@ -63,6 +64,12 @@ public final class NessieRepositoryConnector implements RepositoryConnector {
     return StreamSupport.stream(new BatchContentSplit(ref, types), false);
   }
 
+  /**
+   * Lists the content keys and fetches the contents in batches of {@value #CONTENT_BATCH_SIZE}
+   * keys. {@link #trySplit()} returns a spliterator for the next key-range partition of up to
+   * {@value #CONTENT_BATCH_SIZE} keys, which fetches the contents of its keys lazily, so that
+   * partitions can be processed concurrently.
+   */
   private class BatchContentSplit extends AbstractSpliterator<Entry<ContentKey, Content>> {
     private final Detached ref;
     private final Set<Content.Type> types;
@@ -77,40 +84,66 @@ public final class NessieRepositoryConnector implements RepositoryConnector {
 
     @Override
     public boolean tryAdvance(Consumer<? super Entry<ContentKey, Content>> action) {
-      if (keysSplit == null) {
-        try {
-          keysSplit = allContentKeys(ref, types).iterator();
-        } catch (NessieNotFoundException e) {
-          throw new RuntimeException(e);
-        }
-      }
-
       while (true) {
         if (currentBatch.hasNext()) {
           action.accept(currentBatch.next());
           return true;
         }
 
-        List<ContentKey> batchKeys = new ArrayList<>();
-        while (batchKeys.size() < CONTENT_BATCH_SIZE && keysSplit.hasNext()) {
-          batchKeys.add(keysSplit.next());
-        }
-
+        List<ContentKey> batchKeys = nextBatchKeys();
         if (batchKeys.isEmpty()) {
           return false;
         }
 
+        currentBatch = fetchContents(batchKeys).entrySet().iterator();
+      }
+    }
+
+    @Override
+    public Spliterator<Entry<ContentKey, Content>> trySplit() {
+      List<ContentKey> batchKeys = nextBatchKeys();
+      if (batchKeys.isEmpty()) {
+        return null;
+      }
+      return new AbstractSpliterator<>(batchKeys.size(), 0) {
+        private Iterator<Entry<ContentKey, Content>> batch;
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Entry<ContentKey, Content>> action) {
+          if (batch == null) {
+            batch = fetchContents(batchKeys).entrySet().iterator();
+          }
+          if (!batch.hasNext()) {
+            return false;
+          }
+          action.accept(batch.next());
+          return true;
+        }
+      };
+    }
+
+    private List<ContentKey> nextBatchKeys() {
+      if (keysSplit == null) {
         try {
-          currentBatch = fetchContents(ref, batchKeys).entrySet().iterator();
+          keysSplit = allContentKeys(ref, types).iterator();
         } catch (NessieNotFoundException e) {
           throw new RuntimeException(e);
         }
       }
+
+      List<ContentKey> batchKeys = new ArrayList<>();
+      while (batchKeys.size() < CONTENT_BATCH_SIZE && keysSplit.hasNext()) {
+        batchKeys.add(keysSplit.next());
+      }
+      return batchKeys;
     }
 
-    private Map<ContentKey, Content> fetchContents(Detached ref, List<ContentKey> allKeys)
-        throws NessieNotFoundException {
-      return api.getContent().reference(ref).keys(allKeys).get();
+    private Map<ContentKey, Content> fetchContents(List<ContentKey> batchKeys) {
+      try {
+        return api.getContent().reference(ref).keys(batchKeys).get();
+      } catch (NessieNotFoundException e) {
+        throw new RuntimeException(e);
+      }
     }
 
     private Stream<ContentKey> allContentKeys(Detached ref, Set<Content.Type> types)
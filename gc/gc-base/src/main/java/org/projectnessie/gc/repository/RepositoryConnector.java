@@ -37,6 +37,9 @@ public interface RepositoryConnector extends AutoCloseable {
   /**
    * Retrieves all remaining contents at the last live commit (the commit right before the first
    * non-live commit).
+   *
+   * <p>The spliterator of the returned stream may be {@link java.util.Spliterator#trySplit()
+   * split} into partitions, which are then consumed concurrently.
    */
   Stream<Map.Entry<ContentKey, Content>> allContents(Detached ref, Set<Content.Type> types)
       throws NessieNotFoundException;
@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.gc.files;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.projectnessie.gc.files.local.LocalFiles;
+import org.projectnessie.gc.files.tests.AbstractFiles;
+import org.projectnessie.storage.uri.StorageUri;
+
+public class TestConcurrentFileDeleter extends AbstractFiles {
+
+  @TempDir Path path;
+
+  private LocalFiles local;
+  private ConcurrentFileDeleter deleter;
+
+  @BeforeEach
+  void setUp() {
+    local = new LocalFiles();
+    deleter = ConcurrentFileDeleter.builder().delegate(local).parallelism(3).batchSize(7).build();
+  }
+
+  @AfterEach
+  void tearDown() {
+    deleter.close();
+  }
+
+  @Override
+  protected FilesLister lister() {
+    return local;
+  }
+
+  @Override
+  protected FileDeleter deleter() {
+    return deleter;
+  }
+
+  @Override
+  protected List<FileReference> prepareFiles(int numFiles) {
+    return prepareLocalFiles(path, numFiles);
+  }
+
+  @Override
+  protected StorageUri baseUri() {
+    return StorageUri.of(path.toUri());
+  }
+
+  @Test
+  public void failingBatches() {
+    AtomicInteger batches = new AtomicInteger();
+    FileDeleter failing =
+        new FileDeleter() {
+          @Override
+          public DeleteResult delete(FileReference fileReference) {
+            throw new UnsupportedOperationException();
+          }
+
+          @Override
+          public DeleteSummary deleteMultiple(
+              StorageUri baseUri, Stream<FileReference> fileObjects) {
+            if (batches.incrementAndGet() % 2 == 0) {
+              throw new RuntimeException("failed batch");
+            }
+            return DeleteSummary.of(fileObjects.count(), 0L);
+          }
+        };
+
+    try (ConcurrentFileDeleter concurrent =
+        ConcurrentFileDeleter.builder().delegate(failing).parallelism(2).batchSize(10).build()) {
+      DeleteSummary summary =
+          concurrent.deleteMultiple(
+              baseUri(),
+              IntStream.range(0, 35)
+                  .mapToObj(i -> FileReference.of(StorageUri.of("f-" + i), baseUri(), -1L)));
+      assertThat(batches).hasValue(4);
+      assertThat(summary.deleted() + summary.failures()).isEqualTo(35L);
+      // Two out of the four batches failed
+      assertThat(summary.failures()).isGreaterThanOrEqualTo(15L).isLessThanOrEqualTo(20L);
+    }
+  }
+}
@@ -16,6 +16,8 @@
 package org.projectnessie.gc.identify;
 
 import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 import org.assertj.core.api.SoftAssertions;
 import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
 import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
@@ -56,4 +58,26 @@ public class TestDefaultVisitedDeduplicator {
     // commit-3 has been visited at T-2, which includes T-1 --> true
     soft.assertThat(dedup.alreadyVisited(minus1, "commit-3")).isTrue();
   }
+
+  @Test
+  public void concurrentUse() {
+    DefaultVisitedDeduplicator dedup = new DefaultVisitedDeduplicator();
+
+    Instant t = Instant.now();
+    AtomicInteger notVisited = new AtomicInteger();
+    IntStream.range(0, 100_000)
+        .parallel()
+        .forEach(
+            i -> {
+              if (!dedup.alreadyVisited(t.minusSeconds(i % 3), "commit-" + (i % 1000))) {
+                notVisited.incrementAndGet();
+              }
+            });
+
+    // Each commit is reported as not visited at least once and at most once per cut-off timestamp
+    soft.assertThat(notVisited).hasValueBetween(1000, 3000);
+    for (int i = 0; i < 1000; i++) {
+      soft.assertThat(dedup.alreadyVisited(t, "commit-" + i)).isTrue();
+    }
+  }
 }
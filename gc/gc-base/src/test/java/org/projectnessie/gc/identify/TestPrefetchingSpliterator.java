@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.gc.identify;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestPrefetchingSpliterator {
+  @InjectSoftAssertions SoftAssertions soft;
+
+  private ExecutorService executor;
+
+  @BeforeEach
+  void setUp() {
+    executor = Executors.newCachedThreadPool();
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void allElements() {
+    try (PrefetchingSpliterator<Integer> prefetching =
+        new PrefetchingSpliterator<>(IntStream.range(0, 1000).boxed(), 7, executor)) {
+      soft.assertThat(StreamSupport.stream(prefetching, false).collect(Collectors.toList()))
+          .containsExactlyElementsOf(
+              IntStream.range(0, 1000).boxed().collect(Collectors.toList()));
+      soft.assertThat(prefetching.tryAdvance(i -> {})).isFalse();
+    }
+  }
+
+  @Test
+  public void failure() {
+    Stream<Integer> source =
+        IntStream.range(0, 10)
+            .boxed()
+            .map(
+                i -> {
+                  if (i == 5) {
+                    throw new IllegalStateException("source failure");
+                  }
+                  return i;
+                });
+    try (PrefetchingSpliterator<Integer> prefetching =
+        new PrefetchingSpliterator<>(source, 3, executor)) {
+      List<Integer> consumed = new ArrayList<>();
+      soft.assertThatThrownBy(
+              () -> StreamSupport.stream(prefetching, false).forEach(consumed::add))
+          .isInstanceOf(IllegalStateException.class)
+          .hasMessage("source failure");
+      soft.assertThat(consumed).containsExactly(0, 1, 2, 3, 4);
+    }
+  }
+
+  @Test
+  public void closeStopsProducer() throws Exception {
+    CountDownLatch sourceClosed = new CountDownLatch(1);
+    Stream<Integer> source = Stream.iterate(0, i -> i + 1).onClose(sourceClosed::countDown);
+
+    PrefetchingSpliterator<Integer> prefetching = new PrefetchingSpliterator<>(source, 5, executor);
+    soft.assertThat(StreamSupport.stream(prefetching, false).limit(20).count()).isEqualTo(20L);
+    prefetching.close();
+
+    soft.assertThat(sourceClosed.await(30, SECONDS)).isTrue();
+  }
+}
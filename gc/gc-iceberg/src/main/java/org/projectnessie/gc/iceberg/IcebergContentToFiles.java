@@ -20,6 +20,8 @@ import static org.projectnessie.model.Content.Type.ICEBERG_VIEW;
 import static org.projectnessie.storage.uri.StorageUri.SCHEME_FILE;
 
 import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import com.google.errorprone.annotations.MustBeClosed;
 import jakarta.annotation.Nonnull;
@@ -27,6 +29,7 @@ import java.io.IOException;
 import java.net.URI;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 import org.apache.iceberg.ManifestFile;
@@ -72,6 +75,11 @@ public abstract class IcebergContentToFiles implements ContentToFiles {
   static final String ADLS_PATH_NOT_FOUND_CODE = "PathNotFound";
   static final String ADLS_BLOB_NOT_FOUND_CODE = "BlobNotFound";
 
+  public static final int DEFAULT_MAX_CACHED_MANIFESTS = 100_000;
+
+  private final LongAdder manifestsRead = new LongAdder();
+  private final LongAdder manifestsSkipped = new LongAdder();
+
   public static Builder builder() {
     return ImmutableIcebergContentToFiles.builder();
   }
@@ -80,11 +88,39 @@ public abstract class IcebergContentToFiles implements ContentToFiles {
     @CanIgnoreReturnValue
     Builder io(FileIO io);
 
+    @CanIgnoreReturnValue
+    Builder maxCachedManifests(int maxCachedManifests);
+
     IcebergContentToFiles build();
   }
 
   abstract FileIO io();
 
+  /**
+   * The maximum number of manifest list and manifest file locations per content that are
+   * remembered by {@link #extractFilesForContent(String, Stream)} to not read the same manifest
+   * list or manifest file again for another snapshot of the same content, defaults to {@value
+   * #DEFAULT_MAX_CACHED_MANIFESTS}. The least recently used locations are evicted first, a value of
+   * {@code 0} disables the deduplication.
+   */
+  @Value.Default
+  int maxCachedManifests() {
+    return DEFAULT_MAX_CACHED_MANIFESTS;
+  }
+
+  /** Number of manifest lists and manifest files read by this instance. */
+  public long manifestsRead() {
+    return manifestsRead.sum();
+  }
+
+  /**
+   * Number of manifest lists and manifest files that were not read again by this instance, because
+   * those have already been processed for the same content.
+   */
+  public long manifestsSkipped() {
+    return manifestsSkipped.sum();
+  }
+
   /**
    * Provides a {@link Stream} with the {@link FileReference}s referencing the table-metadata, the
    * {@link Snapshot#manifestListLocation() manifest-list}, all {@link ManifestFile manifest-files}
@@ -93,9 +129,47 @@ public abstract class IcebergContentToFiles implements ContentToFiles {
   @Override
   @MustBeClosed
   public Stream<FileReference> extractFiles(ContentReference contentReference) {
+    return extractFiles(contentReference, null);
+  }
+
+  /**
+   * Provides the same files as {@link #extractFiles(ContentReference)} for all content references,
+   * but reads and returns the files of each manifest list and manifest file only once, because
+   * consecutive snapshots of a table usually share most of their manifest files.
+   */
+  @Override
+  @MustBeClosed
+  public Stream<FileReference> extractFilesForContent(
+      String contentId, Stream<ContentReference> contentReferences) {
+    int maxCachedManifests = maxCachedManifests();
+    if (maxCachedManifests <= 0) {
+      return ContentToFiles.super.extractFilesForContent(contentId, contentReferences);
+    }
+
+    ProcessedManifests processedManifests = new ProcessedManifests(maxCachedManifests);
+    return contentReferences
+        .flatMap(
+            c -> {
+              @SuppressWarnings("MustBeClosedChecker")
+              Stream<FileReference> r = extractFiles(c, processedManifests);
+              return r;
+            })
+        .onClose(
+            () ->
+                LOGGER.debug(
+                    "content#{}: Read {} manifest lists and manifest files, skipped {} already "
+                        + "processed manifest lists and manifest files.",
+                    contentId,
+                    processedManifests.read,
+                    processedManifests.skipped));
+  }
+
+  @MustBeClosed
+  private Stream<FileReference> extractFiles(
+      ContentReference contentReference, ProcessedManifests processedManifests) {
     Content.Type contentType = contentReference.contentType();
     if (contentType.equals(ICEBERG_TABLE)) {
-      return extractTableFiles(contentReference);
+      return extractTableFiles(contentReference, processedManifests);
     } else if (contentType.equals(ICEBERG_VIEW)) {
       return extractViewFiles(contentReference);
     } else {
@@ -121,7 +195,8 @@ public abstract class IcebergContentToFiles implements ContentToFiles {
     return extractFilesRelativize(allFiles, baseUri);
   }
 
-  private Stream<FileReference> extractTableFiles(ContentReference contentReference) {
+  private Stream<FileReference> extractTableFiles(
+      ContentReference contentReference, ProcessedManifests processedManifests) {
     FileIO io = io();
 
     TableMetadata tableMetadata;
@@ -139,9 +214,16 @@ public abstract class IcebergContentToFiles implements ContentToFiles {
     Snapshot snapshot =
         snapshotId < 0L ? tableMetadata.currentSnapshot() : tableMetadata.snapshot(snapshotId);
 
+    StorageUri baseUri = baseUri(tableMetadata, contentReference);
+
     Stream<StorageUri> allFiles = elementaryUrisFromSnapshot(snapshot, contentReference);
 
     if (snapshot != null) {
+      String manifestListLocation = snapshot.manifestListLocation();
+      boolean manifestsProcessed =
+          manifestListLocation != null
+              && !mustRead(processedManifests, baseUri, manifestListLocation);
+
       long effectiveSnapshotId = snapshot.snapshotId();
       allFiles =
           Stream.concat(
@@ -159,38 +241,45 @@ public abstract class IcebergContentToFiles implements ContentToFiles {
                   .map(StorageUri::of));
 
       Map<Integer, PartitionSpec> specsById = tableMetadata.specsById();
-      allFiles =
-          Stream.concat(
-              allFiles,
-              Stream.of("")
-                  // .flatMap() for lazy loading
-                  .flatMap(
-                      x -> {
-                        try {
-                          @SuppressWarnings("MustBeClosedChecker")
-                          Stream<StorageUri> r =
-                              allManifestsAndDataFiles(io, snapshot, specsById, contentReference);
-                          return r;
-                        } catch (Exception e) {
-                          String msg =
-                              "Failed to get manifest files for "
-                                  + contentReference.contentType()
-                                  + " "
-                                  + contentReference.contentKey()
-                                  + ", content-ID "
-                                  + contentReference.contentId()
-                                  + " at commit "
-                                  + contentReference.commitId()
-                                  + " via "
-                                  + contentReference.metadataLocation();
-                          LOGGER.error("{}", msg, e);
-                          throw new RuntimeException(msg, e);
-                        }
-                      }));
+      // All manifest files of an already processed manifest list have already been processed
+      if (!manifestsProcessed) {
+        allFiles =
+            Stream.concat(
+                allFiles,
+                Stream.of("")
+                    // .flatMap() for lazy loading
+                    .flatMap(
+                        x -> {
+                          try {
+                            @SuppressWarnings("MustBeClosedChecker")
+                            Stream<StorageUri> r =
+                                allManifestsAndDataFiles(
+                                    io,
+                                    snapshot,
+                                    specsById,
+                                    contentReference,
+                                    baseUri,
+                                    processedManifests);
+                            return r;
+                          } catch (Exception e) {
+                            String msg =
+                                "Failed to get manifest files for "
+                                    + contentReference.contentType()
+                                    + " "
+                                    + contentReference.contentKey()
+                                    + ", content-ID "
+                                    + contentReference.contentId()
+                                    + " at commit "
+                                    + contentReference.commitId()
+                                    + " via "
+                                    + contentReference.metadataLocation();
+                            LOGGER.error("{}", msg, e);
+                            throw new RuntimeException(msg, e);
+                          }
+                        }));
+      }
     }
 
-    StorageUri baseUri = baseUri(tableMetadata, contentReference);
-
     return extractFilesRelativize(allFiles, baseUri);
   }
 
@@ -260,15 +349,19 @@ public abstract class IcebergContentToFiles implements ContentToFiles {
   /**
    * For the given {@link Snapshot}, provide a {@link Stream} of all manifest files with {@link
    * #allDataAndDeleteFiles(FileIO, Map, ManifestFile, ContentReference) all included data and
-   * delete files}.
+   * delete files}, except the manifest files that have already been processed for the same base
+   * location, if {@code processedManifests} is not {@code null}.
    */
   @MustBeClosed
-  static Stream<StorageUri> allManifestsAndDataFiles(
+  Stream<StorageUri> allManifestsAndDataFiles(
       FileIO io,
       Snapshot snapshot,
       Map<Integer, PartitionSpec> specsById,
-      ContentReference contentReference) {
+      ContentReference contentReference,
+      StorageUri baseUri,
+      ProcessedManifests processedManifests) {
     return allManifests(io, specsById, snapshot)
+        .filter(mf -> mustRead(processedManifests, baseUri, mf.path()))
         .flatMap(
             mf -> {
               StorageUri manifestFileLoc = manifestFileUri(mf, contentReference);
@@ -279,6 +372,53 @@ public abstract class IcebergContentToFiles implements ContentToFiles {
             });
   }
 
+  /**
+   * Checks whether the manifest list or manifest file at the given location must be read, which is
+   * the case if it has not been processed for the same content and base location before.
+   */
+  private boolean mustRead(
+      ProcessedManifests processedManifests, StorageUri baseUri, String location) {
+    boolean read =
+        processedManifests == null || processedManifests.firstVisit(baseUri, location);
+    if (read) {
+      manifestsRead.increment();
+    } else {
+      manifestsSkipped.increment();
+    }
+    return read;
+  }
+
+  /**
+   * Remembers the manifest lists and manifest files that have already been processed for one
+   * content. The number of remembered locations is bounded, the least recently used locations are
+   * evicted first, which only means that an evicted manifest is read again.
+   *
+   * <p>The files are emitted relative to the base location of the table metadata that refers to
+   * the manifest, and the expire phase checks the files per base location. If the table location
+   * changed, the files of a manifest must be emitted again for the new base location, so the
+   * locations are remembered per base location.
+   */
+  static final class ProcessedManifests {
+    private final Cache<Map.Entry<StorageUri, String>, Boolean> processed;
+    long read;
+    long skipped;
+
+    ProcessedManifests(int maxCachedManifests) {
+      this.processed = CacheBuilder.newBuilder().maximumSize(maxCachedManifests).build();
+    }
+
+    boolean firstVisit(StorageUri baseUri, String location) {
+      Map.Entry<StorageUri, String> key = Map.entry(baseUri, location);
+      if (processed.getIfPresent(key) != null) {
+        skipped++;
+        return false;
+      }
+      processed.put(key, Boolean.TRUE);
+      read++;
+      return true;
+    }
+  }
+
   /** Provide all {@link ManifestFile}s for the given {@link Snapshot}. */
   static Stream<ManifestFile> allManifests(
       FileIO io, Map<Integer, PartitionSpec> specsById, Snapshot snapshot) {
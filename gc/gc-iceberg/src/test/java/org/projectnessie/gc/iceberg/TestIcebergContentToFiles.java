@@ -32,8 +32,10 @@ import static org.projectnessie.model.Content.Type.ICEBERG_TABLE;
 import static org.projectnessie.model.Content.Type.ICEBERG_VIEW;
 
 import com.google.common.collect.ImmutableSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 import org.apache.iceberg.ManifestFile;
 import org.apache.iceberg.Schema;
@@ -43,6 +45,7 @@ import org.apache.iceberg.catalog.Namespace;
 import org.apache.iceberg.exceptions.NotFoundException;
 import org.apache.iceberg.io.FileIO;
 import org.apache.iceberg.io.InputFile;
+import org.apache.iceberg.io.OutputFile;
 import org.apache.iceberg.types.Types;
 import org.apache.iceberg.view.ImmutableSQLViewRepresentation;
 import org.apache.iceberg.view.ImmutableViewVersion;
@@ -55,6 +58,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.projectnessie.gc.contents.ContentReference;
 import org.projectnessie.gc.files.FileReference;
 import org.projectnessie.gc.iceberg.mocks.IcebergFileIOMocking;
@@ -167,6 +171,131 @@ public class TestIcebergContentToFiles {
     }
   }
 
+  @ParameterizedTest
+  @ValueSource(ints = {0, 100})
+  public void manifestsProcessedOncePerContent(int maxCachedManifests) {
+    String tableId = UUID.randomUUID().toString();
+    String tableMetaLocation = tableMetadataLocation(tableId, 0);
+    MockTableMetadata tableMetadata =
+        ImmutableMockTableMetadata.builder()
+            .location(tableBase(tableId))
+            .tableUuid(tableId)
+            .addSnapshots(
+                ImmutableMockSnapshot.builder()
+                    .manifestListLocation(manifestListLocation(tableId, 0))
+                    .tableUuid(tableId)
+                    .build())
+            .build();
+    IcebergFileIOMocking mockedIO = IcebergFileIOMocking.forSingleSnapshot(tableMetadata);
+
+    Map<String, Integer> reads = new ConcurrentHashMap<>();
+    FileIO fileIO =
+        new FileIO() {
+          @Override
+          public InputFile newInputFile(String path) {
+            reads.merge(path, 1, Integer::sum);
+            return mockedIO.newInputFile(path);
+          }
+
+          @Override
+          public OutputFile newOutputFile(String path) {
+            return mockedIO.newOutputFile(path);
+          }
+
+          @Override
+          public void deleteFile(String path) {
+            mockedIO.deleteFile(path);
+          }
+        };
+
+    // Two Nessie commits referencing the same Iceberg snapshot
+    ContentKey key = ContentKey.of("foo", "bar");
+    Stream<ContentReference> contentReferences =
+        Stream.of(
+            icebergContent(ICEBERG_TABLE, "cid", "11111111", key, tableMetaLocation, 0L),
+            icebergContent(ICEBERG_TABLE, "cid", "22222222", key, tableMetaLocation, 0L));
+
+    IcebergContentToFiles contentToFiles =
+        IcebergContentToFiles.builder().io(fileIO).maxCachedManifests(maxCachedManifests).build();
+    try (Stream<FileReference> extractFiles =
+        contentToFiles.extractFilesForContent("cid", contentReferences)) {
+      soft.assertThat(extractFiles.map(FileReference::absolutePath).distinct())
+          .containsExactlyInAnyOrder(
+              StorageUri.of(tableMetaLocation),
+              StorageUri.of(manifestListLocation(tableId, 0)),
+              StorageUri.of(manifestFileLocation(tableId, 0, 0)),
+              StorageUri.of(dataFilePath(tableId, 0, 0, 0)));
+    }
+
+    int expectedReads = maxCachedManifests > 0 ? 1 : 2;
+    soft.assertThat(reads)
+        .containsEntry(tableMetaLocation, 2)
+        .containsEntry(manifestListLocation(tableId, 0), expectedReads)
+        .containsEntry(manifestFileLocation(tableId, 0, 0), expectedReads);
+    soft.assertThat(contentToFiles.manifestsRead()).isEqualTo(2L * expectedReads);
+    soft.assertThat(contentToFiles.manifestsSkipped()).isEqualTo(maxCachedManifests > 0 ? 1L : 0L);
+  }
+
+  @Test
+  public void manifestsProcessedPerBaseLocation() {
+    String tableId = UUID.randomUUID().toString();
+    MockSnapshot snapshot =
+        ImmutableMockSnapshot.builder()
+            .manifestListLocation(manifestListLocation(tableId, 0))
+            .tableUuid(tableId)
+            .build();
+    MockTableMetadata tableMetadata =
+        ImmutableMockTableMetadata.builder()
+            .location(tableBase(tableId))
+            .tableUuid(tableId)
+            .addSnapshots(snapshot)
+            .build();
+    IcebergFileIOMocking mockedIO = IcebergFileIOMocking.forSingleSnapshot(tableMetadata);
+
+    // The same snapshot, but the table location changed
+    String movedBase = "mock://data/";
+    String movedMetaLocation = tableBase(tableId) + "moved.metadata.json";
+    MockTableMetadata movedMetadata =
+        ImmutableMockTableMetadata.copyOf(tableMetadata).withLocation(movedBase);
+    FileIO fileIO =
+        new FileIO() {
+          @Override
+          public InputFile newInputFile(String path) {
+            return path.equals(movedMetaLocation)
+                ? IcebergFileIOMocking.inputFile(path, movedMetadata.jsonNode())
+                : mockedIO.newInputFile(path);
+          }
+
+          @Override
+          public OutputFile newOutputFile(String path) {
+            return mockedIO.newOutputFile(path);
+          }
+
+          @Override
+          public void deleteFile(String path) {
+            mockedIO.deleteFile(path);
+          }
+        };
+
+    ContentKey key = ContentKey.of("foo", "bar");
+    Stream<ContentReference> contentReferences =
+        Stream.of(
+            icebergContent(
+                ICEBERG_TABLE, "cid", "11111111", key, tableMetadataLocation(tableId, 0), 0L),
+            icebergContent(ICEBERG_TABLE, "cid", "22222222", key, movedMetaLocation, 0L));
+
+    IcebergContentToFiles contentToFiles = IcebergContentToFiles.builder().io(fileIO).build();
+    try (Stream<FileReference> extractFiles =
+        contentToFiles.extractFilesForContent("cid", contentReferences)) {
+      // The files of the manifest must be emitted for both base locations
+      StorageUri dataFile = StorageUri.of(dataFilePath(tableId, 0, 0, 0));
+      soft.assertThat(extractFiles.filter(f -> f.absolutePath().equals(dataFile)))
+          .extracting(FileReference::base)
+          .containsExactlyInAnyOrder(StorageUri.of(tableBase(tableId)), StorageUri.of(movedBase));
+    }
+    soft.assertThat(contentToFiles.manifestsSkipped()).isEqualTo(0L);
+  }
+
   @Test
   public void safeAgainstMissingTableMetadata() {
     InputFile inputFile = mock(InputFile.class);
@@ -0,0 +1,32 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.gc.contents.jdbc;
+
+import org.projectnessie.gc.contents.spi.PersistenceSpi;
+
+public class ITPostgresCopyPersistenceSpi extends ITPostgresPersistenceSpi {
+
+  @Override
+  protected PersistenceSpi createPersistenceSpi() {
+    return JdbcPersistenceSpi.builder()
+        .dataSource(dataSource)
+        .fetchSize(10)
+        .insertBatchSize(3)
+        .readChunkSize(2)
+        .postgresCopy(true)
+        .build();
+  }
+}
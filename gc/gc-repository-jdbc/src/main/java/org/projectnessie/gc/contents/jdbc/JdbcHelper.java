@@ -22,6 +22,8 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.SQLIntegrityConstraintViolationException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -102,6 +104,11 @@ public final class JdbcHelper {
     R fromRow(ResultSet resultSet) throws SQLException;
   }
 
+  @FunctionalInterface
+  interface PrepareNextChunk {
+    void prepare(PreparedStatement preparedStatement, String[] lastKey) throws SQLException;
+  }
+
   static final class ResultSetSplit<R> extends AbstractSpliterator<R> {
     private final Supplier<Connection> connectionSupplier;
     private final int fetchSize;
@@ -157,6 +164,92 @@ public final class JdbcHelper {
     }
   }
 
+  /**
+   * Reads the result of a query in chunks of at most {@code chunkSize} rows using keyset
+   * pagination, each chunk using a separate, short-lived connection, instead of keeping a
+   * connection, transaction and cursor open while the whole result is consumed.
+   *
+   * <p>The first chunk is read using {@code firstSql}, which must order the rows by the key
+   * columns. All following chunks are read using {@code nextSql}, which must restrict the rows to
+   * those after the key of the last row of the previous chunk, see {@link PrepareNextChunk}. Both
+   * statements must be limited to {@code chunkSize} rows.
+   */
+  static final class ChunkedResultSplit<R> extends AbstractSpliterator<R> {
+    private final Supplier<Connection> connectionSupplier;
+    private final int fetchSize;
+    private final int chunkSize;
+    private final String firstSql;
+    private final String nextSql;
+    private final Prepare prepare;
+    private final PrepareNextChunk prepareNext;
+    private final FromRow<String[]> key;
+    private final FromRow<R> fromRow;
+    private Iterator<R> chunk;
+    private String[] lastKey;
+    private boolean exhausted;
+
+    ChunkedResultSplit(
+        Supplier<Connection> connectionSupplier,
+        int fetchSize,
+        int chunkSize,
+        String firstSql,
+        String nextSql,
+        Prepare prepare,
+        PrepareNextChunk prepareNext,
+        FromRow<String[]> key,
+        FromRow<R> fromRow) {
+      super(Long.MAX_VALUE, 0);
+      this.connectionSupplier = connectionSupplier;
+      this.fetchSize = fetchSize;
+      this.chunkSize = chunkSize;
+      this.firstSql = firstSql;
+      this.nextSql = nextSql;
+      this.prepare = prepare;
+      this.prepareNext = prepareNext;
+      this.key = key;
+      this.fromRow = fromRow;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super R> action) {
+      if (chunk == null || !chunk.hasNext()) {
+        if (exhausted) {
+          return false;
+        }
+        chunk = nextChunk();
+        if (!chunk.hasNext()) {
+          return false;
+        }
+      }
+      action.accept(chunk.next());
+      return true;
+    }
+
+    @SuppressWarnings("SqlSourceToSinkFlow")
+    private Iterator<R> nextChunk() {
+      List<R> rows = new ArrayList<>();
+      try (Connection conn = connectionSupplier.get();
+          PreparedStatement stmt = conn.prepareStatement(lastKey == null ? firstSql : nextSql)) {
+        stmt.setFetchSize(fetchSize);
+        prepare.prepare(stmt);
+        if (lastKey != null) {
+          prepareNext.prepare(stmt, lastKey);
+        }
+        try (ResultSet rs = stmt.executeQuery()) {
+          rs.setFetchSize(fetchSize);
+          while (rs.next()) {
+            rows.add(fromRow.fromRow(rs));
+            lastKey = key.fromRow(rs);
+          }
+        }
+      } catch (SQLException e) {
+        throw new RuntimeException(e);
+      }
+      exhausted = rows.size() < chunkSize;
+      return rows.iterator();
+    }
+  }
+
   /**
    * Check whether the given {@link Throwable} represents an exception that indicates an
    * integrity-constraint-violation.
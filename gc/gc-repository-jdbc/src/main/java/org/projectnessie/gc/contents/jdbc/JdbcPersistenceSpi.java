@@ -19,11 +19,14 @@ import static com.google.common.base.Throwables.getStackTraceAsString;
 import static org.projectnessie.gc.contents.ContentReference.icebergContent;
 import static org.projectnessie.gc.contents.jdbc.JdbcHelper.isIntegrityConstraintViolation;
 import static org.projectnessie.gc.contents.jdbc.SqlDmlDdl.ADD_CONTENT;
+import static org.projectnessie.gc.contents.jdbc.SqlDmlDdl.CONTENT_COLUMNS;
+import static org.projectnessie.gc.contents.jdbc.SqlDmlDdl.CONTENT_LOCATION_COLUMNS;
 import static org.projectnessie.gc.contents.jdbc.SqlDmlDdl.DELETE_FILE_DELETIONS;
 import static org.projectnessie.gc.contents.jdbc.SqlDmlDdl.DELETE_LIVE_CONTENTS;
 import static org.projectnessie.gc.contents.jdbc.SqlDmlDdl.DELETE_LIVE_CONTENT_SET;
 import static org.projectnessie.gc.contents.jdbc.SqlDmlDdl.DELETE_LIVE_SET_LOCATIONS;
 import static org.projectnessie.gc.contents.jdbc.SqlDmlDdl.ERROR_LENGTH;
+import static org.projectnessie.gc.contents.jdbc.SqlDmlDdl.FILE_DELETIONS_COLUMNS;
 import static org.projectnessie.gc.contents.jdbc.SqlDmlDdl.FINISH_EXPIRE;
 import static org.projectnessie.gc.contents.jdbc.SqlDmlDdl.FINISH_IDENTIFY;
 import static org.projectnessie.gc.contents.jdbc.SqlDmlDdl.INSERT_CONTENT_LOCATION;
@@ -34,19 +37,24 @@ import static org.projectnessie.gc.contents.jdbc.SqlDmlDdl.SELECT_CONTENT_IDS;
 import static org.projectnessie.gc.contents.jdbc.SqlDmlDdl.SELECT_CONTENT_LOCATION;
 import static org.projectnessie.gc.contents.jdbc.SqlDmlDdl.SELECT_CONTENT_LOCATION_ALL;
 import static org.projectnessie.gc.contents.jdbc.SqlDmlDdl.SELECT_CONTENT_REFERENCES;
+import static org.projectnessie.gc.contents.jdbc.SqlDmlDdl.SELECT_CONTENT_REFERENCES_NEXT;
 import static org.projectnessie.gc.contents.jdbc.SqlDmlDdl.SELECT_FILE_DELETIONS;
+import static org.projectnessie.gc.contents.jdbc.SqlDmlDdl.SELECT_FILE_DELETIONS_NEXT;
 import static org.projectnessie.gc.contents.jdbc.SqlDmlDdl.SELECT_LIVE_CONTENT_SET;
 import static org.projectnessie.gc.contents.jdbc.SqlDmlDdl.START_EXPIRE;
 import static org.projectnessie.gc.contents.jdbc.SqlDmlDdl.START_IDENTIFY;
+import static org.projectnessie.gc.contents.jdbc.SqlDmlDdl.multiRowInsert;
 import static org.projectnessie.model.Content.Type.ICEBERG_TABLE;
 import static org.projectnessie.model.Content.Type.ICEBERG_VIEW;
 
 import com.google.common.base.Preconditions;
 import com.google.errorprone.annotations.MustBeClosed;
+import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Timestamp;
 import java.sql.Types;
 import java.time.Instant;
@@ -56,6 +64,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
+import java.util.Spliterator;
 import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.Stream;
@@ -64,11 +73,15 @@ import javax.annotation.Nullable;
 import javax.sql.DataSource;
 import org.immutables.value.Value;
 import org.intellij.lang.annotations.Language;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
 import org.projectnessie.gc.contents.ContentReference;
 import org.projectnessie.gc.contents.LiveContentSet;
 import org.projectnessie.gc.contents.LiveContentSetNotFoundException;
+import org.projectnessie.gc.contents.jdbc.JdbcHelper.ChunkedResultSplit;
 import org.projectnessie.gc.contents.jdbc.JdbcHelper.FromRow;
 import org.projectnessie.gc.contents.jdbc.JdbcHelper.Prepare;
+import org.projectnessie.gc.contents.jdbc.JdbcHelper.PrepareNextChunk;
 import org.projectnessie.gc.contents.jdbc.JdbcHelper.ResultSetSplit;
 import org.projectnessie.gc.contents.jdbc.JdbcHelper.WithStatement;
 import org.projectnessie.gc.contents.spi.PersistenceSpi;
@@ -81,6 +94,9 @@ import org.projectnessie.storage.uri.StorageUri;
 @Value.Immutable
 public abstract class JdbcPersistenceSpi implements PersistenceSpi {
 
+  public static final int DEFAULT_INSERT_BATCH_SIZE = 100;
+  public static final int DEFAULT_READ_CHUNK_SIZE = 10_000;
+
   public static Builder builder() {
     return ImmutableJdbcPersistenceSpi.builder();
   }
@@ -91,6 +107,24 @@ public abstract class JdbcPersistenceSpi implements PersistenceSpi {
 
     Builder fetchSize(int fetchSize);
 
+    /**
+     * Number of rows inserted per multi-row {@code INSERT} statement, defaults to {@value
+     * #DEFAULT_INSERT_BATCH_SIZE}.
+     */
+    Builder insertBatchSize(int insertBatchSize);
+
+    /**
+     * Maximum number of rows read per query for content references and file deletions, which are
+     * read in chunks using keyset pagination, defaults to {@value #DEFAULT_READ_CHUNK_SIZE}.
+     */
+    Builder readChunkSize(int readChunkSize);
+
+    /**
+     * Whether to bulk load content references and file deletions into PostgreSQL using {@code
+     * COPY}, defaults to {@code false}. Has no effect for other databases.
+     */
+    Builder postgresCopy(boolean postgresCopy);
+
     JdbcPersistenceSpi build();
   }
 
@@ -224,38 +258,30 @@ public abstract class JdbcPersistenceSpi implements PersistenceSpi {
 
   @Override
   public long addIdentifiedLiveContent(UUID liveSetId, Stream<ContentReference> contentReference) {
-    return singleStatement(
-        decorateInsertStatement(ADD_CONTENT),
-        (conn, stmt) -> {
-          stmt.setString(1, liveSetId.toString());
-          long count = 0L;
-          for (Iterator<ContentReference> iter = contentReference.iterator(); iter.hasNext(); ) {
-            ContentReference ref = iter.next();
-            stmt.setString(2, ref.contentId());
-            stmt.setString(3, ref.commitId());
-            stmt.setString(4, ref.contentKey().toPathString());
-            stmt.setString(5, ref.contentType().name());
-            if (ref.contentType().equals(ICEBERG_TABLE) || ref.contentType().equals(ICEBERG_VIEW)) {
-              stmt.setString(
-                  6,
-                  Objects.requireNonNull(
-                      ref.metadataLocation(),
-                      "Illegal null metadataLocation in ContentReference for ICEBERG_TABLE/ICEBERG_VIEW"));
-              stmt.setLong(
-                  7,
-                  Objects.requireNonNull(
-                      ref.snapshotId(),
-                      "Illegal null snapshotId in ContentReference for ICEBERG_TABLE/ICEBERG_VIEW"));
-            } else {
-              throw new UnsupportedOperationException(
-                  "Unsupported content type " + ref.contentType());
-            }
-            // TODO add batch updates
-            if (stmt.executeUpdate() != 0) {
-              count++;
-            }
+    String id = liveSetId.toString();
+    return insertRows(
+        "gc_live_set_contents",
+        CONTENT_COLUMNS,
+        ADD_CONTENT,
+        contentReference.iterator(),
+        ref -> {
+          if (!ref.contentType().equals(ICEBERG_TABLE) && !ref.contentType().equals(ICEBERG_VIEW)) {
+            throw new UnsupportedOperationException(
+                "Unsupported content type " + ref.contentType());
           }
-          return count;
+          return new Object[] {
+            id,
+            ref.contentId(),
+            ref.commitId(),
+            ref.contentKey().toPathString(),
+            ref.contentType().name(),
+            Objects.requireNonNull(
+                ref.metadataLocation(),
+                "Illegal null metadataLocation in ContentReference for ICEBERG_TABLE/ICEBERG_VIEW"),
+            Objects.requireNonNull(
+                ref.snapshotId(),
+                "Illegal null snapshotId in ContentReference for ICEBERG_TABLE/ICEBERG_VIEW")
+          };
         },
         true);
   }
@@ -263,30 +289,29 @@ public abstract class JdbcPersistenceSpi implements PersistenceSpi {
   @Override
   @MustBeClosed
   public Stream<ContentReference> fetchContentReferences(UUID liveSetId, String contentId) {
-    return streamingResult(
+    return chunkedResult(
         SELECT_CONTENT_REFERENCES,
+        SELECT_CONTENT_REFERENCES_NEXT,
         stmt -> {
           stmt.setString(1, liveSetId.toString());
           stmt.setString(2, contentId);
         },
+        (stmt, lastKey) -> stmt.setString(3, lastKey[0]),
+        rs -> new String[] {rs.getString(2)},
         JdbcPersistenceSpi::contentReference);
   }
 
   @Override
   public void associateBaseLocations(
       UUID liveSetId, String contentId, Collection<StorageUri> baseLocations) {
-    singleStatement(
-        decorateInsertStatement(INSERT_CONTENT_LOCATION),
-        (conn, stmt) -> {
-          stmt.setString(1, liveSetId.toString());
-          stmt.setString(2, contentId);
-          for (StorageUri baseLocation : baseLocations) {
-            stmt.setString(3, baseLocation.toString());
-            stmt.executeUpdate();
-          }
-          return null;
-        },
-        true);
+    String id = liveSetId.toString();
+    insertRows(
+        "gc_live_set_content_locations",
+        CONTENT_LOCATION_COLUMNS,
+        INSERT_CONTENT_LOCATION,
+        baseLocations.iterator(),
+        baseLocation -> new Object[] {id, contentId, baseLocation.toString()},
+        false);
   }
 
   @Override
@@ -375,30 +400,31 @@ public abstract class JdbcPersistenceSpi implements PersistenceSpi {
 
   @Override
   public long addFileDeletions(UUID liveSetId, Stream<FileReference> files) {
-    return singleStatement(
-        decorateInsertStatement(INSERT_FILE_DELETIONS),
-        (conn, stmt) -> {
-          long count = 0L;
-          for (Iterator<FileReference> iter = files.iterator(); iter.hasNext(); ) {
-            FileReference f = iter.next();
-            stmt.setString(1, liveSetId.toString());
-            stmt.setString(2, f.base().toString());
-            stmt.setString(3, f.path().toString());
-            stmt.setLong(4, f.modificationTimeMillisEpoch());
-            if (stmt.executeUpdate() != 0) {
-              count++;
-            }
-          }
-          return count;
-        },
+    String id = liveSetId.toString();
+    return insertRows(
+        "gc_file_deletions",
+        FILE_DELETIONS_COLUMNS,
+        INSERT_FILE_DELETIONS,
+        files.iterator(),
+        f ->
+            new Object[] {
+              id, f.base().toString(), f.path().toString(), f.modificationTimeMillisEpoch()
+            },
         true);
   }
 
   @Override
   public Stream<FileReference> fetchFileDeletions(UUID liveSetId) {
-    return streamingResult(
+    return chunkedResult(
         SELECT_FILE_DELETIONS,
+        SELECT_FILE_DELETIONS_NEXT,
         stmt -> stmt.setString(1, liveSetId.toString()),
+        (stmt, lastKey) -> {
+          stmt.setString(2, lastKey[0]);
+          stmt.setString(3, lastKey[0]);
+          stmt.setString(4, lastKey[1]);
+        },
+        rs -> new String[] {rs.getString(1), rs.getString(2)},
         JdbcPersistenceSpi::fileObject);
   }
 
@@ -450,6 +476,145 @@ public abstract class JdbcPersistenceSpi implements PersistenceSpi {
     }
   }
 
+  /**
+   * Inserts the given rows, ignoring rows that already exist, and returns the number of inserted
+   * rows.
+   *
+   * <p>Rows are inserted using multi-row {@code INSERT} statements of {@link #insertBatchSize()}
+   * rows or, if {@code mayCopy} is {@code true} and {@link #postgresCopy()} is enabled, using
+   * PostgreSQL's {@code COPY}.
+   */
+  private <T> long insertRows(
+      String table,
+      String columns,
+      String singleRowInsert,
+      Iterator<T> rows,
+      Function<T, Object[]> rowValues,
+      boolean mayCopy) {
+    if (mayCopy && postgresCopy() && "postgresql".equals(productName())) {
+      return copyRows(table, columns, rows, rowValues);
+    }
+
+    int batchSize = insertBatchSize();
+    return singleStatement(
+        decorateInsertStatement(multiRowInsert(singleRowInsert, batchSize)),
+        (conn, stmt) -> {
+          long count = 0L;
+          List<Object[]> batch = new ArrayList<>(batchSize);
+          while (rows.hasNext()) {
+            batch.add(rowValues.apply(rows.next()));
+            if (batch.size() == batchSize) {
+              count += executeInsert(stmt, batch);
+              batch.clear();
+            }
+          }
+          if (!batch.isEmpty()) {
+            try (PreparedStatement rest =
+                conn.prepareStatement(
+                    decorateInsertStatement(multiRowInsert(singleRowInsert, batch.size())))) {
+              count += executeInsert(rest, batch);
+            }
+          }
+          return count;
+        },
+        true);
+  }
+
+  private static int executeInsert(PreparedStatement stmt, List<Object[]> batch)
+      throws SQLException {
+    int i = 1;
+    for (Object[] row : batch) {
+      for (Object value : row) {
+        if (value instanceof Long) {
+          stmt.setLong(i++, (Long) value);
+        } else {
+          stmt.setString(i++, (String) value);
+        }
+      }
+    }
+    return stmt.executeUpdate();
+  }
+
+  /**
+   * Bulk loads the rows via {@code COPY} into a temporary table, which has the same columns as the
+   * target table but no primary key, and inserts the rows from there into the target table,
+   * ignoring rows that already exist.
+   */
+  @SuppressWarnings("SqlSourceToSinkFlow")
+  private <T> long copyRows(
+      String table, String columns, Iterator<T> rows, Function<T, Object[]> rowValues) {
+    String tempTable = table + "_copy";
+    return singleStatement(
+        "INSERT INTO "
+            + table
+            + " ("
+            + columns
+            + ") SELECT "
+            + columns
+            + " FROM "
+            + tempTable
+            + " ON CONFLICT DO NOTHING",
+        (conn, stmt) -> {
+          try (Statement st = conn.createStatement()) {
+            st.execute(
+                "CREATE TEMPORARY TABLE IF NOT EXISTS "
+                    + tempTable
+                    + " (LIKE "
+                    + table
+                    + ") ON COMMIT DELETE ROWS");
+          }
+
+          CopyIn copyIn =
+              conn.unwrap(PGConnection.class)
+                  .getCopyAPI()
+                  .copyIn("COPY " + tempTable + " (" + columns + ") FROM STDIN WITH (FORMAT csv)");
+          try {
+            int batchSize = insertBatchSize();
+            StringBuilder csv = new StringBuilder();
+            int buffered = 0;
+            while (rows.hasNext()) {
+              appendCsv(csv, rowValues.apply(rows.next()));
+              if (++buffered == batchSize) {
+                writeCopy(copyIn, csv);
+                buffered = 0;
+              }
+            }
+            writeCopy(copyIn, csv);
+            copyIn.endCopy();
+          } finally {
+            if (copyIn.isActive()) {
+              copyIn.cancelCopy();
+            }
+          }
+
+          return (long) stmt.executeUpdate();
+        },
+        true);
+  }
+
+  private static void appendCsv(StringBuilder csv, Object[] row) {
+    for (int i = 0; i < row.length; i++) {
+      if (i > 0) {
+        csv.append(',');
+      }
+      Object value = row[i];
+      if (value instanceof Long) {
+        csv.append(value);
+      } else {
+        csv.append('"').append(((String) value).replace("\"", "\"\"")).append('"');
+      }
+    }
+    csv.append('\n');
+  }
+
+  private static void writeCopy(CopyIn copyIn, StringBuilder csv) throws SQLException {
+    if (csv.length() > 0) {
+      byte[] bytes = csv.toString().getBytes(StandardCharsets.UTF_8);
+      copyIn.writeToCopy(bytes, 0, bytes.length);
+      csv.setLength(0);
+    }
+  }
+
   private Connection connection() {
     try {
       return dataSource().getConnection();
@@ -480,6 +645,28 @@ public abstract class JdbcPersistenceSpi implements PersistenceSpi {
     }
   }
 
+  <R> Stream<R> chunkedResult(
+      @Language("SQL") String firstSql,
+      @Language("SQL") String nextSql,
+      Prepare prepare,
+      PrepareNextChunk prepareNext,
+      FromRow<String[]> key,
+      FromRow<R> fromRow) {
+    int chunkSize = readChunkSize();
+    Spliterator<R> split =
+        new ChunkedResultSplit<>(
+            this::connection,
+            fetchSize(),
+            chunkSize,
+            firstSql + " LIMIT " + chunkSize,
+            nextSql + " LIMIT " + chunkSize,
+            prepare,
+            prepareNext,
+            key,
+            fromRow);
+    return StreamSupport.stream(split, false);
+  }
+
   <R> Stream<R> streamingResult(@Language("SQL") String sql, Prepare prepare, FromRow<R> fromRow) {
     List<AutoCloseable> closeables = new ArrayList<>();
 
@@ -502,4 +689,25 @@ public abstract class JdbcPersistenceSpi implements PersistenceSpi {
   abstract DataSource dataSource();
 
   abstract int fetchSize();
+
+  @Value.Default
+  int insertBatchSize() {
+    return DEFAULT_INSERT_BATCH_SIZE;
+  }
+
+  @Value.Default
+  int readChunkSize() {
+    return DEFAULT_READ_CHUNK_SIZE;
+  }
+
+  @Value.Default
+  boolean postgresCopy() {
+    return false;
+  }
+
+  @Value.Check
+  void check() {
+    Preconditions.checkArgument(insertBatchSize() > 0, "insertBatchSize must be positive");
+    Preconditions.checkArgument(readChunkSize() > 0, "readChunkSize must be positive");
+  }
 }
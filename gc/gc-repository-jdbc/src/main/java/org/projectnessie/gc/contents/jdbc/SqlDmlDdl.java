@@ -68,17 +68,29 @@ final class SqlDmlDdl {
           + "    modification_timestamp BIGINT, \n"
           + "    PRIMARY KEY (live_set_id, base_uri, path_uri))";
 
+  static final String FILE_DELETIONS_COLUMNS =
+      "live_set_id, base_uri, path_uri, modification_timestamp";
+
   @Language("SQL")
   static final String INSERT_FILE_DELETIONS =
       "INSERT INTO gc_file_deletions \n"
-          + "    (live_set_id, base_uri, path_uri, modification_timestamp) VALUES (?, ?, ?, ?)";
+          + "    ("
+          + FILE_DELETIONS_COLUMNS
+          + ") VALUES (?, ?, ?, ?)";
 
   @Language("SQL")
   static final String SELECT_FILE_DELETIONS =
       "SELECT base_uri, path_uri, modification_timestamp \n"
           + "    FROM gc_file_deletions \n"
           + "    WHERE live_set_id = ? \n"
-          + "    ORDER BY base_uri";
+          + "    ORDER BY base_uri, path_uri";
+
+  @Language("SQL")
+  static final String SELECT_FILE_DELETIONS_NEXT =
+      "SELECT base_uri, path_uri, modification_timestamp \n"
+          + "    FROM gc_file_deletions \n"
+          + "    WHERE live_set_id = ? AND (base_uri > ? OR (base_uri = ? AND path_uri > ?)) \n"
+          + "    ORDER BY base_uri, path_uri";
 
   @Language("SQL")
   static final String DELETE_FILE_DELETIONS = "DELETE FROM gc_file_deletions WHERE live_set_id = ?";
@@ -105,10 +117,14 @@ final class SqlDmlDdl {
   static final String DELETE_LIVE_SET_LOCATIONS =
       "DELETE FROM gc_live_set_content_locations WHERE live_set_id = ?";
 
+  static final String CONTENT_LOCATION_COLUMNS = "live_set_id, content_id, base_location";
+
   @Language("SQL")
   static final String INSERT_CONTENT_LOCATION =
       "INSERT INTO gc_live_set_content_locations \n"
-          + "    (live_set_id, content_id, base_location) VALUES (?, ?, ?)";
+          + "    ("
+          + CONTENT_LOCATION_COLUMNS
+          + ") VALUES (?, ?, ?)";
 
   @Language("SQL")
   static final String SELECT_CONTENT_LOCATION =
@@ -153,17 +169,48 @@ final class SqlDmlDdl {
           + "    SET expire_finished = ?, set_status = ?, error_message = ? \n"
           + "    WHERE live_set_id = ? AND set_status = ?";
 
+  static final String CONTENT_COLUMNS =
+      "live_set_id, content_id, commit_id, content_key, content_type, metadata_location, snapshot_id";
+
   @Language("SQL")
   static final String ADD_CONTENT =
       "INSERT INTO gc_live_set_contents \n"
-          + "    (live_set_id, content_id, commit_id, content_key, content_type, metadata_location, snapshot_id) \n"
+          + "    ("
+          + CONTENT_COLUMNS
+          + ") \n"
           + "    VALUES (?, ?, ?, ?, ?, ?, ?)";
 
   @Language("SQL")
   static final String SELECT_CONTENT_REFERENCES =
       "SELECT content_id, commit_id, content_key, content_type, metadata_location, snapshot_id \n"
           + "    FROM gc_live_set_contents \n"
-          + "    WHERE live_set_id = ? AND content_id = ?";
+          + "    WHERE live_set_id = ? AND content_id = ? \n"
+          + "    ORDER BY commit_id";
+
+  @Language("SQL")
+  static final String SELECT_CONTENT_REFERENCES_NEXT =
+      "SELECT content_id, commit_id, content_key, content_type, metadata_location, snapshot_id \n"
+          + "    FROM gc_live_set_contents \n"
+          + "    WHERE live_set_id = ? AND content_id = ? AND commit_id > ? \n"
+          + "    ORDER BY commit_id";
+
+  /**
+   * Turns the given single-row {@code INSERT ... VALUES (?, ...)} statement into a statement that
+   * inserts {@code rows} rows.
+   */
+  static String multiRowInsert(String singleRowInsert, int rows) {
+    int valuesIdx = singleRowInsert.lastIndexOf("VALUES ");
+    String tuple = singleRowInsert.substring(valuesIdx + "VALUES ".length());
+    StringBuilder sb = new StringBuilder(singleRowInsert.length() + (tuple.length() + 2) * rows);
+    sb.append(singleRowInsert, 0, valuesIdx + "VALUES ".length());
+    for (int i = 0; i < rows; i++) {
+      if (i > 0) {
+        sb.append(", ");
+      }
+      sb.append(tuple);
+    }
+    return sb.toString();
+  }
 
   static final Map<String, String> ALL_CREATES =
       ImmutableMap.of(
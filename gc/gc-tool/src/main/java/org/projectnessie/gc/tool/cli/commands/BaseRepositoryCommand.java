@@ -36,6 +36,7 @@ import org.projectnessie.gc.contents.LiveContentSetsRepository;
 import org.projectnessie.gc.expire.Expire;
 import org.projectnessie.gc.expire.ExpireParameters;
 import org.projectnessie.gc.expire.local.DefaultLocalExpire;
+import org.projectnessie.gc.files.ConcurrentFileDeleter;
 import org.projectnessie.gc.files.DeleteSummary;
 import org.projectnessie.gc.files.FileDeleter;
 import org.projectnessie.gc.iceberg.IcebergContentToContentReference;
@@ -172,6 +173,7 @@ public abstract class BaseRepositoryCommand extends BaseCommand {
             .repositoryConnector(repositoryConnector)
             .contentToContentReference(IcebergContentToContentReference.INSTANCE)
             .parallelism(markOptions.getParallelism())
+            .commitLogPrefetch(markOptions.getCommitLogPrefetch())
             .build();
 
     UUID liveContentSetId = identify.identifyLiveContents();
@@ -220,21 +222,32 @@ public abstract class BaseRepositoryCommand extends BaseCommand {
               + liveContentSet.status());
     }
 
-    try (IcebergFiles icebergFiles = createIcebergFiles(icebergOptions)) {
+    try (IcebergFiles icebergFiles = createIcebergFiles(icebergOptions);
+        ConcurrentFileDeleter concurrentFileDeleter =
+            ConcurrentFileDeleter.builder()
+                .delegate(icebergFiles)
+                .parallelism(sweepOptions.getDeleteParallelism())
+                .batchSize(sweepOptions.getDeleteBatchSize())
+                .build()) {
       Instant maxFileModificationTime = sweepOptions.getMaxFileModificationTime();
       if (maxFileModificationTime == null) {
         maxFileModificationTime = liveContentSet.created();
       }
 
       FileDeleter fileDeleter =
-          sweepOptions.isDeferDeletes() ? liveContentSet.fileDeleter() : icebergFiles;
+          sweepOptions.isDeferDeletes() ? liveContentSet.fileDeleter() : concurrentFileDeleter;
+
+      IcebergContentToFiles contentToFiles =
+          IcebergContentToFiles.builder()
+              .io(icebergFiles.resolvingFileIO())
+              .maxCachedManifests(sweepOptions.getMaxCachedManifests())
+              .build();
 
       ExpireParameters expireParameters =
           ExpireParameters.builder()
               .fileDeleter(fileDeleter)
               .filesLister(icebergFiles)
-              .contentToFiles(
-                  IcebergContentToFiles.builder().io(icebergFiles.resolvingFileIO()).build())
+              .contentToFiles(contentToFiles)
               .liveContentSet(liveContentSet)
               .maxFileModificationTime(maxFileModificationTime)
               .falsePositiveProbability(sweepOptions.getFalsePositiveProbability())
@@ -265,6 +278,14 @@ public abstract class BaseRepositoryCommand extends BaseCommand {
               summary.deleted(),
               summary.failures());
 
+      commandSpec
+          .commandLine()
+          .getOut()
+          .printf(
+              "Read %d manifest lists and manifest files, skipped reading %d already processed "
+                  + "manifest lists and manifest files.%n",
+              contentToFiles.manifestsRead(), contentToFiles.manifestsSkipped());
+
       if (liveContentSet.status() != LiveContentSet.Status.EXPIRY_SUCCESS) {
         throw new ExecutionException(commandSpec.commandLine(), msg);
       }
@@ -15,6 +15,9 @@
  */
 package org.projectnessie.gc.tool.cli.options;
 
+import static org.projectnessie.gc.contents.jdbc.JdbcPersistenceSpi.DEFAULT_INSERT_BATCH_SIZE;
+import static org.projectnessie.gc.contents.jdbc.JdbcPersistenceSpi.DEFAULT_READ_CHUNK_SIZE;
+
 import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.Map;
@@ -58,6 +61,32 @@ public class JdbcOptions {
       description = "JDBC fetch size, defaults to 100.")
   int fetchSize = 100;
 
+  @CommandLine.Option(
+      names = "--jdbc-insert-batch-size",
+      defaultValue = "" + DEFAULT_INSERT_BATCH_SIZE,
+      description =
+          "Number of rows inserted per multi-row INSERT statement, defaults to "
+              + DEFAULT_INSERT_BATCH_SIZE
+              + ".")
+  int insertBatchSize = DEFAULT_INSERT_BATCH_SIZE;
+
+  @CommandLine.Option(
+      names = "--jdbc-read-chunk-size",
+      defaultValue = "" + DEFAULT_READ_CHUNK_SIZE,
+      description =
+          "Maximum number of live content references and deferred file deletions read per query, "
+              + "defaults to "
+              + DEFAULT_READ_CHUNK_SIZE
+              + ".")
+  int readChunkSize = DEFAULT_READ_CHUNK_SIZE;
+
+  @CommandLine.Option(
+      names = "--jdbc-postgres-copy",
+      description =
+          "Bulk load live content references and deferred file deletions using COPY, "
+              + "only effective for PostgreSQL.")
+  boolean postgresCopy;
+
   @CommandLine.Option(
       names = "--jdbc-schema",
       description =
@@ -85,6 +85,12 @@ public class LiveContentSetsStorageOptions {
         schemaCreateStrategy.apply(conn);
       }
     }
-    return JdbcPersistenceSpi.builder().dataSource(dataSource).fetchSize(jdbc.fetchSize).build();
+    return JdbcPersistenceSpi.builder()
+        .dataSource(dataSource)
+        .fetchSize(jdbc.fetchSize)
+        .insertBatchSize(jdbc.insertBatchSize)
+        .readChunkSize(jdbc.readChunkSize)
+        .postgresCopy(jdbc.postgresCopy)
+        .build();
   }
 }
@@ -27,6 +27,7 @@ import java.util.function.Supplier;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import org.projectnessie.gc.identify.CutoffPolicy;
+import org.projectnessie.gc.identify.IdentifyLiveContents;
 import org.projectnessie.gc.identify.PerRefCutoffPolicySupplier;
 import picocli.CommandLine;
 import picocli.CommandLine.Model.CommandSpec;
@@ -81,6 +82,16 @@ public class MarkOptions {
       description = "Number of Nessie references that can be walked in parallel.")
   int parallelism;
 
+  @CommandLine.Option(
+      names = "--identify-commit-log-prefetch",
+      defaultValue = "" + IdentifyLiveContents.DEFAULT_COMMIT_LOG_PREFETCH,
+      description =
+          "Number of commit log entries fetched ahead of processing the commit log of a "
+              + "reference, 0 disables prefetching, defaults to "
+              + IdentifyLiveContents.DEFAULT_COMMIT_LOG_PREFETCH
+              + ".")
+  int commitLogPrefetch;
+
   @CommandLine.Spec CommandSpec commandSpec;
 
   public NessieOptions getNessie() {
@@ -91,6 +102,10 @@ public class MarkOptions {
     return parallelism;
   }
 
+  public int getCommitLogPrefetch() {
+    return commitLogPrefetch;
+  }
+
   public Path getLiveSetIdFile() {
     return liveSetIdFile;
   }
@@ -18,6 +18,9 @@ package org.projectnessie.gc.tool.cli.options;
 import static org.projectnessie.gc.expire.ExpireParameters.DEFAULT_ALLOWED_FALSE_POSITIVE_PROBABILITY;
 import static org.projectnessie.gc.expire.ExpireParameters.DEFAULT_EXPECTED_FILE_COUNT;
 import static org.projectnessie.gc.expire.ExpireParameters.DEFAULT_FALSE_POSITIVE_PROBABILITY;
+import static org.projectnessie.gc.files.ConcurrentFileDeleter.DEFAULT_BATCH_SIZE;
+import static org.projectnessie.gc.files.ConcurrentFileDeleter.DEFAULT_PARALLELISM;
+import static org.projectnessie.gc.iceberg.IcebergContentToFiles.DEFAULT_MAX_CACHED_MANIFESTS;
 
 import java.time.Instant;
 import picocli.CommandLine;
@@ -67,6 +70,36 @@ public class SweepOptions {
       defaultValue = "" + DEFAULT_ALLOWED_FALSE_POSITIVE_PROBABILITY)
   double allowedFalsePositiveProbability;
 
+  @CommandLine.Option(
+      names = "--max-cached-manifests",
+      description =
+          "The maximum number of manifest lists and manifest files per content that are "
+              + "remembered to not read the same manifest again for another snapshot of the same "
+              + "content, 0 disables this, defaults to "
+              + DEFAULT_MAX_CACHED_MANIFESTS
+              + ".",
+      defaultValue = "" + DEFAULT_MAX_CACHED_MANIFESTS)
+  int maxCachedManifests;
+
+  @CommandLine.Option(
+      names = "--delete-parallelism",
+      description =
+          "Number of concurrent delete operations of orphan files, across all contents, "
+              + "defaults to "
+              + DEFAULT_PARALLELISM
+              + ".",
+      defaultValue = "" + DEFAULT_PARALLELISM)
+  int deleteParallelism;
+
+  @CommandLine.Option(
+      names = "--delete-batch-size",
+      description =
+          "Number of orphan files deleted per (bulk) delete operation, defaults to "
+              + DEFAULT_BATCH_SIZE
+              + ".",
+      defaultValue = "" + DEFAULT_BATCH_SIZE)
+  int deleteBatchSize;
+
   @CommandLine.Option(
       names = "--defer-deletes",
       negatable = true,
@@ -92,6 +125,18 @@ public class SweepOptions {
     return allowedFalsePositiveProbability;
   }
 
+  public int getMaxCachedManifests() {
+    return maxCachedManifests;
+  }
+
+  public int getDeleteParallelism() {
+    return deleteParallelism;
+  }
+
+  public int getDeleteBatchSize() {
+    return deleteBatchSize;
+  }
+
   public int getParallelism() {
     return parallelism;
   }
@@ -21,20 +21,24 @@ import static org.assertj.core.api.Assertions.entry;
 import static org.assertj.core.api.InstanceOfAssertFactories.list;
 import static org.assertj.core.api.InstanceOfAssertFactories.type;
 import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.projectnessie.api.v2.http.HttpTreeApi.APPLICATION_NDJSON;
 import static org.projectnessie.model.CommitMeta.fromMessage;
 import static org.projectnessie.model.Validation.REF_NAME_MESSAGE;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.restassured.RestAssured;
 import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.http.ContentType;
+import io.restassured.response.Response;
 import io.restassured.response.ValidatableResponse;
 import io.restassured.specification.RequestSpecification;
 import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.net.URI;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -998,4 +1002,173 @@ public abstract class BaseTestNessieRest extends BaseTestNessieApi {
           }
         });
   }
+
+  @NessieApiVersions(versions = {NessieApiVersion.V2})
+  @Test
+  void streamingEntries() throws Exception {
+    Branch branch = createBranchV2("streaming-entries");
+    for (int i = 0; i < 3; i++) {
+      branch = commitV2(branch, ContentKey.of("table" + i), IcebergTable.of("loc", 1, 2, 3, 4));
+    }
+
+    List<EntriesResponse.Entry> expected =
+        rest()
+            .get("trees/{ref}/entries", branch.toPathString())
+            .then()
+            .statusCode(200)
+            .extract()
+            .as(EntriesResponse.class)
+            .getEntries();
+    soft.assertThat(expected).hasSize(3);
+
+    List<JsonNode> lines =
+        ndjson(
+            rest()
+                .accept(APPLICATION_NDJSON)
+                .queryParam("max-records", 2)
+                .get("trees/{ref}/entries", branch.toPathString()));
+    soft.assertThat(lines).hasSize(3);
+    soft.assertThat(ndjsonEntries(lines, EntriesResponse.Entry.class))
+        .containsExactlyElementsOf(expected.subList(0, 2));
+    JsonNode response = lines.get(2).get("response");
+    soft.assertThat(response).isNotNull();
+    soft.assertThat(response.get("hasMore").asBoolean()).isTrue();
+    soft.assertThat(response.has("entries")).isFalse();
+    soft.assertThat(response.get("effectiveReference").get("hash").asText())
+        .isEqualTo(branch.getHash());
+    String token = response.get("token").asText();
+    soft.assertThat(token).isNotEmpty();
+
+    lines =
+        ndjson(
+            rest()
+                .accept(APPLICATION_NDJSON)
+                .queryParam("max-records", 2)
+                .queryParam("page-token", token)
+                .get("trees/{ref}/entries", branch.toPathString()));
+    soft.assertThat(lines).hasSize(2);
+    soft.assertThat(ndjsonEntries(lines, EntriesResponse.Entry.class))
+        .containsExactlyElementsOf(expected.subList(2, 3));
+    response = lines.get(1).get("response");
+    soft.assertThat(response.get("hasMore").asBoolean()).isFalse();
+    soft.assertThat(response.has("token")).isFalse();
+
+    // The Accept header sent by the Java client
+    lines =
+        ndjson(
+            rest()
+                .accept(APPLICATION_NDJSON + ", application/json;q=0.5")
+                .get("trees/{ref}/entries", branch.toPathString()));
+    soft.assertThat(ndjsonEntries(lines, EntriesResponse.Entry.class))
+        .containsExactlyElementsOf(expected);
+    soft.assertThat(lines.get(lines.size() - 1).has("response")).isTrue();
+
+    // Clients that accept anything receive the regular JSON response
+    Response json = rest().accept("*/*").get("trees/{ref}/entries", branch.toPathString());
+    soft.assertThat(json.statusCode()).isEqualTo(200);
+    soft.assertThat(json.contentType()).startsWith(ContentType.JSON.toString());
+    soft.assertThat(json.as(EntriesResponse.class).getEntries())
+        .containsExactlyElementsOf(expected);
+  }
+
+  @NessieApiVersions(versions = {NessieApiVersion.V2})
+  @Test
+  void streamingCommitLogAndDiff() throws Exception {
+    Reference main =
+        rest()
+            .get("trees/-")
+            .then()
+            .statusCode(200)
+            .extract()
+            .as(SingleReferenceResponse.class)
+            .getReference();
+    Branch branch = createBranchV2("streaming-log", main);
+    for (int i = 0; i < 3; i++) {
+      branch = commitV2(branch, ContentKey.of("table" + i), IcebergTable.of("loc", 1, 2, 3, 4));
+    }
+
+    List<LogResponse.LogEntry> expectedLog =
+        rest()
+            .queryParam("max-records", 2)
+            .get("trees/{ref}/history", branch.toPathString())
+            .then()
+            .statusCode(200)
+            .extract()
+            .as(LogResponse.class)
+            .getLogEntries();
+    List<JsonNode> lines =
+        ndjson(
+            rest()
+                .accept(APPLICATION_NDJSON)
+                .queryParam("max-records", 2)
+                .get("trees/{ref}/history", branch.toPathString()));
+    soft.assertThat(lines).hasSize(3);
+    soft.assertThat(ndjsonEntries(lines, LogResponse.LogEntry.class))
+        .hasSize(2)
+        .containsExactlyElementsOf(expectedLog);
+    soft.assertThat(lines.get(2).get("response").get("hasMore").asBoolean()).isTrue();
+    soft.assertThat(lines.get(2).get("response").get("token").asText()).isNotEmpty();
+
+    List<DiffResponse.DiffEntry> expectedDiff =
+        rest()
+            .get("trees/{from}/diff/{to}", main.toPathString(), branch.toPathString())
+            .then()
+            .statusCode(200)
+            .extract()
+            .as(DiffResponse.class)
+            .getDiffs();
+    lines =
+        ndjson(
+            rest()
+                .accept(APPLICATION_NDJSON)
+                .get("trees/{from}/diff/{to}", main.toPathString(), branch.toPathString()));
+    soft.assertThat(lines).hasSize(4);
+    soft.assertThat(ndjsonEntries(lines, DiffResponse.DiffEntry.class))
+        .hasSize(3)
+        .containsExactlyElementsOf(expectedDiff);
+    JsonNode response = lines.get(3).get("response");
+    soft.assertThat(response.get("hasMore").asBoolean()).isFalse();
+    soft.assertThat(response.get("effectiveToReference").get("hash").asText())
+        .isEqualTo(branch.getHash());
+  }
+
+  @NessieApiVersions(versions = {NessieApiVersion.V2})
+  @ParameterizedTest
+  @ValueSource(strings = {"trees/{ref}/entries", "trees/{ref}/history", "trees/{ref}/diff/-"})
+  void streamingErrorBeforeFirstEntry(String path) {
+    // Errors raised before the first entry is written are regular JSON error responses
+    NessieError error =
+        rest()
+            .accept(APPLICATION_NDJSON)
+            .get(path, "no-such-branch")
+            .then()
+            .statusCode(404)
+            .contentType(ContentType.JSON)
+            .extract()
+            .as(NessieError.class);
+    soft.assertThat(error.getErrorCode()).isEqualTo(ErrorCode.REFERENCE_NOT_FOUND);
+  }
+
+  private List<JsonNode> ndjson(Response response) throws JsonProcessingException {
+    soft.assertThat(response.statusCode()).isEqualTo(200);
+    soft.assertThat(response.contentType()).startsWith(APPLICATION_NDJSON);
+    ObjectMapper mapper = new ObjectMapper();
+    List<JsonNode> lines = new ArrayList<>();
+    for (String line : response.asString().split("\n")) {
+      lines.add(mapper.readTree(line));
+    }
+    return lines;
+  }
+
+  private static <E> List<E> ndjsonEntries(List<JsonNode> lines, Class<E> type)
+      throws JsonProcessingException {
+    ObjectMapper mapper = new ObjectMapper();
+    List<E> entries = new ArrayList<>();
+    for (JsonNode line : lines) {
+      if (line.has("entry")) {
+        entries.add(mapper.treeToValue(line.get("entry"), type));
+      }
+    }
+    return entries;
+  }
 }
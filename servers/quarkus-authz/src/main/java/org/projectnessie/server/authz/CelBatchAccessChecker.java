@@ -30,7 +30,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Supplier;
-import org.projectnessie.cel.tools.ScriptException;
 import org.projectnessie.model.Content.Type;
 import org.projectnessie.model.ContentKey;
 import org.projectnessie.model.RepositoryConfig;
@@ -59,17 +58,20 @@ final class CelBatchAccessChecker extends AbstractBatchAccessChecker {
   @Override
   public Map<Check, String> check() {
     Map<Check, String> failed = new LinkedHashMap<>();
+    // The principal does not change within a batch, resolve it only once
+    String role = roleName();
+    List<String> roles = roles();
     getChecks()
         .forEach(
             check -> {
               if (check.type().isRepositoryConfigType()) {
-                canPerformRepositoryConfig(check, failed);
+                canPerformRepositoryConfig(check, role, roles, failed);
               } else if (check.type().isContent()) {
-                canPerformOpOnPath(check, failed);
+                canPerformOpOnPath(check, role, roles, failed);
               } else if (check.type().isRef()) {
-                canPerformOpOnReference(check, failed);
+                canPerformOpOnReference(check, role, roles, failed);
               } else {
-                canPerformOp(check, failed);
+                canPerformOp(check, role, roles, failed);
               }
             });
     return failed;
@@ -89,14 +91,14 @@ final class CelBatchAccessChecker extends AbstractBatchAccessChecker {
     return List.copyOf(context.roleIds());
   }
 
-  private void canPerformOp(Check check, Map<Check, String> failed) {
-    String roleName = roleName();
+  private void canPerformOp(
+      Check check, String roleName, List<String> roles, Map<Check, String> failed) {
     Map<String, Object> arguments =
         Map.of(
             VAR_ROLE,
             roleName,
             VAR_ROLES,
-            roles(),
+            roles,
             VAR_OP,
             check.type().name(),
             VAR_ACTIONS,
@@ -115,12 +117,12 @@ final class CelBatchAccessChecker extends AbstractBatchAccessChecker {
     canPerformOp(arguments, check, errorMsgSupplier, failed);
   }
 
-  private void canPerformOpOnReference(Check check, Map<Check, String> failed) {
-    String role = roleName();
+  private void canPerformOpOnReference(
+      Check check, String role, List<String> roles, Map<Check, String> failed) {
     String op = check.type().name();
     String ref = Optional.ofNullable(check.ref()).map(NamedRef::getName).orElse("");
     Map<String, Object> arguments =
-        Map.of("ref", ref, "role", role, "roles", roles(), "op", op, "path", "", "contentType", "");
+        Map.of("ref", ref, "role", role, "roles", roles, "op", op, "path", "", "contentType", "");
 
     Supplier<String> errorMsgSupplier =
         () ->
@@ -129,8 +131,8 @@ final class CelBatchAccessChecker extends AbstractBatchAccessChecker {
     canPerformOp(arguments, check, errorMsgSupplier, failed);
   }
 
-  private void canPerformOpOnPath(Check check, Map<Check, String> failed) {
-    String role = roleName();
+  private void canPerformOpOnPath(
+      Check check, String role, List<String> roles, Map<Check, String> failed) {
     String op = check.type().name();
     String contentType = Optional.ofNullable(check.contentType()).map(Type::name).orElse("");
     String path = Optional.ofNullable(check.key()).map(ContentKey::toPathString).orElse("");
@@ -144,7 +146,7 @@ final class CelBatchAccessChecker extends AbstractBatchAccessChecker {
             "role",
             role,
             "roles",
-            roles(),
+            roles,
             "op",
             op,
             "contentType",
@@ -156,7 +158,8 @@ final class CelBatchAccessChecker extends AbstractBatchAccessChecker {
     canPerformOp(arguments, check, errorMsgSupplier, failed);
   }
 
-  private void canPerformRepositoryConfig(Check check, Map<Check, String> failed) {
+  private void canPerformRepositoryConfig(
+      Check check, String role, List<String> roles, Map<Check, String> failed) {
     String op = check.type().name();
     String type =
         Optional.ofNullable(check.repositoryConfigType())
@@ -164,7 +167,7 @@ final class CelBatchAccessChecker extends AbstractBatchAccessChecker {
             .orElse("");
 
     Map<String, Object> arguments =
-        Map.of("ref", "", "path", "", "role", roleName(), "roles", roles(), "op", op, "type", type);
+        Map.of("ref", "", "path", "", "role", role, "roles", roles, "op", op, "type", type);
 
     Supplier<String> errorMsgSupplier =
         () ->
@@ -179,21 +182,7 @@ final class CelBatchAccessChecker extends AbstractBatchAccessChecker {
       Check check,
       Supplier<String> errorMessageSupplier,
       Map<Check, String> failed) {
-    boolean allowed =
-        compiledRules.getRules().entrySet().stream()
-            .anyMatch(
-                entry -> {
-                  try {
-                    return entry.getValue().execute(Boolean.class, arguments);
-                  } catch (ScriptException e) {
-                    throw new RuntimeException(
-                        String.format(
-                            "Failed to execute authorization rule with id '%s' due to: %s",
-                            entry.getKey(), e.getMessage()),
-                        e);
-                  }
-                });
-    if (!allowed) {
+    if (!compiledRules.isAllowed(arguments)) {
       failed.put(check, errorMessageSupplier.get());
     }
   }
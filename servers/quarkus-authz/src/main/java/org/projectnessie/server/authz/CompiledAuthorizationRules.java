@@ -16,13 +16,26 @@
 package org.projectnessie.server.authz;
 
 import static org.projectnessie.services.authz.Check.CheckType.VIEW_REFERENCE;
+import static org.projectnessie.services.cel.CELUtil.VAR_CONTENT_TYPE;
+import static org.projectnessie.services.cel.CELUtil.VAR_OP;
+import static org.projectnessie.services.cel.CELUtil.VAR_PATH;
+import static org.projectnessie.services.cel.CELUtil.VAR_REF;
+import static org.projectnessie.services.cel.CELUtil.VAR_ROLE;
+import static org.projectnessie.services.cel.CELUtil.VAR_ROLES;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableMap;
 import io.quarkus.runtime.Startup;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
 import org.projectnessie.cel.tools.Script;
 import org.projectnessie.cel.tools.ScriptException;
 import org.projectnessie.quarkus.config.QuarkusNessieAuthorizationConfig;
@@ -37,14 +50,74 @@ import org.projectnessie.services.cel.CELUtil;
 public class CompiledAuthorizationRules {
   private final QuarkusNessieAuthorizationConfig config;
   private final Map<String, Script> compiledRules;
+  private final RuleGroup pathIndependentRules;
+  private final RuleGroup pathDependentRules;
+  private final Cache<List<Object>, Boolean> decisions;
   private static final String ALLOW_VIEWING_ALL_REFS_ID = "__ALLOW_VIEWING_REF_ID";
   private static final String ALLOW_VIEWING_ALL_REFS =
       String.format("op=='%s' && ref.matches('.*')", VIEW_REFERENCE);
 
+  /**
+   * The variables that authorization rules can reference, see {@link
+   * CELUtil#AUTHORIZATION_RULE_DECLARATIONS}. Other arguments are not declared and therefore cannot
+   * influence the result of a rule.
+   */
+  private static final List<String> RULE_VARIABLES =
+      List.of(VAR_REF, VAR_PATH, VAR_CONTENT_TYPE, VAR_ROLE, VAR_ROLES, VAR_OP);
+
   @Inject
   public CompiledAuthorizationRules(QuarkusNessieAuthorizationConfig config) {
     this.config = config;
     this.compiledRules = compileAuthorizationRules();
+
+    Map<String, String> ruleExpressions = ruleExpressions();
+    Map<String, Script> pathIndependent = new LinkedHashMap<>();
+    Map<String, Script> pathDependent = new LinkedHashMap<>();
+    compiledRules.forEach(
+        (id, script) -> {
+          String expression = ruleExpressions.get(id);
+          if (referencedVariables(expression).contains(VAR_PATH)) {
+            pathDependent.put(id, script);
+          } else {
+            pathIndependent.put(id, script);
+          }
+        });
+    this.pathIndependentRules = new RuleGroup(0, pathIndependent, ruleExpressions);
+    this.pathDependentRules = new RuleGroup(1, pathDependent, ruleExpressions);
+
+    long cacheSize = config.decisionCacheMaxSize();
+    this.decisions =
+        cacheSize > 0L
+            ? CacheBuilder.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(config.decisionCacheTtl())
+                .build()
+            : null;
+  }
+
+  private Map<String, String> ruleExpressions() {
+    Map<String, String> rules = new HashMap<>(config.rules());
+    // by default we allow viewing all references until there's a user-defined VIEW_REFERENCE rule
+    if (rules.entrySet().stream().noneMatch(r -> r.getValue().contains(VIEW_REFERENCE.name()))) {
+      rules.put(ALLOW_VIEWING_ALL_REFS_ID, ALLOW_VIEWING_ALL_REFS);
+    }
+    return rules;
+  }
+
+  /**
+   * Returns the names of the {@linkplain #RULE_VARIABLES rule variables} that are mentioned in the
+   * given CEL expression. This is a conservative, textual check: a variable name that appears in a
+   * string literal is considered as referenced as well.
+   */
+  @VisibleForTesting
+  static List<String> referencedVariables(String expression) {
+    List<String> referenced = new ArrayList<>();
+    for (String variable : RULE_VARIABLES) {
+      if (Pattern.compile("(?<![\\w.])" + variable + "(?!\\w)").matcher(expression).find()) {
+        referenced.add(variable);
+      }
+    }
+    return referenced;
   }
 
   /**
@@ -53,11 +126,7 @@ public class CompiledAuthorizationRules {
    * @return A map of compiled authorization rules
    */
   private Map<String, Script> compileAuthorizationRules() {
-    Map<String, String> rules = new HashMap<>(config.rules());
-    // by default we allow viewing all references until there's a user-defined VIEW_REFERENCE rule
-    if (rules.entrySet().stream().noneMatch(r -> r.getValue().contains(VIEW_REFERENCE.name()))) {
-      rules.put(ALLOW_VIEWING_ALL_REFS_ID, ALLOW_VIEWING_ALL_REFS);
-    }
+    Map<String, String> rules = ruleExpressions();
     Map<String, Script> scripts = new HashMap<>();
     rules.forEach(
         (key, value) ->
@@ -89,4 +158,78 @@ public class CompiledAuthorizationRules {
   public Map<String, Script> getRules() {
     return compiledRules;
   }
+
+  /**
+   * Evaluates the authorization rules against the given arguments and returns whether any rule
+   * allows the operation.
+   *
+   * <p>Rules that do not reference the {@code path} variable are evaluated first, their decision
+   * does not depend on the content key and is therefore shared by all checks of the same operation
+   * on the same reference. Decisions are cached, keyed by the values of the variables that are
+   * referenced by the rules.
+   */
+  public boolean isAllowed(Map<String, Object> arguments) {
+    return pathIndependentRules.isAllowed(arguments) || pathDependentRules.isAllowed(arguments);
+  }
+
+  @VisibleForTesting
+  long cachedDecisions() {
+    return decisions != null ? decisions.size() : 0L;
+  }
+
+  private final class RuleGroup {
+    private final int group;
+    private final Map<String, Script> rules;
+    private final List<String> variables;
+
+    RuleGroup(int group, Map<String, Script> rules, Map<String, String> ruleExpressions) {
+      this.group = group;
+      this.rules = rules;
+      List<String> variables = new ArrayList<>();
+      for (String variable : RULE_VARIABLES) {
+        if (rules.keySet().stream()
+            .anyMatch(id -> referencedVariables(ruleExpressions.get(id)).contains(variable))) {
+          variables.add(variable);
+        }
+      }
+      this.variables = variables;
+    }
+
+    boolean isAllowed(Map<String, Object> arguments) {
+      if (rules.isEmpty()) {
+        return false;
+      }
+      if (decisions == null) {
+        return evaluate(arguments);
+      }
+
+      List<Object> key = new ArrayList<>(variables.size() + 1);
+      key.add(group);
+      for (String variable : variables) {
+        key.add(arguments.get(variable));
+      }
+      Boolean allowed = decisions.getIfPresent(key);
+      if (allowed == null) {
+        allowed = evaluate(arguments);
+        decisions.put(key, allowed);
+      }
+      return allowed;
+    }
+
+    private boolean evaluate(Map<String, Object> arguments) {
+      return rules.entrySet().stream()
+          .anyMatch(
+              entry -> {
+                try {
+                  return entry.getValue().execute(Boolean.class, arguments);
+                } catch (ScriptException e) {
+                  throw new RuntimeException(
+                      String.format(
+                          "Failed to execute authorization rule with id '%s' due to: %s",
+                          entry.getKey(), e.getMessage()),
+                      e);
+                }
+              });
+    }
+  }
 }
@@ -17,12 +17,15 @@ package org.projectnessie.server.authz;
 
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
+import static org.projectnessie.model.Content.Type.ICEBERG_TABLE;
+import static org.projectnessie.model.IdentifiedContentKey.identifiedContentKeyFromContent;
 import static org.projectnessie.services.authz.ApiContext.apiContext;
 import static org.projectnessie.services.authz.Check.CheckType.CREATE_REFERENCE;
 import static org.projectnessie.services.authz.Check.CheckType.VIEW_REFERENCE;
 
 import jakarta.enterprise.inject.Instance;
 import java.security.Principal;
+import java.time.Duration;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
@@ -35,6 +38,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 import org.projectnessie.cel.tools.Script;
 import org.projectnessie.cel.tools.ScriptException;
+import org.projectnessie.model.ContentKey;
 import org.projectnessie.quarkus.config.QuarkusNessieAuthorizationConfig;
 import org.projectnessie.services.authz.AbstractBatchAccessChecker;
 import org.projectnessie.services.authz.AccessCheckException;
@@ -124,6 +128,50 @@ public class TestCELAuthZ {
         .doesNotThrowAnyException();
   }
 
+  @Test
+  void referencedVariables() {
+    soft.assertThat(CompiledAuthorizationRules.referencedVariables("false")).isEmpty();
+    soft.assertThat(CompiledAuthorizationRules.referencedVariables("'bar' in roles"))
+        .containsExactly("roles");
+    soft.assertThat(
+            CompiledAuthorizationRules.referencedVariables(
+                "op=='READ_ENTITY_VALUE' && path.startsWith('x') && role=='r' && ref=='main'"))
+        .containsExactly("ref", "path", "role", "op");
+    soft.assertThat(CompiledAuthorizationRules.referencedVariables("key.path=='x' || pathX==1"))
+        .isEmpty();
+  }
+
+  @Test
+  void decisionCache() {
+    CompiledAuthorizationRules rules = new CompiledAuthorizationRules(buildConfig(true));
+    BranchName main = BranchName.of("main");
+    CelBatchAccessChecker batchAccessChecker =
+        new CelBatchAccessChecker(
+            rules,
+            new AccessContext() {
+              @Override
+              public Principal user() {
+                return () -> "baz";
+              }
+
+              @Override
+              public Set<String> roleIds() {
+                return Set.of("baz");
+              }
+            },
+            apiContext("Nessie", 2));
+
+    for (int i = 0; i < 100; i++) {
+      ContentKey key = ContentKey.of("ns", "table" + i);
+      batchAccessChecker.canReadEntityValue(
+          main, identifiedContentKeyFromContent(key, ICEBERG_TABLE, "id" + i, p -> "ns-id"));
+    }
+    soft.assertThat(batchAccessChecker.check()).isEmpty();
+    // None of the rules references 'path', so all READ_ENTITY_VALUE checks share the same
+    // decision, the other decision is for the implicit VIEW_REFERENCE check.
+    soft.assertThat(rules.cachedDecisions()).isEqualTo(2L);
+  }
+
   @ParameterizedTest
   @EnumSource(CheckType.class)
   void celBatchAccessCheckerEmptyChecks(CheckType type) {
@@ -181,6 +229,16 @@ public class TestCELAuthZ {
         return enabled;
       }
 
+      @Override
+      public long decisionCacheMaxSize() {
+        return 100;
+      }
+
+      @Override
+      public Duration decisionCacheTtl() {
+        return Duration.ofMinutes(5);
+      }
+
       @Override
       public Map<String, String> rules() {
         return Map.of(
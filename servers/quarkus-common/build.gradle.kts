@@ -66,6 +66,7 @@ dependencies {
   implementation("software.amazon.awssdk:apache-client") {
     exclude("commons-logging", "commons-logging")
   }
+  implementation("software.amazon.awssdk:netty-nio-client")
   implementation(quarkusExtension(project, "google-cloud-services"))
   implementation("io.quarkiverse.googlecloudservices:quarkus-google-cloud-bigtable")
   implementation(quarkusExtension(project, "cassandra"))
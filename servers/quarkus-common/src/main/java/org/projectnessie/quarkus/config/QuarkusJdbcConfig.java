@@ -103,4 +103,13 @@ public interface QuarkusJdbcConfig extends Jdbc2BackendBaseConfig {
   @Override
   @WithDefault(DEFAULT_FETCH_SIZE_STRING)
   OptionalInt fetchSize();
+
+  /**
+   * The maximum number of rows written or deleted by a single multi-row statement or JDBC batch,
+   * defaults to {@code 50}. Must be a value between {@code 1} and {@code 1000}. Higher values
+   * reduce the number of database round-trips for commits that write many objects.
+   */
+  @Override
+  @WithDefault(DEFAULT_BATCH_SIZE_STRING)
+  OptionalInt batchSize();
 }
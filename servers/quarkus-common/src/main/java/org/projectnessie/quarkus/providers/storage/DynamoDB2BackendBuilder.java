@@ -24,6 +24,7 @@ import org.projectnessie.quarkus.providers.versionstore.StoreType;
 import org.projectnessie.versioned.storage.common.persist.Backend;
 import org.projectnessie.versioned.storage.dynamodb2.DynamoDB2BackendConfig;
 import org.projectnessie.versioned.storage.dynamodb2.DynamoDB2BackendFactory;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 
 @StoreType(DYNAMODB2)
@@ -32,6 +33,8 @@ public class DynamoDB2BackendBuilder implements BackendBuilder {
 
   @Inject DynamoDbClient client;
 
+  @Inject DynamoDbAsyncClient asyncClient;
+
   @Inject QuarkusDynamoDBConfig dynamoDBConfig;
 
   @Override
@@ -40,6 +43,7 @@ public class DynamoDB2BackendBuilder implements BackendBuilder {
     DynamoDB2BackendConfig c =
         DynamoDB2BackendConfig.builder()
             .client(client)
+            .asyncClient(asyncClient)
             .tablePrefix(dynamoDBConfig.tablePrefix())
             .build();
     return factory.buildBackend(c);
@@ -175,10 +175,24 @@ public class PersistProvider {
         cacheConfig.referenceNegativeTtl(referenceCacheNegativeTtl.orElse(refTtl));
       }
 
+      long spillCapacityMB = storeConfig.cacheSpillCapacityMB().orElse(0L);
+      if (spillCapacityMB > 0L) {
+        cacheConfig.spillCapacityMb(spillCapacityMB);
+        storeConfig.cacheSpillDirectory().ifPresent(cacheConfig::spillDirectory);
+      }
+
       String info = format("Using objects cache with %d MB", effectiveCacheSizeMB);
 
       info += ", with soft-references " + (enableSoftReferences ? "enabled" : "disabled");
 
+      if (spillCapacityMB > 0L) {
+        info +=
+            format(
+                ", with %d MB %s spill tier",
+                spillCapacityMB,
+                storeConfig.cacheSpillDirectory().isPresent() ? "memory-mapped" : "off-heap");
+      }
+
       CacheBackend cacheBackend = PersistCaches.newBackend(cacheConfig.build());
 
       if (invalidationSender.isResolvable() && cacheInvalidationReceiver.isResolvable()) {
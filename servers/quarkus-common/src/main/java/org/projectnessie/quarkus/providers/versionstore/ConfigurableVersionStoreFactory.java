@@ -15,6 +15,7 @@
  */
 package org.projectnessie.quarkus.providers.versionstore;
 
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.inject.Any;
 import jakarta.enterprise.inject.Default;
@@ -23,6 +24,11 @@ import jakarta.enterprise.inject.Produces;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.io.IOError;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import org.projectnessie.quarkus.config.VersionStoreConfig;
 import org.projectnessie.quarkus.config.VersionStoreConfig.VersionStoreType;
@@ -48,6 +54,7 @@ public class ConfigurableVersionStoreFactory {
   private final VersionStoreConfig storeConfig;
   private final Persist persist;
   private final Instance<Consumer<Result>> resultConsumer;
+  private final ThreadPoolExecutor referenceInfoExecutor;
 
   /**
    * Configurable version store factory.
@@ -62,6 +69,45 @@ public class ConfigurableVersionStoreFactory {
     this.storeConfig = storeConfig;
     this.persist = persist;
     this.resultConsumer = resultConsumer;
+    int parallelism = storeConfig.referenceInfoParallelism();
+    this.referenceInfoExecutor = parallelism > 0 ? referenceInfoExecutor(parallelism) : null;
+  }
+
+  /**
+   * Dedicated, bounded executor to build reference infos in parallel. Request threads wait for the
+   * tasks, so those must not run on the request thread pool. If all threads are busy, the tasks
+   * are run by the requesting thread.
+   */
+  private static ThreadPoolExecutor referenceInfoExecutor(int parallelism) {
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            parallelism,
+            parallelism,
+            60L,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(parallelism),
+            new ThreadFactory() {
+              private final ThreadGroup group = Thread.currentThread().getThreadGroup();
+              private final AtomicInteger num = new AtomicInteger();
+
+              @Override
+              public Thread newThread(Runnable r) {
+                Thread t = new Thread(group, r, "reference-info-" + num.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+              }
+            },
+            // Also run rejected tasks after shutdown, the requesting thread waits for the result
+            (task, e) -> task.run());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  @PreDestroy
+  void shutdown() {
+    if (referenceInfoExecutor != null) {
+      referenceInfoExecutor.shutdown();
+    }
   }
 
   /** Version store producer. */
@@ -72,7 +118,7 @@ public class ConfigurableVersionStoreFactory {
     VersionStoreType versionStoreType = storeConfig.getVersionStoreType();
 
     try {
-      VersionStore versionStore = new VersionStoreImpl(persist);
+      VersionStore versionStore = new VersionStoreImpl(persist, referenceInfoExecutor);
 
       if (storeConfig.isEventsEnabled() && resultConsumer.isResolvable()) {
         versionStore = new EventsVersionStore(versionStore, resultConsumer.get());
@@ -18,6 +18,7 @@ package org.projectnessie.quarkus.config;
 import io.smallrye.config.ConfigMapping;
 import io.smallrye.config.WithDefault;
 import io.smallrye.config.WithName;
+import java.time.Duration;
 import java.util.Map;
 
 /** Configuration for Nessie authorization settings. */
@@ -45,4 +46,18 @@ public interface QuarkusNessieAuthorizationConfig {
    *     expression.
    */
   Map<String, String> rules();
+
+  /**
+   * Maximum number of authorization decisions to cache. Authorization decisions only depend on the
+   * values of the variables referenced by the rules, so identical checks, for example when listing
+   * many entries, are evaluated only once. Set to {@code 0} to disable the decision cache.
+   */
+  @WithName("decision-cache-max-size")
+  @WithDefault("10000")
+  long decisionCacheMaxSize();
+
+  /** Duration after which cached authorization decisions expire. */
+  @WithName("decision-cache-ttl")
+  @WithDefault("PT5M")
+  Duration decisionCacheTtl();
 }
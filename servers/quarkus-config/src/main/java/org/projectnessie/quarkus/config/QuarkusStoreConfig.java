@@ -19,11 +19,13 @@ import io.smallrye.config.ConfigMapping;
 import io.smallrye.config.WithConverter;
 import io.smallrye.config.WithDefault;
 import io.smallrye.config.WithName;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.OptionalDouble;
 import java.util.OptionalInt;
+import java.util.OptionalLong;
 import org.projectnessie.versioned.storage.common.config.StoreConfig;
 
 @ConfigMapping(prefix = QuarkusStoreConfig.NESSIE_VERSION_STORE_PERSIST)
@@ -112,6 +114,44 @@ public interface QuarkusStoreConfig extends StoreConfig {
   @Override
   long referencePreviousHeadTimeSpanSeconds();
 
+  @WithName(CONFIG_COMMIT_SEQUENCER_ENABLED)
+  @WithDefault("" + DEFAULT_COMMIT_SEQUENCER_ENABLED)
+  @Override
+  boolean commitSequencerEnabled();
+
+  @WithName(CONFIG_COMMIT_SEQUENCER_MAX_GROUP_SIZE)
+  @WithDefault("" + DEFAULT_COMMIT_SEQUENCER_MAX_GROUP_SIZE)
+  @Override
+  int commitSequencerMaxGroupSize();
+
+  @WithName(CONFIG_INDEX_CACHE_CAPACITY_MB)
+  @WithDefault("" + DEFAULT_INDEX_CACHE_CAPACITY_MB)
+  @Override
+  int indexCacheCapacityMb();
+
+  @WithName(CONFIG_GET_KEYS_CONTENT_PREFETCH_BATCHES)
+  @WithDefault("" + DEFAULT_GET_KEYS_CONTENT_PREFETCH_BATCHES)
+  @Override
+  int getKeysContentPrefetchBatches();
+
+  @WithName(CONFIG_GET_KEYS_CONTENT_MAX_BATCH_SIZE)
+  @WithDefault("" + DEFAULT_GET_KEYS_CONTENT_MAX_BATCH_SIZE)
+  @Override
+  int getKeysContentMaxBatchSize();
+
+  @WithName(CONFIG_OBJ_COMPRESSION)
+  @Override
+  Optional<String> objCompression();
+
+  @WithName(CONFIG_OBJ_COMPRESSION_DICTIONARIES)
+  @Override
+  Optional<String> objCompressionDictionaries();
+
+  @WithName(CONFIG_OBJ_COMPRESSION_MIN_SIZE)
+  @WithDefault("" + DEFAULT_OBJ_COMPRESSION_MIN_SIZE)
+  @Override
+  int objCompressionMinSize();
+
   String CONFIG_CACHE_CAPACITY_MB = "cache-capacity-mb";
 
   /**
@@ -179,6 +219,30 @@ public interface QuarkusStoreConfig extends StoreConfig {
   @WithDefault("" + DEFAULT_CONFIG_CAPACITY_OVERSHOOT)
   OptionalDouble cacheCapacityOvershoot();
 
+  String CONFIG_CACHE_SPILL_CAPACITY_MB = "cache-spill-capacity-mb";
+
+  /**
+   * Capacity in MB of the second, off-heap cache tier, defaults to {@code 0} (disabled).
+   *
+   * <p>Immutable objects, like commits, indexes and contents, that are evicted from the heap based
+   * objects cache are moved into this cache tier and moved back into the heap based cache, when
+   * accessed. The second cache tier uses direct memory, unless {@code cache-spill-directory} is
+   * configured. When using direct memory, make sure that the JVM option {@code
+   * -XX:MaxDirectMemorySize} allows the configured capacity.
+   */
+  @WithName(CONFIG_CACHE_SPILL_CAPACITY_MB)
+  OptionalLong cacheSpillCapacityMB();
+
+  String CONFIG_CACHE_SPILL_DIRECTORY = "cache-spill-directory";
+
+  /**
+   * Local directory for the memory-mapped file backing the second, off-heap cache tier. The
+   * directory should reside on a local and fast file system. The file is created when Nessie starts
+   * and is removed when Nessie stops.
+   */
+  @WithName(CONFIG_CACHE_SPILL_DIRECTORY)
+  Optional<Path> cacheSpillDirectory();
+
   @WithName(CONFIG_REFERENCE_CACHE_TTL)
   @Override
   Optional<Duration> referenceCacheTtl();
@@ -72,4 +72,15 @@ public interface VersionStoreConfig {
   @WithName("events.enable")
   @WithDefault("true")
   boolean isEventsEnabled();
+
+  /**
+   * Number of threads used to build the reference information, for example the common ancestor
+   * or the number of commits ahead and behind, of the references of a page in parallel, when
+   * listing references. The threads are not shared with the threads that serve requests. If all
+   * threads are busy, the reference information is built by the requesting thread. Set to {@code
+   * 0} to always build the reference information by the requesting thread.
+   */
+  @WithName("reference-info.parallelism")
+  @WithDefault("0")
+  int referenceInfoParallelism();
 }
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.services.rest;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import org.projectnessie.api.v2.http.HttpTreeApi;
+import org.projectnessie.model.ser.Views;
+import org.projectnessie.services.spi.PagedCountingResponseHandler;
+
+/**
+ * Writes a response page as newline-delimited JSON, see {@link HttpTreeApi#APPLICATION_NDJSON}.
+ * Entries are written to the output stream as they are added, so the page is never held on the
+ * heap. The response returned by {@link #build()} must not contain the entries and is written as
+ * the trailing line by {@link #finish(Object)}.
+ */
+abstract class NdjsonPageWriter<R, E> extends PagedCountingResponseHandler<R, E> {
+
+  private static final ObjectWriter WRITER =
+      new ObjectMapper()
+          .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+          .disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+          .writerWithView(Views.V2.class);
+
+  private final JsonGenerator generator;
+
+  NdjsonPageWriter(OutputStream output, Integer maxRecords) {
+    super(maxRecords);
+    this.generator = newGenerator(output);
+  }
+
+  NdjsonPageWriter(OutputStream output, Integer maxRecords, int strictMax) {
+    super(maxRecords, strictMax);
+    this.generator = newGenerator(output);
+  }
+
+  private static JsonGenerator newGenerator(OutputStream output) {
+    try {
+      return WRITER
+          .getFactory()
+          .createGenerator(output)
+          .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+          .setRootValueSeparator(null);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  protected boolean doAddEntry(E entry) {
+    try {
+      writeRecord("entry", entry);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return true;
+  }
+
+  /** Writes the trailing line with the given response and flushes the output. */
+  void finish(R response) throws IOException {
+    writeRecord("response", response);
+    generator.close();
+  }
+
+  private void writeRecord(String field, Object value) throws IOException {
+    generator.writeStartObject();
+    generator.writeFieldName(field);
+    WRITER.writeValue(generator, value);
+    generator.writeEndObject();
+    generator.writeRaw('\n');
+  }
+}
@@ -16,7 +16,9 @@
 package org.projectnessie.services.rest;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static org.projectnessie.api.v2.http.HttpTreeApi.APPLICATION_NDJSON;
 import static org.projectnessie.api.v2.params.ReferenceResolver.resolveReferencePathElement;
+import static org.projectnessie.model.Validation.REF_NAME_PATH_ELEMENT_REGEX;
 import static org.projectnessie.services.impl.RefUtil.toReference;
 import static org.projectnessie.services.rest.RestApiContext.NESSIE_V2;
 import static org.projectnessie.services.rest.common.RestCommon.updateCommitMeta;
@@ -27,8 +29,13 @@ import static org.projectnessie.versioned.RequestMeta.API_WRITE;
 import com.fasterxml.jackson.annotation.JsonView;
 import jakarta.enterprise.context.RequestScoped;
 import jakarta.inject.Inject;
+import jakarta.ws.rs.BeanParam;
+import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.StreamingOutput;
 import java.util.List;
 import java.util.Locale;
 import org.projectnessie.api.v2.http.HttpTreeApi;
@@ -321,6 +328,144 @@ public class RestV2TreeResource implements HttpTreeApi {
             params.getFilter());
   }
 
+  /**
+   * Streaming variant of {@link #getEntries(String, EntriesParams)}, see {@link
+   * HttpTreeApi#APPLICATION_NDJSON}.
+   */
+  @GET
+  @Path("{ref:" + REF_NAME_PATH_ELEMENT_REGEX + "}/entries")
+  @Produces(APPLICATION_NDJSON + ";qs=0.5")
+  public StreamingOutput getEntriesStream(
+      @PathParam("ref") String ref, @BeanParam EntriesParams params) {
+    ParsedReference reference = parseRefPathString(ref);
+    return output -> {
+      ImmutableEntriesResponse.Builder builder = EntriesResponse.builder();
+      NdjsonPageWriter<EntriesResponse, EntriesResponse.Entry> writer =
+          new NdjsonPageWriter<>(output, params.maxRecords()) {
+            @Override
+            public EntriesResponse build() {
+              return builder.build();
+            }
+
+            @Override
+            public void hasMore(String pagingToken) {
+              builder.isHasMore(true).token(pagingToken);
+            }
+          };
+      try {
+        writer.finish(
+            tree()
+                .getEntries(
+                    reference.name(),
+                    reference.hashWithRelativeSpec(),
+                    null,
+                    params.filter(),
+                    params.pageToken(),
+                    params.withContent(),
+                    writer,
+                    h -> builder.effectiveReference(toReference(h)),
+                    params.minKey(),
+                    params.maxKey(),
+                    params.prefixKey(),
+                    params.getRequestedKeys()));
+      } catch (NessieNotFoundException e) {
+        throw new RuntimeException(e);
+      }
+    };
+  }
+
+  /**
+   * Streaming variant of {@link #getCommitLog(String, CommitLogParams)}, see {@link
+   * HttpTreeApi#APPLICATION_NDJSON}.
+   */
+  @GET
+  @Path("{ref:" + REF_NAME_PATH_ELEMENT_REGEX + "}/history")
+  @Produces(APPLICATION_NDJSON + ";qs=0.5")
+  public StreamingOutput getCommitLogStream(
+      @PathParam("ref") String ref, @BeanParam CommitLogParams params) {
+    ParsedReference reference = parseRefPathString(ref);
+    return output -> {
+      ImmutableLogResponse.Builder builder = ImmutableLogResponse.builder();
+      NdjsonPageWriter<LogResponse, LogEntry> writer =
+          new NdjsonPageWriter<>(output, params.maxRecords(), MAX_COMMIT_LOG_ENTRIES) {
+            @Override
+            public LogResponse build() {
+              return builder.build();
+            }
+
+            @Override
+            public void hasMore(String pagingToken) {
+              builder.isHasMore(true).token(pagingToken);
+            }
+          };
+      try {
+        writer.finish(
+            tree()
+                .getCommitLog(
+                    reference.name(),
+                    params.fetchOption(),
+                    params.startHash(),
+                    reference.hashWithRelativeSpec(),
+                    params.filter(),
+                    params.pageToken(),
+                    writer));
+      } catch (NessieNotFoundException e) {
+        throw new RuntimeException(e);
+      }
+    };
+  }
+
+  /**
+   * Streaming variant of {@link #getDiff(DiffParams)}, see {@link HttpTreeApi#APPLICATION_NDJSON}.
+   */
+  @GET
+  @Path(
+      "{from-ref:"
+          + REF_NAME_PATH_ELEMENT_REGEX
+          + "}/diff/{to-ref:"
+          + REF_NAME_PATH_ELEMENT_REGEX
+          + "}")
+  @Produces(APPLICATION_NDJSON + ";qs=0.5")
+  public StreamingOutput getDiffStream(@BeanParam DiffParams params) {
+    ParsedReference from = parseRefPathString(params.getFromRef());
+    ParsedReference to = parseRefPathString(params.getToRef());
+    return output -> {
+      ImmutableDiffResponse.Builder builder = DiffResponse.builder();
+      NdjsonPageWriter<DiffResponse, DiffEntry> writer =
+          new NdjsonPageWriter<>(output, params.maxRecords()) {
+            @Override
+            public DiffResponse build() {
+              return builder.build();
+            }
+
+            @Override
+            public void hasMore(String pagingToken) {
+              builder.isHasMore(true).token(pagingToken);
+            }
+          };
+      try {
+        writer.finish(
+            diff()
+                .getDiff(
+                    from.name(),
+                    from.hashWithRelativeSpec(),
+                    to.name(),
+                    to.hashWithRelativeSpec(),
+                    params.pageToken(),
+                    writer,
+                    h -> builder.effectiveFromReference(toReference(h)),
+                    h -> builder.effectiveToReference(toReference(h)),
+                    params.minKey(),
+                    params.maxKey(),
+                    params.prefixKey(),
+                    params.getRequestedKeys(),
+                    params.getFilter()));
+      } catch (NessieNotFoundException e) {
+        throw new RuntimeException(e);
+      }
+    };
+  }
+
   @JsonView(Views.V2.class)
   @Override
   public SingleReferenceResponse assignReference(String type, String ref, Reference assignTo)
@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.services.rest;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.projectnessie.model.EntriesResponse.Entry.entry;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.model.Branch;
+import org.projectnessie.model.Content;
+import org.projectnessie.model.ContentKey;
+import org.projectnessie.model.EntriesResponse;
+import org.projectnessie.model.EntriesResponse.Entry;
+import org.projectnessie.model.ImmutableEntriesResponse;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestNdjsonPageWriter {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private static final Entry ENTRY1 = entry(ContentKey.of("a"), Content.Type.ICEBERG_TABLE);
+  private static final Entry ENTRY2 = entry(ContentKey.of("b", "c"), Content.Type.NAMESPACE);
+  private static final Entry ENTRY3 = entry(ContentKey.of("d"), Content.Type.ICEBERG_VIEW);
+
+  @Test
+  public void entriesAndTrailingResponse() throws Exception {
+    Output output = new Output();
+    ImmutableEntriesResponse.Builder builder = EntriesResponse.builder();
+    NdjsonPageWriter<EntriesResponse, Entry> writer = writer(output, 2, builder);
+
+    soft.assertThat(writer.addEntry(ENTRY1)).isTrue();
+    soft.assertThat(writer.addEntry(ENTRY2)).isTrue();
+    // maxRecords reached
+    soft.assertThat(writer.addEntry(ENTRY3)).isFalse();
+    writer.hasMore("next-token");
+    builder.effectiveReference(Branch.of("main", "12345678"));
+    writer.finish(writer.build());
+
+    soft.assertThat(output.closed).isFalse();
+    String text = output.toString(UTF_8);
+    soft.assertThat(text).endsWith("\n").doesNotContain("\n\n");
+
+    List<JsonNode> lines = lines(text);
+    soft.assertThat(lines).hasSize(3);
+    soft.assertThat(MAPPER.treeToValue(lines.get(0).get("entry"), Entry.class)).isEqualTo(ENTRY1);
+    soft.assertThat(MAPPER.treeToValue(lines.get(1).get("entry"), Entry.class)).isEqualTo(ENTRY2);
+
+    JsonNode response = lines.get(2).get("response");
+    soft.assertThat(lines.get(2).has("entry")).isFalse();
+    soft.assertThat(response.get("hasMore").asBoolean()).isTrue();
+    soft.assertThat(response.get("token").asText()).isEqualTo("next-token");
+    soft.assertThat(response.get("entries")).isEmpty();
+    // Attributes of the V2 view are written
+    soft.assertThat(response.get("effectiveReference").get("name").asText()).isEqualTo("main");
+  }
+
+  @Test
+  public void noEntries() throws Exception {
+    Output output = new Output();
+    ImmutableEntriesResponse.Builder builder = EntriesResponse.builder();
+    NdjsonPageWriter<EntriesResponse, Entry> writer = writer(output, null, builder);
+
+    writer.finish(writer.build());
+
+    List<JsonNode> lines = lines(output.toString(UTF_8));
+    soft.assertThat(lines).hasSize(1);
+    soft.assertThat(lines.get(0).get("response").get("hasMore").asBoolean()).isFalse();
+    soft.assertThat(lines.get(0).get("response").has("token")).isFalse();
+  }
+
+  private static NdjsonPageWriter<EntriesResponse, Entry> writer(
+      Output output, Integer maxRecords, ImmutableEntriesResponse.Builder builder) {
+    return new NdjsonPageWriter<>(output, maxRecords) {
+      @Override
+      public EntriesResponse build() {
+        return builder.build();
+      }
+
+      @Override
+      public void hasMore(String pagingToken) {
+        builder.isHasMore(true).token(pagingToken);
+      }
+    };
+  }
+
+  private static List<JsonNode> lines(String text) throws Exception {
+    List<JsonNode> lines = new ArrayList<>();
+    for (String line : text.split("\n")) {
+      lines.add(MAPPER.readTree(line));
+    }
+    return lines;
+  }
+
+  static final class Output extends ByteArrayOutputStream {
+    boolean closed;
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+  }
+}
@@ -27,8 +27,10 @@ import com.google.common.collect.ImmutableMap;
 import jakarta.annotation.Nullable;
 import java.security.Principal;
 import java.time.Instant;
+import java.util.Set;
 import java.util.function.IntFunction;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import org.projectnessie.cel.tools.Script;
 import org.projectnessie.cel.tools.ScriptException;
 import org.projectnessie.model.CommitMeta;
@@ -126,6 +128,36 @@ public abstract class BaseApiImpl {
     return getAuthorizer().startAccessCheck(accessContext, apiContext);
   }
 
+  /**
+   * Like {@link #startAccessCheck()}, but the principal and roles of the current request are
+   * captured eagerly. Access checks created by the returned supplier can be run by any thread, for
+   * example by the thread that applies a group of queued commits, which does not see the request
+   * scope of the thread that submitted the commit.
+   */
+  protected Supplier<BatchAccessChecker> capturedAccessCheck() {
+    Principal user = accessContext.user();
+    Set<String> roleIds = Set.copyOf(accessContext.roleIds());
+    boolean anonymous = accessContext.isAnonymous();
+    AccessContext captured =
+        new AccessContext() {
+          @Override
+          public Principal user() {
+            return user;
+          }
+
+          @Override
+          public Set<String> roleIds() {
+            return roleIds;
+          }
+
+          @Override
+          public boolean isAnonymous() {
+            return anonymous;
+          }
+        };
+    return () -> getAuthorizer().startAccessCheck(captured, apiContext);
+  }
+
   protected MetadataRewriter<CommitMeta> commitMetaUpdate(
       @Nullable CommitMeta commitMeta, IntFunction<String> squashMessage) {
     Principal principal = getPrincipal();
@@ -0,0 +1,301 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.services.impl;
+
+import static java.util.Collections.singletonMap;
+import static org.projectnessie.services.cel.CELUtil.CONTAINER;
+import static org.projectnessie.services.cel.CELUtil.ENTRIES_DECLARATIONS;
+import static org.projectnessie.services.cel.CELUtil.ENTRIES_TYPES;
+import static org.projectnessie.services.cel.CELUtil.SCRIPT_HOST;
+import static org.projectnessie.services.cel.CELUtil.VAR_ENTRY;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import jakarta.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BiPredicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.projectnessie.cel.tools.Script;
+import org.projectnessie.cel.tools.ScriptException;
+import org.projectnessie.model.Content;
+import org.projectnessie.model.ContentKey;
+import org.projectnessie.model.Namespace;
+import org.projectnessie.model.types.ContentTypes;
+import org.projectnessie.services.cel.CELUtil;
+
+/**
+ * Compiled CEL filter expression for entries, along with the key restrictions that can be derived
+ * from the expression.
+ *
+ * <p>Compiled filters are cached by their expression, because clients usually send the same few
+ * filter expressions over and over again.
+ *
+ * <p>If the expression is a conjunction ({@code &&}), the following conjuncts are recognized and
+ * pushed down as key restrictions, so that keys that cannot match the expression are not visited:
+ *
+ * <ul>
+ *   <li>{@code entry.namespace == 'ns'} restricts the keys to the prefix {@code ns}.
+ *   <li>{@code entry.namespace.startsWith('ns.')} restricts the keys to the prefix {@code ns}, the
+ *       last, possibly incomplete, namespace element is not considered.
+ *   <li>{@code entry.contentType == 'TYPE'} and {@code entry.contentType in ['TYPE', ...]} restrict
+ *       the content types.
+ * </ul>
+ *
+ * <p>Derived restrictions only ever include more keys than the expression, the compiled expression
+ * is always evaluated for the remaining keys.
+ */
+final class EntriesFilter {
+
+  static final int MAX_CACHED_FILTERS = 1000;
+
+  private static final Cache<String, EntriesFilter> FILTERS =
+      CacheBuilder.newBuilder().maximumSize(MAX_CACHED_FILTERS).build();
+
+  private static final String STRING = "(?:'([^'\\\\]*)'|\"([^\"\\\\]*)\")";
+  private static final Pattern NAMESPACE_EQUALS =
+      Pattern.compile("entry\\.namespace\\s*==\\s*" + STRING);
+  private static final Pattern NAMESPACE_EQUALS_REVERSED =
+      Pattern.compile(STRING + "\\s*==\\s*entry\\.namespace");
+  private static final Pattern NAMESPACE_STARTS_WITH =
+      Pattern.compile("entry\\.namespace\\.startsWith\\(\\s*" + STRING + "\\s*\\)");
+  private static final Pattern CONTENT_TYPE_EQUALS =
+      Pattern.compile("entry\\.contentType\\s*==\\s*" + STRING);
+  private static final Pattern CONTENT_TYPE_EQUALS_REVERSED =
+      Pattern.compile(STRING + "\\s*==\\s*entry\\.contentType");
+  private static final Pattern CONTENT_TYPE_IN =
+      Pattern.compile(
+          "entry\\.contentType\\s+in\\s*\\[\\s*(" + STRING + "(?:\\s*,\\s*" + STRING + ")*)?\\s*]");
+  private static final Pattern STRING_LITERAL = Pattern.compile(STRING);
+
+  private final Script script;
+  private final ContentKey prefixKey;
+  private final Set<Content.Type> contentTypes;
+
+  private EntriesFilter(
+      Script script, @Nullable ContentKey prefixKey, @Nullable Set<Content.Type> contentTypes) {
+    this.script = script;
+    this.prefixKey = prefixKey;
+    this.contentTypes = contentTypes;
+  }
+
+  static EntriesFilter entriesFilter(String filter) {
+    try {
+      return FILTERS.get(filter, () -> compile(filter));
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      // Unwrap the IllegalArgumentException thrown for invalid expressions
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  private static EntriesFilter compile(String filter) {
+    Script script;
+    try {
+      script =
+          SCRIPT_HOST
+              .buildScript(filter)
+              .withContainer(CONTAINER)
+              .withDeclarations(ENTRIES_DECLARATIONS)
+              .withTypes(ENTRIES_TYPES)
+              .build();
+    } catch (ScriptException e) {
+      throw new IllegalArgumentException(e);
+    }
+
+    ContentKey prefixKey = null;
+    Set<Content.Type> contentTypes = null;
+    for (String conjunct : topLevelConjuncts(filter)) {
+      ContentKey prefix = namespacePrefix(conjunct);
+      if (prefix != null) {
+        if (prefixKey == null || prefix.startsWith(prefixKey)) {
+          prefixKey = prefix;
+        }
+        continue;
+      }
+
+      Set<Content.Type> types = contentTypes(conjunct);
+      if (types != null) {
+        if (contentTypes == null) {
+          contentTypes = types;
+        } else {
+          contentTypes.retainAll(types);
+        }
+      }
+    }
+
+    return new EntriesFilter(
+        script, prefixKey, contentTypes != null ? Collections.unmodifiableSet(contentTypes) : null);
+  }
+
+  /** The predicate that evaluates the compiled filter expression. */
+  BiPredicate<ContentKey, Content.Type> predicate() {
+    return (key, type) -> {
+      try {
+        return script.execute(Boolean.class, singletonMap(VAR_ENTRY, CELUtil.forCel(key, type)));
+      } catch (ScriptException e) {
+        throw new RuntimeException(e);
+      }
+    };
+  }
+
+  /** The key prefix that all keys matching the filter expression start with, if known. */
+  @Nullable
+  ContentKey prefixKey() {
+    return prefixKey;
+  }
+
+  /** The content types of the keys that can match the filter expression, if known. */
+  @Nullable
+  Set<Content.Type> contentTypes() {
+    return contentTypes;
+  }
+
+  /**
+   * Splits the filter expression into its top-level conjuncts. Returns an empty list, if the
+   * expression contains a top-level disjunction or conditional, because pushing down conjuncts is
+   * not correct in that case.
+   */
+  @VisibleForTesting
+  static List<String> topLevelConjuncts(String filter) {
+    List<String> conjuncts = new ArrayList<>();
+    int len = filter.length();
+    int depth = 0;
+    char quote = 0;
+    int start = 0;
+    for (int i = 0; i < len; i++) {
+      char c = filter.charAt(i);
+      if (quote != 0) {
+        if (c == '\\') {
+          i++;
+        } else if (c == quote) {
+          quote = 0;
+        }
+        continue;
+      }
+      switch (c) {
+        case '\'':
+        case '"':
+          quote = c;
+          break;
+        case '(':
+        case '[':
+        case '{':
+          depth++;
+          break;
+        case ')':
+        case ']':
+        case '}':
+          depth--;
+          break;
+        case '|':
+        case '?':
+          if (depth == 0) {
+            return Collections.emptyList();
+          }
+          break;
+        case '&':
+          if (depth == 0 && i + 1 < len && filter.charAt(i + 1) == '&') {
+            conjuncts.add(filter.substring(start, i).trim());
+            start = i + 2;
+            i++;
+          }
+          break;
+        default:
+          break;
+      }
+    }
+    conjuncts.add(filter.substring(start).trim());
+    return conjuncts;
+  }
+
+  @Nullable
+  private static ContentKey namespacePrefix(String conjunct) {
+    String namespace = stringArgument(NAMESPACE_EQUALS.matcher(conjunct));
+    if (namespace == null) {
+      namespace = stringArgument(NAMESPACE_EQUALS_REVERSED.matcher(conjunct));
+    }
+    if (namespace == null) {
+      String prefix = stringArgument(NAMESPACE_STARTS_WITH.matcher(conjunct));
+      if (prefix == null) {
+        return null;
+      }
+      // Only the complete namespace elements of the prefix can be used, because for example
+      // 'a.b' matches the namespaces 'a.b' and 'a.bc'.
+      int lastDot = prefix.lastIndexOf('.');
+      namespace = lastDot > 0 ? prefix.substring(0, lastDot) : "";
+    }
+    List<String> elements;
+    try {
+      elements = Namespace.fromPathString(namespace).getElements();
+    } catch (IllegalArgumentException e) {
+      // Not a valid namespace, leave it to the filter expression.
+      return null;
+    }
+    return elements.isEmpty() ? null : ContentKey.of(elements);
+  }
+
+  @Nullable
+  private static Set<Content.Type> contentTypes(String conjunct) {
+    String type = stringArgument(CONTENT_TYPE_EQUALS.matcher(conjunct));
+    if (type == null) {
+      type = stringArgument(CONTENT_TYPE_EQUALS_REVERSED.matcher(conjunct));
+    }
+    if (type != null) {
+      return contentTypesForNames(Collections.singletonList(type));
+    }
+
+    Matcher in = CONTENT_TYPE_IN.matcher(conjunct);
+    if (!in.matches()) {
+      return null;
+    }
+    List<String> names = new ArrayList<>();
+    if (in.group(1) != null) {
+      for (Matcher lit = STRING_LITERAL.matcher(in.group(1)); lit.find(); ) {
+        names.add(lit.group(1) != null ? lit.group(1) : lit.group(2));
+      }
+    }
+    return contentTypesForNames(names);
+  }
+
+  private static Set<Content.Type> contentTypesForNames(List<String> names) {
+    Set<Content.Type> types = new HashSet<>();
+    for (String name : names) {
+      try {
+        types.add(ContentTypes.forName(name));
+      } catch (IllegalArgumentException e) {
+        // Unknown content types never match any key.
+      }
+    }
+    return types;
+  }
+
+  @Nullable
+  private static String stringArgument(Matcher matcher) {
+    if (!matcher.matches()) {
+      return null;
+    }
+    return matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
+  }
+}
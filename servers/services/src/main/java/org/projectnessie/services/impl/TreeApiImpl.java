@@ -23,19 +23,17 @@ import static java.util.Collections.emptyMap;
 import static java.util.Collections.singleton;
 import static java.util.function.Function.identity;
 import static org.projectnessie.model.CommitResponse.AddedContent.addedContent;
+import static org.projectnessie.services.authz.AbstractBatchAccessChecker.NOOP_ACCESS_CHECKER;
 import static org.projectnessie.services.authz.Check.canReadContentKey;
 import static org.projectnessie.services.authz.Check.canReadEntries;
 import static org.projectnessie.services.authz.Check.canViewReference;
 import static org.projectnessie.services.cel.CELUtil.COMMIT_LOG_DECLARATIONS;
 import static org.projectnessie.services.cel.CELUtil.COMMIT_LOG_TYPES;
 import static org.projectnessie.services.cel.CELUtil.CONTAINER;
-import static org.projectnessie.services.cel.CELUtil.ENTRIES_DECLARATIONS;
-import static org.projectnessie.services.cel.CELUtil.ENTRIES_TYPES;
 import static org.projectnessie.services.cel.CELUtil.REFERENCES_DECLARATIONS;
 import static org.projectnessie.services.cel.CELUtil.REFERENCES_TYPES;
 import static org.projectnessie.services.cel.CELUtil.SCRIPT_HOST;
 import static org.projectnessie.services.cel.CELUtil.VAR_COMMIT;
-import static org.projectnessie.services.cel.CELUtil.VAR_ENTRY;
 import static org.projectnessie.services.cel.CELUtil.VAR_OPERATIONS;
 import static org.projectnessie.services.cel.CELUtil.VAR_REF;
 import static org.projectnessie.services.cel.CELUtil.VAR_REF_META;
@@ -912,6 +910,29 @@ public class TreeApiImpl extends BaseApiImpl implements TreeService {
       BiPredicate<ContentKey, Content.Type> filterPredicate = filterEntries(filter);
       contentKeyPredicate = combinePredicateWithAnd(contentKeyPredicate, filterPredicate);
 
+      // Push down the key prefix and content types derived from the filter expression, so that
+      // keys, which cannot match the filter, are not visited.
+      Set<Content.Type> contentTypes = null;
+      if (!Strings.isNullOrEmpty(filter)) {
+        EntriesFilter entriesFilter = EntriesFilter.entriesFilter(filter);
+        ContentKey filterPrefix = entriesFilter.prefixKey();
+        if (filterPrefix != null
+            && minKey == null
+            && maxKey == null
+            && (prefixKey == null || filterPrefix.startsWith(prefixKey))) {
+          prefixKey = filterPrefix;
+        }
+        contentTypes = entriesFilter.contentTypes();
+      }
+
+      // All keys below an implicit namespace entry at the requested depth yield the same entry, so
+      // the version store can skip those keys. This is only possible without access checks, which
+      // could deny the first key but allow another key below the same namespace.
+      int skipScanDepth =
+          namespaceFilterDepth > 0 && startAccessCheck() == NOOP_ACCESS_CHECKER
+              ? namespaceFilterDepth
+              : 0;
+
       try (PaginationIterator<KeyEntry> entries =
           getStore()
               .getKeys(
@@ -923,6 +944,8 @@ public class TreeApiImpl extends BaseApiImpl implements TreeService {
                       .maxKey(maxKey)
                       .prefixKey(prefixKey)
                       .contentKeyPredicate(contentKeyPredicate)
+                      .skipScanDepth(skipScanDepth)
+                      .contentTypes(contentTypes)
                       .build())) {
 
         AuthzPaginationIterator<KeyEntry> authz =
@@ -999,28 +1022,7 @@ public class TreeApiImpl extends BaseApiImpl implements TreeService {
     if (Strings.isNullOrEmpty(filter)) {
       return null;
     }
-
-    final Script script;
-    try {
-      script =
-          SCRIPT_HOST
-              .buildScript(filter)
-              .withContainer(CONTAINER)
-              .withDeclarations(ENTRIES_DECLARATIONS)
-              .withTypes(ENTRIES_TYPES)
-              .build();
-    } catch (ScriptException e) {
-      throw new IllegalArgumentException(e);
-    }
-    return (key, type) -> {
-      Map<String, Object> arguments = ImmutableMap.of(VAR_ENTRY, CELUtil.forCel(key, type));
-
-      try {
-        return script.execute(Boolean.class, arguments);
-      } catch (ScriptException e) {
-        throw new RuntimeException(e);
-      }
-    };
+    return EntriesFilter.entriesFilter(filter).predicate();
   }
 
   @Override
@@ -1069,8 +1071,10 @@ public class TreeApiImpl extends BaseApiImpl implements TreeService {
     // checks almost never changes. Therefore, we use RetriableAccessChecker to avoid re-validating
     // access checks (which could be a time-consuming operation) on subsequent retries, unless
     // authorization input data changes.
+    // The validator may be run by another thread than the current one, when the version store
+    // applies concurrent commits as a group, so the current principal is captured here.
     RetriableAccessChecker accessChecker =
-        new RetriableAccessChecker(this::startAccessCheck, getApiContext());
+        new RetriableAccessChecker(capturedAccessCheck(), getApiContext());
     return validation -> {
       BatchAccessChecker check = accessChecker.newAttempt();
       check.canCommitChangeAgainstReference(branchName);
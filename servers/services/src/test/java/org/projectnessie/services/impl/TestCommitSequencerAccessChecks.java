@@ -0,0 +1,201 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.services.impl;
+
+import static java.util.Collections.emptyList;
+import static java.util.Objects.requireNonNull;
+import static org.projectnessie.services.authz.ApiContext.apiContext;
+import static org.projectnessie.services.impl.BaseTestServiceImpl.DEFAULT_SERVER_CONFIG;
+import static org.projectnessie.versioned.RequestMeta.API_WRITE;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_COMMIT_SEQUENCER_ENABLED;
+import static org.projectnessie.versioned.storage.common.logic.Logics.repositoryLogic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.model.CommitMeta;
+import org.projectnessie.model.CommitResponse;
+import org.projectnessie.model.ContentKey;
+import org.projectnessie.model.IcebergTable;
+import org.projectnessie.model.ImmutableOperations;
+import org.projectnessie.model.Operation.Put;
+import org.projectnessie.services.authz.AbstractBatchAccessChecker;
+import org.projectnessie.services.authz.AccessContext;
+import org.projectnessie.services.authz.Authorizer;
+import org.projectnessie.services.authz.Check;
+import org.projectnessie.services.authz.Check.CheckType;
+import org.projectnessie.versioned.BranchName;
+import org.projectnessie.versioned.VersionStore;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.inmemorytests.InmemoryBackendTestFactory;
+import org.projectnessie.versioned.storage.testextension.NessieBackend;
+import org.projectnessie.versioned.storage.testextension.NessiePersist;
+import org.projectnessie.versioned.storage.testextension.NessieStoreConfig;
+import org.projectnessie.versioned.storage.testextension.PersistExtension;
+import org.projectnessie.versioned.storage.versionstore.VersionStoreImpl;
+
+/**
+ * Verifies that commits that are applied as a group by another thread are authorized with the
+ * principal of the request that submitted the commit.
+ */
+@ExtendWith({PersistExtension.class, SoftAssertionsExtension.class})
+@NessieBackend(InmemoryBackendTestFactory.class)
+public class TestCommitSequencerAccessChecks {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  @NessiePersist
+  @NessieStoreConfig(name = CONFIG_COMMIT_SEQUENCER_ENABLED, value = "true")
+  protected Persist persist;
+
+  /** Simulates the request scope, the principal is only visible to the request's own thread. */
+  private static final ThreadLocal<String> REQUEST_USER = new ThreadLocal<>();
+
+  private static final AccessContext REQUEST_SCOPED =
+      () -> {
+        String user = REQUEST_USER.get();
+        if (user == null) {
+          throw new IllegalStateException("Request scope not active");
+        }
+        return () -> user;
+      };
+
+  @Test
+  public void concurrentCommitsOfDifferentPrincipals() throws Exception {
+    repositoryLogic(persist).initialize("main");
+    VersionStore store = new VersionStoreImpl(persist);
+    String mainHash =
+        store.hashOnReference(BranchName.of("main"), Optional.empty(), emptyList()).asString();
+
+    CountDownLatch carolChecking = new CountDownLatch(1);
+    CountDownLatch releaseCarol = new CountDownLatch(1);
+    // content key -> principal seen by the access check
+    Map<String, String> checkedAs = new ConcurrentHashMap<>();
+    Authorizer authorizer =
+        (context, apiContext) ->
+            new AbstractBatchAccessChecker(apiContext) {
+              @Override
+              public Map<Check, String> check() {
+                String user = context.user().getName();
+                List<Check> creates =
+                    getChecks().stream()
+                        .filter(c -> c.type() == CheckType.CREATE_ENTITY)
+                        .collect(Collectors.toList());
+                for (Check c : creates) {
+                  String key = requireNonNull(c.identifiedKey()).contentKey().getName();
+                  checkedAs.put(key, user);
+                  if (key.startsWith("carol")) {
+                    // Let the other commits queue up behind this one
+                    carolChecking.countDown();
+                    try {
+                      releaseCarol.await();
+                    } catch (InterruptedException e) {
+                      throw new RuntimeException(e);
+                    }
+                  }
+                }
+                // Principals may only create tables that start with their own name
+                return creates.stream()
+                    .filter(c -> !c.identifiedKey().contentKey().getName().startsWith(user))
+                    .collect(
+                        Collectors.toMap(
+                            Function.identity(),
+                            c -> user + " must not create " + c.identifiedKey().contentKey()));
+              }
+            };
+
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    try {
+      Future<CommitResponse> carol =
+          executor.submit(() -> commit(store, authorizer, "carol", mainHash));
+      soft.assertThat(carolChecking.await(30, TimeUnit.SECONDS)).isTrue();
+
+      List<Thread> waiters = new ArrayList<>();
+      List<Future<CommitResponse>> queued = new ArrayList<>();
+      for (String user : new String[] {"alice", "bob"}) {
+        queued.add(
+            executor.submit(
+                () -> {
+                  synchronized (waiters) {
+                    waiters.add(Thread.currentThread());
+                  }
+                  return commit(store, authorizer, user, mainHash);
+                }));
+      }
+      // Wait until both commits are queued and wait for the branch lock
+      while (true) {
+        synchronized (waiters) {
+          if (waiters.size() == 2
+              && waiters.stream().allMatch(t -> t.getState() == Thread.State.WAITING)) {
+            break;
+          }
+        }
+        Thread.sleep(1L);
+      }
+
+      releaseCarol.countDown();
+
+      soft.assertThat(carol.get(30, TimeUnit.SECONDS).getTargetBranch()).isNotNull();
+      for (Future<CommitResponse> future : queued) {
+        soft.assertThat(future.get(30, TimeUnit.SECONDS).getTargetBranch()).isNotNull();
+      }
+    } finally {
+      releaseCarol.countDown();
+      executor.shutdown();
+      soft.assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+    }
+
+    soft.assertThat(checkedAs)
+        .containsEntry("carol-table", "carol")
+        .containsEntry("alice-table", "alice")
+        .containsEntry("bob-table", "bob");
+  }
+
+  private static CommitResponse commit(
+      VersionStore store, Authorizer authorizer, String user, String expectedHash)
+      throws Exception {
+    REQUEST_USER.set(user);
+    try {
+      TreeApiImpl treeApi =
+          new TreeApiImpl(
+              DEFAULT_SERVER_CONFIG, store, authorizer, REQUEST_SCOPED, apiContext("Nessie", 2));
+      return treeApi.commitMultipleOperations(
+          "main",
+          expectedHash,
+          ImmutableOperations.builder()
+              .commitMeta(CommitMeta.fromMessage("commit by " + user))
+              .addOperations(
+                  Put.of(ContentKey.of(user + "-table"), IcebergTable.of(user, 42, 42, 42, 42)))
+              .build(),
+          API_WRITE);
+    } finally {
+      REQUEST_USER.remove();
+    }
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.services.impl;
+
+import static java.util.Collections.emptySet;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+import static org.projectnessie.model.Content.Type.ICEBERG_TABLE;
+import static org.projectnessie.model.Content.Type.ICEBERG_VIEW;
+import static org.projectnessie.model.Content.Type.NAMESPACE;
+
+import com.google.common.collect.ImmutableSet;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.projectnessie.model.Content;
+import org.projectnessie.model.ContentKey;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestEntriesFilter {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  static Stream<Arguments> pushdown() {
+    return Stream.of(
+        arguments("true", null, null),
+        arguments("entry.namespace == 'a.b'", ContentKey.of("a", "b"), null),
+        arguments("\"a.b\" == entry.namespace", ContentKey.of("a", "b"), null),
+        arguments("entry.namespace.startsWith('a.b')", ContentKey.of("a"), null),
+        arguments("entry.namespace.startsWith('a.b.')", ContentKey.of("a", "b"), null),
+        arguments("entry.namespace.startsWith('ab')", null, null),
+        arguments("entry.namespace == ''", null, null),
+        arguments("entry.contentType == 'ICEBERG_TABLE'", null, ImmutableSet.of(ICEBERG_TABLE)),
+        arguments(
+            "entry.contentType in ['ICEBERG_TABLE', \"ICEBERG_VIEW\"]",
+            null,
+            ImmutableSet.of(ICEBERG_TABLE, ICEBERG_VIEW)),
+        arguments("entry.contentType in ['NO_SUCH_TYPE']", null, emptySet()),
+        arguments(
+            "entry.namespace == 'a.b' && entry.contentType in ['ICEBERG_TABLE', 'NAMESPACE']"
+                + " && entry.contentType != 'NAMESPACE' && entry.name.startsWith('t')",
+            ContentKey.of("a", "b"),
+            ImmutableSet.of(ICEBERG_TABLE, NAMESPACE)),
+        arguments(
+            "entry.namespace.startsWith('a.') && entry.namespace == 'a.b.c'",
+            ContentKey.of("a", "b", "c"),
+            null),
+        arguments(
+            "entry.contentType in ['ICEBERG_TABLE', 'ICEBERG_VIEW']"
+                + " && entry.contentType == 'ICEBERG_VIEW'",
+            null,
+            ImmutableSet.of(ICEBERG_VIEW)),
+        // Not a conjunction of supported predicates
+        arguments("entry.namespace == 'a.b' || entry.namespace == 'c'", null, null),
+        arguments(
+            "entry.namespace == 'a' && (entry.name == 'x' || true)", ContentKey.of("a"), null),
+        arguments("entry.namespace == 'a..b'", null, null),
+        arguments("entry.namespace == 'a' ? true : false", null, null),
+        arguments("!(entry.namespace == 'a')", null, null),
+        arguments("entry.name == 'x && entry.namespace == \\'a\\''", null, null));
+  }
+
+  @ParameterizedTest
+  @MethodSource
+  public void pushdown(
+      String filter, ContentKey expectedPrefix, Set<Content.Type> expectedContentTypes) {
+    EntriesFilter entriesFilter = EntriesFilter.entriesFilter(filter);
+    soft.assertThat(entriesFilter.prefixKey()).isEqualTo(expectedPrefix);
+    soft.assertThat(entriesFilter.contentTypes()).isEqualTo(expectedContentTypes);
+  }
+
+  @Test
+  public void predicate() {
+    EntriesFilter entriesFilter =
+        EntriesFilter.entriesFilter(
+            "entry.namespace == 'a.b' && entry.contentType == 'ICEBERG_TABLE'");
+    soft.assertThat(entriesFilter.predicate().test(ContentKey.of("a", "b", "t"), ICEBERG_TABLE))
+        .isTrue();
+    soft.assertThat(entriesFilter.predicate().test(ContentKey.of("a", "b", "t"), ICEBERG_VIEW))
+        .isFalse();
+    soft.assertThat(entriesFilter.predicate().test(ContentKey.of("a", "b"), ICEBERG_TABLE))
+        .isFalse();
+  }
+
+  @Test
+  public void cached() {
+    String filter = "entry.name == 'cached'";
+    soft.assertThat(EntriesFilter.entriesFilter(filter))
+        .isSameAs(EntriesFilter.entriesFilter(filter));
+  }
+
+  @Test
+  public void invalidFilter() {
+    soft.assertThatIllegalArgumentException()
+        .isThrownBy(() -> EntriesFilter.entriesFilter("entry.foo +"));
+  }
+}
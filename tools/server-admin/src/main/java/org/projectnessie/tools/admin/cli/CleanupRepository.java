@@ -23,12 +23,20 @@ import static org.projectnessie.versioned.storage.cleanup.Cleanup.createCleanup;
 import static org.projectnessie.versioned.storage.cleanup.CleanupParams.DEFAULT_ALLOWED_FALSE_POSITIVE_PROBABILITY;
 import static org.projectnessie.versioned.storage.cleanup.CleanupParams.DEFAULT_EXPECTED_OBJ_COUNT;
 import static org.projectnessie.versioned.storage.cleanup.CleanupParams.DEFAULT_FALSE_POSITIVE_PROBABILITY;
+import static org.projectnessie.versioned.storage.cleanup.CleanupParams.DEFAULT_PURGE_DELETE_PARALLELISM;
+import static org.projectnessie.versioned.storage.cleanup.CleanupParams.DEFAULT_PURGE_DELETE_QUEUE_SIZE;
 import static org.projectnessie.versioned.storage.cleanup.CleanupParams.DEFAULT_RECENT_OBJ_IDS_FILTER_SIZE;
+import static org.projectnessie.versioned.storage.cleanup.CleanupParams.DEFAULT_REFERENCED_OBJECTS_FILTER_PARTITIONS;
 import static org.projectnessie.versioned.storage.common.logic.Logics.repositoryLogic;
 
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.Optional;
+import org.projectnessie.versioned.storage.cleanup.Cleanup;
 import org.projectnessie.versioned.storage.cleanup.CleanupParams;
 import org.projectnessie.versioned.storage.cleanup.MustRestartWithBiggerFilterException;
+import org.projectnessie.versioned.storage.cleanup.PurgeFilter.ReferencedObjectsPurgeFilter;
+import org.projectnessie.versioned.storage.cleanup.PurgeObjectsContext;
 import org.projectnessie.versioned.storage.cleanup.ResolveResult;
 import picocli.CommandLine;
 
@@ -54,6 +62,11 @@ import picocli.CommandLine;
           + ". These values should serve most repositories. However, if your repository is quite big, you should supply a higher expected object count using the "
           + CleanupRepository.OBJ_COUNT
           + " option. If the implementation detected that the bloom-filter would exceed the maximum allowed FPP, it would restart with a higher number of expected objects.",
+      "For huge repositories, use the "
+          + CleanupRepository.FILTER_DIRECTORY
+          + " option to keep the referenced objects in a growing, partitioned filter in memory-mapped files in the given directory, which never requires a restart. The "
+          + CleanupRepository.PURGE_ONLY
+          + " option runs the purge phase from a filter that has been persisted by a previous run.",
       "In rare situations with an extremely huge amount of objects, the data structures may require a lot of memory. The estimated heap pressure for the contextual data structures is printed to the console.",
       "If you are unsure whether this command works fine, specify the "
           + CleanupRepository.DRY_RUN
@@ -68,6 +81,8 @@ public class CleanupRepository extends BaseCommand {
   public static final String PURGE_OBJ_RATE = "--purge-obj-rate";
   public static final String DRY_RUN = "--dry-run";
   public static final String REFERENCED_GRACE = "--referenced-grace";
+  public static final String FILTER_DIRECTORY = "--filter-directory";
+  public static final String PURGE_ONLY = "--purge-only";
 
   @CommandLine.Option(
       names = {DRY_RUN},
@@ -136,6 +151,22 @@ public class CleanupRepository extends BaseCommand {
           "Allowed number of objects to delete during the 'purge' phase per second. Default is unlimited.")
   private int purgeDeleteObjRatePerSecond = 0;
 
+  @CommandLine.Option(
+      names = {"--purge-delete-parallelism"},
+      description =
+          "Number of threads deleting objects during the 'purge' phase, sharing the rate limit. Defaults to "
+              + DEFAULT_PURGE_DELETE_PARALLELISM
+              + '.')
+  private int purgeDeleteParallelism = DEFAULT_PURGE_DELETE_PARALLELISM;
+
+  @CommandLine.Option(
+      names = {"--purge-delete-queue-size"},
+      description =
+          "Maximum number of objects identified for deletion, but not yet deleted, during the 'purge' phase. Defaults to "
+              + DEFAULT_PURGE_DELETE_QUEUE_SIZE
+              + '.')
+  private int purgeDeleteQueueSize = DEFAULT_PURGE_DELETE_QUEUE_SIZE;
+
   @CommandLine.Option(
       names = {"--recent-objs-ids-filter-size"},
       description =
@@ -144,6 +175,34 @@ public class CleanupRepository extends BaseCommand {
               + '.')
   private int recentObjIdsFilterSize = DEFAULT_RECENT_OBJ_IDS_FILTER_SIZE;
 
+  @CommandLine.Option(
+      names = {FILTER_DIRECTORY},
+      description =
+          "Directory for a partitioned, memory-mapped filter to identify referenced objects, which grows with the number of referenced objects and is persisted, see "
+              + PURGE_ONLY
+              + ". By default, an in-memory bloom-filter is used.")
+  private Path filterDirectory;
+
+  @CommandLine.Option(
+      names = {"--filter-partitions"},
+      description =
+          "Number of partitions of the filter in the "
+              + FILTER_DIRECTORY
+              + ". Defaults to "
+              + DEFAULT_REFERENCED_OBJECTS_FILTER_PARTITIONS
+              + '.')
+  private int filterPartitions = DEFAULT_REFERENCED_OBJECTS_FILTER_PARTITIONS;
+
+  @CommandLine.Option(
+      names = {PURGE_ONLY},
+      description =
+          "Skip identifying referenced objects, purge using the filter persisted in the "
+              + FILTER_DIRECTORY
+              + " by a previous run instead. The "
+              + REFERENCED_GRACE
+              + " of the previous run is used, the option is ignored.")
+  private boolean purgeOnly;
+
   @Override
   public Integer call() {
     warnOnInMemory();
@@ -164,10 +223,30 @@ public class CleanupRepository extends BaseCommand {
             .allowDuplicateCommitTraversals(allowDuplicateCommitTraversals)
             .purgeScanObjRatePerSecond(purgeScanObjRatePerSecond)
             .purgeDeleteObjRatePerSecond(purgeDeleteObjRatePerSecond)
+            .purgeDeleteParallelism(purgeDeleteParallelism)
+            .purgeDeleteQueueSize(purgeDeleteQueueSize)
             .recentObjIdsFilterSize(recentObjIdsFilterSize)
+            .referencedObjectsFilterDirectory(Optional.ofNullable(filterDirectory))
+            .referencedObjectsFilterPartitions(filterPartitions)
             .dryRun(dryRun)
             .build();
 
+    if (purgeOnly && filterDirectory == null) {
+      spec.commandLine().getErr().println(PURGE_ONLY + " requires " + FILTER_DIRECTORY);
+      return EXIT_CODE_GENERIC_ERROR;
+    }
+
+    if (purgeOnly) {
+      // The filter only contains the objects referenced before the 'maxObjReferenced' of the run
+      // that persisted it, that value is recorded in the filter and must be used.
+      var cleanup = createCleanup(cleanupParams);
+      try (var purgeObjectsContext = cleanup.buildPurgeObjectsContext(persist)) {
+        var purgeFilter = (ReferencedObjectsPurgeFilter) purgeObjectsContext.purgeFilter();
+        purge(cleanup, purgeObjectsContext, purgeFilter.maxObjReferencedInMicrosSinceEpoch());
+      }
+      return 0;
+    }
+
     // timestamp in MICROseconds since epoch
     var maxObjReferenced = persist.config().currentTimeMicros();
     if (objReferencedGrace != null) {
@@ -214,32 +293,9 @@ public class CleanupRepository extends BaseCommand {
                 resolveResult.stats().numObjs(),
                 resolveResult.stats().numContents());
 
-        var purgeObjects = cleanup.createPurgeObjects(resolveResult.purgeObjectsContext());
-
-        spec.commandLine()
-            .getOut()
-            .printf(
-                "%s unreferenced objects, referenced before %s, scanning %s objects per second, deleting %s objects per second, estimated context heap pressure: %.3f M%n",
-                dryRun ? "Dry-run cleanup" : "Purging",
-                ofEpochMilli(MICROSECONDS.toMillis(maxObjReferenced))
-                    .plus(maxObjReferenced % 1000, MICROS),
-                purgeScanObjRatePerSecond > 0
-                    ? Integer.toString(purgeScanObjRatePerSecond)
-                    : "unlimited",
-                purgeDeleteObjRatePerSecond > 0
-                    ? Integer.toString(purgeDeleteObjRatePerSecond)
-                    : "unlimited",
-                (double) purgeObjects.estimatedHeapPressure() / 1024L / 1024L);
-
-        var purgeResult = purgeObjects.purge();
-
-        spec.commandLine()
-            .getOut()
-            .printf(
-                "Finished purging unreferenced objects after %s. Scanned %d objects, %d were deleted.%n",
-                resolveResult.stats().duration(),
-                purgeResult.stats().numScannedObjs(),
-                purgeResult.stats().numPurgedObjs());
+        try (var purgeObjectsContext = resolveResult.purgeObjectsContext()) {
+          purge(cleanup, purgeObjectsContext, maxObjReferenced);
+        }
 
         break;
       } catch (MustRestartWithBiggerFilterException e) {
@@ -259,4 +315,32 @@ public class CleanupRepository extends BaseCommand {
 
     return 0;
   }
+
+  private void purge(
+      Cleanup cleanup, PurgeObjectsContext purgeObjectsContext, long maxObjReferenced) {
+    var purgeObjects = cleanup.createPurgeObjects(purgeObjectsContext);
+
+    spec.commandLine()
+        .getOut()
+        .printf(
+            "%s unreferenced objects, referenced before %s, scanning %s objects per second, deleting %s objects per second, estimated context heap pressure: %.3f M%n",
+            dryRun ? "Dry-run cleanup" : "Purging",
+            ofEpochMilli(MICROSECONDS.toMillis(maxObjReferenced))
+                .plus(maxObjReferenced % 1000, MICROS),
+            purgeScanObjRatePerSecond > 0 ? Integer.toString(purgeScanObjRatePerSecond) : "unlimited",
+            purgeDeleteObjRatePerSecond > 0
+                ? Integer.toString(purgeDeleteObjRatePerSecond)
+                : "unlimited",
+            (double) purgeObjects.estimatedHeapPressure() / 1024L / 1024L);
+
+    var purgeResult = purgeObjects.purge();
+
+    spec.commandLine()
+        .getOut()
+        .printf(
+            "Finished purging unreferenced objects after %s. Scanned %d objects, %d were deleted.%n",
+            purgeResult.stats().duration(),
+            purgeResult.stats().numScannedObjs(),
+            purgeResult.stats().numPurgedObjs());
+  }
 }
@@ -32,6 +32,7 @@ import picocli.CommandLine.HelpCommand;
       CleanupRepository.class,
       CutHistory.class,
       CheckContent.class,
+      TrainCompressionDictionary.class,
       DeleteCatalogTasks.class,
       EraseRepository.class,
       ExportRepository.class,
@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.tools.admin.cli;
+
+import static org.projectnessie.versioned.storage.common.logic.Logics.repositoryLogic;
+import static org.projectnessie.versioned.storage.common.persist.ObjTypes.objTypeByName;
+import static org.projectnessie.versioned.storage.serialize.CompressionDictionaries.DEFAULT_DICTIONARY_SIZE;
+import static org.projectnessie.versioned.storage.serialize.CompressionDictionaries.DEFAULT_MAX_SAMPLES;
+import static org.projectnessie.versioned.storage.serialize.CompressionDictionaries.trainDictionary;
+
+import java.io.PrintWriter;
+import java.util.List;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.ObjType;
+import picocli.CommandLine;
+
+@CommandLine.Command(
+    name = "train-compression-dictionary",
+    mixinStandardHelpOptions = true,
+    description = {
+      "Trains ZSTD compression dictionaries from a sample of the existing objects of the given "
+          + "object types and stores the dictionaries in the repository.",
+      "The IDs of the new dictionaries are printed and have to be configured via the "
+          + "'nessie.version.store.persist.obj-compression-dictionaries' setting to be used.",
+    })
+public class TrainCompressionDictionary extends BaseCommand {
+
+  @CommandLine.Option(
+      names = {"-t", "--obj-type"},
+      required = true,
+      split = ",",
+      description = "Names of the object types to train dictionaries for, for example COMMIT.")
+  private List<String> objTypes;
+
+  @CommandLine.Option(
+      names = {"--max-samples"},
+      defaultValue = "" + DEFAULT_MAX_SAMPLES,
+      description = "Maximum number of objects per object type to train a dictionary from.")
+  private int maxSamples;
+
+  @CommandLine.Option(
+      names = {"--dictionary-size"},
+      defaultValue = "" + DEFAULT_DICTIONARY_SIZE,
+      description = "Maximum size of a dictionary in bytes.")
+  private int dictionarySize;
+
+  @Override
+  public Integer call() throws Exception {
+    warnOnInMemory();
+
+    if (!repositoryLogic(persist).repositoryExists()) {
+      spec.commandLine().getErr().println("Nessie repository does not exist");
+      return EXIT_CODE_REPO_DOES_NOT_EXIST;
+    }
+
+    PrintWriter out = spec.commandLine().getOut();
+    StringBuilder setting = new StringBuilder();
+    for (String typeName : objTypes) {
+      ObjType objType = objTypeByName(typeName.trim());
+      ObjId dictionaryId = trainDictionary(persist, objType, maxSamples, dictionarySize);
+      out.printf("Trained dictionary %s for object type %s.%n", dictionaryId, objType.name());
+      if (setting.length() > 0) {
+        setting.append(',');
+      }
+      setting.append(objType.name()).append('=').append(dictionaryId);
+    }
+
+    out.printf("%nobj-compression-dictionaries=%s%n", setting);
+    return 0;
+  }
+}
@@ -356,6 +356,26 @@ public interface VersionStore {
     @Nullable
     BiPredicate<ContentKey, Content.Type> contentKeyPredicate();
 
+    /**
+     * Optional, if not {@code null}: the content types of the keys to return. Evaluated before
+     * {@link #contentKeyPredicate()}, without materializing the content key.
+     */
+    @Nullable
+    Set<Content.Type> contentTypes();
+
+    /**
+     * Optional, if greater than {@code 0}: enables a skip-scan for keys that have more elements
+     * than this value. Of all keys that share the same first {@code skipScanDepth} elements and
+     * have more elements, only the first key that matches the other restrictions is returned.
+     *
+     * <p>Used to list the namespaces at a specific depth without visiting all keys in those
+     * namespaces. Only considered by {@link #getKeys(Ref, String, boolean, KeyRestrictions)}.
+     */
+    @Value.Default
+    default int skipScanDepth() {
+      return 0;
+    }
+
     static ImmutableKeyRestrictions.Builder builder() {
       return ImmutableKeyRestrictions.builder();
     }
@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.bench;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import org.projectnessie.versioned.storage.batching.BatchingPersist;
+import org.projectnessie.versioned.storage.batching.WriteBatching;
+import org.projectnessie.versioned.storage.cache.CacheConfig;
+import org.projectnessie.versioned.storage.cache.PersistCaches;
+import org.projectnessie.versioned.storage.common.config.StoreConfig;
+import org.projectnessie.versioned.storage.common.persist.Backend;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.common.persist.PersistFactory;
+import org.projectnessie.versioned.storage.testextension.BackendTestFactory;
+
+/**
+ * Common setup for the storage benchmarks: starts the {@link BackendTestFactory backend} with the
+ * given name and creates {@link Persist} instances, optionally wrapped.
+ *
+ * <p>Backends are looked up via their {@link BackendTestFactory#getName() names}, for example
+ * {@code In-Memory}, {@code RocksDB} or {@code JDBC2-H2}, which are the backends that do not need
+ * any external service. Other backends can be benchmarked by adding the corresponding {@code
+ * *-tests} project to the {@code jmhRuntimeOnly} dependencies.
+ */
+abstract class BaseParams {
+
+  /** How a {@link Persist} instance is wrapped. */
+  public enum PersistWrapper {
+    /** Use the backend's {@link Persist} as is. */
+    NONE,
+    /** Wrap the backend's {@link Persist} with an objects and references cache. */
+    CACHE,
+    /** Wrap the backend's {@link Persist} with write batching. */
+    BATCHING,
+  }
+
+  /** Distribution of the objects or keys accessed by a benchmark. */
+  public enum KeyDistribution {
+    /** Every object or key is accessed with the same probability. */
+    UNIFORM,
+    /** 90% of all accesses hit the first 10% of all objects or keys. */
+    HOTSPOT;
+
+    int nextIndex(int size) {
+      ThreadLocalRandom rand = ThreadLocalRandom.current();
+      if (this == HOTSPOT) {
+        int hot = Math.max(size / 10, 1);
+        return rand.nextInt(10) != 0 ? rand.nextInt(hot) : rand.nextInt(size);
+      }
+      return rand.nextInt(size);
+    }
+  }
+
+  static final long CACHE_CAPACITY_MB = 256;
+
+  Backend backend;
+  BackendTestFactory backendTestFactory;
+  final List<BatchingPersist> batchingPersists = new ArrayList<>();
+
+  protected void init(String backendName) throws Exception {
+    Set<String> known = new HashSet<>();
+    for (BackendTestFactory candidate : ServiceLoader.load(BackendTestFactory.class)) {
+      String name = candidate.getName();
+      known.add(name);
+      if (backendName.equals(name)) {
+        backendTestFactory = candidate;
+        break;
+      }
+    }
+    if (backendTestFactory == null) {
+      throw new IllegalArgumentException(
+          "Could not find backend named " + backendName + ", known backends: " + known);
+    }
+
+    backendTestFactory.start();
+
+    backend = backendTestFactory.createNewBackend();
+    backend.setupSchema();
+  }
+
+  protected Persist newPersist(String repositoryId, PersistWrapper wrapper) {
+    PersistFactory factory = backend.createFactory();
+    Persist persist =
+        factory.newPersist(StoreConfig.Adjustable.empty().withRepositoryId(repositoryId));
+    switch (wrapper) {
+      case NONE:
+        return persist;
+      case CACHE:
+        return PersistCaches.newBackend(
+                CacheConfig.builder()
+                    .capacityMb(CACHE_CAPACITY_MB)
+                    .cacheCapacityOvershoot(0.1d)
+                    .build())
+            .wrap(persist);
+      case BATCHING:
+        BatchingPersist batching = WriteBatching.builder().persist(persist).build().create();
+        batchingPersists.add(batching);
+        return batching;
+      default:
+        throw new IllegalArgumentException("Unknown wrapper " + wrapper);
+    }
+  }
+
+  /** Flushes all pending writes of {@link PersistWrapper#BATCHING batching} Persist instances. */
+  protected void flushBatching() {
+    batchingPersists.forEach(BatchingPersist::flush);
+  }
+
+  protected void tearDown() throws Exception {
+    try {
+      flushBatching();
+      batchingPersists.clear();
+    } finally {
+      if (backend != null) {
+        try {
+          backend.close();
+        } finally {
+          backend = null;
+        }
+      }
+      if (backendTestFactory != null) {
+        try {
+          backendTestFactory.stop();
+        } finally {
+          backendTestFactory = null;
+        }
+      }
+    }
+  }
+}
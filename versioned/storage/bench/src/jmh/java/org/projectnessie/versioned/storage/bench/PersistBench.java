@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.bench;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.projectnessie.versioned.storage.common.objtypes.ContentValueObj.contentValue;
+import static org.projectnessie.versioned.storage.common.objtypes.StandardObjType.VALUE;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+import static org.projectnessie.versioned.storage.common.persist.Reference.reference;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.versioned.storage.common.objtypes.ContentValueObj;
+import org.projectnessie.versioned.storage.common.persist.CloseableIterator;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.common.persist.Reference;
+
+/** Benchmarks for the {@link Persist} SPI functions. */
+@Warmup(iterations = 2, time = 2000, timeUnit = MILLISECONDS)
+@Measurement(iterations = 3, time = 1000, timeUnit = MILLISECONDS)
+@Fork(
+    value = 1,
+    jvmArgs = {"-Xms4g", "-Xmx4g"})
+@Threads(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+public class PersistBench {
+
+  @State(Scope.Benchmark)
+  public static class BenchmarkParam extends BaseParams {
+
+    @Param({"In-Memory", "RocksDB", "JDBC2-H2"})
+    public String backendName;
+
+    @Param({"NONE", "CACHE", "BATCHING"})
+    public PersistWrapper persistWrapper;
+
+    /** Number of objects in the repository used by the read benchmarks. */
+    @Param({"10000"})
+    public int objects;
+
+    /** Size of the payload of each object in bytes. */
+    @Param({"100", "4000"})
+    public int objSize;
+
+    /** Number of objects fetched or stored per {@link Persist} call. */
+    @Param({"1", "20"})
+    public int batch;
+
+    @Param({"UNIFORM", "HOTSPOT"})
+    public KeyDistribution keyDistribution;
+
+    /** Persist used by the read benchmarks, contains {@link #objects} objects. */
+    Persist readPersist;
+
+    /** Persist used by the write benchmarks, using a different repository ID. */
+    Persist writePersist;
+
+    ObjId[] objIds;
+    Reference reference;
+
+    @Setup
+    public void setup() throws Exception {
+      super.init(backendName);
+
+      readPersist = newPersist("bench-read", persistWrapper);
+      writePersist = newPersist("bench-write", persistWrapper);
+
+      objIds = new ObjId[objects];
+      List<Obj> chunk = new ArrayList<>();
+      for (int i = 0; i < objects; i++) {
+        ContentValueObj obj = newObj(i);
+        objIds[i] = obj.id();
+        chunk.add(obj);
+        if (chunk.size() == 100 || i == objects - 1) {
+          readPersist.storeObjs(chunk.toArray(new Obj[0]));
+          chunk.clear();
+        }
+      }
+      flushBatching();
+
+      reference =
+          writePersist.addReference(
+              reference("refs/heads/bench", randomObjId(), false, 0L, null));
+    }
+
+    @Override
+    @TearDown
+    public void tearDown() throws Exception {
+      super.tearDown();
+    }
+
+    ContentValueObj newObj(int i) {
+      byte[] payload = new byte[objSize];
+      ThreadLocalRandom.current().nextBytes(payload);
+      return contentValue("cid-" + i, 1, ByteString.copyFrom(payload));
+    }
+
+    ObjId[] nextIds() {
+      ObjId[] ids = new ObjId[batch];
+      for (int i = 0; i < batch; i++) {
+        ids[i] = objIds[keyDistribution.nextIndex(objects)];
+      }
+      return ids;
+    }
+
+    Obj[] newObjs() {
+      Obj[] objs = new Obj[batch];
+      ThreadLocalRandom rand = ThreadLocalRandom.current();
+      for (int i = 0; i < batch; i++) {
+        objs[i] = newObj(rand.nextInt());
+      }
+      return objs;
+    }
+  }
+
+  @Benchmark
+  public ContentValueObj[] fetchTypedObjsIfExist(BenchmarkParam param) {
+    return param.readPersist.fetchTypedObjsIfExist(param.nextIds(), VALUE, ContentValueObj.class);
+  }
+
+  @Benchmark
+  public boolean[] storeObjs(BenchmarkParam param) throws Exception {
+    return param.writePersist.storeObjs(param.newObjs());
+  }
+
+  @Benchmark
+  public Reference updateReferencePointer(BenchmarkParam param) throws Exception {
+    Reference updated = param.writePersist.updateReferencePointer(param.reference, randomObjId());
+    param.reference = updated;
+    return updated;
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(MILLISECONDS)
+  @Warmup(iterations = 2)
+  @Measurement(iterations = 5)
+  public void scanAllObjects(BenchmarkParam param, Blackhole bh) {
+    try (CloseableIterator<Obj> iter = param.readPersist.scanAllObjects(Set.of(VALUE))) {
+      while (iter.hasNext()) {
+        bh.consume(iter.next());
+      }
+    }
+  }
+}
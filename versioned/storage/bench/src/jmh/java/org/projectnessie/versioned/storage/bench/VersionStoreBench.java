@@ -0,0 +1,211 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.bench;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.projectnessie.model.CommitMeta.fromMessage;
+import static org.projectnessie.versioned.VersionStore.KeyRestrictions.NO_KEY_RESTRICTIONS;
+import static org.projectnessie.versioned.storage.common.logic.Logics.repositoryLogic;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.projectnessie.model.ContentKey;
+import org.projectnessie.model.IcebergTable;
+import org.projectnessie.model.Namespace;
+import org.projectnessie.model.Operation;
+import org.projectnessie.model.Operation.Put;
+import org.projectnessie.versioned.BranchName;
+import org.projectnessie.versioned.CommitResult;
+import org.projectnessie.versioned.Diff;
+import org.projectnessie.versioned.Hash;
+import org.projectnessie.versioned.MergeResult;
+import org.projectnessie.versioned.VersionStore;
+import org.projectnessie.versioned.VersionStore.MergeOp;
+import org.projectnessie.versioned.paging.PaginationIterator;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.versionstore.VersionStoreImpl;
+
+/** Benchmarks for commit, merge and diff operations against the storage backends. */
+@Warmup(iterations = 2, time = 2000, timeUnit = MILLISECONDS)
+@Measurement(iterations = 3, time = 1000, timeUnit = MILLISECONDS)
+@Fork(
+    value = 1,
+    jvmArgs = {"-Xms4g", "-Xmx4g"})
+@Threads(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+public class VersionStoreBench {
+
+  public static final String DEFAULT_BRANCH_NAME = "main";
+
+  @State(Scope.Benchmark)
+  public static class BenchmarkParam extends BaseParams {
+
+    @Param({"In-Memory", "RocksDB", "JDBC2-H2"})
+    public String backendName;
+
+    @Param({"NONE", "CACHE"})
+    public PersistWrapper persistWrapper;
+
+    /** Number of tables on the default branch. */
+    @Param({"100", "10000"})
+    public int contents;
+
+    /** Number of tables changed on the feature branch, used by the merge and diff benchmarks. */
+    @Param({"10"})
+    public int changes;
+
+    /** Distribution of the tables updated by the commit benchmark. */
+    @Param({"UNIFORM", "HOTSPOT"})
+    public KeyDistribution keyDistribution;
+
+    VersionStore versionStore;
+
+    final BranchName main = BranchName.of(DEFAULT_BRANCH_NAME);
+    final BranchName feature = BranchName.of("feature");
+    final BranchName commits = BranchName.of("commits");
+    Hash mainHead;
+    Hash featureHead;
+
+    final List<ContentKey> keys = new ArrayList<>();
+    final Map<ContentKey, IcebergTable> tables = new HashMap<>();
+
+    @Setup
+    public void setup() throws Exception {
+      super.init(backendName);
+
+      Persist persist = newPersist("bench", persistWrapper);
+      repositoryLogic(persist).initialize(DEFAULT_BRANCH_NAME);
+      versionStore = new VersionStoreImpl(persist);
+
+      Namespace ns = Namespace.of("my-namespace");
+      mainHead =
+          versionStore
+              .commit(
+                  main,
+                  Optional.empty(),
+                  fromMessage("initial"),
+                  Collections.singletonList(Put.of(ns.toContentKey(), ns)))
+              .getCommitHash();
+
+      List<Operation> commitOps = new ArrayList<>();
+      for (int i = 0; i < contents; i++) {
+        ContentKey key = ContentKey.of(ns, "table-" + i);
+        keys.add(key);
+        commitOps.add(Put.of(key, IcebergTable.of("meta-" + i, i, i, i, i)));
+        if (commitOps.size() == 500 || i == contents - 1) {
+          mainHead =
+              versionStore
+                  .commit(main, Optional.empty(), fromMessage("add tables"), commitOps)
+                  .getCommitHash();
+          commitOps.clear();
+        }
+      }
+      versionStore
+          .getValues(main, keys, false)
+          .forEach((k, v) -> tables.put(k, (IcebergTable) v.content()));
+
+      versionStore.create(feature, Optional.of(mainHead));
+      versionStore.create(commits, Optional.of(mainHead));
+      featureHead = mainHead;
+      for (int i = 0; i < changes; i++) {
+        ContentKey key = keys.get(i * (contents / changes));
+        featureHead =
+            versionStore
+                .commit(
+                    feature,
+                    Optional.empty(),
+                    fromMessage("change " + i),
+                    Collections.singletonList(
+                        Put.of(key, updated(tables.get(key), "feature-" + i))))
+                .getCommitHash();
+      }
+    }
+
+    @Override
+    @TearDown
+    public void tearDown() throws Exception {
+      super.tearDown();
+    }
+
+    static IcebergTable updated(IcebergTable table, String metadataLocation) {
+      return IcebergTable.builder()
+          .from(table)
+          .metadataLocation(metadataLocation)
+          .snapshotId(ThreadLocalRandom.current().nextLong())
+          .build();
+    }
+  }
+
+  /** Commits one update to an existing table. */
+  @Benchmark
+  public CommitResult commit(BenchmarkParam param) throws Exception {
+    ContentKey key = param.keys.get(param.keyDistribution.nextIndex(param.contents));
+    return param.versionStore.commit(
+        param.commits,
+        Optional.empty(),
+        fromMessage("update"),
+        Collections.singletonList(
+            Put.of(key, BenchmarkParam.updated(param.tables.get(key), "update"))));
+  }
+
+  /**
+   * Merges the feature branch into the default branch as a dry-run, which performs all the work
+   * except updating the target branch, so that every invocation merges the same commits.
+   */
+  @Benchmark
+  public MergeResult mergeDryRun(BenchmarkParam param) throws Exception {
+    return param.versionStore.merge(
+        MergeOp.builder()
+            .fromRef(param.feature)
+            .fromHash(param.featureHead)
+            .toBranch(param.main)
+            .expectedHash(Optional.of(param.mainHead))
+            .dryRun(true)
+            .build());
+  }
+
+  @Benchmark
+  public void diff(BenchmarkParam param, Blackhole bh) throws Exception {
+    try (PaginationIterator<Diff> iter =
+        param.versionStore.getDiffs(
+            param.mainHead, param.featureHead, null, NO_KEY_RESTRICTIONS)) {
+      while (iter.hasNext()) {
+        bh.consume(iter.next());
+      }
+    }
+  }
+}
@@ -17,6 +17,8 @@ package org.projectnessie.versioned.storage.bigtable;
 
 import static java.util.Objects.requireNonNull;
 import static org.projectnessie.versioned.storage.common.logic.Logics.repositoryLogic;
+import static org.projectnessie.versioned.storage.common.objtypes.TagObj.tag;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
 
 import com.google.cloud.bigtable.admin.v2.BigtableTableAdminClient;
 import java.util.List;
@@ -28,10 +30,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
 import org.projectnessie.versioned.storage.bigtabletests.AbstractBigTableBackendTestFactory;
 import org.projectnessie.versioned.storage.bigtabletests.BigTableBackendContainerTestFactory;
 import org.projectnessie.versioned.storage.common.config.StoreConfig;
 import org.projectnessie.versioned.storage.common.logic.RepositoryLogic;
+import org.projectnessie.versioned.storage.common.objtypes.TagObj;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
 import org.projectnessie.versioned.storage.common.persist.Persist;
 import org.projectnessie.versioned.storage.commontests.AbstractBackendRepositoryTests;
 import org.projectnessie.versioned.storage.commontests.AbstractPersistTests;
@@ -53,6 +59,29 @@ public class ITBigTablePersist extends AbstractPersistTests {
     }
   }
 
+  @Nested
+  @ExtendWith({PersistExtension.class, SoftAssertionsExtension.class})
+  public class AsyncFetches {
+    @InjectSoftAssertions protected SoftAssertions soft;
+
+    @NessiePersist protected Persist persist;
+
+    @Test
+    void duplicateIds() throws Exception {
+      TagObj obj1 = tag(randomObjId(), 42L, null, null, ByteString.copyFrom(new byte[42]));
+      TagObj obj2 = tag(randomObjId(), 42L, null, null, ByteString.copyFrom(new byte[42]));
+      soft.assertThat(persist.storeObjs(new Obj[] {obj1, obj2})).containsOnly(true);
+
+      ObjId[] ids = {obj1.id(), obj2.id(), obj1.id(), null, obj1.id(), obj2.id()};
+      soft.assertThat(
+              persist
+                  .fetchTypedObjsIfExistAsync(ids, null, Obj.class)
+                  .toCompletableFuture()
+                  .join())
+          .containsExactly(obj1, obj2, obj1, null, obj1, obj2);
+    }
+  }
+
   @Nested
   @ExtendWith({PersistExtension.class, SoftAssertionsExtension.class})
   public class TablePrefixes {
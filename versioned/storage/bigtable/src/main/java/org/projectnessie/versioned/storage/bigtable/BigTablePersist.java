@@ -33,12 +33,15 @@ import static org.projectnessie.versioned.storage.bigtable.BigTableConstants.QUA
 import static org.projectnessie.versioned.storage.bigtable.BigTableConstants.QUALIFIER_OBJ_VERS;
 import static org.projectnessie.versioned.storage.bigtable.BigTableConstants.QUALIFIER_REFS;
 import static org.projectnessie.versioned.storage.common.persist.ObjId.objIdFromByteBuffer;
+import static org.projectnessie.versioned.storage.serialize.CompressionDictionaries.dictionaryLoader;
+import static org.projectnessie.versioned.storage.serialize.ObjCompression.objCompression;
 import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.deserializeObj;
 import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.deserializeReference;
 import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.serializeObj;
 import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.serializeReference;
 
 import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutureCallback;
 import com.google.api.core.ApiFutures;
 import com.google.api.gax.batching.Batcher;
 import com.google.api.gax.rpc.AbortedException;
@@ -59,15 +62,19 @@ import com.google.cloud.bigtable.data.v2.models.RowMutationEntry;
 import com.google.cloud.bigtable.data.v2.models.TableId;
 import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.protobuf.ByteString;
 import jakarta.annotation.Nonnull;
 import java.lang.reflect.Array;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
@@ -87,6 +94,7 @@ import org.projectnessie.versioned.storage.common.persist.ObjType;
 import org.projectnessie.versioned.storage.common.persist.ObjTypes;
 import org.projectnessie.versioned.storage.common.persist.Persist;
 import org.projectnessie.versioned.storage.common.persist.Reference;
+import org.projectnessie.versioned.storage.serialize.ObjCompression;
 
 public class BigTablePersist implements Persist {
 
@@ -94,6 +102,7 @@ public class BigTablePersist implements Persist {
   private final StoreConfig config;
   private final ByteString keyPrefix;
   private final long apiTimeoutMillis;
+  private final ObjCompression objCompression;
 
   BigTablePersist(BigTableBackend backend, StoreConfig config) {
     this.backend = backend;
@@ -101,6 +110,7 @@ public class BigTablePersist implements Persist {
     this.keyPrefix = copyFromUtf8(config.repositoryId() + ':');
     this.apiTimeoutMillis =
         backend.config().totalApiTimeout().orElse(DEFAULT_BULK_READ_TIMEOUT).toMillis();
+    this.objCompression = objCompression(config, dictionaryLoader(this));
   }
 
   static RuntimeException apiException(ApiException e) {
@@ -108,9 +118,9 @@ public class BigTablePersist implements Persist {
         || e instanceof WatchdogTimeoutException
         || e instanceof UnknownException
         || e instanceof AbortedException) {
-      throw new UnknownOperationResultException("Unhandled BigTable exception", e);
+      return new UnknownOperationResultException("Unhandled BigTable exception", e);
     }
-    throw new RuntimeException("Unhandled BigTable exception", e);
+    return new RuntimeException("Unhandled BigTable exception", e);
   }
 
   private ByteString dbKey(ByteString key) {
@@ -171,6 +181,17 @@ public class BigTablePersist implements Persist {
     }
   }
 
+  @Override
+  @Nonnull
+  public CompletionStage<Reference[]> fetchReferencesAsync(@Nonnull String[] names) {
+    return bulkFetchAsync(
+        backend.tableRefsId,
+        names,
+        new Reference[names.length],
+        this::dbKey,
+        BigTablePersist::referenceFromRow);
+  }
+
   @Override
   @Nonnull
   public Reference addReference(@Nonnull Reference reference) throws RefAlreadyExistsException {
@@ -238,6 +259,37 @@ public class BigTablePersist implements Persist {
     }
   }
 
+  @Override
+  @Nonnull
+  public CompletionStage<Reference> updateReferencePointerAsync(
+      @Nonnull Reference reference, @Nonnull ObjId newPointer) {
+    ByteString key = dbKey(reference.name());
+
+    Reference expected = reference.withDeleted(false);
+    Reference updated = reference.forNewPointer(newPointer, config);
+
+    ConditionalRowMutation mutation =
+        ConditionalRowMutation.create(backend.tableRefsId, key)
+            .condition(refsValueFilter(expected))
+            .then(refsMutation(updated));
+    return toCompletionStage(backend.client().checkAndMutateRowAsync(mutation))
+        .thenCompose(
+            success -> {
+              if (success) {
+                return CompletableFuture.completedStage(updated);
+              }
+              return fetchReferencesAsync(new String[] {reference.name()})
+                  .thenCompose(
+                      refs -> {
+                        Reference r = refs[0];
+                        return CompletableFuture.<Reference>failedStage(
+                            r != null
+                                ? new RefConditionFailedException(r)
+                                : new RefNotFoundException(reference));
+                      });
+            });
+  }
+
   @Override
   public void purgeReference(@Nonnull Reference reference)
       throws RefNotFoundException, RefConditionFailedException {
@@ -357,6 +409,24 @@ public class BigTablePersist implements Persist {
     }
   }
 
+  @Override
+  @Nonnull
+  public <T extends Obj> CompletionStage<T[]> fetchTypedObjsIfExistAsync(
+      @Nonnull ObjId[] ids, ObjType type, @Nonnull Class<T> typeClass) {
+    @SuppressWarnings("unchecked")
+    T[] r = (T[]) Array.newInstance(typeClass, ids.length);
+
+    return bulkFetchAsync(
+        backend.tableObjsId,
+        ids,
+        r,
+        this::dbKey,
+        row -> {
+          Obj o = objFromRow(row);
+          return type == null || type.equals(o.type()) ? typeClass.cast(o) : null;
+        });
+  }
+
   @Override
   public boolean storeObj(@Nonnull Obj obj, boolean ignoreSoftSizeRestrictions)
       throws ObjTooLargeException {
@@ -478,6 +548,45 @@ public class BigTablePersist implements Persist {
     }
   }
 
+  @Override
+  @Nonnull
+  public CompletionStage<boolean[]> storeObjsAsync(@Nonnull Obj[] objs) {
+    List<ApiFuture<Boolean>> futures = new ArrayList<>(objs.length);
+    try {
+      for (Obj obj : objs) {
+        futures.add(
+            obj != null
+                ? backend.client().checkAndMutateRowAsync(mutationForStoreObj(obj, false))
+                : ApiFutures.immediateFuture(null));
+      }
+    } catch (ObjTooLargeException e) {
+      return CompletableFuture.failedStage(e);
+    } catch (ApiException e) {
+      return CompletableFuture.failedStage(apiException(e));
+    }
+
+    return toCompletionStage(ApiFutures.allAsList(futures))
+        .thenCompose(
+            existed -> {
+              boolean[] r = new boolean[objs.length];
+              List<ApiFuture<?>> updates = new ArrayList<>();
+              long referenced = config.currentTimeMicros();
+              for (int i = 0; i < objs.length; i++) {
+                Obj o = objs[i];
+                if (o != null) {
+                  r[i] = !existed.get(i);
+                  if (!r[i]) {
+                    updates.add(
+                        backend
+                            .client()
+                            .mutateRowAsync(mutationForUpdateReferenced(o.id(), referenced)));
+                  }
+                }
+              }
+              return toCompletionStage(ApiFutures.allAsList(updates)).thenApply(x -> r);
+            });
+  }
+
   @Override
   public void deleteObj(@Nonnull ObjId id) {
     try {
@@ -521,7 +630,11 @@ public class BigTablePersist implements Persist {
 
       byte[] serialized =
           serializeObj(
-              obj, effectiveIncrementalIndexSizeLimit(), effectiveIndexSegmentSizeLimit(), false);
+              obj,
+              effectiveIncrementalIndexSizeLimit(),
+              effectiveIndexSegmentSizeLimit(),
+              false,
+              objCompression);
 
       long referenced = config.currentTimeMicros();
       backend
@@ -554,7 +667,11 @@ public class BigTablePersist implements Persist {
 
         byte[] serialized =
             serializeObj(
-                obj, effectiveIncrementalIndexSizeLimit(), effectiveIndexSegmentSizeLimit(), false);
+                obj,
+                effectiveIncrementalIndexSizeLimit(),
+                effectiveIndexSegmentSizeLimit(),
+                false,
+                objCompression);
 
         batcher.add(objToMutation(obj, referenced, RowMutationEntry.create(key), serialized));
       }
@@ -647,7 +764,8 @@ public class BigTablePersist implements Persist {
         ignoreSoftSizeRestrictions ? Integer.MAX_VALUE : effectiveIncrementalIndexSizeLimit();
     int indexSizeLimit =
         ignoreSoftSizeRestrictions ? Integer.MAX_VALUE : effectiveIndexSegmentSizeLimit();
-    byte[] serialized = serializeObj(obj, incrementalIndexSizeLimit, indexSizeLimit, false);
+    byte[] serialized =
+        serializeObj(obj, incrementalIndexSizeLimit, indexSizeLimit, false, objCompression);
 
     return objToMutation(obj, referenced, Mutation.create(), serialized);
   }
@@ -773,7 +891,7 @@ public class BigTablePersist implements Persist {
     List<RowCell> objVersionCells = row.getCells(FAMILY_OBJS, QUALIFIER_OBJ_VERS);
     String versionToken =
         objVersionCells.isEmpty() ? null : objVersionCells.get(0).getValue().toStringUtf8();
-    return deserializeObj(id, referenced, obj, versionToken);
+    return deserializeObj(id, referenced, obj, versionToken, objCompression);
   }
 
   private <ID, R> void bulkFetch(
@@ -825,4 +943,83 @@ public class BigTablePersist implements Persist {
     }
     return handles;
   }
+
+  private <ID, R> CompletionStage<R[]> bulkFetchAsync(
+      TableId tableId,
+      ID[] ids,
+      R[] r,
+      Function<ID, ByteString> keyGen,
+      Function<Row, R> resultGen) {
+    // The same ID can be requested multiple times, each occurrence gets the result
+    Map<ByteString, List<Integer>> keyToIndexes = new HashMap<>();
+    Query query = Query.create(tableId);
+    for (int idx = 0; idx < ids.length; idx++) {
+      ID id = ids[idx];
+      if (id != null) {
+        ByteString key = keyGen.apply(id);
+        List<Integer> indexes = keyToIndexes.get(key);
+        if (indexes == null) {
+          indexes = new ArrayList<>(1);
+          keyToIndexes.put(key, indexes);
+          query = query.rowKey(key);
+        }
+        indexes.add(idx);
+      }
+    }
+    if (keyToIndexes.isEmpty()) {
+      return CompletableFuture.completedStage(r);
+    }
+
+    return toCompletionStage(
+            backend.client().readRowsCallable().all().futureCall(query), apiTimeoutMillis)
+        .thenApply(
+            rows -> {
+              for (Row row : rows) {
+                List<Integer> indexes = keyToIndexes.get(row.getKey());
+                if (indexes != null) {
+                  R result = resultGen.apply(row);
+                  for (int idx : indexes) {
+                    r[idx] = result;
+                  }
+                }
+              }
+              return r;
+            });
+  }
+
+  /**
+   * Like {@link #toCompletionStage(ApiFuture)}, but completes the returned stage exceptionally with
+   * a {@link TimeoutException} and cancels the given future, if it does not complete within the
+   * given timeout, like the synchronous bulk fetch.
+   */
+  private static <T> CompletionStage<T> toCompletionStage(ApiFuture<T> future, long timeoutMillis) {
+    return toCompletionStage(future)
+        .toCompletableFuture()
+        .orTimeout(timeoutMillis, MILLISECONDS)
+        .whenComplete(
+            (result, failure) -> {
+              if (failure instanceof TimeoutException) {
+                future.cancel(true);
+              }
+            });
+  }
+
+  private static <T> CompletionStage<T> toCompletionStage(ApiFuture<T> future) {
+    CompletableFuture<T> r = new CompletableFuture<>();
+    ApiFutures.addCallback(
+        future,
+        new ApiFutureCallback<>() {
+          @Override
+          public void onFailure(Throwable t) {
+            r.completeExceptionally(t instanceof ApiException ? apiException((ApiException) t) : t);
+          }
+
+          @Override
+          public void onSuccess(T result) {
+            r.complete(result);
+          }
+        },
+        MoreExecutors.directExecutor());
+    return r;
+  }
 }
@@ -19,6 +19,7 @@ import static com.google.common.base.Preconditions.checkState;
 
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Optional;
 import java.util.concurrent.Executor;
@@ -31,6 +32,7 @@ public interface CacheConfig {
   String INVALID_REFERENCE_NEGATIVE_TTL =
       "Cache reference-negative-TTL must only be present, if reference-TTL is configured, and must only be positive.";
   String INVALID_REFERENCE_TTL = "Cache reference-TTL must be positive, if present.";
+  String INVALID_SPILL_CAPACITY = "Cache spill-capacity must not be negative.";
 
   long capacityMb();
 
@@ -44,6 +46,19 @@ public interface CacheConfig {
 
   double cacheCapacityOvershoot();
 
+  /**
+   * Capacity of the second cache tier in megabytes, which holds immutable objects that have been
+   * evicted from the on-heap cache. The second cache tier lives outside of the Java heap and is
+   * disabled, if not present or {@code 0}.
+   */
+  Optional<Long> spillCapacityMb();
+
+  /**
+   * Directory for the memory-mapped file backing the second cache tier. If not present, direct
+   * memory is used, which requires an appropriate {@code -XX:MaxDirectMemorySize} setting.
+   */
+  Optional<Path> spillDirectory();
+
   @Value.Default
   default LongSupplier clockNanos() {
     return System::nanoTime;
@@ -73,6 +88,7 @@ public interface CacheConfig {
                 checkState(
                     referenceTtl().isPresent() && ttl.compareTo(Duration.ZERO) > 0,
                     INVALID_REFERENCE_NEGATIVE_TTL));
+    spillCapacityMb().ifPresent(mb -> checkState(mb >= 0L, INVALID_SPILL_CAPACITY));
   }
 
   interface Builder {
@@ -100,6 +116,12 @@ public interface CacheConfig {
     @CanIgnoreReturnValue
     Builder executor(Executor executor);
 
+    @CanIgnoreReturnValue
+    Builder spillCapacityMb(long spillCapacityMb);
+
+    @CanIgnoreReturnValue
+    Builder spillDirectory(Path spillDirectory);
+
     CacheConfig build();
   }
 }
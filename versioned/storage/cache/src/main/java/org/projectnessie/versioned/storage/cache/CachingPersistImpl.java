@@ -23,6 +23,9 @@ import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
 import org.projectnessie.versioned.storage.common.config.StoreConfig;
 import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
 import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
@@ -41,6 +44,7 @@ class CachingPersistImpl implements Persist {
 
   final Persist persist;
   final ObjCache cache;
+  final InFlightFetches inFlightFetches = new InFlightFetches();
 
   CachingPersistImpl(Persist persist, ObjCache cache) {
     this.persist = persist;
@@ -57,14 +61,11 @@ class CachingPersistImpl implements Persist {
       }
       throw new ObjNotFoundException(id);
     }
-    try {
-      o = persist.fetchObj(id);
-      cache.putLocal(o);
-      return o;
-    } catch (ObjNotFoundException e) {
-      cache.remove(id);
-      throw e;
+    o = fetchSingleFromBackend(id, null, Obj.class, persist::fetchObj);
+    if (o == null) {
+      throw new ObjNotFoundException(id);
     }
+    return o;
   }
 
   @Override
@@ -89,12 +90,11 @@ class CachingPersistImpl implements Persist {
         throw new ObjNotFoundException(id);
       }
     } else {
-      try {
-        o = persist.fetchTypedObj(id, type, typeClass);
-        cache.putLocal(o);
-      } catch (ObjNotFoundException e) {
-        cache.putReferenceNegative(id, type);
-        throw e;
+      o =
+          fetchSingleFromBackend(
+              id, type, typeClass, i -> persist.fetchTypedObj(i, type, typeClass));
+      if (o == null) {
+        throw new ObjNotFoundException(id);
       }
     }
     @SuppressWarnings("unchecked")
@@ -128,8 +128,23 @@ class CachingPersistImpl implements Persist {
       return r;
     }
 
-    Obj[] backendResult = persist.fetchObjs(backendIds);
-    return fetchObjsPost(backendIds, backendResult, r, null);
+    r = fetchFromBackend(backendIds, r, null, persist::fetchObjsIfExist);
+
+    List<ObjId> notFound = null;
+    for (int i = 0; i < ids.length; i++) {
+      ObjId id = ids[i];
+      if (r[i] == null && id != null) {
+        if (notFound == null) {
+          notFound = new ArrayList<>();
+        }
+        notFound.add(id);
+      }
+    }
+    if (notFound != null) {
+      throw new ObjNotFoundException(notFound);
+    }
+
+    return r;
   }
 
   @Nonnull
@@ -142,8 +157,9 @@ class CachingPersistImpl implements Persist {
     ObjId[] backendIds = fetchObjsPre(ids, r, type, typeClass);
 
     if (backendIds != null) {
-      T[] backendResult = persist.fetchTypedObjsIfExist(backendIds, type, typeClass);
-      r = fetchObjsPost(backendIds, backendResult, r, type);
+      r =
+          fetchFromBackend(
+              backendIds, r, type, i -> persist.fetchTypedObjsIfExist(i, type, typeClass));
     }
 
     List<ObjId> notFound = null;
@@ -175,8 +191,173 @@ class CachingPersistImpl implements Persist {
       return r;
     }
 
-    T[] backendResult = persist.fetchTypedObjsIfExist(backendIds, type, typeClass);
-    return fetchObjsPost(backendIds, backendResult, r, type);
+    return fetchFromBackend(
+        backendIds, r, type, i -> persist.fetchTypedObjsIfExist(i, type, typeClass));
+  }
+
+  @Override
+  @Nonnull
+  public <T extends Obj> CompletionStage<T[]> fetchTypedObjsIfExistAsync(
+      @Nonnull ObjId[] ids, ObjType type, @Nonnull Class<T> typeClass) {
+    @SuppressWarnings("unchecked")
+    T[] r = (T[]) Array.newInstance(typeClass, ids.length);
+
+    ObjId[] backendIds = fetchObjsPre(ids, r, type, typeClass);
+
+    if (backendIds == null) {
+      return CompletableFuture.completedStage(r);
+    }
+
+    InFlightFetches.Claim claim = inFlightFetches.claim(backendIds, type);
+
+    CompletableFuture<T[]> owned;
+    if (claim.owned != null) {
+      CompletableFuture<T[]> backend;
+      try {
+        backend =
+            persist.fetchTypedObjsIfExistAsync(claim.owned, type, typeClass).toCompletableFuture();
+      } catch (RuntimeException e) {
+        // Do not leave the claimed in-flight fetches behind, other callers would wait forever.
+        claim.failed(e);
+        throw e;
+      }
+      owned =
+          backend
+              .thenApply(backendResult -> fetchObjsPost(claim.owned, backendResult, r, type))
+              .whenComplete(
+                  (result, failure) -> {
+                    if (failure != null) {
+                      claim.failed(failure);
+                    } else {
+                      claim.completed(result);
+                    }
+                  });
+    } else {
+      owned = CompletableFuture.completedFuture(r);
+    }
+
+    if (claim.waiting == null) {
+      return owned;
+    }
+
+    List<CompletableFuture<?>> all = new ArrayList<>();
+    all.add(owned);
+    for (InFlightFetches.InFlight waiting : claim.waiting) {
+      if (waiting != null) {
+        all.add(waiting.result);
+      }
+    }
+    return CompletableFuture.allOf(all.toArray(new CompletableFuture<?>[0]))
+        .thenCompose(
+            x -> {
+              ObjId[] retry = applyWaiting(claim, backendIds, r, type);
+              if (retry == null) {
+                return CompletableFuture.completedFuture(r);
+              }
+              return persist
+                  .fetchTypedObjsIfExistAsync(retry, type, typeClass)
+                  .thenApply(backendResult -> fetchObjsPost(retry, backendResult, r, type));
+            });
+  }
+
+  /**
+   * Fetches a single object from the backend, coalescing concurrent fetches of the same object.
+   *
+   * @return the fetched object, or {@code null} if the object does not exist
+   */
+  private <T extends Obj> T fetchSingleFromBackend(
+      ObjId id, ObjType type, @Nonnull Class<T> typeClass, SingleFetch<? extends T> backend) {
+    @SuppressWarnings("unchecked")
+    T[] r = (T[]) Array.newInstance(typeClass, 1);
+    r =
+        fetchFromBackend(
+            new ObjId[] {id},
+            r,
+            type,
+            ids -> {
+              @SuppressWarnings("unchecked")
+              T[] fetched = (T[]) Array.newInstance(typeClass, 1);
+              try {
+                fetched[0] = backend.fetch(ids[0]);
+              } catch (ObjNotFoundException e) {
+                // not found, fetched[0] stays null
+              }
+              return fetched;
+            });
+    return r[0];
+  }
+
+  @FunctionalInterface
+  private interface SingleFetch<T extends Obj> {
+    T fetch(ObjId id) throws ObjNotFoundException;
+  }
+
+  /**
+   * Fetches the objects with the non-{@code null} IDs in {@code backendIds} from the backend and
+   * adds those to the cache, coalescing concurrent fetches of the same objects: an object that is
+   * already being fetched by another thread is not fetched again, but the result of that fetch is
+   * used.
+   */
+  private <T extends Obj> T[] fetchFromBackend(
+      ObjId[] backendIds, T[] r, ObjType type, Function<ObjId[], T[]> backend) {
+    InFlightFetches.Claim claim = inFlightFetches.claim(backendIds, type);
+
+    if (claim.owned != null) {
+      try {
+        T[] backendResult = backend.apply(claim.owned);
+        fetchObjsPost(claim.owned, backendResult, r, type);
+      } catch (RuntimeException e) {
+        claim.failed(e);
+        throw e;
+      }
+      claim.completed(r);
+    }
+
+    if (claim.waiting != null) {
+      for (InFlightFetches.InFlight waiting : claim.waiting) {
+        if (waiting != null) {
+          waiting.await();
+        }
+      }
+      ObjId[] retry = applyWaiting(claim, backendIds, r, type);
+      if (retry != null) {
+        fetchObjsPost(retry, backend.apply(retry), r, type);
+      }
+    }
+
+    return r;
+  }
+
+  /**
+   * Applies the results of the completed in-flight fetches of other threads to {@code r}.
+   *
+   * @return the IDs that have to be fetched again, because the other thread fetched the object
+   *     using a different object type and did not find it, or {@code null}
+   */
+  private static <T extends Obj> ObjId[] applyWaiting(
+      InFlightFetches.Claim claim, ObjId[] backendIds, T[] r, ObjType type) {
+    ObjId[] retry = null;
+    InFlightFetches.InFlight[] waiting = claim.waiting;
+    for (int i = 0; i < waiting.length; i++) {
+      InFlightFetches.InFlight w = waiting[i];
+      if (w == null) {
+        continue;
+      }
+      Obj o = w.await();
+      if (o != null) {
+        if (type == null || type.equals(o.type())) {
+          @SuppressWarnings("unchecked")
+          T typed = (T) o;
+          r[i] = typed;
+        }
+      } else if (!w.definitiveNotFoundFor(type)) {
+        if (retry == null) {
+          retry = new ObjId[backendIds.length];
+        }
+        retry[i] = backendIds[i];
+      }
+    }
+    return retry;
   }
 
   private <T extends Obj> ObjId[] fetchObjsPre(
@@ -232,8 +413,7 @@ class CachingPersistImpl implements Persist {
       return r;
     }
 
-    Obj[] backendResult = persist.fetchObjsIfExist(backendIds);
-    return fetchObjsPost(backendIds, backendResult, r, null);
+    return fetchFromBackend(backendIds, r, null, persist::fetchObjsIfExist);
   }
 
   @Override
@@ -249,7 +429,16 @@ class CachingPersistImpl implements Persist {
   @Override
   @Nonnull
   public boolean[] storeObjs(@Nonnull Obj[] objs) throws ObjTooLargeException {
-    boolean[] stored = persist.storeObjs(objs);
+    return storeObjsPost(objs, persist.storeObjs(objs));
+  }
+
+  @Override
+  @Nonnull
+  public CompletionStage<boolean[]> storeObjsAsync(@Nonnull Obj[] objs) {
+    return persist.storeObjsAsync(objs).thenApply(stored -> storeObjsPost(objs, stored));
+  }
+
+  private boolean[] storeObjsPost(Obj[] objs, boolean[] stored) {
     for (int i = 0; i < stored.length; i++) {
       if (stored[i]) {
         cache.put(objs[i]);
@@ -435,6 +624,22 @@ class CachingPersistImpl implements Persist {
     }
   }
 
+  @Override
+  @Nonnull
+  public CompletionStage<Reference> updateReferencePointerAsync(
+      @Nonnull Reference reference, @Nonnull ObjId newPointer) {
+    return persist
+        .updateReferencePointerAsync(reference, newPointer)
+        .whenComplete(
+            (r, e) -> {
+              if (r != null) {
+                cache.putReference(r);
+              } else {
+                cache.removeReference(reference.name());
+              }
+            });
+  }
+
   @Override
   public Reference fetchReference(@Nonnull String name) {
     return fetchReferenceInternal(name, false);
@@ -477,47 +682,68 @@ class CachingPersistImpl implements Persist {
     return fetchReferencesInternal(names, true);
   }
 
+  @Override
+  @Nonnull
+  public CompletionStage<Reference[]> fetchReferencesAsync(@Nonnull String[] names) {
+    Reference[] r = new Reference[names.length];
+
+    String[] backend = fetchReferencesPre(names, r);
+    if (backend == null) {
+      return CompletableFuture.completedStage(r);
+    }
+
+    return persist
+        .fetchReferencesAsync(backend)
+        .thenApply(br -> fetchReferencesPost(backend, br, r));
+  }
+
   private Reference[] fetchReferencesInternal(@Nonnull String[] names, boolean bypassCache) {
     Reference[] r = new Reference[names.length];
 
+    String[] backend = bypassCache ? names : fetchReferencesPre(names, r);
+
+    if (backend != null) {
+      Reference[] br = persist.fetchReferencesForUpdate(backend);
+      fetchReferencesPost(backend, br, r);
+    }
+
+    return r;
+  }
+
+  private String[] fetchReferencesPre(String[] names, Reference[] r) {
     String[] backend = null;
-    if (!bypassCache) {
-      for (int i = 0; i < names.length; i++) {
-        String name = names[i];
-        if (name != null) {
-          Reference cr = cache.getReference(name);
-          if (cr != null) {
-            if (cr != NON_EXISTENT_REFERENCE_SENTINEL) {
-              r[i] = cr;
-            }
-          } else {
-            if (backend == null) {
-              backend = new String[names.length];
-            }
-            backend[i] = name;
+    for (int i = 0; i < names.length; i++) {
+      String name = names[i];
+      if (name != null) {
+        Reference cr = cache.getReference(name);
+        if (cr != null) {
+          if (cr != NON_EXISTENT_REFERENCE_SENTINEL) {
+            r[i] = cr;
           }
+        } else {
+          if (backend == null) {
+            backend = new String[names.length];
+          }
+          backend[i] = name;
         }
       }
-    } else {
-      backend = names;
     }
+    return backend;
+  }
 
-    if (backend != null) {
-      Reference[] br = persist.fetchReferencesForUpdate(backend);
-      for (int i = 0; i < br.length; i++) {
-        String name = backend[i];
-        if (name != null) {
-          Reference ref = br[i];
-          if (ref != null) {
-            r[i] = ref;
-            cache.putReferenceLocal(ref);
-          } else {
-            cache.putReferenceNegative(name);
-          }
+  private Reference[] fetchReferencesPost(String[] backend, Reference[] br, Reference[] r) {
+    for (int i = 0; i < br.length; i++) {
+      String name = backend[i];
+      if (name != null) {
+        Reference ref = br[i];
+        if (ref != null) {
+          r[i] = ref;
+          cache.putReferenceLocal(ref);
+        } else {
+          cache.putReferenceNegative(name);
         }
       }
     }
-
     return r;
   }
 
@@ -27,10 +27,13 @@ import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.s
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
 import com.github.benmanes.caffeine.cache.Scheduler;
 import com.google.common.annotations.VisibleForTesting;
 import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
 import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.binder.BaseUnits;
 import io.micrometer.core.instrument.binder.cache.CaffeineStatsCounter;
 import jakarta.annotation.Nonnull;
@@ -59,6 +62,10 @@ class CaffeineCacheBackend implements CacheBackend {
   public static final String METER_CACHE_ADMIT_CAPACITY = "cache.capacity.admitted";
   public static final String METER_CACHE_WEIGHT = "cache.weight";
   public static final String METER_CACHE_REJECTED_WEIGHT = "cache.rejected-weight";
+  public static final String METER_CACHE_SPILL_CAPACITY = "cache.spill.capacity";
+  public static final String METER_CACHE_SPILL_WEIGHT = "cache.spill.weight";
+  public static final String METER_CACHE_SPILL_HITS = "cache.spill.hits";
+  public static final String METER_CACHE_SPILL_MISSES = "cache.spill.misses";
 
   private final CacheConfig config;
   final Cache<CacheKeyValue, CacheKeyValue> cache;
@@ -70,6 +77,9 @@ class CaffeineCacheBackend implements CacheBackend {
   private final AtomicLong rejections = new AtomicLong();
   private final IntConsumer rejectionsWeight;
   private final LongSupplier weightSupplier;
+  private final SpillCache spillCache;
+  private final AtomicLong spillHits = new AtomicLong();
+  private final AtomicLong spillMisses = new AtomicLong();
 
   CaffeineCacheBackend(CacheConfig config) {
     this.config = config;
@@ -81,6 +91,13 @@ class CaffeineCacheBackend implements CacheBackend {
     var maxWeight = config.capacityMb() * ONE_MB;
     admitWeight = maxWeight + (long) (maxWeight * config.cacheCapacityOvershoot());
 
+    spillCache =
+        config
+            .spillCapacityMb()
+            .filter(mb -> mb > 0L)
+            .map(mb -> new SpillCache(mb * ONE_MB, config.spillDirectory().orElse(null)))
+            .orElse(null);
+
     Caffeine<CacheKeyValue, CacheKeyValue> cacheBuilder =
         Caffeine.newBuilder()
             .executor(config.executor())
@@ -88,6 +105,7 @@ class CaffeineCacheBackend implements CacheBackend {
             .ticker(config.clockNanos()::getAsLong)
             .maximumWeight(maxWeight)
             .weigher(this::weigher)
+            .evictionListener(this::spill)
             .expireAfter(
                 new Expiry<>() {
                   @Override
@@ -161,6 +179,9 @@ class CaffeineCacheBackend implements CacheBackend {
                           .tag("cache", CACHE_NAME)
                           .baseUnit(BaseUnits.BYTES)
                           .register(reg);
+                  if (spillCache != null) {
+                    registerSpillMeters(reg);
+                  }
                   return (IntConsumer) rejectedWeightSummary::record;
                 })
             .orElse(x -> {});
@@ -176,6 +197,72 @@ class CaffeineCacheBackend implements CacheBackend {
     return weightSupplier.getAsLong();
   }
 
+  private void registerSpillMeters(MeterRegistry reg) {
+    Gauge.builder(METER_CACHE_SPILL_CAPACITY, "", x -> spillCache.capacity())
+        .description("Total capacity of the objects cache spill tier in bytes.")
+        .tag("cache", CACHE_NAME)
+        .baseUnit(BaseUnits.BYTES)
+        .register(reg);
+    Gauge.builder(METER_CACHE_SPILL_WEIGHT, "", x -> (double) spillCache.weight())
+        .description("Current weight of the objects cache spill tier in bytes.")
+        .tag("cache", CACHE_NAME)
+        .baseUnit(BaseUnits.BYTES)
+        .register(reg);
+    FunctionCounter.builder(METER_CACHE_SPILL_HITS, spillHits, AtomicLong::get)
+        .description("Number of objects cache misses served from the spill tier.")
+        .tag("cache", CACHE_NAME)
+        .register(reg);
+    FunctionCounter.builder(METER_CACHE_SPILL_MISSES, spillMisses, AtomicLong::get)
+        .description("Number of objects cache misses not served from the spill tier.")
+        .tag("cache", CACHE_NAME)
+        .register(reg);
+  }
+
+  /**
+   * Moves immutable objects that are evicted from the on-heap cache due to its size constraint to
+   * the spill tier, if enabled. Objects that can expire, references and "not found" sentinels are
+   * not spilled.
+   */
+  private void spill(CacheKeyValue key, CacheKeyValue value, RemovalCause cause) {
+    if (spillCache == null
+        || cause != RemovalCause.SIZE
+        || key == null
+        || value == null
+        || value == NON_EXISTING_SENTINEL
+        || value.expiresAtNanosEpoch != CACHE_UNLIMITED
+        || value.serialized == null) {
+      return;
+    }
+    spillCache.put(key.repositoryId, key.id, value.serialized);
+  }
+
+  /** Promotes the object from the spill tier to the on-heap cache, if present. */
+  private Obj getSpilled(String repositoryId, ObjId id) {
+    byte[] serialized = spillCache.get(repositoryId, id);
+    if (serialized == null) {
+      spillMisses.incrementAndGet();
+      return null;
+    }
+    spillHits.incrementAndGet();
+    spillCache.remove(repositoryId, id);
+
+    CacheKeyValue keyValue =
+        cacheKeyValue(repositoryId, id, CACHE_UNLIMITED, serialized, null, enableSoftReferences);
+    Obj obj = keyValue.getObj();
+    cachePut(keyValue, keyValue);
+    return obj;
+  }
+
+  @VisibleForTesting
+  SpillCache spillCache() {
+    return spillCache;
+  }
+
+  @VisibleForTesting
+  long spillHits() {
+    return spillHits.get();
+  }
+
   @VisibleForTesting
   long rejections() {
     return rejections.get();
@@ -203,7 +290,7 @@ class CaffeineCacheBackend implements CacheBackend {
     CacheKeyValue key = cacheKeyForRead(repositoryId, id);
     CacheKeyValue value = cache.getIfPresent(key);
     if (value == null) {
-      return null;
+      return spillCache != null ? getSpilled(repositoryId, id) : null;
     }
     if (value == NON_EXISTING_SENTINEL) {
       return NOT_FOUND_OBJ_SENTINEL;
@@ -237,6 +324,10 @@ class CaffeineCacheBackend implements CacheBackend {
       return;
     }
 
+    if (spillCache != null) {
+      spillCache.remove(repositoryId, obj.id());
+    }
+
     try {
       byte[] serialized = serializeObj(obj, Integer.MAX_VALUE, Integer.MAX_VALUE, true);
       long expiresAtNanos =
@@ -261,6 +352,10 @@ class CaffeineCacheBackend implements CacheBackend {
       return;
     }
 
+    if (spillCache != null) {
+      spillCache.remove(repositoryId, id);
+    }
+
     long expiresAtNanos =
         expiresAt == CACHE_UNLIMITED ? CACHE_UNLIMITED : MICROSECONDS.toNanos(expiresAt);
     CacheKeyValue keyValue = cacheKeyValue(repositoryId, id, expiresAtNanos, enableSoftReferences);
@@ -272,11 +367,17 @@ class CaffeineCacheBackend implements CacheBackend {
   public void remove(@Nonnull String repositoryId, @Nonnull ObjId id) {
     CacheKeyValue key = cacheKeyForRead(repositoryId, id);
     cache.invalidate(key);
+    if (spillCache != null) {
+      spillCache.remove(repositoryId, id);
+    }
   }
 
   @Override
   public void clear(@Nonnull String repositoryId) {
     cache.asMap().keySet().removeIf(k -> k.repositoryId.equals(repositoryId));
+    if (spillCache != null) {
+      spillCache.clear(repositoryId);
+    }
   }
 
   private ObjId refObjId(String name) {
@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cache;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.ObjType;
+
+/**
+ * Coalesces concurrent backend fetches of the same object ID ("single-flight").
+ *
+ * <p>A caller that needs to fetch objects from the backend first {@link #claim(ObjId[], ObjType)
+ * claims} the object IDs. IDs that are not being fetched yet are owned by the caller, which must
+ * fetch those from the backend and then {@link Claim#completed(Obj[]) complete} or {@link
+ * Claim#failed(Throwable) fail} the claim. IDs that are already being fetched by another caller
+ * are returned as {@link InFlight} instances, which complete when the owning caller completes.
+ */
+final class InFlightFetches {
+
+  private final ConcurrentHashMap<ObjId, InFlight> inFlight = new ConcurrentHashMap<>();
+
+  /**
+   * Claims the non-{@code null} IDs in the given array.
+   *
+   * @param ids object IDs to fetch, may contain {@code null} elements
+   * @param type the object type the caller will fetch the owned IDs with
+   */
+  Claim claim(ObjId[] ids, ObjType type) {
+    ObjId[] owned = null;
+    InFlight[] ownedInFlight = null;
+    InFlight[] waiting = null;
+
+    for (int i = 0; i < ids.length; i++) {
+      ObjId id = ids[i];
+      if (id == null) {
+        continue;
+      }
+      InFlight mine = new InFlight(type);
+      InFlight existing = inFlight.putIfAbsent(id, mine);
+      if (existing == null) {
+        if (owned == null) {
+          owned = new ObjId[ids.length];
+          ownedInFlight = new InFlight[ids.length];
+        }
+        owned[i] = id;
+        ownedInFlight[i] = mine;
+      } else {
+        if (waiting == null) {
+          waiting = new InFlight[ids.length];
+        }
+        waiting[i] = existing;
+      }
+    }
+
+    return new Claim(owned, ownedInFlight, waiting);
+  }
+
+  @VisibleForTesting
+  int size() {
+    return inFlight.size();
+  }
+
+  final class Claim {
+    /** IDs owned by this claim, or {@code null} if this claim does not own any ID. */
+    final ObjId[] owned;
+
+    /** In-flight fetches of other callers, or {@code null} if there are none. */
+    final InFlight[] waiting;
+
+    private final InFlight[] ownedInFlight;
+
+    Claim(ObjId[] owned, InFlight[] ownedInFlight, InFlight[] waiting) {
+      this.owned = owned;
+      this.ownedInFlight = ownedInFlight;
+      this.waiting = waiting;
+    }
+
+    /**
+     * Completes the owned in-flight fetches, must be called after the fetched objects have been
+     * added to the cache.
+     *
+     * @param fetched fetched objects, same length as {@link #owned}, {@code null} elements for
+     *     objects that do not exist
+     */
+    void completed(Obj[] fetched) {
+      for (int i = 0; i < ownedInFlight.length; i++) {
+        InFlight f = ownedInFlight[i];
+        if (f != null) {
+          inFlight.remove(owned[i], f);
+          f.result.complete(fetched[i]);
+        }
+      }
+    }
+
+    void failed(Throwable failure) {
+      for (int i = 0; i < ownedInFlight.length; i++) {
+        InFlight f = ownedInFlight[i];
+        if (f != null) {
+          inFlight.remove(owned[i], f);
+          f.result.completeExceptionally(failure);
+        }
+      }
+    }
+  }
+
+  static final class InFlight {
+    private final ObjType type;
+    final CompletableFuture<Obj> result = new CompletableFuture<>();
+
+    InFlight(ObjType type) {
+      this.type = type;
+    }
+
+    /**
+     * Whether a {@code null} result of this fetch means that the object does not exist for the
+     * given type.
+     */
+    boolean definitiveNotFoundFor(ObjType requestedType) {
+      return type == null || Objects.equals(type, requestedType);
+    }
+
+    Obj await() {
+      try {
+        return result.join();
+      } catch (CompletionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
+        }
+        throw e;
+      }
+    }
+  }
+}
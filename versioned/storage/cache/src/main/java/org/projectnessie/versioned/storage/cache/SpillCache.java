@@ -0,0 +1,344 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cache;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.deserializeObjId;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+
+/**
+ * Bounded, second-tier store for serialized objects that have been evicted from the on-heap cache.
+ *
+ * <p>The serialized objects are held outside of the Java heap, either in direct memory or in a
+ * memory-mapped, temporary local file. The store is organized as a ring buffer over fixed-size
+ * segments: new records are always appended, the oldest records are evicted when the ring buffer
+ * wraps around. Only the (small) index from {@code (repositoryId, ObjId)} to the position of the
+ * record lives on the Java heap.
+ *
+ * <p>Because records are never updated in place, this store must only be used for immutable
+ * objects.
+ *
+ * <p>Record layout, each record is aligned to {@value #ALIGNMENT} bytes and never crosses a segment
+ * boundary:
+ *
+ * <ul>
+ *   <li>{@code int} record length including this header, or {@value #SKIP_MARKER} if the remainder
+ *       of the segment is unused
+ *   <li>{@code short} length of the UTF-8 repository ID, followed by the repository ID
+ *   <li>serialized {@link ObjId}
+ *   <li>{@code int} length of the serialized object, followed by the serialized object
+ * </ul>
+ */
+final class SpillCache {
+
+  static final int ALIGNMENT = 8;
+  static final int SKIP_MARKER = -1;
+  static final int MAX_SEGMENT_SIZE = 256 * 1024 * 1024;
+
+  private final ByteBuffer[] segments;
+  private final int segmentSize;
+  private final long capacity;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  /** Absolute positions of the live records, guarded by {@link #lock}. */
+  private final Map<SpillKey, Long> index = new HashMap<>();
+
+  /** Absolute position of the next record to write, guarded by {@link #lock}. */
+  private long head;
+
+  /** Absolute position of the oldest record, guarded by {@link #lock}. */
+  private long tail;
+
+  /** Sum of the lengths of the live records, guarded by {@link #lock}. */
+  private long weight;
+
+  SpillCache(long capacityBytes, Path directory) {
+    int segmentSize = (int) Math.min(capacityBytes, MAX_SEGMENT_SIZE);
+    segmentSize -= segmentSize % ALIGNMENT;
+    if (segmentSize <= 0) {
+      throw new IllegalArgumentException("Spill cache capacity too small: " + capacityBytes);
+    }
+    int numSegments = (int) (capacityBytes / segmentSize);
+    this.segmentSize = segmentSize;
+    this.capacity = (long) numSegments * segmentSize;
+    this.segments =
+        directory != null
+            ? mapSegments(directory, numSegments, segmentSize)
+            : allocateSegments(numSegments, segmentSize);
+  }
+
+  private static ByteBuffer[] allocateSegments(int numSegments, int segmentSize) {
+    ByteBuffer[] segments = new ByteBuffer[numSegments];
+    for (int i = 0; i < numSegments; i++) {
+      segments[i] = ByteBuffer.allocateDirect(segmentSize);
+    }
+    return segments;
+  }
+
+  private static ByteBuffer[] mapSegments(Path directory, int numSegments, int segmentSize) {
+    try {
+      Files.createDirectories(directory);
+      Path file = Files.createTempFile(directory, "nessie-cache-spill-", ".bin");
+      ByteBuffer[] segments = new ByteBuffer[numSegments];
+      try (FileChannel channel =
+          FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+        for (int i = 0; i < numSegments; i++) {
+          segments[i] =
+              channel.map(FileChannel.MapMode.READ_WRITE, (long) i * segmentSize, segmentSize);
+        }
+      }
+      // The mappings stay valid after the file has been deleted (except on Windows).
+      try {
+        Files.delete(file);
+      } catch (IOException e) {
+        file.toFile().deleteOnExit();
+      }
+      return segments;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to create spill cache file in " + directory, e);
+    }
+  }
+
+  long capacity() {
+    return capacity;
+  }
+
+  long weight() {
+    lock.readLock().lock();
+    try {
+      return weight;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @VisibleForTesting
+  int size() {
+    lock.readLock().lock();
+    try {
+      return index.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Returns the serialized object for the given key, or {@code null} if the object is not present.
+   */
+  byte[] get(String repositoryId, ObjId id) {
+    SpillKey key = new SpillKey(repositoryId, id);
+    lock.readLock().lock();
+    try {
+      Long pos = index.get(key);
+      if (pos == null) {
+        return null;
+      }
+      ByteBuffer record = record(pos);
+      record.position(record.position() + 4);
+      skipKey(record);
+      byte[] value = new byte[record.getInt()];
+      record.get(value);
+      return value;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Adds the given serialized object, evicting the oldest records if necessary. Objects that are
+   * larger than a segment are silently not added.
+   */
+  void put(String repositoryId, ObjId id, byte[] serialized) {
+    byte[] repo = repositoryId.getBytes(UTF_8);
+    int len = 4 + 2 + repo.length + id.serializedSize() + 4 + serialized.length;
+    len = (len + ALIGNMENT - 1) & -ALIGNMENT;
+    if (len > segmentSize || repo.length > Short.MAX_VALUE) {
+      return;
+    }
+
+    SpillKey key = new SpillKey(repositoryId, id);
+    lock.writeLock().lock();
+    try {
+      removeInternal(key);
+
+      int remaining = segmentSize - offsetInSegment(head);
+      if (remaining < len) {
+        // Record does not fit into the current segment, continue with the next segment
+        evictUpTo(head + remaining);
+        segmentBuffer(head).putInt(offsetInSegment(head), SKIP_MARKER);
+        head += remaining;
+      }
+      evictUpTo(head + len);
+
+      ByteBuffer record = record(head);
+      record.putInt(len);
+      record.putShort((short) repo.length);
+      record.put(repo);
+      id.serializeTo(record);
+      record.putInt(serialized.length);
+      record.put(serialized);
+
+      index.put(key, head);
+      weight += len;
+      head += len;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  void remove(String repositoryId, ObjId id) {
+    SpillKey key = new SpillKey(repositoryId, id);
+    lock.readLock().lock();
+    try {
+      if (!index.containsKey(key)) {
+        return;
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+
+    lock.writeLock().lock();
+    try {
+      removeInternal(key);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  void clear(String repositoryId) {
+    lock.writeLock().lock();
+    try {
+      index
+          .entrySet()
+          .removeIf(
+              e -> {
+                if (e.getKey().repositoryId.equals(repositoryId)) {
+                  weight -= recordLength(e.getValue());
+                  return true;
+                }
+                return false;
+              });
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private void removeInternal(SpillKey key) {
+    Long pos = index.remove(key);
+    if (pos != null) {
+      weight -= recordLength(pos);
+    }
+  }
+
+  /** Evicts the oldest records, until the ring buffer has room up to the given position. */
+  private void evictUpTo(long end) {
+    while (end - tail > capacity) {
+      int len = recordLength(tail);
+      if (len == SKIP_MARKER) {
+        tail += segmentSize - offsetInSegment(tail);
+        continue;
+      }
+
+      ByteBuffer record = record(tail);
+      record.position(record.position() + 4);
+      SpillKey key = readKey(record);
+      Long pos = index.get(key);
+      if (pos != null && pos == tail) {
+        index.remove(key);
+        weight -= len;
+      }
+      tail += len;
+    }
+  }
+
+  private int recordLength(long pos) {
+    return segmentBuffer(pos).getInt(offsetInSegment(pos));
+  }
+
+  /** Returns a buffer positioned at the record at the given absolute position. */
+  private ByteBuffer record(long pos) {
+    ByteBuffer buffer = segmentBuffer(pos).duplicate();
+    buffer.position(offsetInSegment(pos));
+    return buffer;
+  }
+
+  private ByteBuffer segmentBuffer(long pos) {
+    return segments[(int) ((pos % capacity) / segmentSize)];
+  }
+
+  private int offsetInSegment(long pos) {
+    return (int) ((pos % capacity) % segmentSize);
+  }
+
+  private static SpillKey readKey(ByteBuffer record) {
+    byte[] repo = new byte[record.getShort()];
+    record.get(repo);
+    ObjId id = deserializeObjId(record);
+    return new SpillKey(new String(repo, UTF_8), id);
+  }
+
+  private static void skipKey(ByteBuffer record) {
+    int repoLen = record.getShort();
+    record.position(record.position() + repoLen);
+    deserializeObjId(record);
+  }
+
+  static final class SpillKey {
+    final String repositoryId;
+    final ObjId id;
+
+    SpillKey(String repositoryId, ObjId id) {
+      this.repositoryId = repositoryId;
+      this.id = id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof SpillKey)) {
+        return false;
+      }
+      SpillKey spillKey = (SpillKey) o;
+      return repositoryId.equals(spillKey.repositoryId) && id.equals(spillKey.id);
+    }
+
+    @Override
+    public int hashCode() {
+      return repositoryId.hashCode() * 31 + id.hashCode();
+    }
+
+    @Override
+    public String toString() {
+      return "{" + repositoryId + ", " + id + '}';
+    }
+  }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cache;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.projectnessie.versioned.storage.common.objtypes.ContentValueObj.contentValue;
+import static org.projectnessie.versioned.storage.common.objtypes.StandardObjType.VALUE;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+import static org.projectnessie.versioned.storage.commontests.AbstractBasePersistTests.randomContentId;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.versioned.storage.common.objtypes.ContentValueObj;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.testextension.NessiePersist;
+import org.projectnessie.versioned.storage.testextension.PersistExtension;
+
+@ExtendWith({PersistExtension.class, SoftAssertionsExtension.class})
+public class TestCoalescingFetches {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  @NessiePersist protected Persist persist;
+
+  @Test
+  public void concurrentFetchesOfSameObject() throws Exception {
+    Obj obj =
+        contentValue(randomObjId(), 0L, randomContentId(), 1, ByteString.copyFromUtf8("hello"));
+    persist.storeObj(obj);
+
+    Persist backing = spy(persist);
+    CountDownLatch entered = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    doAnswer(
+            invocation -> {
+              entered.countDown();
+              release.await();
+              return invocation.callRealMethod();
+            })
+        .when(backing)
+        .fetchTypedObj(eq(obj.id()), any(), any());
+
+    CachingPersistImpl cachedPersist =
+        (CachingPersistImpl)
+            PersistCaches.newBackend(
+                    CacheConfig.builder().capacityMb(16).cacheCapacityOvershoot(0.1d).build())
+                .wrap(backing);
+
+    int numThreads = 8;
+    ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+    try {
+      List<Future<Obj>> futures = new ArrayList<>();
+      futures.add(
+          executor.submit(
+              () -> cachedPersist.fetchTypedObj(obj.id(), VALUE, ContentValueObj.class)));
+      soft.assertThat(entered.await(30, TimeUnit.SECONDS)).isTrue();
+
+      List<Thread> waiters = new ArrayList<>();
+      for (int i = 1; i < numThreads; i++) {
+        boolean single = i % 2 == 0;
+        futures.add(
+            executor.submit(
+                () -> {
+                  synchronized (waiters) {
+                    waiters.add(Thread.currentThread());
+                  }
+                  return single
+                      ? cachedPersist.fetchTypedObj(obj.id(), VALUE, ContentValueObj.class)
+                      : cachedPersist.fetchTypedObjsIfExist(
+                          new ObjId[] {obj.id()}, VALUE, ContentValueObj.class)[0];
+                }));
+      }
+
+      // Wait until all other threads wait for the in-flight fetch
+      while (true) {
+        synchronized (waiters) {
+          if (waiters.size() == numThreads - 1
+              && waiters.stream().allMatch(t -> t.getState() == Thread.State.WAITING)) {
+            break;
+          }
+        }
+        Thread.sleep(1L);
+      }
+      soft.assertThat(cachedPersist.inFlightFetches.size()).isEqualTo(1);
+
+      release.countDown();
+
+      for (Future<Obj> future : futures) {
+        soft.assertThat(future.get(30, TimeUnit.SECONDS)).isEqualTo(obj);
+      }
+    } finally {
+      release.countDown();
+      executor.shutdown();
+      soft.assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+    }
+
+    verify(backing, times(1)).fetchTypedObj(eq(obj.id()), any(), any());
+    soft.assertThat(cachedPersist.inFlightFetches.size()).isEqualTo(0);
+    soft.assertThat(cachedPersist.getImmediate(obj.id())).isEqualTo(obj);
+  }
+
+  @Test
+  public void failedFetchPropagates() throws Exception {
+    ObjId id = randomObjId();
+
+    Persist backing = spy(persist);
+    doAnswer(
+            invocation -> {
+              throw new IllegalStateException("backend failure");
+            })
+        .when(backing)
+        .fetchTypedObjsIfExist(any(), any(), any());
+
+    CachingPersistImpl cachedPersist =
+        (CachingPersistImpl)
+            PersistCaches.newBackend(
+                    CacheConfig.builder().capacityMb(16).cacheCapacityOvershoot(0.1d).build())
+                .wrap(backing);
+
+    soft.assertThatThrownBy(
+            () -> cachedPersist.fetchTypedObjsIfExist(new ObjId[] {id}, VALUE, Obj.class))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("backend failure");
+    // A failed fetch must not leave an in-flight fetch behind
+    soft.assertThat(cachedPersist.inFlightFetches.size()).isEqualTo(0);
+  }
+
+  @Test
+  public void failedAsyncFetchReleasesClaim() {
+    ObjId id = randomObjId();
+
+    Persist backing = spy(persist);
+    doAnswer(
+            invocation -> {
+              throw new IllegalStateException("backend failure");
+            })
+        .when(backing)
+        .fetchTypedObjsIfExistAsync(any(), any(), any());
+
+    CachingPersistImpl cachedPersist =
+        (CachingPersistImpl)
+            PersistCaches.newBackend(
+                    CacheConfig.builder().capacityMb(16).cacheCapacityOvershoot(0.1d).build())
+                .wrap(backing);
+
+    soft.assertThatThrownBy(
+            () -> cachedPersist.fetchTypedObjsIfExistAsync(new ObjId[] {id}, VALUE, Obj.class))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("backend failure");
+    // A delegate that throws instead of returning a failed stage must not leave an in-flight
+    // fetch behind
+    soft.assertThat(cachedPersist.inFlightFetches.size()).isEqualTo(0);
+    // The next fetch goes to the backend again, instead of waiting for the failed fetch
+    soft.assertThatThrownBy(
+            () -> cachedPersist.fetchTypedObjsIfExistAsync(new ObjId[] {id}, VALUE, Obj.class))
+        .hasMessage("backend failure");
+  }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cache;
+
+import static org.projectnessie.versioned.storage.cache.CaffeineCacheBackend.METER_CACHE_SPILL_CAPACITY;
+import static org.projectnessie.versioned.storage.cache.CaffeineCacheBackend.METER_CACHE_SPILL_WEIGHT;
+import static org.projectnessie.versioned.storage.cache.CaffeineCacheBackend.ONE_MB;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+
+import com.google.common.base.Strings;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.commontests.objtypes.SimpleTestObj;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestSpillCache {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  @TempDir Path tempDir;
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  public void putGetRemove(boolean memoryMapped) {
+    SpillCache spill = new SpillCache(ONE_MB, memoryMapped ? tempDir : null);
+
+    ObjId id1 = randomObjId();
+    ObjId id2 = randomObjId();
+    spill.put("repo", id1, new byte[] {1, 2, 3});
+    spill.put("repo", id2, new byte[] {4, 5});
+    spill.put("other", id1, new byte[] {6});
+
+    soft.assertThat(spill.get("repo", id1)).containsExactly(1, 2, 3);
+    soft.assertThat(spill.get("repo", id2)).containsExactly(4, 5);
+    soft.assertThat(spill.get("other", id1)).containsExactly(6);
+    soft.assertThat(spill.get("other", id2)).isNull();
+    soft.assertThat(spill.size()).isEqualTo(3);
+    soft.assertThat(spill.weight()).isGreaterThan(0L);
+
+    spill.put("repo", id1, new byte[] {7});
+    soft.assertThat(spill.get("repo", id1)).containsExactly(7);
+    soft.assertThat(spill.size()).isEqualTo(3);
+
+    spill.remove("repo", id1);
+    soft.assertThat(spill.get("repo", id1)).isNull();
+    soft.assertThat(spill.size()).isEqualTo(2);
+
+    spill.clear("repo");
+    soft.assertThat(spill.get("repo", id2)).isNull();
+    soft.assertThat(spill.get("other", id1)).containsExactly(6);
+    soft.assertThat(spill.size()).isEqualTo(1);
+
+    spill.clear("other");
+    soft.assertThat(spill.size()).isEqualTo(0);
+    soft.assertThat(spill.weight()).isEqualTo(0L);
+  }
+
+  @Test
+  public void evictsOldest() {
+    SpillCache spill = new SpillCache(64 * 1024, null);
+
+    // Records of different sizes, so the ring buffer wraps at different positions
+    List<ObjId> ids = new ArrayList<>();
+    for (int i = 0; i < 2000; i++) {
+      ObjId id = randomObjId();
+      ids.add(id);
+      spill.put("repo", id, new byte[100 + (i % 37) * 20]);
+
+      soft.assertThat(spill.weight()).isLessThanOrEqualTo(spill.capacity());
+      soft.assertThat(spill.get("repo", id)).hasSize(100 + (i % 37) * 20);
+    }
+
+    // The oldest objects have been evicted, the most recent ones are present
+    soft.assertThat(spill.get("repo", ids.get(0))).isNull();
+    soft.assertThat(spill.get("repo", ids.get(ids.size() - 1))).isNotNull();
+    soft.assertThat(spill.size()).isLessThan(ids.size());
+
+    int present = 0;
+    for (ObjId id : ids) {
+      if (spill.get("repo", id) != null) {
+        present++;
+      }
+    }
+    soft.assertThat(present).isEqualTo(spill.size());
+
+    // Records larger than a segment are not added
+    ObjId large = randomObjId();
+    spill.put("repo", large, new byte[128 * 1024]);
+    soft.assertThat(spill.get("repo", large)).isNull();
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  public void spillAndPromote(boolean memoryMapped) {
+    var meterRegistry = new SimpleMeterRegistry();
+    CacheConfig.Builder config =
+        CacheConfig.builder()
+            .capacityMb(1)
+            .cacheCapacityOvershoot(0.1d)
+            .spillCapacityMb(8)
+            .meterRegistry(meterRegistry);
+    if (memoryMapped) {
+      config.spillDirectory(tempDir);
+    }
+    var cache = new CaffeineCacheBackend(config.build());
+
+    var str = Strings.repeat("a", 4096);
+    List<Obj> objs = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      Obj obj = SimpleTestObj.builder().id(randomObjId()).text(str).build();
+      objs.add(obj);
+      cache.put("repo", obj);
+    }
+    cache.cache.cleanUp();
+
+    SpillCache spill = cache.spillCache();
+    soft.assertThat(spill.size()).isGreaterThan(0);
+
+    // Every object is either still in the on-heap cache or has been spilled
+    for (Obj obj : objs) {
+      soft.assertThat(cache.get("repo", obj.id())).isEqualTo(obj);
+    }
+    soft.assertThat(cache.spillHits()).isGreaterThan(0L);
+
+    Gauge capacity = meterRegistry.get(METER_CACHE_SPILL_CAPACITY).gauge();
+    Gauge weight = meterRegistry.get(METER_CACHE_SPILL_WEIGHT).gauge();
+    soft.assertThat(capacity.value()).isEqualTo((double) spill.capacity());
+    soft.assertThat(weight.value()).isEqualTo((double) spill.weight());
+
+    // Removed objects must not be promoted from the spill tier
+    Obj obj = objs.get(0);
+    cache.remove("repo", obj.id());
+    soft.assertThat(cache.get("repo", obj.id())).isNull();
+  }
+}
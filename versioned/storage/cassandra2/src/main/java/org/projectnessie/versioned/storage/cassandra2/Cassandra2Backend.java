@@ -73,6 +73,8 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Semaphore;
@@ -81,6 +83,7 @@ import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.agrona.collections.Hashing;
@@ -112,6 +115,124 @@ public final class Cassandra2Backend implements Backend {
     return new BatchedQueryImpl<>(queryBuilder, rowToResult, idExtractor, results, elementType);
   }
 
+  /**
+   * Non-blocking counterpart of {@link #newBatchedQuery(Function, Function, Function, int, Class)}.
+   * The given {@code keys} are split into batches of {@value Cassandra2Constants#SELECT_BATCH_SIZE}
+   * keys, at most {@value Cassandra2Constants#MAX_CONCURRENT_BATCH_READS} batches are in flight at
+   * any time. {@code null} keys are legal, the corresponding result elements are {@code null}.
+   */
+  <K, R> CompletionStage<R[]> batchedQueryAsync(
+      K[] keys,
+      Function<List<K>, CompletionStage<AsyncResultSet>> queryBuilder,
+      Function<Row, R> rowToResult,
+      Function<R, K> idExtractor,
+      Class<? extends R> elementType) {
+    Object2IntHashMap<K> idToIndex =
+        new Object2IntHashMap<>(keys.length * 2, Hashing.DEFAULT_LOAD_FACTOR, -1);
+    AtomicReferenceArray<R> result = new AtomicReferenceArray<>(keys.length);
+
+    List<List<K>> batches = new ArrayList<>();
+    List<K> batch = new ArrayList<>();
+    for (int i = 0; i < keys.length; i++) {
+      K key = keys[i];
+      if (key != null) {
+        idToIndex.put(key, i);
+        batch.add(key);
+        if (batch.size() == SELECT_BATCH_SIZE) {
+          batches.add(batch);
+          batch = new ArrayList<>();
+        }
+      }
+    }
+    if (!batch.isEmpty()) {
+      batches.add(batch);
+    }
+
+    Consumer<Row> rowConsumer =
+        row -> {
+          R resultItem = rowToResult.apply(row);
+          if (resultItem != null) {
+            int i = idToIndex.getValue(idExtractor.apply(resultItem));
+            if (i != -1) {
+              result.set(i, resultItem);
+            }
+          }
+        };
+
+    List<Supplier<CompletionStage<?>>> queries = new ArrayList<>(batches.size());
+    for (List<K> batchKeys : batches) {
+      queries.add(() -> consumeAllPages(queryBuilder.apply(batchKeys), rowConsumer));
+    }
+
+    return mapUnhandledExceptions(
+        inLanes(queries, MAX_CONCURRENT_BATCH_READS)
+            .thenApply(
+                v -> {
+                  int l = result.length();
+                  @SuppressWarnings("unchecked")
+                  R[] r = (R[]) Array.newInstance(elementType, l);
+                  for (int i = 0; i < l; i++) {
+                    r[i] = result.get(i);
+                  }
+                  return r;
+                }));
+  }
+
+  private static CompletionStage<Void> consumeAllPages(
+      CompletionStage<AsyncResultSet> page, Consumer<Row> rowConsumer) {
+    return page.thenCompose(
+        rs -> {
+          for (Row row : rs.currentPage()) {
+            rowConsumer.accept(row);
+          }
+          return rs.hasMorePages()
+              ? consumeAllPages(rs.fetchNextPage(), rowConsumer)
+              : CompletableFuture.<Void>completedStage(null);
+        });
+  }
+
+  /**
+   * Runs the given asynchronous operations with at most {@code lanes} operations in flight,
+   * without blocking the calling thread. Each "lane" starts its next operation when its previous
+   * operation has completed.
+   */
+  static CompletionStage<Void> inLanes(List<Supplier<CompletionStage<?>>> operations, int lanes) {
+    int numLanes = Math.min(lanes, operations.size());
+    CompletableFuture<?>[] laneFutures = new CompletableFuture<?>[numLanes];
+    for (int lane = 0; lane < numLanes; lane++) {
+      CompletionStage<Object> laneStage = CompletableFuture.completedStage(null);
+      for (int i = lane; i < operations.size(); i += numLanes) {
+        Supplier<CompletionStage<?>> operation = operations.get(i);
+        laneStage = laneStage.thenCompose(x -> operation.get().thenApply(y -> null));
+      }
+      laneFutures[lane] = laneStage.toCompletableFuture();
+    }
+    return CompletableFuture.allOf(laneFutures);
+  }
+
+  /**
+   * Translates {@link DriverException}s via {@link #unhandledException(DriverException)} and
+   * unwraps {@link CompletionException}s, so callers see the same exceptions as from the
+   * synchronous functions.
+   */
+  static <T> CompletionStage<T> mapUnhandledExceptions(CompletionStage<T> stage) {
+    CompletableFuture<T> r = new CompletableFuture<>();
+    stage.whenComplete(
+        (v, e) -> {
+          if (e == null) {
+            r.complete(v);
+            return;
+          }
+          Throwable cause =
+              e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+          if (cause instanceof DriverException) {
+            cause = unhandledException((DriverException) cause);
+          }
+          r.completeExceptionally(cause);
+        });
+    return r;
+  }
+
   interface BatchedQuery<K, R> extends AutoCloseable {
     void add(K key, int index);
 
@@ -19,6 +19,8 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static java.util.Objects.requireNonNull;
+import static org.projectnessie.versioned.storage.cassandra2.Cassandra2Backend.inLanes;
+import static org.projectnessie.versioned.storage.cassandra2.Cassandra2Backend.mapUnhandledExceptions;
 import static org.projectnessie.versioned.storage.cassandra2.Cassandra2Backend.unhandledException;
 import static org.projectnessie.versioned.storage.cassandra2.Cassandra2Constants.ADD_REFERENCE;
 import static org.projectnessie.versioned.storage.cassandra2.Cassandra2Constants.COL_OBJ_ID;
@@ -46,6 +48,8 @@ import static org.projectnessie.versioned.storage.cassandra2.Cassandra2Constants
 import static org.projectnessie.versioned.storage.cassandra2.Cassandra2Serde.deserializeObjId;
 import static org.projectnessie.versioned.storage.cassandra2.Cassandra2Serde.serializeObjId;
 import static org.projectnessie.versioned.storage.common.persist.ObjTypes.objTypeByName;
+import static org.projectnessie.versioned.storage.serialize.CompressionDictionaries.dictionaryLoader;
+import static org.projectnessie.versioned.storage.serialize.ObjCompression.objCompression;
 import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.deserializeObj;
 import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.serializePreviousPointers;
 
@@ -62,10 +66,12 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.projectnessie.versioned.storage.cassandra2.Cassandra2Backend.BatchedQuery;
 import org.projectnessie.versioned.storage.common.config.StoreConfig;
@@ -81,16 +87,19 @@ import org.projectnessie.versioned.storage.common.persist.ObjId;
 import org.projectnessie.versioned.storage.common.persist.ObjType;
 import org.projectnessie.versioned.storage.common.persist.Persist;
 import org.projectnessie.versioned.storage.common.persist.Reference;
+import org.projectnessie.versioned.storage.serialize.ObjCompression;
 import org.projectnessie.versioned.storage.serialize.ProtoSerialization;
 
 public class Cassandra2Persist implements Persist {
 
   private final Cassandra2Backend backend;
   private final StoreConfig config;
+  private final ObjCompression objCompression;
 
   Cassandra2Persist(Cassandra2Backend backend, StoreConfig config) {
     this.backend = backend;
     this.config = config;
+    this.objCompression = objCompression(config, dictionaryLoader(this));
   }
 
   @Nonnull
@@ -136,6 +145,19 @@ public class Cassandra2Persist implements Persist {
     }
   }
 
+  @Nonnull
+  @Override
+  public CompletionStage<Reference[]> fetchReferencesAsync(@Nonnull String[] names) {
+    return backend.batchedQueryAsync(
+        names,
+        keys ->
+            backend.executeAsync(
+                backend.buildStatement(FIND_REFERENCES, true, config.repositoryId(), keys)),
+        Cassandra2Serde::deserializeReference,
+        Reference::name,
+        Reference.class);
+  }
+
   @Nonnull
   @Override
   public Reference addReference(@Nonnull Reference reference) throws RefAlreadyExistsException {
@@ -214,22 +236,7 @@ public class Cassandra2Persist implements Persist {
   public Reference updateReferencePointer(@Nonnull Reference reference, @Nonnull ObjId newPointer)
       throws RefNotFoundException, RefConditionFailedException {
     Reference updated = reference.forNewPointer(newPointer, config);
-    byte[] serializedPreviousPointers = serializePreviousPointers(updated.previousPointers());
-    ByteBuffer previous =
-        serializedPreviousPointers != null ? ByteBuffer.wrap(serializedPreviousPointers) : null;
-    BoundStatement stmt =
-        backend.buildStatement(
-            UPDATE_REFERENCE_POINTER,
-            false,
-            serializeObjId(newPointer),
-            previous,
-            config().repositoryId(),
-            reference.name(),
-            serializeObjId(reference.pointer()),
-            false,
-            reference.createdAtMicros(),
-            serializeObjId(reference.extendedInfoObj()));
-    if (!backend.executeCas(stmt)) {
+    if (!backend.executeCas(updateReferencePointerStatement(reference, updated))) {
       Reference ref = fetchReference(reference.name());
       if (ref == null) {
         throw new RefNotFoundException(reference);
@@ -240,6 +247,48 @@ public class Cassandra2Persist implements Persist {
     return updated;
   }
 
+  @Nonnull
+  @Override
+  public CompletionStage<Reference> updateReferencePointerAsync(
+      @Nonnull Reference reference, @Nonnull ObjId newPointer) {
+    Reference updated = reference.forNewPointer(newPointer, config);
+    return mapUnhandledExceptions(
+        backend
+            .executeAsync(updateReferencePointerStatement(reference, updated))
+            .thenCompose(
+                rs -> {
+                  if (rs.wasApplied()) {
+                    return CompletableFuture.completedStage(updated);
+                  }
+                  return fetchReferencesAsync(new String[] {reference.name()})
+                      .thenCompose(
+                          refs -> {
+                            Reference ref = refs[0];
+                            return CompletableFuture.<Reference>failedStage(
+                                ref == null
+                                    ? new RefNotFoundException(reference)
+                                    : new RefConditionFailedException(ref));
+                          });
+                }));
+  }
+
+  private BoundStatement updateReferencePointerStatement(Reference reference, Reference updated) {
+    byte[] serializedPreviousPointers = serializePreviousPointers(updated.previousPointers());
+    ByteBuffer previous =
+        serializedPreviousPointers != null ? ByteBuffer.wrap(serializedPreviousPointers) : null;
+    return backend.buildStatement(
+        UPDATE_REFERENCE_POINTER,
+        false,
+        serializeObjId(updated.pointer()),
+        previous,
+        config().repositoryId(),
+        reference.name(),
+        serializeObjId(reference.pointer()),
+        false,
+        reference.createdAtMicros(),
+        serializeObjId(reference.extendedInfoObj()));
+  }
+
   @SuppressWarnings("unused")
   @Override
   @Nonnull
@@ -272,32 +321,10 @@ public class Cassandra2Persist implements Persist {
   @Override
   public <T extends Obj> T[] fetchTypedObjsIfExist(
       @Nonnull ObjId[] ids, ObjType type, @Nonnull Class<T> typeClass) {
-    Function<List<ObjId>, List<ByteBuffer>> idsToByteBuffers =
-        queryIds -> queryIds.stream().map(ObjId::asByteBuffer).collect(Collectors.toList());
-
-    Function<List<ObjId>, CompletionStage<AsyncResultSet>> queryFunc =
-        keys ->
-            backend.executeAsync(
-                backend.buildStatement(
-                    FIND_OBJS, true, config.repositoryId(), idsToByteBuffers.apply(keys)));
-
-    Function<Row, T> rowMapper =
-        row -> {
-          ObjType objType = objTypeByName(requireNonNull(row.getString(COL_OBJ_TYPE.name())));
-          if (type != null && !type.equals(objType)) {
-            return null;
-          }
-          ObjId id = deserializeObjId(row.getByteBuffer(COL_OBJ_ID.name()));
-          String versionToken = row.getString(COL_OBJ_VERS.name());
-          ByteBuffer serialized = row.getByteBuffer(COL_OBJ_VALUE.name());
-          String colReferenced = COL_OBJ_REFERENCED.name();
-          long referenced = row.isNull(colReferenced) ? -1 : row.getLong(colReferenced);
-          return typeClass.cast(deserializeObj(id, referenced, serialized, versionToken));
-        };
-
     T[] r;
     try (BatchedQuery<ObjId, T> batchedQuery =
-        backend.newBatchedQuery(queryFunc, rowMapper, Obj::id, ids.length, typeClass)) {
+        backend.newBatchedQuery(
+            this::findObjsQuery, objRowMapper(type, typeClass), Obj::id, ids.length, typeClass)) {
 
       for (int i = 0; i < ids.length; i++) {
         ObjId id = ids[i];
@@ -314,6 +341,36 @@ public class Cassandra2Persist implements Persist {
     return r;
   }
 
+  @Nonnull
+  @Override
+  public <T extends Obj> CompletionStage<T[]> fetchTypedObjsIfExistAsync(
+      @Nonnull ObjId[] ids, ObjType type, @Nonnull Class<T> typeClass) {
+    return backend.batchedQueryAsync(
+        ids, this::findObjsQuery, objRowMapper(type, typeClass), Obj::id, typeClass);
+  }
+
+  private CompletionStage<AsyncResultSet> findObjsQuery(List<ObjId> queryIds) {
+    List<ByteBuffer> keys = queryIds.stream().map(ObjId::asByteBuffer).collect(Collectors.toList());
+    return backend.executeAsync(
+        backend.buildStatement(FIND_OBJS, true, config.repositoryId(), keys));
+  }
+
+  private static <T extends Obj> Function<Row, T> objRowMapper(ObjType type, Class<T> typeClass) {
+    return row -> {
+      ObjType objType = objTypeByName(requireNonNull(row.getString(COL_OBJ_TYPE.name())));
+      if (type != null && !type.equals(objType)) {
+        return null;
+      }
+      ObjId id = deserializeObjId(row.getByteBuffer(COL_OBJ_ID.name()));
+      String versionToken = row.getString(COL_OBJ_VERS.name());
+      ByteBuffer serialized = row.getByteBuffer(COL_OBJ_VALUE.name());
+      String colReferenced = COL_OBJ_REFERENCED.name();
+      long referenced = row.isNull(colReferenced) ? -1 : row.getLong(colReferenced);
+      return typeClass.cast(
+          deserializeObj(id, referenced, serialized, versionToken, objCompression));
+    };
+  }
+
   @Override
   public boolean storeObj(@Nonnull Obj obj, boolean ignoreSoftSizeRestrictions)
       throws ObjTooLargeException {
@@ -332,6 +389,42 @@ public class Cassandra2Persist implements Persist {
     return persistObjs(objs, referenced, false);
   }
 
+  @Nonnull
+  @Override
+  public CompletionStage<boolean[]> storeObjsAsync(@Nonnull Obj[] objs) {
+    long referenced = config.currentTimeMicros();
+    boolean[] stored = new boolean[objs.length];
+    List<Supplier<CompletionStage<?>>> writes = new ArrayList<>(objs.length);
+    try {
+      for (int i = 0; i < objs.length; i++) {
+        Obj o = objs[i];
+        if (o != null) {
+          int idx = i;
+          // Serialize eagerly, so that an ObjTooLargeException fails the whole operation before
+          // any write has been issued.
+          BoundStatement stmt = writeSingleObj(o, referenced, false, false, s -> s);
+          writes.add(
+              () ->
+                  backend
+                      .executeAsync(stmt)
+                      .thenCompose(
+                          rs -> {
+                            if (rs.wasApplied()) {
+                              stored[idx] = true;
+                              return CompletableFuture.<AsyncResultSet>completedStage(null);
+                            }
+                            return updateSingleReferenced(
+                                o.id(), referenced, backend::executeAsync);
+                          }));
+        }
+      }
+    } catch (ObjTooLargeException e) {
+      return CompletableFuture.failedStage(e);
+    }
+
+    return mapUnhandledExceptions(inLanes(writes, MAX_CONCURRENT_STORES).thenApply(v -> stored));
+  }
+
   @Override
   public void upsertObj(@Nonnull Obj obj) throws ObjTooLargeException {
     long referenced = config.currentTimeMicros();
@@ -394,7 +487,8 @@ public class Cassandra2Persist implements Persist {
             newValue,
             effectiveIncrementalIndexSizeLimit(),
             effectiveIndexSegmentSizeLimit(),
-            false);
+            false,
+            objCompression);
 
     long referenced = config.currentTimeMicros();
 
@@ -545,7 +639,7 @@ public class Cassandra2Persist implements Persist {
 
     byte[] serialized =
         ProtoSerialization.serializeObj(
-            obj, incrementalIndexSizeLimit, indexSegmentSizeLimit, false);
+            obj, incrementalIndexSizeLimit, indexSegmentSizeLimit, false, objCompression);
 
     BoundStatementBuilder stmt =
         backend
@@ -633,7 +727,7 @@ public class Cassandra2Persist implements Persist {
         String versionToken = row.getString(COL_OBJ_VERS.name());
         ByteBuffer serialized = row.getByteBuffer(COL_OBJ_VALUE.name());
         long referenced = row.getLong(COL_OBJ_REFERENCED.name());
-        return deserializeObj(id, referenced, serialized, versionToken);
+        return deserializeObj(id, referenced, serialized, versionToken, objCompression);
       }
     }
   }
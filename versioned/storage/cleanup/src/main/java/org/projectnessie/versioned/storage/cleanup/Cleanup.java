@@ -15,7 +15,9 @@
  */
 package org.projectnessie.versioned.storage.cleanup;
 
+import static com.google.common.base.Preconditions.checkState;
 import static org.projectnessie.versioned.storage.cleanup.PurgeFilter.ReferencedObjectsPurgeFilter.referencedObjectsPurgeFilter;
+import static org.projectnessie.versioned.storage.cleanup.PurgeObjectsContext.purgeObjectsContext;
 import static org.projectnessie.versioned.storage.cleanup.ReferencedObjectsContext.objectsResolverContext;
 
 import org.projectnessie.versioned.storage.common.persist.Obj;
@@ -72,7 +74,8 @@ public class Cleanup {
    * <p>Uses an instance of {@link
    * org.projectnessie.versioned.storage.cleanup.PurgeFilter.ReferencedObjectsPurgeFilter} using a
    * bloom filter based {@link ReferencedObjectsFilter}, both configured using {@link
-   * CleanupParams}'s attributes.
+   * CleanupParams}'s attributes. If {@link CleanupParams#referencedObjectsFilterDirectory()} is
+   * set, a {@link PartitionedReferencedObjectsFilter} in that directory is used.
    *
    * @param persist the persistence/repository to run against
    * @param maxObjReferencedInMicrosSinceEpoch only {@link Obj}s with a {@link Obj#referenced()}
@@ -83,12 +86,41 @@ public class Cleanup {
    */
   public ReferencedObjectsContext buildReferencedObjectsContext(
       Persist persist, long maxObjReferencedInMicrosSinceEpoch) {
-    var referencedObjects = new ReferencedObjectsFilterImpl(cleanupParams);
+    ReferencedObjectsFilter referencedObjects =
+        cleanupParams
+            .referencedObjectsFilterDirectory()
+            .<ReferencedObjectsFilter>map(
+                dir ->
+                    PartitionedReferencedObjectsFilter.create(
+                        dir, cleanupParams, maxObjReferencedInMicrosSinceEpoch))
+            .orElseGet(() -> new ReferencedObjectsFilterImpl(cleanupParams));
     var purgeFilter =
         referencedObjectsPurgeFilter(referencedObjects, maxObjReferencedInMicrosSinceEpoch);
     return objectsResolverContext(persist, cleanupParams, referencedObjects, purgeFilter);
   }
 
+  /**
+   * Create the context holder to purge unreferenced objects from the {@link
+   * PartitionedReferencedObjectsFilter} persisted in {@link
+   * CleanupParams#referencedObjectsFilterDirectory()} by a previously completed {@link
+   * ReferencedObjectsResolver#resolve()}, without resolving the referenced objects again.
+   *
+   * <p>The returned context uses a {@link
+   * org.projectnessie.versioned.storage.cleanup.PurgeFilter.ReferencedObjectsPurgeFilter} with the
+   * {@code maxObjReferenced} value that has been used to resolve the referenced objects, which is
+   * recorded in the persisted filter. Objects written after that timestamp are not recorded in the
+   * filter and must not be deleted. The returned context must be closed after the purge.
+   */
+  public PurgeObjectsContext buildPurgeObjectsContext(Persist persist) {
+    var directory = cleanupParams.referencedObjectsFilterDirectory();
+    checkState(directory.isPresent(), "No referenced objects filter directory configured");
+    var referencedObjects = PartitionedReferencedObjectsFilter.open(directory.get());
+    var purgeFilter =
+        referencedObjectsPurgeFilter(
+            referencedObjects, referencedObjects.maxObjReferencedInMicrosSinceEpoch());
+    return purgeObjectsContext(persist, cleanupParams, referencedObjects, purgeFilter);
+  }
+
   /**
    * Creates a new objects-resolver instance to identify <em>referenced</em> objects, which must be
    * retained.
@@ -19,13 +19,16 @@ import static org.projectnessie.versioned.storage.common.logic.InternalRef.REF_R
 import static org.projectnessie.versioned.storage.common.logic.InternalRef.REF_REPO;
 import static org.projectnessie.versioned.transfer.related.CompositeTransferRelatedObjects.createCompositeTransferRelatedObjects;
 
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Optional;
 import java.util.function.IntFunction;
 import org.immutables.value.Value;
 import org.projectnessie.nessie.immutables.NessieImmutable;
 import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
 import org.projectnessie.versioned.storage.common.persist.Obj;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
 import org.projectnessie.versioned.transfer.related.TransferRelatedObjects;
 
 /**
@@ -44,6 +47,9 @@ public interface CleanupParams {
   boolean DEFAULT_ALLOW_DUPLICATE_COMMIT_TRAVERSALS = false;
   int DEFAULT_PENDING_OBJS_BATCH_SIZE = 20;
   int DEFAULT_RECENT_OBJ_IDS_FILTER_SIZE = 100_000;
+  int DEFAULT_PURGE_DELETE_PARALLELISM = 4;
+  int DEFAULT_PURGE_DELETE_QUEUE_SIZE = 1_000;
+  int DEFAULT_REFERENCED_OBJECTS_FILTER_PARTITIONS = 64;
 
   static ImmutableCleanupParams.Builder builder() {
     return ImmutableCleanupParams.builder();
@@ -92,6 +98,26 @@ public interface CleanupParams {
     return DEFAULT_ALLOWED_FALSE_POSITIVE_PROBABILITY;
   }
 
+  /**
+   * Optional directory for a {@link PartitionedReferencedObjectsFilter}. If set, the referenced
+   * objects are tracked in memory-mapped files in this directory using a filter that grows with
+   * the number of referenced objects, so {@link ReferencedObjectsResolver#resolve()} never throws
+   * {@link MustRestartWithBiggerFilterException}. {@link #expectedObjCount()} is then only used to
+   * size the initial filter stages, {@link #allowedFalsePositiveProbability()} is not used. The
+   * persisted filter can be used to run the purge phase separately, see {@link
+   * Cleanup#buildPurgeObjectsContext(Persist)}.
+   */
+  Optional<Path> referencedObjectsFilterDirectory();
+
+  /**
+   * Number of partitions of the {@link PartitionedReferencedObjectsFilter}, defaults to {@value
+   * #DEFAULT_REFERENCED_OBJECTS_FILTER_PARTITIONS}.
+   */
+  @Value.Default
+  default int referencedObjectsFilterPartitions() {
+    return DEFAULT_REFERENCED_OBJECTS_FILTER_PARTITIONS;
+  }
+
   /** Helper functionality to identify related {@link Obj}s, see {@link TransferRelatedObjects}. */
   @Value.Default
   default TransferRelatedObjects relatedObjects() {
@@ -149,6 +175,26 @@ public interface CleanupParams {
     return 0;
   }
 
+  /**
+   * Number of threads deleting unreferenced objects during {@link PurgeObjects#purge()}, defaults
+   * to {@value #DEFAULT_PURGE_DELETE_PARALLELISM}. All threads share the rate limit defined by
+   * {@link #purgeDeleteObjRatePerSecond()}.
+   */
+  @Value.Default
+  default int purgeDeleteParallelism() {
+    return DEFAULT_PURGE_DELETE_PARALLELISM;
+  }
+
+  /**
+   * Maximum number of unreferenced objects that have been identified by the scan during {@link
+   * PurgeObjects#purge()} but not yet deleted, defaults to {@value
+   * #DEFAULT_PURGE_DELETE_QUEUE_SIZE}. The scan waits, if the delete threads cannot keep up.
+   */
+  @Value.Default
+  default int purgeDeleteQueueSize() {
+    return DEFAULT_PURGE_DELETE_QUEUE_SIZE;
+  }
+
   /**
    * {@link ReferencedObjectsResolver} attempts to fetch objects from the backend database in
    * batches, this parameter defines the batch size, defaults to {@link
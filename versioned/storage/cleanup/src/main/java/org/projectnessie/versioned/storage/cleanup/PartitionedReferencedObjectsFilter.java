@@ -0,0 +1,468 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cleanup;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static java.lang.String.format;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import org.agrona.IoUtil;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+
+/**
+ * {@link ReferencedObjectsFilter} for huge repositories, that does not need to be sized upfront
+ * and keeps its data in memory-mapped files instead of the Java heap.
+ *
+ * <p>Object IDs are distributed across a fixed number of partitions by their hash. Each partition
+ * is a scalable bloom filter: a chain of bloom filter stages, each with twice the capacity and half
+ * the false-positive-probability of the previous one. A new stage is added when the current one
+ * reached its capacity, so the overall false-positive-probability stays below the configured {@link
+ * CleanupParams#falsePositiveProbability()} and the resolve phase never has to be restarted with
+ * a bigger filter.
+ *
+ * <p>The bit arrays of the stages live in memory-mapped files in a directory. Once all referenced
+ * objects have been {@linkplain #markComplete() marked}, a manifest is written, which allows
+ * {@linkplain #open(Path) opening} the filter read-only later, for example to run the purge phase
+ * in a separate process. The manifest also records the {@code maxObjReferenced} timestamp used to
+ * resolve the referenced objects, which must be used for the purge phase as well.
+ *
+ * <p>The memory mappings are released when the filter is {@linkplain #close() closed}, the filter
+ * must not be used after that.
+ */
+public final class PartitionedReferencedObjectsFilter implements ReferencedObjectsFilter {
+
+  static final String MANIFEST = "referenced-objects-filter.properties";
+  private static final String STAGE_FILE_SUFFIX = ".bits";
+
+  /** Ratio of the false-positive-probabilities of two consecutive stages. */
+  private static final double FPP_RATIO = 0.5d;
+
+  /** Maximum size of a stage's bit array in bytes, the size of a single memory mapping. */
+  static final int MAX_STAGE_BYTES = 1 << 30;
+
+  private static final int MIN_STAGE_CAPACITY = 1024;
+
+  private static final HashFunction HASH = Hashing.murmur3_128();
+
+  private final Path directory;
+  private final boolean readOnly;
+  private final long maxObjReferencedInMicrosSinceEpoch;
+  private final double falsePositiveProbability;
+  private final long initialStageCapacity;
+  private final Partition[] partitions;
+
+  private PartitionedReferencedObjectsFilter(
+      Path directory,
+      boolean readOnly,
+      long maxObjReferencedInMicrosSinceEpoch,
+      double falsePositiveProbability,
+      long initialStageCapacity,
+      int numPartitions) {
+    this.directory = directory;
+    this.readOnly = readOnly;
+    this.maxObjReferencedInMicrosSinceEpoch = maxObjReferencedInMicrosSinceEpoch;
+    this.falsePositiveProbability = falsePositiveProbability;
+    this.initialStageCapacity = initialStageCapacity;
+    this.partitions = new Partition[numPartitions];
+    for (int i = 0; i < numPartitions; i++) {
+      partitions[i] = new Partition(i);
+    }
+  }
+
+  /**
+   * Creates a new, empty filter in the given directory. Files of a previous filter in that
+   * directory are deleted.
+   *
+   * @param maxObjReferencedInMicrosSinceEpoch the value used to resolve the referenced objects, see
+   *     {@link Cleanup#buildReferencedObjectsContext(Persist, long)}, persisted in the manifest
+   */
+  public static PartitionedReferencedObjectsFilter create(
+      Path directory, CleanupParams params, long maxObjReferencedInMicrosSinceEpoch) {
+    int numPartitions = params.referencedObjectsFilterPartitions();
+    checkArgument(numPartitions > 0, "Number of filter partitions must be positive");
+    double fpp = params.falsePositiveProbability();
+    checkArgument(fpp > 0d && fpp < 1d, "False positive probability must be between 0 and 1");
+
+    try {
+      Files.createDirectories(directory);
+      deleteFilterFiles(directory);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    long capacity = Math.max(MIN_STAGE_CAPACITY, params.expectedObjCount() / numPartitions + 1);
+    return new PartitionedReferencedObjectsFilter(
+        directory, false, maxObjReferencedInMicrosSinceEpoch, fpp, capacity, numPartitions);
+  }
+
+  /**
+   * Opens a {@linkplain #markComplete() completed} filter read-only, for example to run the purge
+   * phase.
+   */
+  public static PartitionedReferencedObjectsFilter open(Path directory) {
+    Properties manifest = new Properties();
+    try (InputStream in = Files.newInputStream(directory.resolve(MANIFEST))) {
+      manifest.load(in);
+    } catch (IOException e) {
+      throw new UncheckedIOException(
+          format(
+              "Referenced objects filter in %s cannot be opened, the resolve phase might not "
+                  + "have completed",
+              directory),
+          e);
+    }
+
+    String maxObjReferenced = manifest.getProperty("max-obj-referenced");
+    checkState(
+        maxObjReferenced != null,
+        "Referenced objects filter in %s does not contain the max-obj-referenced timestamp",
+        directory);
+    int numPartitions = Integer.parseInt(manifest.getProperty("partitions"));
+    PartitionedReferencedObjectsFilter filter =
+        new PartitionedReferencedObjectsFilter(
+            directory,
+            true,
+            Long.parseLong(maxObjReferenced),
+            Double.parseDouble(manifest.getProperty("fpp")),
+            Long.parseLong(manifest.getProperty("initial-stage-capacity")),
+            numPartitions);
+    for (Partition partition : filter.partitions) {
+      String prefix = "partition." + partition.index + '.';
+      int numStages = Integer.parseInt(manifest.getProperty(prefix + "stages"));
+      for (int s = 0; s < numStages; s++) {
+        String stagePrefix = prefix + "stage." + s + '.';
+        partition.stages.add(
+            filter.mapStage(
+                partition.index,
+                s,
+                Long.parseLong(manifest.getProperty(stagePrefix + "bits")),
+                Integer.parseInt(manifest.getProperty(stagePrefix + "hashes")),
+                Long.parseLong(manifest.getProperty(stagePrefix + "capacity")),
+                Long.parseLong(manifest.getProperty(stagePrefix + "count"))));
+      }
+    }
+    return filter;
+  }
+
+  public Path directory() {
+    return directory;
+  }
+
+  /**
+   * The {@code maxObjReferenced} timestamp that has been used to resolve the referenced objects
+   * recorded in this filter. Objects that have been written after this timestamp are not recorded
+   * in this filter, so the purge phase must use this value, see {@link
+   * Cleanup#buildPurgeObjectsContext(Persist)}.
+   */
+  public long maxObjReferencedInMicrosSinceEpoch() {
+    return maxObjReferencedInMicrosSinceEpoch;
+  }
+
+  @Override
+  public boolean markReferenced(ObjId objId) {
+    checkState(!readOnly, "Referenced objects filter has been opened read-only");
+    long[] hash = hash(objId);
+    return partition(hash).add(hash);
+  }
+
+  @Override
+  public boolean isProbablyReferenced(ObjId objId) {
+    long[] hash = hash(objId);
+    return partition(hash).mightContain(hash);
+  }
+
+  /** Always {@code true}, the filter adds stages to stay within the expected FPP. */
+  @Override
+  public boolean withinExpectedFpp() {
+    return true;
+  }
+
+  @Override
+  public long approximateElementCount() {
+    long count = 0L;
+    for (Partition partition : partitions) {
+      count += partition.count();
+    }
+    return count;
+  }
+
+  @Override
+  public double expectedFpp() {
+    double fpp = 0d;
+    for (Partition partition : partitions) {
+      fpp = Math.max(fpp, partition.expectedFpp());
+    }
+    return fpp;
+  }
+
+  /** The bit arrays live in memory-mapped files, only the bookkeeping lives on the Java heap. */
+  @Override
+  public long estimatedHeapPressure() {
+    long stages = 0L;
+    for (Partition partition : partitions) {
+      stages += partition.numStages();
+    }
+    return 64L * partitions.length + 128L * stages;
+  }
+
+  /**
+   * Flushes all memory-mapped bit arrays and writes the manifest, which allows {@linkplain
+   * #open(Path) opening} the filter later.
+   */
+  @Override
+  public void markComplete() {
+    if (readOnly) {
+      return;
+    }
+
+    Properties manifest = new Properties();
+    manifest.setProperty(
+        "max-obj-referenced", Long.toString(maxObjReferencedInMicrosSinceEpoch));
+    manifest.setProperty("partitions", Integer.toString(partitions.length));
+    manifest.setProperty("fpp", Double.toString(falsePositiveProbability));
+    manifest.setProperty("initial-stage-capacity", Long.toString(initialStageCapacity));
+    for (Partition partition : partitions) {
+      partition.flush(manifest);
+    }
+
+    Path target = directory.resolve(MANIFEST);
+    Path tmp = directory.resolve(MANIFEST + ".tmp");
+    try {
+      try (OutputStream out = Files.newOutputStream(tmp)) {
+        manifest.store(out, "Nessie referenced objects filter");
+      }
+      Files.move(tmp, target, REPLACE_EXISTING, ATOMIC_MOVE);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** Releases the memory mappings of all stages, the filter must not be used afterwards. */
+  @Override
+  public void close() {
+    for (Partition partition : partitions) {
+      partition.close();
+    }
+  }
+
+  private Partition partition(long[] hash) {
+    return partitions[(int) Long.remainderUnsigned(hash[1] >>> 32, partitions.length)];
+  }
+
+  private static long[] hash(ObjId objId) {
+    ByteBuffer hash =
+        ByteBuffer.wrap(HASH.hashBytes(objId.asByteArray()).asBytes())
+            .order(ByteOrder.LITTLE_ENDIAN);
+    return new long[] {hash.getLong(0), hash.getLong(8)};
+  }
+
+  private static void deleteFilterFiles(Path directory) throws IOException {
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+      for (Path file : files) {
+        String name = file.getFileName().toString();
+        if (name.startsWith(MANIFEST) || name.endsWith(STAGE_FILE_SUFFIX)) {
+          Files.delete(file);
+        }
+      }
+    }
+  }
+
+  private Stage newStage(int partition, int stageIndex) {
+    double stageFpp =
+        falsePositiveProbability * (1d - FPP_RATIO) * Math.pow(FPP_RATIO, stageIndex);
+    long capacity = initialStageCapacity << Math.min(stageIndex, 20);
+    long bits = optimalNumOfBits(capacity, stageFpp);
+    long maxBits = (long) MAX_STAGE_BYTES * Byte.SIZE;
+    if (bits > maxBits) {
+      bits = maxBits;
+      capacity = Math.max(1L, (long) (bits * Math.log(2) * Math.log(2) / -Math.log(stageFpp)));
+    }
+    bits = (bits + Long.SIZE - 1) / Long.SIZE * Long.SIZE;
+    int hashes = Math.max(1, (int) Math.round((double) bits / capacity * Math.log(2)));
+    return mapStage(partition, stageIndex, bits, hashes, capacity, 0L);
+  }
+
+  private Stage mapStage(
+      int partition, int stageIndex, long bits, int hashes, long capacity, long count) {
+    Path file =
+        directory.resolve(format("p%05d-s%03d%s", partition, stageIndex, STAGE_FILE_SUFFIX));
+    int bytes = (int) (bits / Byte.SIZE);
+    try (FileChannel channel =
+        readOnly
+            ? FileChannel.open(file, StandardOpenOption.READ)
+            : FileChannel.open(
+                file,
+                StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+      MappedByteBuffer buffer =
+          channel.map(
+              readOnly ? FileChannel.MapMode.READ_ONLY : FileChannel.MapMode.READ_WRITE, 0, bytes);
+      return new Stage(buffer, bits, hashes, capacity, count);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  // See com.google.common.hash.BloomFilter.optimalNumOfBits
+  private static long optimalNumOfBits(long expectedInsertions, double fpp) {
+    return (long) (-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+  }
+
+  private final class Partition {
+    final int index;
+    final List<Stage> stages = new ArrayList<>();
+    boolean closed;
+
+    Partition(int index) {
+      this.index = index;
+    }
+
+    synchronized boolean add(long[] hash) {
+      if (mightContain(hash)) {
+        return false;
+      }
+      Stage current = stages.isEmpty() ? null : stages.get(stages.size() - 1);
+      if (current == null || current.count >= current.capacity) {
+        current = newStage(index, stages.size());
+        stages.add(current);
+      }
+      current.put(hash);
+      return true;
+    }
+
+    synchronized boolean mightContain(long[] hash) {
+      // Accessing an unmapped buffer crashes the JVM
+      checkState(!closed, "Referenced objects filter has been closed");
+      for (Stage stage : stages) {
+        if (stage.mightContain(hash)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    synchronized long count() {
+      long count = 0L;
+      for (Stage stage : stages) {
+        count += stage.count;
+      }
+      return count;
+    }
+
+    synchronized int numStages() {
+      return stages.size();
+    }
+
+    synchronized double expectedFpp() {
+      // Probability that at least one stage reports a false positive
+      double none = 1d;
+      for (Stage stage : stages) {
+        none *= 1d - stage.expectedFpp();
+      }
+      return 1d - none;
+    }
+
+    synchronized void close() {
+      if (!closed) {
+        closed = true;
+        for (Stage stage : stages) {
+          IoUtil.unmap(stage.buffer);
+        }
+        stages.clear();
+      }
+    }
+
+    synchronized void flush(Properties manifest) {
+      checkState(!closed, "Referenced objects filter has been closed");
+      String prefix = "partition." + index + '.';
+      manifest.setProperty(prefix + "stages", Integer.toString(stages.size()));
+      for (int s = 0; s < stages.size(); s++) {
+        Stage stage = stages.get(s);
+        stage.buffer.force();
+        String stagePrefix = prefix + "stage." + s + '.';
+        manifest.setProperty(stagePrefix + "bits", Long.toString(stage.bits));
+        manifest.setProperty(stagePrefix + "hashes", Integer.toString(stage.hashes));
+        manifest.setProperty(stagePrefix + "capacity", Long.toString(stage.capacity));
+        manifest.setProperty(stagePrefix + "count", Long.toString(stage.count));
+      }
+    }
+  }
+
+  /** A single bloom filter, using the same double-hashing scheme as Guava's bloom filter. */
+  private static final class Stage {
+    final MappedByteBuffer buffer;
+    final long bits;
+    final int hashes;
+    final long capacity;
+    long count;
+
+    Stage(MappedByteBuffer buffer, long bits, int hashes, long capacity, long count) {
+      this.buffer = buffer;
+      this.bits = bits;
+      this.hashes = hashes;
+      this.capacity = capacity;
+      this.count = count;
+    }
+
+    void put(long[] hash) {
+      long combined = hash[0];
+      for (int i = 0; i < hashes; i++) {
+        long bit = (combined & Long.MAX_VALUE) % bits;
+        int index = (int) (bit >>> 3);
+        buffer.put(index, (byte) (buffer.get(index) | (1 << (bit & 7))));
+        combined += hash[1];
+      }
+      count++;
+    }
+
+    boolean mightContain(long[] hash) {
+      long combined = hash[0];
+      for (int i = 0; i < hashes; i++) {
+        long bit = (combined & Long.MAX_VALUE) % bits;
+        if ((buffer.get((int) (bit >>> 3)) & (1 << (bit & 7))) == 0) {
+          return false;
+        }
+        combined += hash[1];
+      }
+      return true;
+    }
+
+    double expectedFpp() {
+      return Math.pow(1d - Math.exp(-(double) hashes * count / bits), hashes);
+    }
+  }
+}
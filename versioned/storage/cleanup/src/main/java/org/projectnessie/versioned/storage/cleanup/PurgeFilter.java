@@ -18,6 +18,7 @@ package org.projectnessie.versioned.storage.cleanup;
 import jakarta.validation.constraints.NotNull;
 import java.util.List;
 import org.projectnessie.nessie.immutables.NessieImmutable;
+import org.projectnessie.versioned.storage.common.objtypes.CompressionDictionaryObj;
 import org.projectnessie.versioned.storage.common.persist.Obj;
 
 /** Filter to decide whether an {@link Obj} must be kept or whether it can be deleted. */
@@ -50,6 +51,9 @@ public interface PurgeFilter {
   /**
    * Recommended default purge filter, which considers a {@link ReferencedObjectsFilter} and a
    * maximum value of {@link Obj#referenced()}.
+   *
+   * <p>{@link CompressionDictionaryObj Compression dictionaries} are always kept, because they are
+   * referenced by compressed objects only via their serialized representation.
    */
   @NessieImmutable
   interface ReferencedObjectsPurgeFilter extends PurgeFilter {
@@ -66,6 +70,7 @@ public interface PurgeFilter {
     @Override
     default boolean mustKeep(Obj obj) {
       return obj.referenced() > maxObjReferencedInMicrosSinceEpoch()
+          || CompressionDictionaryObj.TYPE.equals(obj.type())
           || referencedObjects().isProbablyReferenced(obj.id());
     }
   }
@@ -27,9 +27,12 @@ import org.projectnessie.versioned.storage.common.persist.Persist;
  * data structures that are not needed for the purge operation should become eligible for Java GC,
  * which is why this context object exists and holds less information than {@link
  * ReferencedObjectsContext}.
+ *
+ * <p>The context must be {@linkplain #close() closed} after the purge operation, to release the
+ * resources held by the {@linkplain #referencedObjects() referenced objects filter}.
  */
 @NessieImmutable
-public interface PurgeObjectsContext {
+public interface PurgeObjectsContext extends AutoCloseable {
   @NotNull
   Persist persist();
 
@@ -45,14 +48,37 @@ public interface PurgeObjectsContext {
 
   static PurgeObjectsContext purgeObjectsContext(
       ReferencedObjectsContext referencedObjectsContext) {
-    return ImmutablePurgeObjectsContext.of(
+    return purgeObjectsContext(
         referencedObjectsContext.persist(),
+        referencedObjectsContext.params(),
         referencedObjectsContext.referencedObjects(),
-        referencedObjectsContext.purgeFilter(),
-        referencedObjectsContext.params().purgeScanObjRatePerSecond(),
-        referencedObjectsContext.params().purgeDeleteObjRatePerSecond(),
-        referencedObjectsContext.params().dryRun());
+        referencedObjectsContext.purgeFilter());
+  }
+
+  static PurgeObjectsContext purgeObjectsContext(
+      Persist persist,
+      CleanupParams params,
+      ReferencedObjectsFilter referencedObjects,
+      PurgeFilter purgeFilter) {
+    return ImmutablePurgeObjectsContext.of(
+        persist,
+        referencedObjects,
+        purgeFilter,
+        params.purgeScanObjRatePerSecond(),
+        params.purgeDeleteObjRatePerSecond(),
+        params.dryRun(),
+        params.purgeDeleteParallelism(),
+        params.purgeDeleteQueueSize());
   }
 
   boolean dryRun();
+
+  int deleteParallelism();
+
+  int deleteQueueSize();
+
+  @Override
+  default void close() {
+    referencedObjects().close();
+  }
 }
@@ -18,14 +18,30 @@ package org.projectnessie.versioned.storage.cleanup;
 import static com.google.common.base.Preconditions.checkState;
 import static org.projectnessie.versioned.storage.cleanup.HeapSizes.memSizeToStringMB;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.IntFunction;
 import org.projectnessie.versioned.storage.common.persist.CloseableIterator;
 import org.projectnessie.versioned.storage.common.persist.Obj;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Purges unreferenced objects using a pipeline of two stages: the calling thread scans all objects
+ * and hands the unreferenced ones via a bounded queue to {@linkplain
+ * PurgeObjectsContext#deleteParallelism() a number of} delete threads, which share the delete rate
+ * limit.
+ */
 final class PurgeObjectsImpl implements PurgeObjects {
   private static final Logger LOGGER = LoggerFactory.getLogger(PurgeObjectsImpl.class);
 
@@ -48,32 +64,22 @@ final class PurgeObjectsImpl implements PurgeObjects {
   public PurgeResult purge() {
     checkState(used.compareAndSet(false, true), "purge() has already been called.");
 
-    var purgeFilter = purgeObjectsContext.purgeFilter();
     var persist = purgeObjectsContext.persist();
     var clock = persist.config().clock();
 
     LOGGER.info(
-        "Purging unreferenced objects in repository '{}', scanning {} objects per second, deleting {} objects per second, estimated context heap pressure: {}",
+        "Purging unreferenced objects in repository '{}', scanning {} objects per second, deleting {} objects per second using {} threads, estimated context heap pressure: {}",
         persist.config().repositoryId(),
         scanRateLimiter,
         purgeRateLimiter,
+        purgeObjectsContext.deleteParallelism(),
         memSizeToStringMB(estimatedHeapPressure()));
 
     PurgeStats finalStats = null;
     try {
       stats.started = clock.instant();
-      try (CloseableIterator<Obj> iter = persist.scanAllObjects(Set.of())) {
-        while (iter.hasNext()) {
-          scanRateLimiter.acquire();
-          stats.numScannedObjs++;
-          var obj = iter.next();
-          if (purgeFilter.mustKeep(obj)) {
-            continue;
-          }
-
-          purgeRateLimiter.acquire();
-          purgeObj(obj);
-        }
+      try {
+        scanAndDelete();
       } catch (RuntimeException e) {
         stats.failure = e;
       } finally {
@@ -118,9 +124,103 @@ final class PurgeObjectsImpl implements PurgeObjects {
     return purgeObjectsContext.referencedObjects().estimatedHeapPressure();
   }
 
+  private void scanAndDelete() {
+    var purgeFilter = purgeObjectsContext.purgeFilter();
+    var persist = purgeObjectsContext.persist();
+
+    int parallelism = Math.max(1, purgeObjectsContext.deleteParallelism());
+    BlockingQueue<Obj> queue =
+        new ArrayBlockingQueue<>(Math.max(1, purgeObjectsContext.deleteQueueSize()));
+    AtomicBoolean scanFinished = new AtomicBoolean();
+    AtomicBoolean aborted = new AtomicBoolean();
+
+    AtomicInteger threadNum = new AtomicInteger();
+    ExecutorService executor =
+        Executors.newFixedThreadPool(
+            parallelism,
+            r -> {
+              var t = new Thread(r, "nessie-purge-delete-" + threadNum.incrementAndGet());
+              t.setDaemon(true);
+              return t;
+            });
+    try {
+      List<Future<?>> deleters = new ArrayList<>(parallelism);
+      for (int i = 0; i < parallelism; i++) {
+        deleters.add(executor.submit(() -> deleteQueued(queue, scanFinished, aborted)));
+      }
+
+      try (CloseableIterator<Obj> iter = persist.scanAllObjects(Set.of())) {
+        while (iter.hasNext() && !aborted.get()) {
+          scanRateLimiter.acquire();
+          stats.numScannedObjs++;
+          var obj = iter.next();
+          if (purgeFilter.mustKeep(obj)) {
+            continue;
+          }
+
+          // Blocks, if the delete threads cannot keep up
+          while (!aborted.get()) {
+            if (queue.offer(obj, 100, TimeUnit.MILLISECONDS)) {
+              stats.numQueuedObjs++;
+              break;
+            }
+          }
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException("Interrupted while purging unreferenced objects", e);
+      } catch (RuntimeException e) {
+        aborted.set(true);
+        throw e;
+      } finally {
+        scanFinished.set(true);
+      }
+
+      // Propagate the first failure of a delete thread
+      for (Future<?> deleter : deleters) {
+        try {
+          deleter.get();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new RuntimeException("Interrupted while purging unreferenced objects", e);
+        } catch (ExecutionException e) {
+          var cause = e.getCause();
+          throw cause instanceof RuntimeException
+              ? (RuntimeException) cause
+              : new RuntimeException(cause);
+        }
+      }
+    } finally {
+      aborted.set(true);
+      executor.shutdownNow();
+    }
+  }
+
+  private Void deleteQueued(
+      BlockingQueue<Obj> queue, AtomicBoolean scanFinished, AtomicBoolean aborted)
+      throws InterruptedException {
+    try {
+      while (!aborted.get()) {
+        var obj = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (obj == null) {
+          if (scanFinished.get() && queue.isEmpty()) {
+            break;
+          }
+          continue;
+        }
+
+        purgeRateLimiter.acquire();
+        purgeObj(obj);
+      }
+      return null;
+    } catch (RuntimeException e) {
+      aborted.set(true);
+      throw e;
+    }
+  }
+
   private void purgeObj(Obj obj) {
-    // TODO delete in parallel (multiple threads)
-    stats.numPurgedObjs++;
+    stats.numPurgedObjs.incrementAndGet();
 
     var persist = purgeObjectsContext.persist();
 
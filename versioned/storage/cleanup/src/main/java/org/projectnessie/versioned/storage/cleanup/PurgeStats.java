@@ -33,6 +33,17 @@ public interface PurgeStats {
   /** Number of objects handled while scanning the Nessie repository. */
   long numScannedObjs();
 
+  /**
+   * Number of unreferenced objects identified by the scan and handed over to the delete threads.
+   */
+  long numQueuedObjs();
+
+  /**
+   * Number of unreferenced objects identified by the scan but not yet processed by the delete
+   * threads, at the time these stats were taken.
+   */
+  long numPendingObjs();
+
   /**
    * Number of purged (deleted) objects. For a {@linkplain CleanupParams#dryRun() dry-run}, this
    * value indicates the number of objects that <em>would</em> have been deleted.
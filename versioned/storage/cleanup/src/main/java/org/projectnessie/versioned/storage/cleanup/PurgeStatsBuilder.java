@@ -17,6 +17,7 @@ package org.projectnessie.versioned.storage.cleanup;
 
 import java.time.Instant;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 final class PurgeStatsBuilder {
   Instant started;
@@ -24,11 +25,22 @@ final class PurgeStatsBuilder {
 
   Exception failure;
 
+  // Updated by the scanning thread
   long numScannedObjs;
-  long numPurgedObjs;
+  long numQueuedObjs;
+  // Updated by the delete threads
+  final AtomicLong numPurgedObjs = new AtomicLong();
 
   PurgeStats build() {
+    long queued = numQueuedObjs;
+    long purged = numPurgedObjs.get();
     return ImmutablePurgeStats.of(
-        started, ended, numScannedObjs, numPurgedObjs, Optional.ofNullable(failure));
+        started,
+        ended,
+        numScannedObjs,
+        queued,
+        Math.max(0L, queued - purged),
+        purged,
+        Optional.ofNullable(failure));
   }
 }
@@ -26,7 +26,7 @@ import org.projectnessie.versioned.storage.common.persist.ObjId;
  * means that there is a {@linkplain #expectedFpp() chance} that an unreferenced object is not
  * collected, but all referenced objects are guaranteed to remain.
  */
-public interface ReferencedObjectsFilter {
+public interface ReferencedObjectsFilter extends AutoCloseable {
   boolean markReferenced(@NotNull ObjId objId);
 
   boolean isProbablyReferenced(@NotNull ObjId objId);
@@ -38,4 +38,17 @@ public interface ReferencedObjectsFilter {
   double expectedFpp();
 
   long estimatedHeapPressure();
+
+  /**
+   * Called once all referenced objects have been marked. Implementations that persist the filter,
+   * like {@link PartitionedReferencedObjectsFilter}, make it durable here.
+   */
+  default void markComplete() {}
+
+  /**
+   * Releases resources held outside the Java heap, like the memory mappings of {@link
+   * PartitionedReferencedObjectsFilter}. The filter must not be used afterwards.
+   */
+  @Override
+  default void close() {}
 }
@@ -106,6 +106,7 @@ final class ReferencedObjectsResolverImpl implements ReferencedObjectsResolver {
     ResolveStats finalStats = null;
     try {
       finalStats = doResolve(persist, params);
+      referencedObjectsContext.referencedObjects().markComplete();
 
       LOGGER.info(
           "Successfully finished identifying referenced objects after {} in repository '{}', resolve stats: {}, estimated context heap pressure: {}",
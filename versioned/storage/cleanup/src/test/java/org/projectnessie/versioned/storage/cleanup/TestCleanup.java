@@ -35,6 +35,7 @@ import static org.projectnessie.versioned.storage.common.objtypes.StringObj.stri
 import static org.projectnessie.versioned.storage.common.persist.ObjId.EMPTY_OBJ_ID;
 import static org.projectnessie.versioned.testworker.OnRefOnly.onRef;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -43,6 +44,7 @@ import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
 import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.projectnessie.nessie.immutables.NessieImmutable;
 import org.projectnessie.versioned.storage.common.exceptions.CommitConflictException;
 import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
@@ -425,6 +427,98 @@ public class TestCleanup {
         .doesNotContainNull();
   }
 
+  @Test
+  void purgeWithConcurrentDeletes() throws Exception {
+    soft.assertThat(repositoryLogic(persist).repositoryExists()).isTrue();
+
+    var unreferenced = new ArrayList<ObjId>();
+    for (int i = 0; i < 500; i++) {
+      var obj =
+          stringData("foo/bar", Compression.NONE, null, List.of(), copyFromUtf8("string " + i));
+      soft.assertThat(persist.storeObj(obj)).isTrue();
+      unreferenced.add(obj.id());
+    }
+
+    var resolveAndPurge =
+        resolveAndPurge(
+            persist.config().currentTimeMicros(),
+            CleanupParams.builder().purgeDeleteParallelism(8).purgeDeleteQueueSize(3).build());
+
+    soft.assertThat(resolveAndPurge.purgeResult().stats())
+        .extracting(
+            PurgeStats::failure,
+            PurgeStats::numScannedObjs,
+            PurgeStats::numQueuedObjs,
+            PurgeStats::numPendingObjs,
+            PurgeStats::numPurgedObjs)
+        .containsExactly(Optional.empty(), 5L + 500L, 500L, 0L, 500L);
+
+    soft.assertThat(persist.fetchObjsIfExist(unreferenced.toArray(new ObjId[0])))
+        .containsOnlyNulls();
+  }
+
+  @Test
+  void purgeFromPersistedFilter(@TempDir Path filterDirectory) throws Exception {
+    soft.assertThat(repositoryLogic(persist).repositoryExists()).isTrue();
+
+    var unreferenced = new ArrayList<ObjId>();
+    for (int i = 0; i < 100; i++) {
+      var obj =
+          stringData("foo/bar", Compression.NONE, null, List.of(), copyFromUtf8("string " + i));
+      soft.assertThat(persist.storeObj(obj)).isTrue();
+      unreferenced.add(obj.id());
+    }
+
+    var maxObjReferenced = persist.config().currentTimeMicros();
+    // An expected object count of 1 makes the default filter throw
+    // MustRestartWithBiggerFilterException, the partitioned filter grows instead.
+    var cleanupParams =
+        CleanupParams.builder()
+            .expectedObjCount(1)
+            .referencedObjectsFilterDirectory(filterDirectory)
+            .referencedObjectsFilterPartitions(2)
+            .build();
+
+    var cleanup = createCleanup(cleanupParams);
+    var referencedObjectsContext = cleanup.buildReferencedObjectsContext(persist, maxObjReferenced);
+    soft.assertThat(referencedObjectsContext.referencedObjects())
+        .isInstanceOf(PartitionedReferencedObjectsFilter.class);
+    var resolveResult =
+        cleanup.createReferencedObjectsResolver(referencedObjectsContext).resolve();
+    soft.assertThat(resolveResult.stats().failure()).isEmpty();
+    resolveResult.purgeObjectsContext().close();
+
+    // Objects written after the resolve run are not in the persisted filter and must be kept
+    while (persist.config().currentTimeMicros() <= maxObjReferenced) {
+      Thread.onSpinWait();
+    }
+    var writtenLater = new ArrayList<ObjId>();
+    for (int i = 0; i < 10; i++) {
+      var obj =
+          stringData("foo/bar", Compression.NONE, null, List.of(), copyFromUtf8("later " + i));
+      soft.assertThat(persist.storeObj(obj)).isTrue();
+      writtenLater.add(obj.id());
+    }
+
+    // Purge in a "new process" from the persisted filter
+    cleanup = createCleanup(cleanupParams);
+    PurgeResult purgeResult;
+    try (var purgeObjectsContext = cleanup.buildPurgeObjectsContext(persist)) {
+      soft.assertThat(purgeObjectsContext.purgeFilter())
+          .extracting("maxObjReferencedInMicrosSinceEpoch")
+          .isEqualTo(maxObjReferenced);
+      purgeResult = cleanup.createPurgeObjects(purgeObjectsContext).purge();
+    }
+
+    soft.assertThat(purgeResult.stats())
+        .extracting(PurgeStats::failure, PurgeStats::numScannedObjs, PurgeStats::numPurgedObjs)
+        .containsExactly(Optional.empty(), 5L + 100L + 10L, 100L);
+    soft.assertThat(persist.fetchObjsIfExist(unreferenced.toArray(new ObjId[0])))
+        .containsOnlyNulls();
+    soft.assertThat(persist.fetchObjsIfExist(writtenLater.toArray(new ObjId[0])))
+        .doesNotContainNull();
+  }
+
   @Test
   void withSecondaryParents() throws Exception {
     soft.assertThat(repositoryLogic(persist).repositoryExists()).isTrue();
@@ -584,7 +678,12 @@ public class TestCleanup {
   }
 
   ResolvePurgeResult resolveAndPurge(long maxObjReferenced) throws Exception {
-    var cleanup = createCleanup(CleanupParams.builder().build());
+    return resolveAndPurge(maxObjReferenced, CleanupParams.builder().build());
+  }
+
+  ResolvePurgeResult resolveAndPurge(long maxObjReferenced, CleanupParams cleanupParams)
+      throws Exception {
+    var cleanup = createCleanup(cleanupParams);
     var referencedObjectsContext = cleanup.buildReferencedObjectsContext(persist, maxObjReferenced);
     var referencedObjectsResolver =
         cleanup.createReferencedObjectsResolver(referencedObjectsContext);
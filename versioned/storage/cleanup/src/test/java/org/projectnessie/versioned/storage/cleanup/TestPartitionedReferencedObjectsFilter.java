@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cleanup;
+
+import static org.projectnessie.versioned.storage.common.persist.ObjId.objIdFromByteArray;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestPartitionedReferencedObjectsFilter {
+  @InjectSoftAssertions SoftAssertions soft;
+
+  @TempDir Path dir;
+
+  @Test
+  public void emptyFilterContainsNothing() {
+    PartitionedReferencedObjectsFilter filter =
+        PartitionedReferencedObjectsFilter.create(dir, CleanupParams.builder().build(), 0L);
+    soft.assertThat(filter.isProbablyReferenced(ObjId.EMPTY_OBJ_ID)).isFalse();
+    for (int i = 0; i < 100; i++) {
+      ObjId id = randomObjId();
+      soft.assertThat(filter.isProbablyReferenced(id)).describedAs("id = %s", id).isFalse();
+    }
+    soft.assertThat(filter.approximateElementCount()).isEqualTo(0L);
+  }
+
+  @Test
+  public void growsBeyondExpectedObjCount() {
+    // 4 partitions with the minimum stage capacity of 1024 objects
+    CleanupParams params =
+        CleanupParams.builder().expectedObjCount(1).referencedObjectsFilterPartitions(4).build();
+    PartitionedReferencedObjectsFilter filter =
+        PartitionedReferencedObjectsFilter.create(dir, params, 42L);
+
+    Set<ObjId> ids = randomIds(20_000);
+    for (ObjId id : ids) {
+      filter.markReferenced(id);
+    }
+
+    soft.assertThat(filter.withinExpectedFpp()).isTrue();
+    soft.assertThat(filter.expectedFpp()).isLessThanOrEqualTo(params.falsePositiveProbability());
+    soft.assertThat(filter.approximateElementCount())
+        .isLessThanOrEqualTo(ids.size())
+        .isGreaterThan(ids.size() - 10L);
+    for (ObjId id : ids) {
+      soft.assertThat(filter.isProbablyReferenced(id)).describedAs("id = %s", id).isTrue();
+    }
+  }
+
+  @Test
+  public void persistAndOpen() {
+    CleanupParams params = CleanupParams.builder().expectedObjCount(1000).build();
+    PartitionedReferencedObjectsFilter filter =
+        PartitionedReferencedObjectsFilter.create(dir, params, 42L);
+
+    soft.assertThat(filter.markReferenced(ObjId.EMPTY_OBJ_ID)).isTrue();
+    soft.assertThat(filter.markReferenced(ObjId.EMPTY_OBJ_ID)).isFalse();
+    Set<ObjId> ids = randomIds(5_000);
+    for (ObjId id : ids) {
+      filter.markReferenced(id);
+    }
+
+    soft.assertThatThrownBy(() -> PartitionedReferencedObjectsFilter.open(dir))
+        .isInstanceOf(UncheckedIOException.class);
+
+    filter.markComplete();
+
+    PartitionedReferencedObjectsFilter opened = PartitionedReferencedObjectsFilter.open(dir);
+    soft.assertThat(opened.maxObjReferencedInMicrosSinceEpoch()).isEqualTo(42L);
+    soft.assertThat(opened.approximateElementCount()).isEqualTo(filter.approximateElementCount());
+    soft.assertThat(opened.expectedFpp()).isEqualTo(filter.expectedFpp());
+    soft.assertThat(opened.isProbablyReferenced(ObjId.EMPTY_OBJ_ID)).isTrue();
+    for (ObjId id : ids) {
+      soft.assertThat(opened.isProbablyReferenced(id)).describedAs("id = %s", id).isTrue();
+    }
+    soft.assertThatThrownBy(() -> opened.markReferenced(randomObjId()))
+        .isInstanceOf(IllegalStateException.class);
+
+    opened.close();
+    soft.assertThatThrownBy(() -> opened.isProbablyReferenced(ObjId.EMPTY_OBJ_ID))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("Referenced objects filter has been closed");
+    filter.close();
+
+    // Creating a new filter in the same directory removes the persisted one
+    PartitionedReferencedObjectsFilter recreated =
+        PartitionedReferencedObjectsFilter.create(dir, params, 42L);
+    soft.assertThat(recreated.isProbablyReferenced(ObjId.EMPTY_OBJ_ID)).isFalse();
+    soft.assertThatThrownBy(() -> PartitionedReferencedObjectsFilter.open(dir))
+        .isInstanceOf(UncheckedIOException.class);
+    recreated.close();
+  }
+
+  private static Set<ObjId> randomIds(int num) {
+    Set<ObjId> ids = new HashSet<>(num);
+    for (int i = 0; i < num / 2; i++) {
+      ids.add(randomObjId());
+    }
+    while (ids.size() < num) {
+      byte[] bytes = new byte[4 + ThreadLocalRandom.current().nextInt(33)];
+      ThreadLocalRandom.current().nextBytes(bytes);
+      ids.add(objIdFromByteArray(bytes));
+    }
+    return ids;
+  }
+}
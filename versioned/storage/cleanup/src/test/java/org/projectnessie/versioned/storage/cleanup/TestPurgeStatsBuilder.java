@@ -37,10 +37,13 @@ public class TestPurgeStatsBuilder {
     expected.started(Instant.EPOCH);
     builder.ended = Instant.EPOCH.plus(42, ChronoUnit.DAYS);
     expected.ended(Instant.EPOCH.plus(42, ChronoUnit.DAYS));
-    builder.numPurgedObjs = 1;
+    builder.numPurgedObjs.set(1);
     expected.numPurgedObjs(1);
     builder.numScannedObjs = 2;
     expected.numScannedObjs(2);
+    builder.numQueuedObjs = 3;
+    expected.numQueuedObjs(3);
+    expected.numPendingObjs(2);
     builder.failure = new Exception("hello");
     expected.failure(builder.failure);
 
@@ -24,6 +24,9 @@ dependencies {
   api(project(":nessie-versioned-storage-common"))
   api(project(":nessie-versioned-storage-common-proto"))
 
+  implementation(libs.guava)
+  implementation(libs.zstd.jni)
+
   implementation(platform(libs.jackson.bom))
   implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-smile")
 
@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.serialize;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static org.projectnessie.versioned.storage.common.objtypes.CompressionDictionaryObj.compressionDictionary;
+import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.serializeObj;
+
+import com.github.luben.zstd.ZstdDictTrainer;
+import java.util.Set;
+import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
+import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
+import org.projectnessie.versioned.storage.common.objtypes.Compression;
+import org.projectnessie.versioned.storage.common.objtypes.CompressionDictionaryObj;
+import org.projectnessie.versioned.storage.common.persist.CloseableIterator;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.ObjType;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+
+/** Functionality to train and load {@link CompressionDictionaryObj compression dictionaries}. */
+public final class CompressionDictionaries {
+
+  public static final int DEFAULT_MAX_SAMPLES = 10_000;
+  public static final int DEFAULT_DICTIONARY_SIZE = 112 * 1024;
+
+  private CompressionDictionaries() {}
+
+  /**
+   * Trains a ZSTD dictionary from up to {@code maxSamples} existing objects of the given type and
+   * stores it as a {@link CompressionDictionaryObj}.
+   *
+   * <p>The returned ID has to be configured via {@link
+   * org.projectnessie.versioned.storage.common.config.StoreConfig#objCompressionDictionaries()} to
+   * be used when writing objects.
+   *
+   * @return the ID of the new dictionary
+   */
+  public static ObjId trainDictionary(
+      Persist persist, ObjType objType, int maxSamples, int dictionarySize)
+      throws ObjTooLargeException {
+    checkArgument(
+        !CompressionDictionaryObj.TYPE.equals(objType),
+        "Cannot train a dictionary for compression dictionaries");
+    checkArgument(maxSamples > 0, "maxSamples must be positive");
+    checkArgument(dictionarySize > 0, "dictionarySize must be positive");
+
+    int maxSampleBytes = Math.max(dictionarySize * 100, 1024 * 1024);
+    ZstdDictTrainer trainer = new ZstdDictTrainer(maxSampleBytes, dictionarySize);
+    int samples = 0;
+    try (CloseableIterator<Obj> objs = persist.scanAllObjects(Set.of(objType))) {
+      while (samples < maxSamples && objs.hasNext()) {
+        byte[] serialized = serializeObj(objs.next(), Integer.MAX_VALUE, Integer.MAX_VALUE, false);
+        if (!trainer.addSample(serialized)) {
+          // sample buffer is full
+          break;
+        }
+        samples++;
+      }
+    }
+    checkState(samples > 0, "No objects of type %s to train a dictionary from", objType.name());
+
+    byte[] dictionary = trainer.trainSamples();
+    CompressionDictionaryObj obj =
+        compressionDictionary(objType.name(), Compression.ZSTD, dictionary);
+    persist.storeObj(obj, true);
+    return obj.id();
+  }
+
+  /**
+   * Returns a {@link ObjCompression.DictionaryLoader} that loads dictionaries from the given {@link
+   * Persist}.
+   */
+  public static ObjCompression.DictionaryLoader dictionaryLoader(Persist persist) {
+    return id -> {
+      try {
+        return persist
+            .fetchTypedObj(id, CompressionDictionaryObj.TYPE, CompressionDictionaryObj.class)
+            .dictionary();
+      } catch (ObjNotFoundException e) {
+        return null;
+      }
+    };
+  }
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.serialize;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.deserializeObjId;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.objIdFromString;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.zeroLengthObjId;
+import static org.projectnessie.versioned.storage.common.persist.ObjTypes.objTypeByName;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdDictCompress;
+import com.github.luben.zstd.ZstdDictDecompress;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import org.projectnessie.versioned.storage.common.config.StoreConfig;
+import org.projectnessie.versioned.storage.common.objtypes.Compression;
+import org.projectnessie.versioned.storage.common.objtypes.CompressionDictionaryObj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.ObjType;
+import org.projectnessie.versioned.storage.common.util.Compressions;
+
+/**
+ * Transparent compression of serialized objects, configured per {@link ObjType}.
+ *
+ * <p>Compressed objects are wrapped in an envelope that starts with {@link #ENVELOPE_MAGIC}, which
+ * is never the first byte of a serialized {@code ObjProto}, because the wire type {@code 7} is
+ * invalid in protobuf. This allows reading objects that were written before compression was
+ * configured. The envelope consists of:
+ *
+ * <ol>
+ *   <li>the magic byte,
+ *   <li>the {@link Compression#value() compression},
+ *   <li>the uncompressed size as a 4-byte integer,
+ *   <li>the serialized ID of the {@link CompressionDictionaryObj compression dictionary}, or the
+ *       serialized {@link ObjId#zeroLengthObjId() zero-length ID} if no dictionary has been used,
+ *   <li>the compressed data.
+ * </ol>
+ *
+ * <p>Dictionaries are resolved via a {@link DictionaryLoader}. Dictionaries are content-addressed,
+ * the digested dictionaries are cached for the lifetime of this instance.
+ */
+public final class ObjCompression {
+
+  public static final byte ENVELOPE_MAGIC = 0x07;
+
+  /**
+   * Does not compress any object, but can read compressed objects that do not use a dictionary.
+   */
+  public static final ObjCompression NONE =
+      new ObjCompression(
+          Map.of(),
+          Map.of(),
+          Integer.MAX_VALUE,
+          id -> {
+            throw new IllegalStateException(
+                "No compression dictionary loader available to load dictionary " + id);
+          });
+
+  /** Loads the raw dictionary of the {@link CompressionDictionaryObj} with the given ID. */
+  @FunctionalInterface
+  public interface DictionaryLoader {
+    byte[] loadDictionary(ObjId dictionaryId);
+  }
+
+  private final Map<String, Compression> compressions;
+  private final Map<String, ObjId> dictionaries;
+  private final int minSize;
+  private final DictionaryLoader dictionaryLoader;
+  private final Map<ObjId, ZstdDictCompress> compressDictionaries = new ConcurrentHashMap<>();
+  private final Map<ObjId, ZstdDictDecompress> decompressDictionaries = new ConcurrentHashMap<>();
+
+  private ObjCompression(
+      Map<String, Compression> compressions,
+      Map<String, ObjId> dictionaries,
+      int minSize,
+      DictionaryLoader dictionaryLoader) {
+    this.compressions = compressions;
+    this.dictionaries = dictionaries;
+    this.minSize = minSize;
+    this.dictionaryLoader = dictionaryLoader;
+  }
+
+  /**
+   * Creates an instance using the {@link StoreConfig#objCompression()}, {@link
+   * StoreConfig#objCompressionDictionaries()} and {@link StoreConfig#objCompressionMinSize()}
+   * settings.
+   */
+  public static ObjCompression objCompression(
+      StoreConfig config, DictionaryLoader dictionaryLoader) {
+    Map<String, Compression> compressions = new HashMap<>();
+    config
+        .objCompression()
+        .ifPresent(
+            spec ->
+                parseSpec(
+                    spec,
+                    (type, value) -> {
+                      Compression compression = Compression.fromValue(value);
+                      checkArgument(
+                          compression != Compression.LZ4,
+                          "Compression %s is not supported for objects",
+                          compression);
+                      checkArgument(
+                          !CompressionDictionaryObj.TYPE.equals(type),
+                          "Compression dictionaries cannot be compressed");
+                      if (compression != Compression.NONE) {
+                        compressions.put(type.name(), compression);
+                      }
+                    }));
+    Map<String, ObjId> dictionaries = new HashMap<>();
+    config
+        .objCompressionDictionaries()
+        .ifPresent(
+            spec ->
+                parseSpec(
+                    spec,
+                    (type, value) -> {
+                      checkArgument(
+                          compressions.get(type.name()) == Compression.ZSTD,
+                          "Compression dictionary configured for object type %s, "
+                              + "which is not configured to use ZSTD compression",
+                          type.name());
+                      dictionaries.put(type.name(), objIdFromString(value));
+                    }));
+    if (compressions.isEmpty()) {
+      return NONE;
+    }
+    return new ObjCompression(
+        compressions, dictionaries, config.objCompressionMinSize(), dictionaryLoader);
+  }
+
+  private static void parseSpec(String spec, BiConsumer<ObjType, String> c) {
+    for (String entry : spec.split(",")) {
+      entry = entry.trim();
+      if (entry.isEmpty()) {
+        continue;
+      }
+      int idx = entry.indexOf('=');
+      checkArgument(idx > 0, "Invalid object compression setting '%s'", entry);
+      ObjType type = objTypeByName(entry.substring(0, idx).trim());
+      c.accept(type, entry.substring(idx + 1).trim());
+    }
+  }
+
+  /**
+   * Compresses the serialized representation of an object of the given type, if configured and if
+   * the object is not smaller than the configured minimum size.
+   */
+  public byte[] compress(ObjType type, byte[] serialized) {
+    if (serialized == null || serialized.length < minSize) {
+      return serialized;
+    }
+    Compression compression = compressions.get(type.name());
+    if (compression == null) {
+      return serialized;
+    }
+
+    ObjId dictionaryId =
+        compression == Compression.ZSTD
+            ? dictionaries.getOrDefault(type.name(), zeroLengthObjId())
+            : zeroLengthObjId();
+    byte[] compressed =
+        dictionaryId.size() > 0
+            ? Zstd.compress(serialized, compressDictionary(dictionaryId))
+            : Compressions.compress(compression, serialized);
+
+    int headerSize = 2 + Integer.BYTES + dictionaryId.serializedSize();
+    if (headerSize + compressed.length >= serialized.length) {
+      // Not worth it
+      return serialized;
+    }
+
+    ByteBuffer target = ByteBuffer.allocate(headerSize + compressed.length);
+    target.put(ENVELOPE_MAGIC);
+    target.put((byte) compression.value());
+    target.putInt(serialized.length);
+    dictionaryId.serializeTo(target);
+    target.put(compressed);
+    return target.array();
+  }
+
+  /** Checks whether the given serialized object is wrapped in a compression envelope. */
+  public static boolean isCompressed(byte[] serialized) {
+    return serialized.length > 0 && serialized[0] == ENVELOPE_MAGIC;
+  }
+
+  /** Checks whether the given serialized object is wrapped in a compression envelope. */
+  public static boolean isCompressed(ByteBuffer serialized) {
+    return serialized.remaining() > 0 && serialized.get(serialized.position()) == ENVELOPE_MAGIC;
+  }
+
+  /**
+   * Returns the uncompressed, serialized representation of an object, the given value must be
+   * {@link #isCompressed(ByteBuffer) compressed}.
+   */
+  public byte[] uncompress(ByteBuffer serialized) {
+    ByteBuffer buffer = serialized.duplicate();
+    checkArgument(buffer.get() == ENVELOPE_MAGIC, "Not a compressed object");
+    Compression compression = Compression.fromValue((char) buffer.get());
+    int uncompressedSize = buffer.getInt();
+    ObjId dictionaryId = deserializeObjId(buffer);
+    byte[] compressed = new byte[buffer.remaining()];
+    buffer.get(compressed);
+
+    if (dictionaryId.size() > 0) {
+      checkState(
+          compression == Compression.ZSTD,
+          "Compression dictionaries are only supported for ZSTD, but got %s",
+          compression);
+      return Zstd.decompress(compressed, decompressDictionary(dictionaryId), uncompressedSize);
+    }
+    byte[] uncompressed = Compressions.uncompress(compression, compressed);
+    checkState(
+        uncompressed.length == uncompressedSize,
+        "Uncompressed size mismatch, expected %s, got %s",
+        uncompressedSize,
+        uncompressed.length);
+    return uncompressed;
+  }
+
+  /** Variant of {@link #uncompress(ByteBuffer)}. */
+  public byte[] uncompress(byte[] serialized) {
+    return uncompress(ByteBuffer.wrap(serialized));
+  }
+
+  private ZstdDictCompress compressDictionary(ObjId dictionaryId) {
+    return compressDictionaries.computeIfAbsent(
+        dictionaryId,
+        id -> new ZstdDictCompress(loadDictionary(id), Zstd.defaultCompressionLevel()));
+  }
+
+  private ZstdDictDecompress decompressDictionary(ObjId dictionaryId) {
+    return decompressDictionaries.computeIfAbsent(
+        dictionaryId, id -> new ZstdDictDecompress(loadDictionary(id)));
+  }
+
+  private byte[] loadDictionary(ObjId dictionaryId) {
+    byte[] dictionary = dictionaryLoader.loadDictionary(dictionaryId);
+    checkState(dictionary != null, "Compression dictionary %s not found", dictionaryId);
+    return dictionary;
+  }
+}
@@ -208,6 +208,25 @@ public final class ProtoSerialization {
     return result;
   }
 
+  /**
+   * Serializes the given object and compresses the serialized representation, if configured in the
+   * given {@link ObjCompression}.
+   */
+  public static byte[] serializeObj(
+      Obj obj,
+      int incrementalIndexSizeLimit,
+      int indexSizeLimit,
+      boolean includeVersionToken,
+      ObjCompression compression)
+      throws ObjTooLargeException {
+    if (obj == null) {
+      return null;
+    }
+    byte[] serialized =
+        serializeObj(obj, incrementalIndexSizeLimit, indexSizeLimit, includeVersionToken);
+    return compression.compress(obj.type(), serialized);
+  }
+
   public static byte[] serializeObj(
       Obj obj, int incrementalIndexSizeLimit, int indexSizeLimit, boolean includeVersionToken)
       throws ObjTooLargeException {
@@ -249,11 +268,27 @@ public final class ProtoSerialization {
 
   public static Obj deserializeObj(
       ObjId id, long referenced, ByteBuffer serialized, String versionToken) {
+    return deserializeObj(id, referenced, serialized, versionToken, ObjCompression.NONE);
+  }
+
+  /**
+   * Deserializes an object, transparently uncompressing the serialized representation, if it has
+   * been compressed using an {@link ObjCompression}.
+   */
+  public static Obj deserializeObj(
+      ObjId id,
+      long referenced,
+      ByteBuffer serialized,
+      String versionToken,
+      ObjCompression compression) {
     if (serialized == null) {
       return null;
     }
     try {
-      ObjProto obj = ObjProto.parseFrom(serialized);
+      ObjProto obj =
+          ObjCompression.isCompressed(serialized)
+              ? ObjProto.parseFrom(compression.uncompress(serialized))
+              : ObjProto.parseFrom(serialized);
       return deserializeObjProto(id, referenced, obj, versionToken);
     } catch (InvalidProtocolBufferException e) {
       throw new RuntimeException(e);
@@ -262,11 +297,27 @@ public final class ProtoSerialization {
 
   public static Obj deserializeObj(
       ObjId id, long referenced, byte[] serialized, String versionToken) {
+    return deserializeObj(id, referenced, serialized, versionToken, ObjCompression.NONE);
+  }
+
+  /**
+   * Deserializes an object, transparently uncompressing the serialized representation, if it has
+   * been compressed using an {@link ObjCompression}.
+   */
+  public static Obj deserializeObj(
+      ObjId id,
+      long referenced,
+      byte[] serialized,
+      String versionToken,
+      ObjCompression compression) {
     if (serialized == null) {
       return null;
     }
     try {
-      ObjProto obj = ObjProto.parseFrom(serialized);
+      ObjProto obj =
+          ObjCompression.isCompressed(serialized)
+              ? ObjProto.parseFrom(compression.uncompress(serialized))
+              : ObjProto.parseFrom(serialized);
       return deserializeObjProto(id, referenced, obj, versionToken);
     } catch (InvalidProtocolBufferException e) {
       throw new RuntimeException(e);
@@ -0,0 +1,194 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.serialize;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.projectnessie.versioned.storage.common.objtypes.CompressionDictionaryObj.compressionDictionary;
+import static org.projectnessie.versioned.storage.common.objtypes.ContentValueObj.contentValue;
+import static org.projectnessie.versioned.storage.common.objtypes.StandardObjType.VALUE;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+import static org.projectnessie.versioned.storage.serialize.ObjCompression.objCompression;
+import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.deserializeObj;
+import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.serializeObj;
+
+import com.github.luben.zstd.ZstdDictTrainer;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.versioned.storage.common.config.StoreConfig;
+import org.projectnessie.versioned.storage.common.objtypes.Compression;
+import org.projectnessie.versioned.storage.common.objtypes.CompressionDictionaryObj;
+import org.projectnessie.versioned.storage.common.objtypes.ContentValueObj;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestObjCompression {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  static ContentValueObj value(int i) {
+    String json =
+        "{\"id\":\"cid-"
+            + i
+            + "\",\"metadataLocation\":\"s3://bucket/warehouse/db/table_"
+            + i
+            + "/metadata/00001-"
+            + randomObjId()
+            + ".metadata.json\",\"snapshotId\":"
+            + (i * 31L)
+            + ",\"schemaId\":1,\"specId\":0,\"sortOrderId\":0}";
+    return contentValue(
+        randomObjId(), 0L, "cid-" + i, 1, ByteString.copyFrom(json.repeat(2), UTF_8));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"GZIP", "DEFLATE", "SNAPPY", "ZSTD"})
+  public void roundTrip(String compression) throws Exception {
+    ObjCompression objCompression =
+        objCompression(
+            StoreConfig.Adjustable.empty()
+                .withObjCompression("VALUE=" + compression)
+                .withObjCompressionMinSize(16),
+            id -> null);
+
+    ContentValueObj obj = value(42);
+    byte[] plain = serializeObj(obj, Integer.MAX_VALUE, Integer.MAX_VALUE, false);
+    byte[] compressed =
+        serializeObj(obj, Integer.MAX_VALUE, Integer.MAX_VALUE, false, objCompression);
+
+    soft.assertThat(ObjCompression.isCompressed(plain)).isFalse();
+    soft.assertThat(ObjCompression.isCompressed(compressed)).isTrue();
+    soft.assertThat(compressed.length).isLessThan(plain.length);
+    soft.assertThat(compressed[1]).isEqualTo((byte) Compression.fromValue(compression).value());
+
+    soft.assertThat(deserializeObj(obj.id(), 0L, compressed, null, objCompression)).isEqualTo(obj);
+    soft.assertThat(deserializeObj(obj.id(), 0L, ByteBuffer.wrap(compressed), null, objCompression))
+        .isEqualTo(obj);
+    // Reading compressed objects w/o dictionary works w/o configuration
+    soft.assertThat(deserializeObj(obj.id(), 0L, compressed, null)).isEqualTo(obj);
+    // Objects written before compression was enabled are still readable
+    soft.assertThat(deserializeObj(obj.id(), 0L, plain, null, objCompression)).isEqualTo(obj);
+  }
+
+  @Test
+  public void notConfigured() throws Exception {
+    ObjCompression objCompression = objCompression(StoreConfig.Adjustable.empty(), id -> null);
+    soft.assertThat(objCompression).isSameAs(ObjCompression.NONE);
+
+    ContentValueObj obj = value(42);
+    byte[] plain = serializeObj(obj, Integer.MAX_VALUE, Integer.MAX_VALUE, false);
+    soft.assertThat(serializeObj(obj, Integer.MAX_VALUE, Integer.MAX_VALUE, false, objCompression))
+        .containsExactly(plain);
+  }
+
+  @Test
+  public void minSize() throws Exception {
+    ContentValueObj obj = value(42);
+    byte[] plain = serializeObj(obj, Integer.MAX_VALUE, Integer.MAX_VALUE, false);
+
+    ObjCompression objCompression =
+        objCompression(
+            StoreConfig.Adjustable.empty()
+                .withObjCompression("VALUE=ZSTD")
+                .withObjCompressionMinSize(plain.length + 1),
+            id -> null);
+    soft.assertThat(serializeObj(obj, Integer.MAX_VALUE, Integer.MAX_VALUE, false, objCompression))
+        .containsExactly(plain);
+  }
+
+  @Test
+  public void zstdDictionary() throws Exception {
+    ZstdDictTrainer trainer = new ZstdDictTrainer(1024 * 1024, 8192);
+    for (int i = 0; i < 2000; i++) {
+      trainer.addSample(serializeObj(value(i), Integer.MAX_VALUE, Integer.MAX_VALUE, false));
+    }
+    CompressionDictionaryObj dictionary =
+        compressionDictionary(VALUE.name(), Compression.ZSTD, trainer.trainSamples());
+
+    Map<ObjId, Obj> repository = new HashMap<>();
+    repository.put(dictionary.id(), dictionary);
+    ObjCompression.DictionaryLoader loader =
+        id -> {
+          Obj o = repository.get(id);
+          return o != null ? ((CompressionDictionaryObj) o).dictionary() : null;
+        };
+
+    StoreConfig.Adjustable config =
+        StoreConfig.Adjustable.empty()
+            .withObjCompression("VALUE=ZSTD")
+            .withObjCompressionMinSize(16);
+    ObjCompression withDictionary =
+        objCompression(config.withObjCompressionDictionaries("VALUE=" + dictionary.id()), loader);
+    ObjCompression withoutDictionary = objCompression(config, loader);
+
+    ContentValueObj obj = value(4242);
+    byte[] dictCompressed =
+        serializeObj(obj, Integer.MAX_VALUE, Integer.MAX_VALUE, false, withDictionary);
+    byte[] compressed =
+        serializeObj(obj, Integer.MAX_VALUE, Integer.MAX_VALUE, false, withoutDictionary);
+    soft.assertThat(dictCompressed.length).isLessThan(compressed.length);
+
+    soft.assertThat(deserializeObj(obj.id(), 0L, dictCompressed, null, withDictionary))
+        .isEqualTo(obj);
+    // Reading objects compressed with a dictionary does not need a configured dictionary
+    soft.assertThat(deserializeObj(obj.id(), 0L, dictCompressed, null, withoutDictionary))
+        .isEqualTo(obj);
+    soft.assertThat(deserializeObj(obj.id(), 0L, compressed, null, withDictionary)).isEqualTo(obj);
+
+    // ... but needs the dictionary
+    soft.assertThatIllegalStateException()
+        .isThrownBy(
+            () ->
+                deserializeObj(
+                    obj.id(), 0L, dictCompressed, null, objCompression(config, id -> null)))
+        .withMessage("Compression dictionary %s not found", dictionary.id());
+  }
+
+  @Test
+  public void invalidConfig() {
+    soft.assertThatIllegalArgumentException()
+        .isThrownBy(
+            () ->
+                objCompression(
+                    StoreConfig.Adjustable.empty().withObjCompression("VALUE"), id -> null))
+        .withMessage("Invalid object compression setting 'VALUE'");
+    soft.assertThatIllegalArgumentException()
+        .isThrownBy(
+            () ->
+                objCompression(
+                    StoreConfig.Adjustable.empty().withObjCompression("VALUE=LZ4"), id -> null))
+        .withMessage("Compression LZ4 is not supported for objects");
+    soft.assertThatIllegalArgumentException()
+        .isThrownBy(
+            () ->
+                objCompression(
+                    StoreConfig.Adjustable.empty()
+                        .withObjCompression("VALUE=GZIP")
+                        .withObjCompressionDictionaries("VALUE=" + randomObjId()),
+                    id -> null))
+        .withMessage(
+            "Compression dictionary configured for object type VALUE, "
+                + "which is not configured to use ZSTD compression");
+  }
+}
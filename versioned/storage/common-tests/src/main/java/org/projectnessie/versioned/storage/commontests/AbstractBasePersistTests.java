@@ -37,6 +37,7 @@ import static org.projectnessie.versioned.storage.common.indexes.StoreIndexEleme
 import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.newStoreIndex;
 import static org.projectnessie.versioned.storage.common.indexes.StoreKey.key;
 import static org.projectnessie.versioned.storage.common.json.ObjIdHelper.contextualReader;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitGraphObj.commitGraph;
 import static org.projectnessie.versioned.storage.common.objtypes.CommitHeaders.EMPTY_COMMIT_HEADERS;
 import static org.projectnessie.versioned.storage.common.objtypes.CommitHeaders.newCommitHeaders;
 import static org.projectnessie.versioned.storage.common.objtypes.CommitObj.commitBuilder;
@@ -82,6 +83,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Function;
 import java.util.function.IntFunction;
@@ -106,6 +108,7 @@ import org.projectnessie.versioned.storage.common.exceptions.RefAlreadyExistsExc
 import org.projectnessie.versioned.storage.common.exceptions.RefConditionFailedException;
 import org.projectnessie.versioned.storage.common.exceptions.RefNotFoundException;
 import org.projectnessie.versioned.storage.common.indexes.StoreIndex;
+import org.projectnessie.versioned.storage.common.objtypes.CommitGraphObj;
 import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
 import org.projectnessie.versioned.storage.common.objtypes.CommitOp;
 import org.projectnessie.versioned.storage.common.objtypes.CommitType;
@@ -617,6 +620,8 @@ public class AbstractBasePersistTests {
             .build(),
         AnotherTestObj.builder().id(randomObjId()).build(),
         VersionedTestObj.builder().id(randomObjId()).someValue("foo").versionToken("1").build(),
+        commitGraph(randomObjId(), 1L, EMPTY_OBJ_ID, EMPTY_OBJ_ID, 0L),
+        commitGraph(randomObjId(), 42L, randomObjId(), randomObjId(), 38L),
         // JSON objects
         // scalar types
         json(randomObjId(), 42L, "text"),
@@ -774,6 +779,9 @@ public class AbstractBasePersistTests {
     if (type.equals(JsonObj.TYPE)) {
       return INDEX;
     }
+    if (type.equals(CommitGraphObj.TYPE)) {
+      return COMMIT;
+    }
     throw new IllegalArgumentException(type.name());
   }
 
@@ -988,6 +996,83 @@ public class AbstractBasePersistTests {
     soft.assertThat(fetched).containsExactlyElementsOf(objects);
   }
 
+  @Test
+  public void storeAndFetchManyAsync() {
+    List<TagObj> objects =
+        IntStream.range(0, 957) // 957 is an arbitrary number, just not something "round"
+            .mapToObj(i -> tag(randomObjId(), 42L, null, null, ByteString.copyFrom(new byte[42])))
+            .collect(Collectors.toList());
+    Obj[] objs = objects.toArray(new Obj[0]);
+
+    soft.assertThat(persist.storeObjsAsync(objs).toCompletableFuture().join())
+        .hasSize(objects.size())
+        .containsOnly(true);
+    soft.assertThat(persist.storeObjsAsync(objs).toCompletableFuture().join())
+        .hasSize(objects.size())
+        .containsOnly(false);
+
+    ObjId[] ids = new ObjId[objects.size() + 2];
+    for (int i = 0; i < objects.size(); i++) {
+      ids[i + 1] = objects.get(i).id();
+    }
+    ids[ids.length - 1] = randomObjId();
+
+    Obj[] fetched =
+        persist.fetchTypedObjsIfExistAsync(ids, null, Obj.class).toCompletableFuture().join();
+    soft.assertThat(fetched).hasSize(ids.length);
+    soft.assertThat(fetched[0]).isNull();
+    soft.assertThat(fetched[ids.length - 1]).isNull();
+    soft.assertThat(Arrays.asList(fetched).subList(1, ids.length - 1))
+        .containsExactlyElementsOf(objects);
+
+    soft.assertThat(
+            persist
+                .fetchTypedObjsIfExistAsync(ids, COMMIT, CommitObj.class)
+                .toCompletableFuture()
+                .join())
+        .hasSize(ids.length)
+        .containsOnlyNulls();
+  }
+
+  @Test
+  public void updateReferenceAsync() throws Exception {
+    ObjId initialPointer = objIdFromString("0000");
+    ObjId pointer1 = objIdFromString("0001");
+
+    Reference create = reference("some-reference-name", initialPointer, false, 12345L, null);
+    persist.addReference(create);
+
+    soft.assertThat(
+            persist
+                .fetchReferencesAsync(new String[] {null, create.name(), "not-there"})
+                .toCompletableFuture()
+                .join())
+        .containsExactly(null, create, null);
+
+    Reference updated =
+        persist.updateReferencePointerAsync(create, pointer1).toCompletableFuture().join();
+    soft.assertThat(updated.pointer()).isEqualTo(pointer1);
+    soft.assertThat(persist.fetchReference(create.name())).isEqualTo(updated);
+
+    soft.assertThatThrownBy(
+            () ->
+                persist.updateReferencePointerAsync(create, pointer1).toCompletableFuture().join())
+        .isInstanceOf(CompletionException.class)
+        .cause()
+        .isInstanceOf(RefConditionFailedException.class);
+    soft.assertThatThrownBy(
+            () ->
+                persist
+                    .updateReferencePointerAsync(
+                        reference("other-reference-name", initialPointer, false, 12345L, null),
+                        pointer1)
+                    .toCompletableFuture()
+                    .join())
+        .isInstanceOf(CompletionException.class)
+        .cause()
+        .isInstanceOf(RefNotFoundException.class);
+  }
+
   @Test
   public void multipleStoreObjs() throws Exception {
     Obj obj1 = tag(randomObjId(), 42L, null, null, ByteString.EMPTY);
@@ -41,6 +41,7 @@ import static org.projectnessie.versioned.storage.common.logic.Logics.commitLogi
 import static org.projectnessie.versioned.storage.common.logic.Logics.indexesLogic;
 import static org.projectnessie.versioned.storage.common.logic.Logics.referenceLogic;
 import static org.projectnessie.versioned.storage.common.logic.PagingToken.emptyPagingToken;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitGraphObj.commitGraphObjId;
 import static org.projectnessie.versioned.storage.common.objtypes.CommitHeaders.EMPTY_COMMIT_HEADERS;
 import static org.projectnessie.versioned.storage.common.persist.ObjId.EMPTY_OBJ_ID;
 import static org.projectnessie.versioned.storage.common.persist.ObjId.objIdFromString;
@@ -80,6 +81,7 @@ import org.projectnessie.versioned.storage.common.logic.IndexesLogic;
 import org.projectnessie.versioned.storage.common.logic.PagedResult;
 import org.projectnessie.versioned.storage.common.logic.PagingToken;
 import org.projectnessie.versioned.storage.common.logic.ReferenceLogic;
+import org.projectnessie.versioned.storage.common.objtypes.CommitGraphObj;
 import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
 import org.projectnessie.versioned.storage.common.objtypes.CommitOp;
 import org.projectnessie.versioned.storage.common.persist.Obj;
@@ -195,6 +197,60 @@ public class AbstractCommitLogicTests {
     }
   }
 
+  @Test
+  public void commonAncestorLongHistory() throws Exception {
+    CommitLogic commitLogic = commitLogic(persist);
+
+    List<ObjId> main = new ArrayList<>();
+    ObjId head = EMPTY_OBJ_ID;
+    for (int i = 0; i < 300; i++) {
+      head =
+          requireNonNull(
+                  commitLogic.doCommit(
+                      stdCommit().parentCommitId(head).message("main #" + i).build(), emptyList()))
+              .id();
+      main.add(head);
+    }
+    ObjId mainHead = head;
+
+    for (int forkPoint : new int[] {0, 1, 2, 17, 100, 128, 255, 299}) {
+      ObjId fork = main.get(forkPoint);
+      ObjId branchHead = fork;
+      for (int i = 0; i < 1 + forkPoint % 7; i++) {
+        branchHead =
+            requireNonNull(
+                    commitLogic.doCommit(
+                        stdCommit()
+                            .parentCommitId(branchHead)
+                            .message("branch " + forkPoint + " #" + i)
+                            .build(),
+                        emptyList()))
+                .id();
+      }
+
+      soft.assertThat(commitLogic.findCommonAncestor(mainHead, branchHead)).isEqualTo(fork);
+      soft.assertThat(commitLogic.findCommonAncestor(branchHead, mainHead)).isEqualTo(fork);
+      soft.assertThat(commitLogic.findCommonAncestor(fork, branchHead)).isEqualTo(fork);
+      soft.assertThat(commitLogic.findCommonAncestor(mainHead, fork)).isEqualTo(fork);
+    }
+
+    // Commit-graph nodes are persisted
+    soft.assertThat(
+            persist.fetchTypedObjsIfExist(
+                main.stream().map(CommitGraphObj::commitGraphObjId).toArray(ObjId[]::new),
+                CommitGraphObj.TYPE,
+                CommitGraphObj.class))
+        .doesNotContainNull();
+
+    // Commit-graph nodes are re-built, if necessary
+    for (int i = 50; i < 250; i += 3) {
+      persist.deleteObj(commitGraphObjId(main.get(i)));
+    }
+    soft.assertThat(commitLogic.findCommonAncestor(mainHead, main.get(42))).isEqualTo(main.get(42));
+    soft.assertThat(commitLogic.findCommonAncestor(main.get(142), main.get(242)))
+        .isEqualTo(main.get(142));
+  }
+
   @Test
   public void noCommonAncestor() throws Exception {
     CommitLogic commitLogic = commitLogic(persist);
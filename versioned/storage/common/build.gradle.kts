@@ -45,6 +45,7 @@ dependencies {
   implementation("com.fasterxml.jackson.core:jackson-annotations")
 
   implementation(libs.snappy.java)
+  implementation(libs.zstd.jni)
 
   testImplementation(platform(libs.junit.bom))
   testImplementation(libs.bundles.junit.testing)
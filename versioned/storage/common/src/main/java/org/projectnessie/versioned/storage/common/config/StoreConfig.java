@@ -69,6 +69,28 @@ public interface StoreConfig {
   String CONFIG_PREVIOUS_HEAD_TIME_SPAN_SECONDS = "ref-previous-head-time-span-seconds";
   long DEFAULT_PREVIOUS_HEAD_TIME_SPAN_SECONDS = 5 * 60;
 
+  String CONFIG_COMMIT_SEQUENCER_ENABLED = "commit-sequencer-enabled";
+  boolean DEFAULT_COMMIT_SEQUENCER_ENABLED = false;
+
+  String CONFIG_COMMIT_SEQUENCER_MAX_GROUP_SIZE = "commit-sequencer-max-group-size";
+  int DEFAULT_COMMIT_SEQUENCER_MAX_GROUP_SIZE = 50;
+
+  String CONFIG_INDEX_CACHE_CAPACITY_MB = "index-cache-capacity-mb";
+  int DEFAULT_INDEX_CACHE_CAPACITY_MB = 32;
+
+  String CONFIG_GET_KEYS_CONTENT_PREFETCH_BATCHES = "get-keys-content-prefetch-batches";
+  int DEFAULT_GET_KEYS_CONTENT_PREFETCH_BATCHES = 0;
+
+  String CONFIG_GET_KEYS_CONTENT_MAX_BATCH_SIZE = "get-keys-content-max-batch-size";
+  int DEFAULT_GET_KEYS_CONTENT_MAX_BATCH_SIZE = 400;
+
+  String CONFIG_OBJ_COMPRESSION = "obj-compression";
+
+  String CONFIG_OBJ_COMPRESSION_DICTIONARIES = "obj-compression-dictionaries";
+
+  String CONFIG_OBJ_COMPRESSION_MIN_SIZE = "obj-compression-min-size";
+  int DEFAULT_OBJ_COMPRESSION_MIN_SIZE = 256;
+
   String CONFIG_REFERENCE_CACHE_TTL = "reference-cache-ttl";
 
   String CONFIG_REFERENCE_NEGATIVE_CACHE_TTL = "reference-cache-negative-ttl";
@@ -239,6 +261,115 @@ public interface StoreConfig {
     return DEFAULT_ASSUMED_WALL_CLOCK_DRIFT_MICROS;
   }
 
+  /**
+   * Whether concurrent commits against the same branch within this Nessie process are sequenced
+   * ("group commit"), defaults to {@code false}.
+   *
+   * <p>When enabled, concurrent commits against the same branch are queued and applied by one
+   * thread as consecutive commits, bumping the branch's HEAD only once per group of commits,
+   * instead of letting all commits compete for the HEAD and retry with a backoff. Commits that
+   * conflict fail individually. This is beneficial for workloads with many concurrent writers to
+   * the same branch.
+   *
+   * @see #commitSequencerMaxGroupSize()
+   */
+  @Value.Default
+  default boolean commitSequencerEnabled() {
+    return DEFAULT_COMMIT_SEQUENCER_ENABLED;
+  }
+
+  /**
+   * Maximum number of queued commits applied as one group, if {@link #commitSequencerEnabled()
+   * commit sequencing} is enabled.
+   */
+  @Value.Default
+  default int commitSequencerMaxGroupSize() {
+    return DEFAULT_COMMIT_SEQUENCER_MAX_GROUP_SIZE;
+  }
+
+  /**
+   * Capacity in megabytes of the cache for the complete key indexes of commits, defaults to {@value
+   * #DEFAULT_INDEX_CACHE_CAPACITY_MB}. A value of {@code 0} disables the cache.
+   *
+   * <p>The complete key index of a commit is needed for every read operation against a commit,
+   * for example to list the keys or to retrieve the contents. The cache keeps the built complete
+   * indexes of recently read commits and the loaded reference index stripes in memory, so that
+   * frequently read commits, like the HEADs of frequently read branches, do not have to be built
+   * again for every read operation.
+   */
+  @Value.Default
+  default int indexCacheCapacityMb() {
+    return DEFAULT_INDEX_CACHE_CAPACITY_MB;
+  }
+
+  /**
+   * Number of batches of contents that are fetched ahead of the consumer when listing keys with
+   * their contents, defaults to {@value #DEFAULT_GET_KEYS_CONTENT_PREFETCH_BATCHES}, which means
+   * that contents are fetched synchronously, one batch at a time.
+   *
+   * <p>With a positive value, the contents of the next batches are fetched asynchronously while the
+   * consumer processes the current batch. Only database backends that provide a non-blocking API
+   * fetch the batches concurrently.
+   *
+   * @see #getKeysContentMaxBatchSize()
+   */
+  @Value.Default
+  default int getKeysContentPrefetchBatches() {
+    return DEFAULT_GET_KEYS_CONTENT_PREFETCH_BATCHES;
+  }
+
+  /**
+   * Maximum number of contents fetched in one batch, if {@link #getKeysContentPrefetchBatches()
+   * content prefetching} is enabled, defaults to {@value #DEFAULT_GET_KEYS_CONTENT_MAX_BATCH_SIZE}.
+   * The batch size starts small and grows up to this value while the consumer has to wait for the
+   * database.
+   */
+  @Value.Default
+  default int getKeysContentMaxBatchSize() {
+    return DEFAULT_GET_KEYS_CONTENT_MAX_BATCH_SIZE;
+  }
+
+  /**
+   * Compression applied to serialized objects, per object type, not configured by default, which
+   * means that objects are stored uncompressed.
+   *
+   * <p>The value is a comma separated list of {@code OBJ_TYPE=COMPRESSION} pairs, for example
+   * {@code COMMIT=ZSTD,INDEX_SEGMENTS=ZSTD,VALUE=ZSTD}. Object types are referenced by their name.
+   * Supported compressions are {@code GZIP}, {@code DEFLATE}, {@code SNAPPY} and {@code ZSTD}.
+   *
+   * <p>Changing this setting only affects objects written afterward, objects can always be read
+   * regardless of the compression they were written with.
+   *
+   * <p>Only effective for database types that store serialized objects, which are the {@code
+   * *2} database types, {@code BIGTABLE} and {@code ROCKSDB}.
+   *
+   * @see #objCompressionDictionaries()
+   * @see #objCompressionMinSize()
+   */
+  Optional<String> objCompression();
+
+  /**
+   * ZSTD compression dictionaries to use when compressing objects, per object type.
+   *
+   * <p>The value is a comma separated list of {@code OBJ_TYPE=DICTIONARY_ID} pairs, where the
+   * dictionary ID is the hex representation of the ID of a compression dictionary stored in the
+   * repository. Dictionaries are trained from the repository's existing objects using the {@code
+   * train-compression-dictionary} admin command, which prints the ID of the new dictionary.
+   *
+   * <p>Only effective for object types that are configured to use {@code ZSTD} via {@link
+   * #objCompression()}.
+   */
+  Optional<String> objCompressionDictionaries();
+
+  /**
+   * Serialized objects smaller than this number of bytes are not compressed, see {@link
+   * #objCompression()}.
+   */
+  @Value.Default
+  default int objCompressionMinSize() {
+    return DEFAULT_OBJ_COMPRESSION_MIN_SIZE;
+  }
+
   /** The {@link Clock} to use, do not change for production. */
   @Value.Default
   default Clock clock() {
@@ -380,6 +511,38 @@ public interface StoreConfig {
       if (v != null) {
         a = a.withReferencePreviousHeadTimeSpanSeconds(Long.parseLong(v.trim()));
       }
+      v = configFunction.apply(CONFIG_COMMIT_SEQUENCER_ENABLED);
+      if (v != null) {
+        a = a.withCommitSequencerEnabled(Boolean.parseBoolean(v.trim()));
+      }
+      v = configFunction.apply(CONFIG_COMMIT_SEQUENCER_MAX_GROUP_SIZE);
+      if (v != null) {
+        a = a.withCommitSequencerMaxGroupSize(Integer.parseInt(v.trim()));
+      }
+      v = configFunction.apply(CONFIG_INDEX_CACHE_CAPACITY_MB);
+      if (v != null) {
+        a = a.withIndexCacheCapacityMb(Integer.parseInt(v.trim()));
+      }
+      v = configFunction.apply(CONFIG_GET_KEYS_CONTENT_PREFETCH_BATCHES);
+      if (v != null) {
+        a = a.withGetKeysContentPrefetchBatches(Integer.parseInt(v.trim()));
+      }
+      v = configFunction.apply(CONFIG_GET_KEYS_CONTENT_MAX_BATCH_SIZE);
+      if (v != null) {
+        a = a.withGetKeysContentMaxBatchSize(Integer.parseInt(v.trim()));
+      }
+      v = configFunction.apply(CONFIG_OBJ_COMPRESSION);
+      if (v != null) {
+        a = a.withObjCompression(v.trim());
+      }
+      v = configFunction.apply(CONFIG_OBJ_COMPRESSION_DICTIONARIES);
+      if (v != null) {
+        a = a.withObjCompressionDictionaries(v.trim());
+      }
+      v = configFunction.apply(CONFIG_OBJ_COMPRESSION_MIN_SIZE);
+      if (v != null) {
+        a = a.withObjCompressionMinSize(Integer.parseInt(v.trim()));
+      }
       v = configFunction.apply(CONFIG_REFERENCE_CACHE_TTL);
       if (v != null) {
         a = a.withReferenceCacheTtl(Duration.parse(v.trim()));
@@ -434,6 +597,30 @@ public interface StoreConfig {
 
     Adjustable withReferencePreviousHeadTimeSpanSeconds(long referencePreviousHeadTimeSpanSeconds);
 
+    /** See {@link StoreConfig#commitSequencerEnabled()}. */
+    Adjustable withCommitSequencerEnabled(boolean commitSequencerEnabled);
+
+    /** See {@link StoreConfig#commitSequencerMaxGroupSize()}. */
+    Adjustable withCommitSequencerMaxGroupSize(int commitSequencerMaxGroupSize);
+
+    /** See {@link StoreConfig#indexCacheCapacityMb()}. */
+    Adjustable withIndexCacheCapacityMb(int indexCacheCapacityMb);
+
+    /** See {@link StoreConfig#getKeysContentPrefetchBatches()}. */
+    Adjustable withGetKeysContentPrefetchBatches(int getKeysContentPrefetchBatches);
+
+    /** See {@link StoreConfig#getKeysContentMaxBatchSize()}. */
+    Adjustable withGetKeysContentMaxBatchSize(int getKeysContentMaxBatchSize);
+
+    /** See {@link StoreConfig#objCompression()}. */
+    Adjustable withObjCompression(String objCompression);
+
+    /** See {@link StoreConfig#objCompressionDictionaries()}. */
+    Adjustable withObjCompressionDictionaries(String objCompressionDictionaries);
+
+    /** See {@link StoreConfig#objCompressionMinSize()}. */
+    Adjustable withObjCompressionMinSize(int objCompressionMinSize);
+
     /** See {@link StoreConfig#referenceCacheTtl()}. */
     Adjustable withReferenceCacheTtl(Duration referenceCacheTtl);
 
@@ -0,0 +1,772 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.indexes;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Collections.singletonList;
+import static org.projectnessie.nessie.relocated.protobuf.UnsafeByteOperations.unsafeWrap;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexElement.indexElement;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexImpl.CURRENT_STORE_INDEX_VERSION;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexImpl.MAX_KEY_BYTES;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexImpl.SERIALIZE_VERSION;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexImpl.newKeyBuffer;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexImpl.serializedSize;
+import static org.projectnessie.versioned.storage.common.indexes.StoreKey.keyFromString;
+import static org.projectnessie.versioned.storage.common.indexes.StoreKey.skipKey;
+import static org.projectnessie.versioned.storage.common.util.Ser.putVarInt;
+import static org.projectnessie.versioned.storage.common.util.Ser.readVarInt;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Iterators;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+
+/**
+ * Alternative implementation of {@link StoreIndex} for <em>deserialized</em> key-index-segments,
+ * using the same "version 1 + 2 serialization" as {@link StoreIndexImpl}.
+ *
+ * <p>{@link StoreIndexImpl} holds one object per element, plus the materialized {@link StoreKey}s,
+ * which is a lot of heap for large indexes, although most operations only access a few elements.
+ * This implementation instead holds the fully reconstructed serialized keys of all elements in one
+ * contiguous buffer, which can optionally be allocated off-heap, and the positions of the keys and
+ * values in {@code int[]}s. Lookups and range iterations perform a binary search over the
+ * serialized keys without materializing {@link StoreKey}s, only the elements that are returned to
+ * the caller are materialized.
+ *
+ * <p>Mutations are maintained in a sorted "delta", which takes precedence over the deserialized
+ * elements and is merged with those when iterating and when serializing the index.
+ *
+ * <p>This implementation is used when the system property {@value #COMPACT_PROPERTY} is set to
+ * {@code true}, the system property {@value #DIRECT_PROPERTY} lets the buffer for the keys be
+ * allocated off-heap.
+ */
+final class CompactStoreIndexImpl<V> implements StoreIndex<V> {
+
+  static final String COMPACT_PROPERTY = "nessie.internal.store-index-compact";
+  static final String DIRECT_PROPERTY = "nessie.internal.store-index-compact-direct";
+
+  static final boolean COMPACT = Boolean.getBoolean(COMPACT_PROPERTY);
+  private static final boolean DIRECT = Boolean.getBoolean(DIRECT_PROPERTY);
+
+  /** See {@link StoreIndexImpl}. */
+  private static final int ASSUMED_PER_ENTRY_OVERHEAD = 2 + 2;
+
+  /** Marks an element of the deserialized index as removed in {@link #delta}. */
+  private static final StoreIndexElement<?> REMOVED = indexElement(StoreKey.key("removed"), "");
+
+  private final ElementSerializer<V> serializer;
+
+  /** The serialized index, only absolute operations are used on this buffer. */
+  private final ByteBuffer serialized;
+
+  private final int serializedStart;
+  private final int originalSerializedSize;
+
+  /** Number of elements in the deserialized index. */
+  private final int baseCount;
+
+  /**
+   * Reconstructed serialized keys of the deserialized index, without the trailing end-of-key
+   * marker, only absolute operations are used on this buffer.
+   */
+  private final ByteBuffer keys;
+
+  /** Offsets of the keys in {@link #keys}, contains {@code baseCount + 1} elements. */
+  private final int[] keyOffsets;
+
+  /** Offsets of the values in {@link #serialized}. */
+  private final int[] valueOffsets;
+
+  /** End offsets (exclusive) of the values in {@link #serialized}. */
+  private final int[] valueEnds;
+
+  /** Added, updated and removed elements. */
+  private final NavigableMap<StoreKey, StoreIndexElement<V>> delta = new TreeMap<>();
+
+  /**
+   * This buffer is used for temporary use within lookups. Note: {@link CompactStoreIndexImpl} is
+   * not thread safe as defined by {@link StoreIndex}.
+   */
+  private final ByteBuffer scratchKeyBuffer = newKeyBuffer();
+
+  private int elementCount;
+  private int estimatedSerializedSizeDiff;
+  private boolean modified;
+  private ObjId objId;
+  private List<StoreKey> keyList;
+
+  static <V> StoreIndex<V> deserializeStoreIndex(ByteBuffer serialized, ElementSerializer<V> ser) {
+    return new CompactStoreIndexImpl<>(serialized, ser);
+  }
+
+  private CompactStoreIndexImpl(ByteBuffer serialized, ElementSerializer<V> ser) {
+    int start = serialized.position();
+    byte version = serialized.get();
+    checkArgument(
+        version == 1 || version == 2, "Unsupported serialized representation of KeyIndexSegment");
+
+    int capacity = version >= 2 ? readVarInt(serialized) : 16;
+    int[] keyOffs = new int[capacity + 1];
+    int[] valueOffs = new int[capacity];
+    int[] valueEnds = new int[capacity];
+    byte[] keyBytes = new byte[Math.max(64, serialized.remaining() * 2)];
+    byte[] current = new byte[MAX_KEY_BYTES];
+
+    int count = 0;
+    int keysLen = 0;
+    int currentLen = 0;
+    while (serialized.remaining() > 0) {
+      int strip = count == 0 ? 0 : readVarInt(serialized);
+
+      int prefixLen = currentLen - strip;
+      int keyOffset = serialized.position();
+      skipKey(serialized); // skip key
+      int valueOffset = serialized.position();
+      ser.skip(serialized); // skip content/value
+      int endOffset = serialized.position();
+
+      int keyPartLen = valueOffset - keyOffset;
+      for (int i = 0; i < keyPartLen; i++) {
+        current[prefixLen + i] = serialized.get(keyOffset + i);
+      }
+      currentLen = prefixLen + keyPartLen;
+
+      if (count == valueOffs.length) {
+        int newCapacity = Math.max(16, capacity * 2);
+        keyOffs = Arrays.copyOf(keyOffs, newCapacity + 1);
+        valueOffs = Arrays.copyOf(valueOffs, newCapacity);
+        valueEnds = Arrays.copyOf(valueEnds, newCapacity);
+        capacity = newCapacity;
+      }
+
+      // Do not store the 2 trailing zero-bytes (end of last element + end of key)
+      int rawLen = currentLen - 2;
+      if (keysLen + rawLen > keyBytes.length) {
+        keyBytes = Arrays.copyOf(keyBytes, Math.max(keyBytes.length * 2, keysLen + rawLen));
+      }
+      System.arraycopy(current, 0, keyBytes, keysLen, rawLen);
+
+      keyOffs[count] = keysLen;
+      valueOffs[count] = valueOffset;
+      valueEnds[count] = endOffset;
+      keysLen += rawLen;
+      count++;
+    }
+    keyOffs[count] = keysLen;
+
+    ByteBuffer keys;
+    if (DIRECT) {
+      keys = ByteBuffer.allocateDirect(keysLen);
+      keys.put(keyBytes, 0, keysLen).flip();
+    } else {
+      keys =
+          ByteBuffer.wrap(keysLen == keyBytes.length ? keyBytes : Arrays.copyOf(keyBytes, keysLen));
+    }
+
+    this.serializer = ser;
+    this.serialized = serialized.duplicate().position(start);
+    this.serializedStart = start;
+    this.originalSerializedSize = serialized.position() - start;
+    this.baseCount = count;
+    this.elementCount = count;
+    this.keys = keys;
+    this.keyOffsets = keyOffs.length == count + 1 ? keyOffs : Arrays.copyOf(keyOffs, count + 1);
+    this.valueOffsets = valueOffs.length == count ? valueOffs : Arrays.copyOf(valueOffs, count);
+    this.valueEnds = valueEnds.length == count ? valueEnds : Arrays.copyOf(valueEnds, count);
+  }
+
+  @Override
+  public boolean isModified() {
+    return modified;
+  }
+
+  @Override
+  public ObjId getObjId() {
+    return objId;
+  }
+
+  @Override
+  public StoreIndex<V> setObjId(ObjId objId) {
+    this.objId = objId;
+    return this;
+  }
+
+  @Override
+  public StoreIndex<V> loadIfNecessary(Set<StoreKey> keys) {
+    return this;
+  }
+
+  @Override
+  public boolean isLoaded() {
+    return true;
+  }
+
+  @Override
+  public StoreIndex<V> asMutableIndex() {
+    return this;
+  }
+
+  @Override
+  public boolean isMutable() {
+    return true;
+  }
+
+  @Override
+  public List<StoreIndex<V>> divide(int parts) {
+    int size = elementCount;
+    checkArgument(
+        parts > 0 && parts <= size,
+        "Number of parts %s must be greater than 0 and less or equal to number of elements %s",
+        parts,
+        size);
+    int partSize = size / parts;
+
+    List<StoreIndex<V>> result = new ArrayList<>(parts);
+    Iterator<StoreIndexElement<V>> elements = iterator();
+    for (int i = 0; i < parts; i++) {
+      int num = i < parts - 1 ? partSize : size - partSize * (parts - 1);
+      StoreIndexImpl<V> part = new StoreIndexImpl<>(serializer);
+      for (int n = 0; n < num; n++) {
+        // Elements are added in their natural order, which is cheap for 'StoreIndexImpl'
+        part.add(elements.next());
+      }
+      result.add(part);
+    }
+    return result;
+  }
+
+  @Override
+  public List<StoreIndex<V>> stripes() {
+    return singletonList(this);
+  }
+
+  @Override
+  public int elementCount() {
+    return elementCount;
+  }
+
+  @Override
+  public void updateAll(Function<StoreIndexElement<V>, V> updater) {
+    // Collect the elements first, the loop below modifies 'delta'
+    List<StoreIndexElement<V>> elements = new ArrayList<>(elementCount);
+    iterator().forEachRemaining(elements::add);
+
+    for (StoreIndexElement<V> el : elements) {
+      V updated = updater.apply(el);
+      if (updated == null) {
+        remove(el.key());
+      } else if (updated != el.content()) {
+        add(indexElement(el.key(), updated));
+      }
+    }
+  }
+
+  @Override
+  public boolean add(@Nonnull StoreIndexElement<V> element) {
+    modified = true;
+    keyList = null;
+
+    int elementSerializedSize = element.contentSerializedSize(serializer);
+    StoreIndexElement<V> previous = delta.put(element.key(), element);
+    if (previous != null && previous != REMOVED) {
+      estimatedSerializedSizeDiff +=
+          elementSerializedSize - previous.contentSerializedSize(serializer);
+      return false;
+    }
+
+    if (previous == null) {
+      int idx = baseSearch(element.key());
+      if (idx >= 0) {
+        estimatedSerializedSizeDiff += elementSerializedSize - baseValueSize(idx);
+        return false;
+      }
+    }
+
+    elementCount++;
+    estimatedSerializedSizeDiff +=
+        serializedSize(element.key()) + ASSUMED_PER_ENTRY_OVERHEAD + elementSerializedSize;
+    return true;
+  }
+
+  @Override
+  public boolean remove(@Nonnull StoreKey key) {
+    StoreIndexElement<V> previous = delta.get(key);
+    if (previous == REMOVED) {
+      return false;
+    }
+
+    int idx = baseSearch(key);
+    if (previous == null && idx < 0) {
+      return false;
+    }
+
+    modified = true;
+    keyList = null;
+
+    if (idx >= 0) {
+      delta.put(key, removed());
+    } else {
+      delta.remove(key);
+    }
+    elementCount--;
+
+    int contentSize =
+        previous != null ? previous.contentSerializedSize(serializer) : baseValueSize(idx);
+    estimatedSerializedSizeDiff -= 2 + contentSize;
+
+    return true;
+  }
+
+  @Override
+  public boolean contains(@Nonnull StoreKey key) {
+    StoreIndexElement<V> d = delta.get(key);
+    if (d != null) {
+      return d != REMOVED;
+    }
+    return baseSearch(key) >= 0;
+  }
+
+  @Override
+  public @Nullable StoreIndexElement<V> get(@Nonnull StoreKey key) {
+    StoreIndexElement<V> d = delta.get(key);
+    if (d != null) {
+      return d != REMOVED ? d : null;
+    }
+    int idx = baseSearch(key);
+    if (idx < 0) {
+      return null;
+    }
+    return new BaseElement(idx, key);
+  }
+
+  @Nullable
+  @Override
+  public StoreKey first() {
+    Iterator<StoreIndexElement<V>> iter = iterator();
+    return iter.hasNext() ? iter.next().key() : null;
+  }
+
+  @Nullable
+  @Override
+  public StoreKey last() {
+    StoreKey deltaLast = null;
+    for (Map.Entry<StoreKey, StoreIndexElement<V>> e : delta.descendingMap().entrySet()) {
+      if (e.getValue() != REMOVED) {
+        deltaLast = e.getKey();
+        break;
+      }
+    }
+
+    StoreKey baseLast = null;
+    for (int i = baseCount - 1; i >= 0; i--) {
+      StoreKey k = baseKey(i);
+      if (delta.get(k) != REMOVED) {
+        baseLast = k;
+        break;
+      }
+    }
+
+    if (deltaLast == null) {
+      return baseLast;
+    }
+    if (baseLast == null) {
+      return deltaLast;
+    }
+    return deltaLast.compareTo(baseLast) > 0 ? deltaLast : baseLast;
+  }
+
+  @Override
+  public List<StoreKey> asKeyList() {
+    if (delta.isEmpty()) {
+      return new AbstractList<>() {
+        @Override
+        public StoreKey get(int index) {
+          return baseKey(index);
+        }
+
+        @Override
+        public int size() {
+          return baseCount;
+        }
+      };
+    }
+
+    List<StoreKey> list = keyList;
+    if (list == null) {
+      list = new ArrayList<>(elementCount);
+      for (Iterator<StoreIndexElement<V>> iter = iterator(); iter.hasNext(); ) {
+        list.add(iter.next().key());
+      }
+      keyList = list = Collections.unmodifiableList(list);
+    }
+    return list;
+  }
+
+  @Override
+  public @Nonnull Iterator<StoreIndexElement<V>> iterator(
+      @Nullable StoreKey begin, @Nullable StoreKey end, boolean prefetch) {
+    boolean prefix = begin != null && begin.equals(end);
+    int fromIdx = begin != null ? baseIteratorIndex(begin, 0) : 0;
+    int toIdx = !prefix && end != null ? baseIteratorIndex(end, 1) : baseCount;
+
+    checkArgument(toIdx >= fromIdx, "'to' must be greater than 'from'");
+
+    NavigableMap<StoreKey, StoreIndexElement<V>> d = delta;
+    if (!d.isEmpty()) {
+      if (begin != null) {
+        d = d.tailMap(begin, true);
+      }
+      if (!prefix && end != null) {
+        d =
+            begin != null && begin.compareTo(end) > 0
+                ? Collections.emptyNavigableMap()
+                : d.headMap(end, true);
+      }
+    }
+
+    Iterator<StoreIndexElement<V>> base =
+        new MergingIterator(fromIdx, toIdx, d.entrySet().iterator());
+    return prefix
+        ? new AbstractIterator<>() {
+
+          @Override
+          protected StoreIndexElement<V> computeNext() {
+            if (!base.hasNext()) {
+              return endOfData();
+            }
+            StoreIndexElement<V> v = base.next();
+            if (!v.key().startsWith(begin)) {
+              return endOfData();
+            }
+            return v;
+          }
+        }
+        : base;
+  }
+
+  @Override
+  @VisibleForTesting
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof CompactStoreIndexImpl)) {
+      return false;
+    }
+    @SuppressWarnings("unchecked")
+    CompactStoreIndexImpl<V> that = (CompactStoreIndexImpl<V>) o;
+    return elementCount == that.elementCount
+        && Iterators.elementsEqual(iterator(), that.iterator());
+  }
+
+  @Override
+  @VisibleForTesting
+  public int hashCode() {
+    int h = 1;
+    for (Iterator<StoreIndexElement<V>> iter = iterator(); iter.hasNext(); ) {
+      h = 31 * h + iter.next().hashCode();
+    }
+    return h;
+  }
+
+  @Override
+  public String toString() {
+    StoreKey f = first();
+    StoreKey l = last();
+    String fk = f != null ? f.toString() : "";
+    String lk = l != null ? l.toString() : "";
+    return "CompactStoreIndexImpl{size=" + elementCount() + ", first=" + fk + ", last=" + lk + "}";
+  }
+
+  @Override
+  public int estimatedSerializedSize() {
+    return originalSerializedSize + estimatedSerializedSizeDiff;
+  }
+
+  @Override
+  public @Nonnull ByteString serialize() {
+    if (!modified) {
+      ByteBuffer target =
+          serialized
+              .duplicate()
+              .limit(serializedStart + originalSerializedSize)
+              .position(serializedStart);
+      return unsafeWrap(target);
+    }
+
+    ByteBuffer target = ByteBuffer.allocate(estimatedSerializedSize());
+
+    // Serialized segment index version
+    if (SERIALIZE_VERSION >= CURRENT_STORE_INDEX_VERSION) {
+      target.put((byte) 2);
+      putVarInt(target, elementCount());
+    } else {
+      target.put((byte) 1);
+    }
+
+    byte[] previousKey = new byte[MAX_KEY_BYTES];
+    byte[] currentKey = new byte[MAX_KEY_BYTES];
+    int previousKeyLen = -1;
+
+    ElementSerializer<V> ser = serializer;
+    ByteBuffer keyBuffer = scratchKeyBuffer;
+    for (Iterator<StoreIndexElement<V>> iter = iterator(); iter.hasNext(); ) {
+      StoreIndexElement<V> el = iter.next();
+
+      int currentKeyLen;
+      if (el.getClass() == BaseElement.class) {
+        // Serialized key can be taken from 'keys', no need to materialize the 'StoreKey'
+        int idx = ((BaseElement) el).index;
+        int off = keyOffsets[idx];
+        int rawLen = keyOffsets[idx + 1] - off;
+        for (int i = 0; i < rawLen; i++) {
+          currentKey[i] = keys.get(off + i);
+        }
+        currentKey[rawLen] = 0;
+        currentKey[rawLen + 1] = 0;
+        currentKeyLen = rawLen + 2;
+      } else {
+        ByteBuffer keyBuf = el.key().serialize(keyBuffer);
+        currentKeyLen = keyBuf.remaining();
+        keyBuf.get(currentKey, 0, currentKeyLen);
+      }
+
+      if (previousKeyLen >= 0) {
+        int mismatch =
+            Arrays.mismatch(previousKey, 0, previousKeyLen, currentKey, 0, currentKeyLen);
+        checkState(mismatch != -1, "Previous and current keys must not be equal");
+        putVarInt(target, previousKeyLen - mismatch);
+        target.put(currentKey, mismatch, currentKeyLen - mismatch);
+      } else {
+        target.put(currentKey, 0, currentKeyLen);
+      }
+
+      byte[] swap = previousKey;
+      previousKey = currentKey;
+      currentKey = swap;
+      previousKeyLen = currentKeyLen;
+
+      el.serializeContent(ser, target);
+    }
+
+    target.flip();
+    return unsafeWrap(target);
+  }
+
+  @SuppressWarnings("unchecked")
+  private StoreIndexElement<V> removed() {
+    return (StoreIndexElement<V>) REMOVED;
+  }
+
+  private int baseValueSize(int idx) {
+    return valueEnds[idx] - valueOffsets[idx];
+  }
+
+  private ByteBuffer baseValue(int idx) {
+    return serialized.duplicate().limit(valueEnds[idx]).position(valueOffsets[idx]);
+  }
+
+  private StoreKey baseKey(int idx) {
+    int off = keyOffsets[idx];
+    int len = keyOffsets[idx + 1] - off;
+    String s;
+    if (keys.hasArray()) {
+      s = new String(keys.array(), keys.arrayOffset() + off, len, StandardCharsets.UTF_8);
+    } else {
+      byte[] bytes = new byte[len];
+      keys.duplicate().position(off).get(bytes);
+      s = new String(bytes, StandardCharsets.UTF_8);
+    }
+    return keyFromString(s);
+  }
+
+  private int baseIteratorIndex(StoreKey from, int exactAdd) {
+    int fromIdx = baseSearch(from);
+    if (fromIdx < 0) {
+      fromIdx = -fromIdx - 1;
+    } else {
+      fromIdx += exactAdd;
+    }
+    return fromIdx;
+  }
+
+  /**
+   * Binary search for the given key in the deserialized elements, same contract as {@link
+   * Collections#binarySearch(List, Object)}.
+   */
+  private int baseSearch(StoreKey key) {
+    ByteBuffer keyBuf = key.serialize(scratchKeyBuffer);
+    int keyLen = keyBuf.remaining() - 2;
+
+    int low = 0;
+    int high = baseCount - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int cmp = compareBaseKey(mid, keyBuf, keyLen);
+      if (cmp < 0) {
+        low = mid + 1;
+      } else if (cmp > 0) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -(low + 1);
+  }
+
+  /**
+   * Compares the serialized key of the deserialized element at index {@code idx} with the given
+   * serialized key, yielding the same result as {@link StoreKey#compareTo(StoreKey)}.
+   */
+  private int compareBaseKey(int idx, ByteBuffer keyBuf, int keyLen) {
+    int off = keyOffsets[idx];
+    int len = keyOffsets[idx + 1] - off;
+    int n = Math.min(len, keyLen);
+    for (int i = 0; i < n; i++) {
+      int a = keys.get(off + i) & 0xff;
+      int b = keyBuf.get(i) & 0xff;
+      if (a != b) {
+        return collationWeight(a) - collationWeight(b);
+      }
+    }
+    return len - keyLen;
+  }
+
+  /**
+   * {@link StoreKey}s compare using their UTF-16 representation, in which surrogate pairs (code
+   * points above {@code U+FFFF}) sort before the code points {@code U+E000..U+FFFF}. The UTF-8
+   * lead bytes for {@code U+E000..U+FFFF} ({@code 0xEE, 0xEF}) are therefore "moved" after the
+   * lead bytes of 4-byte sequences ({@code 0xF0..0xF4}).
+   */
+  @VisibleForTesting
+  static int collationWeight(int b) {
+    return b == 0xee || b == 0xef ? b + 7 : b;
+  }
+
+  /** Merges the deserialized elements in the given range with the given delta elements. */
+  private final class MergingIterator extends AbstractIterator<StoreIndexElement<V>> {
+    private final int toIdx;
+    private final Iterator<Map.Entry<StoreKey, StoreIndexElement<V>>> deltaIter;
+    private int baseIdx;
+    private StoreIndexElement<V> nextDelta;
+    private ByteBuffer nextDeltaKey;
+    private int nextDeltaKeyLen;
+
+    MergingIterator(
+        int fromIdx, int toIdx, Iterator<Map.Entry<StoreKey, StoreIndexElement<V>>> deltaIter) {
+      this.baseIdx = fromIdx;
+      this.toIdx = toIdx;
+      this.deltaIter = deltaIter;
+      advanceDelta();
+    }
+
+    private void advanceDelta() {
+      if (!deltaIter.hasNext()) {
+        nextDelta = null;
+        return;
+      }
+      Map.Entry<StoreKey, StoreIndexElement<V>> next = deltaIter.next();
+      nextDelta = next.getValue();
+      if (nextDeltaKey == null) {
+        nextDeltaKey = newKeyBuffer();
+      }
+      // Use the map's key, the key of the 'REMOVED' marker is not the key of the removed element
+      nextDeltaKey = next.getKey().serialize(nextDeltaKey);
+      nextDeltaKeyLen = nextDeltaKey.remaining() - 2;
+    }
+
+    @Override
+    protected StoreIndexElement<V> computeNext() {
+      while (true) {
+        boolean hasBase = baseIdx < toIdx;
+        StoreIndexElement<V> d = nextDelta;
+        if (d == null) {
+          return hasBase ? new BaseElement(baseIdx++, null) : endOfData();
+        }
+
+        int cmp = hasBase ? compareBaseKey(baseIdx, nextDeltaKey, nextDeltaKeyLen) : 1;
+        if (cmp < 0) {
+          return new BaseElement(baseIdx++, null);
+        }
+        if (cmp == 0) {
+          // delta element replaces or removes the deserialized element
+          baseIdx++;
+        }
+        advanceDelta();
+        if (d != REMOVED) {
+          return d;
+        }
+      }
+    }
+  }
+
+  /** Element of the deserialized index, key and content are materialized lazily. */
+  private final class BaseElement extends AbstractStoreIndexElement<V> {
+    final int index;
+    private StoreKey key;
+    private V content;
+
+    BaseElement(int index, StoreKey key) {
+      this.index = index;
+      this.key = key;
+    }
+
+    @Override
+    public StoreKey key() {
+      StoreKey k = key;
+      if (k == null) {
+        k = key = baseKey(index);
+      }
+      return k;
+    }
+
+    @Override
+    public V content() {
+      V c = content;
+      if (c == null) {
+        c = content = serializer.deserialize(baseValue(index));
+      }
+      return c;
+    }
+
+    @Override
+    public void serializeContent(ElementSerializer<V> ser, ByteBuffer target) {
+      target.put(baseValue(index));
+    }
+
+    @Override
+    public int contentSerializedSize(ElementSerializer<V> ser) {
+      return baseValueSize(index);
+    }
+  }
+}
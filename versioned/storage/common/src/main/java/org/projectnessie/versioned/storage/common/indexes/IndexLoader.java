@@ -16,6 +16,8 @@
 package org.projectnessie.versioned.storage.common.indexes;
 
 import jakarta.annotation.Nonnull;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 @FunctionalInterface
 public interface IndexLoader<V> {
@@ -35,4 +37,19 @@ public interface IndexLoader<V> {
    */
   @Nonnull
   StoreIndex<V>[] loadIndexes(@Nonnull StoreIndex<V>[] indexes);
+
+  /**
+   * Asynchronous variant of {@link #loadIndexes(StoreIndex[])}, used to read-ahead index stripes
+   * while iterating.
+   *
+   * <p>The default implementation delegates to the synchronous variant.
+   */
+  @Nonnull
+  default CompletionStage<StoreIndex<V>[]> loadIndexesAsync(@Nonnull StoreIndex<V>[] indexes) {
+    try {
+      return CompletableFuture.completedStage(loadIndexes(indexes));
+    } catch (Exception e) {
+      return CompletableFuture.failedStage(e);
+    }
+  }
 }
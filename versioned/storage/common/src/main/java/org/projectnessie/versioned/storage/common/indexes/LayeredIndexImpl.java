@@ -56,6 +56,13 @@ final class LayeredIndexImpl<V> implements StoreIndex<V> {
     return this;
   }
 
+  @Override
+  public StoreIndex<V> loadIfNecessary(@Nullable StoreKey begin, @Nullable StoreKey end) {
+    reference.loadIfNecessary(begin, end);
+    updates.loadIfNecessary(begin, end);
+    return this;
+  }
+
   @Override
   public boolean isLoaded() {
     return reference.isLoaded() && updates.isLoaded();
@@ -149,10 +156,21 @@ final class LayeredIndexImpl<V> implements StoreIndex<V> {
   @Override
   public Iterator<StoreIndexElement<V>> iterator(
       @Nullable StoreKey begin, @Nullable StoreKey end, boolean prefetch) {
-    return new AbstractIterator<>() {
-      final Iterator<StoreIndexElement<V>> fullIter = reference.iterator(begin, end, prefetch);
-      final Iterator<StoreIndexElement<V>> incrementalIter = updates.iterator(begin, end, prefetch);
+    return merge(reference.iterator(begin, end, prefetch), updates.iterator(begin, end, prefetch));
+  }
 
+  @Nonnull
+  @Override
+  public Iterator<StoreIndexElement<V>> iterator(
+      @Nullable StoreKey begin, @Nullable StoreKey end, int readAheadStripes) {
+    return merge(
+        reference.iterator(begin, end, readAheadStripes),
+        updates.iterator(begin, end, readAheadStripes));
+  }
+
+  private Iterator<StoreIndexElement<V>> merge(
+      Iterator<StoreIndexElement<V>> fullIter, Iterator<StoreIndexElement<V>> incrementalIter) {
+    return new AbstractIterator<>() {
       StoreIndexElement<V> fullElement;
       StoreIndexElement<V> incrementalElement;
 
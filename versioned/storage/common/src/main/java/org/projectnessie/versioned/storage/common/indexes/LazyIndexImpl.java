@@ -17,11 +17,13 @@ package org.projectnessie.versioned.storage.common.indexes;
 
 import static org.projectnessie.versioned.storage.common.util.SupplyOnce.memoize;
 
+import com.google.common.base.Suppliers;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.function.BooleanSupplier;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import org.projectnessie.nessie.relocated.protobuf.ByteString;
@@ -30,23 +32,51 @@ import org.projectnessie.versioned.storage.common.persist.ObjId;
 final class LazyIndexImpl<V> implements StoreIndex<V> {
 
   private final Supplier<StoreIndex<V>> loader;
-  private boolean loaded;
+  private final BooleanSupplier loadedCheck;
+  private volatile boolean loaded;
   private ObjId objId;
   private final StoreKey firstKey;
   private final StoreKey lastKey;
 
   LazyIndexImpl(Supplier<StoreIndex<V>> supplier, StoreKey firstKey, StoreKey lastKey) {
+    this(supplier, firstKey, lastKey, false);
+  }
+
+  /**
+   * @param threadSafe whether the supplier shall be called at most once, even if this index is
+   *     used concurrently from multiple threads. The supplier is called again after it failed.
+   */
+  LazyIndexImpl(
+      Supplier<StoreIndex<V>> supplier, StoreKey firstKey, StoreKey lastKey, boolean threadSafe) {
+    this.firstKey = firstKey;
+    this.lastKey = lastKey;
+    Supplier<StoreIndex<V>> load =
+        () -> {
+          try {
+            return supplier.get();
+          } finally {
+            loaded = true;
+          }
+        };
+    this.loader = threadSafe ? Suppliers.memoize(load::get) : memoize(load);
+    this.loadedCheck = () -> loaded;
+  }
+
+  /**
+   * Does not hold on to the index returned by the supplier, the supplier is called for every
+   * access. Used for indexes that are held by a cache.
+   *
+   * @param loadedCheck yields whether the supplier can return the index without loading it
+   */
+  LazyIndexImpl(
+      Supplier<StoreIndex<V>> supplier,
+      BooleanSupplier loadedCheck,
+      StoreKey firstKey,
+      StoreKey lastKey) {
     this.firstKey = firstKey;
     this.lastKey = lastKey;
-    this.loader =
-        memoize(
-            () -> {
-              try {
-                return supplier.get();
-              } finally {
-                loaded = true;
-              }
-            });
+    this.loader = supplier;
+    this.loadedCheck = loadedCheck;
   }
 
   private StoreIndex<V> loaded() {
@@ -66,7 +96,7 @@ final class LazyIndexImpl<V> implements StoreIndex<V> {
 
   @Override
   public boolean isModified() {
-    if (!loaded) {
+    if (!isLoaded()) {
       return false;
     }
     return loaded().isModified();
@@ -77,9 +107,14 @@ final class LazyIndexImpl<V> implements StoreIndex<V> {
     return loaded().loadIfNecessary(keys);
   }
 
+  @Override
+  public StoreIndex<V> loadIfNecessary(@Nullable StoreKey begin, @Nullable StoreKey end) {
+    return loaded().loadIfNecessary(begin, end);
+  }
+
   @Override
   public boolean isLoaded() {
-    return loaded;
+    return loadedCheck.getAsBoolean();
   }
 
   @Override
@@ -129,7 +164,7 @@ final class LazyIndexImpl<V> implements StoreIndex<V> {
 
   @Override
   public boolean contains(@Nonnull StoreKey key) {
-    if (!loaded && (key.equals(firstKey) || key.equals(lastKey))) {
+    if (!isLoaded() && (key.equals(firstKey) || key.equals(lastKey))) {
       return true;
     }
     return loaded().contains(key);
@@ -144,7 +179,7 @@ final class LazyIndexImpl<V> implements StoreIndex<V> {
   @Override
   @Nullable
   public StoreKey first() {
-    if (loaded || firstKey == null) {
+    if (firstKey == null || isLoaded()) {
       return loaded().first();
     }
     return firstKey;
@@ -153,7 +188,7 @@ final class LazyIndexImpl<V> implements StoreIndex<V> {
   @Override
   @Nullable
   public StoreKey last() {
-    if (loaded || lastKey == null) {
+    if (lastKey == null || isLoaded()) {
       return loaded().last();
     }
     return lastKey;
@@ -177,6 +212,13 @@ final class LazyIndexImpl<V> implements StoreIndex<V> {
     return loaded().iterator(begin, end, prefetch);
   }
 
+  @Override
+  @Nonnull
+  public Iterator<StoreIndexElement<V>> iterator(
+      @Nullable StoreKey begin, @Nullable StoreKey end, int readAheadStripes) {
+    return loaded().iterator(begin, end, readAheadStripes);
+  }
+
   @Override
   @Nonnull
   public ByteString serialize() {
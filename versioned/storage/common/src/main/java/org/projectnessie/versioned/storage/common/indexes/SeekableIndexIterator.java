@@ -0,0 +1,38 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.indexes;
+
+import jakarta.annotation.Nonnull;
+import java.util.Iterator;
+
+/**
+ * Iterator over the elements of a {@link StoreIndex} that can skip forward, returned by {@link
+ * StoreIndex#seekableIterator(StoreKey, StoreKey)}.
+ *
+ * @param <V> value type held in a {@link StoreIndexElement}
+ */
+public interface SeekableIndexIterator<V> extends Iterator<StoreIndexElement<V>> {
+
+  /**
+   * Skips all elements with a key lower than the given key, the begin/end restrictions of the
+   * iterator still apply. Skipping does not load the index stripes that only contain skipped
+   * elements.
+   *
+   * <p>Seeking to a key that is lower than or equal to the key of the element returned last has no
+   * effect.
+   */
+  void seek(@Nonnull StoreKey key);
+}
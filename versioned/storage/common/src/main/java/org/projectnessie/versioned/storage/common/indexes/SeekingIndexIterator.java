@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.indexes;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Implements {@link SeekableIndexIterator} for all {@link StoreIndex} implementations by starting a
+ * new {@link StoreIndex#iterator(StoreKey, StoreKey, boolean) iterator} at the seek target. Striped
+ * indexes locate the stripe for the seek target using the first/last keys of the stripes and load
+ * only that stripe, layered indexes seek in both the reference and the embedded index.
+ */
+final class SeekingIndexIterator<V> implements SeekableIndexIterator<V> {
+  private final StoreIndex<V> index;
+  private final StoreKey begin;
+  private final StoreKey prefix;
+  private final StoreKey end;
+
+  private Iterator<StoreIndexElement<V>> current;
+  private StoreIndexElement<V> next;
+  private StoreKey lastKey;
+  private StoreKey seekTo;
+  private boolean exhausted;
+
+  SeekingIndexIterator(StoreIndex<V> index, @Nullable StoreKey begin, @Nullable StoreKey end) {
+    this.index = index;
+    this.begin = begin;
+    boolean prefix = begin != null && begin.equals(end);
+    this.prefix = prefix ? begin : null;
+    this.end = prefix ? null : end;
+    this.current = index.iterator(begin, end, false);
+  }
+
+  @Override
+  public void seek(@Nonnull StoreKey key) {
+    if (lastKey != null && key.compareTo(lastKey) <= 0) {
+      return;
+    }
+    if (next != null) {
+      if (next.key().compareTo(key) >= 0) {
+        return;
+      }
+      next = null;
+    }
+    if (seekTo == null || key.compareTo(seekTo) > 0) {
+      seekTo = key;
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (next != null) {
+      return true;
+    }
+    if (exhausted) {
+      return false;
+    }
+
+    StoreKey s = seekTo;
+    if (s != null) {
+      seekTo = null;
+      if (end != null && end.compareTo(s) < 0) {
+        exhausted = true;
+        return false;
+      }
+      if (begin == null || s.compareTo(begin) > 0) {
+        current = index.iterator(s, null, false);
+      }
+    }
+
+    if (!current.hasNext()) {
+      exhausted = true;
+      return false;
+    }
+    StoreIndexElement<V> el = current.next();
+    StoreKey k = el.key();
+    if (prefix != null ? !k.startsWith(prefix) : end != null && end.compareTo(k) < 0) {
+      exhausted = true;
+      return false;
+    }
+    next = el;
+    return true;
+  }
+
+  @Override
+  public StoreIndexElement<V> next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    StoreIndexElement<V> el = next;
+    next = null;
+    lastKey = el.key();
+    return el;
+  }
+}
@@ -50,6 +50,18 @@ public interface StoreIndex<V> extends Iterable<StoreIndexElement<V>> {
    */
   StoreIndex<V> loadIfNecessary(Set<StoreKey> keys);
 
+  /**
+   * Loads all index stripes that can contain keys in the given range, using a single batched load
+   * for all stripes that are not loaded yet. The {@code begin} and {@code end} parameters follow
+   * the semantics of {@link #iterator(StoreKey, StoreKey, boolean)}.
+   *
+   * <p>The default implementation does nothing, because non-striped indexes do not need to load
+   * anything.
+   */
+  default StoreIndex<V> loadIfNecessary(@Nullable StoreKey begin, @Nullable StoreKey end) {
+    return this;
+  }
+
   boolean isLoaded();
 
   StoreIndex<V> asMutableIndex();
@@ -140,6 +152,36 @@ public interface StoreIndex<V> extends Iterable<StoreIndexElement<V>> {
   Iterator<StoreIndexElement<V>> iterator(
       @Nullable StoreKey begin, @Nullable StoreKey end, boolean prefetch);
 
+  /**
+   * Iterate over the elements in this index, with the same begin/end semantics as {@link
+   * #iterator(StoreKey, StoreKey, boolean)}, without eagerly loading all potentially required
+   * indexes.
+   *
+   * <p>Striped indexes load the next {@code readAheadStripes} stripes in the background while the
+   * elements of the current stripe are being consumed. This is the preferred way to iterate over
+   * large key ranges of striped indexes.
+   *
+   * <p>The default implementation ignores {@code readAheadStripes}.
+   */
+  @Nonnull
+  default Iterator<StoreIndexElement<V>> iterator(
+      @Nullable StoreKey begin, @Nullable StoreKey end, int readAheadStripes) {
+    return iterator(begin, end, false);
+  }
+
+  /**
+   * Iterate over the elements in this index, with the same begin/end semantics as {@link
+   * #iterator(StoreKey, StoreKey, boolean)}, without eagerly loading all potentially required
+   * indexes. The returned iterator can {@link SeekableIndexIterator#seek(StoreKey) skip} elements,
+   * for example to implement a skip-scan that only visits the first element of a group of
+   * elements sharing the same key prefix.
+   */
+  @Nonnull
+  default SeekableIndexIterator<V> seekableIterator(
+      @Nullable StoreKey begin, @Nullable StoreKey end) {
+    return new SeekingIndexIterator<>(this, begin, end);
+  }
+
   @Nonnull
   ByteString serialize();
 }
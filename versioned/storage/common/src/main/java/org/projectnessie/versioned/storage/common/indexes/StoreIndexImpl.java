@@ -115,9 +115,9 @@ final class StoreIndexImpl<V> implements StoreIndex<V> {
    */
   private static final int ASSUMED_PER_ENTRY_OVERHEAD = 2 + 2;
 
-  private static final int CURRENT_STORE_INDEX_VERSION = 2;
+  static final int CURRENT_STORE_INDEX_VERSION = 2;
 
-  private static final int SERIALIZE_VERSION =
+  static final int SERIALIZE_VERSION =
       Integer.getInteger("nessie.internal.store-index-format-version", CURRENT_STORE_INDEX_VERSION);
 
   public static final Comparator<StoreIndexElement<?>> KEY_COMPARATOR =
@@ -173,6 +173,23 @@ final class StoreIndexImpl<V> implements StoreIndex<V> {
     this.serialized = null;
   }
 
+  /**
+   * Returns a copy of the given index, in which all keys and values are materialized. Reading from
+   * the returned index does not touch any serialized representation or scratch buffer, so the
+   * returned index can be read from multiple threads concurrently, as long as it is not modified.
+   */
+  static <V> StoreIndexImpl<V> materializedCopy(
+      StoreIndex<V> index, ElementSerializer<V> serializer) {
+    List<StoreIndexElement<V>> elements = new ArrayList<>(index.elementCount());
+    for (StoreIndexElement<V> el : index) {
+      elements.add(indexElement(el.key(), el.content()));
+    }
+    StoreIndexImpl<V> copy =
+        new StoreIndexImpl<>(elements, index.estimatedSerializedSize(), serializer, false);
+    copy.objId = index.getObjId();
+    return copy;
+  }
+
   @Override
   public boolean isModified() {
     return modified;
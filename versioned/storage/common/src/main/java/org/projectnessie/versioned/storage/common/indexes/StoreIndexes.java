@@ -19,7 +19,9 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static org.projectnessie.versioned.storage.common.indexes.IndexLoader.notLoading;
 
 import jakarta.annotation.Nonnull;
+import java.nio.ByteBuffer;
 import java.util.List;
+import java.util.function.BooleanSupplier;
 import java.util.function.Supplier;
 import org.projectnessie.nessie.relocated.protobuf.ByteString;
 import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
@@ -38,7 +40,10 @@ public final class StoreIndexes {
 
   public static <V> StoreIndex<V> deserializeStoreIndex(
       ByteString serialized, ElementSerializer<V> ser) {
-    return StoreIndexImpl.deserializeStoreIndex(serialized.asReadOnlyByteBuffer(), ser);
+    ByteBuffer buffer = serialized.asReadOnlyByteBuffer();
+    return CompactStoreIndexImpl.COMPACT
+        ? CompactStoreIndexImpl.deserializeStoreIndex(buffer, ser)
+        : StoreIndexImpl.deserializeStoreIndex(buffer, ser);
   }
 
   /**
@@ -56,6 +61,44 @@ public final class StoreIndexes {
     return new LazyIndexImpl<>(supplier, null, null);
   }
 
+  /**
+   * Like {@link #lazyStoreIndex(Supplier, StoreKey, StoreKey)}, but the returned index can be used
+   * concurrently from multiple threads, the supplier is called at most once. The index returned by
+   * the supplier must be safe for concurrent reads, see {@link #materializedStoreIndex(StoreIndex,
+   * ElementSerializer)}.
+   *
+   * <p>Used for indexes that are shared across requests, for example cached complete indexes.
+   */
+  public static <V> StoreIndex<V> sharedLazyStoreIndex(
+      Supplier<StoreIndex<V>> supplier, StoreKey firstKey, StoreKey lastKey) {
+    return new LazyIndexImpl<>(supplier, firstKey, lastKey, true);
+  }
+
+  /**
+   * Like {@link #sharedLazyStoreIndex(Supplier, StoreKey, StoreKey)}, but the returned index does
+   * not hold on to the index returned by the supplier, which is called for every access. Used for
+   * indexes that are held by a cache, so that an index evicted from the cache is not kept
+   * reachable by the indexes that reference it.
+   *
+   * @param isLoaded yields whether the supplier can return the index without loading it
+   */
+  public static <V> StoreIndex<V> cacheBackedStoreIndex(
+      Supplier<StoreIndex<V>> supplier,
+      BooleanSupplier isLoaded,
+      StoreKey firstKey,
+      StoreKey lastKey) {
+    return new LazyIndexImpl<>(supplier, isLoaded, firstKey, lastKey);
+  }
+
+  /**
+   * Returns a copy of the given index with all keys and values materialized, which is safe for
+   * concurrent reads from multiple threads, as long as it is not modified.
+   */
+  public static <V> StoreIndex<V> materializedStoreIndex(
+      StoreIndex<V> index, ElementSerializer<V> serializer) {
+    return StoreIndexImpl.materializedCopy(index, serializer);
+  }
+
   /**
    * Combined view of two indexes, values of the {@code updates} index take precedence.
    *
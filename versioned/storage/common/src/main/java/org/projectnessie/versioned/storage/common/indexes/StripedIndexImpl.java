@@ -22,10 +22,14 @@ import static java.util.Arrays.binarySearch;
 import com.google.common.collect.AbstractIterator;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import org.projectnessie.nessie.relocated.protobuf.ByteString;
@@ -90,7 +94,27 @@ final class StripedIndexImpl<V> implements StoreIndex<V> {
     return this;
   }
 
+  @Override
+  public StoreIndex<V> loadIfNecessary(@Nullable StoreKey begin, @Nullable StoreKey end) {
+    boolean prefix = begin != null && begin.equals(end);
+    int start = begin == null ? 0 : indexForKey(begin);
+    int stop = prefix || end == null ? stripes.length - 1 : indexForKey(end);
+    loadStripes(start, stop);
+    return this;
+  }
+
   private void loadStripes(int firstIndex, int lastIndex) {
+    StoreIndex<V>[] indexesToLoad = stripesToLoad(firstIndex, lastIndex);
+    if (indexesToLoad != null) {
+      loadStripes(indexesToLoad);
+    }
+  }
+
+  /**
+   * Returns the array of the not yet loaded stripes in the given range, suitable for {@link
+   * IndexLoader#loadIndexes(StoreIndex[])}, or {@code null} if all stripes in the range are loaded.
+   */
+  private StoreIndex<V>[] stripesToLoad(int firstIndex, int lastIndex) {
     StoreIndex<V>[] stripes = this.stripes;
     @SuppressWarnings("unchecked")
     StoreIndex<V>[] indexesToLoad = new StoreIndex[stripes.length];
@@ -104,15 +128,15 @@ final class StripedIndexImpl<V> implements StoreIndex<V> {
       }
     }
 
-    if (cnt > 0) {
-      loadStripes(indexesToLoad);
-    }
+    return cnt > 0 ? indexesToLoad : null;
   }
 
   private void loadStripes(StoreIndex<V>[] indexesToLoad) {
-    StoreIndex<V>[] stripes = this.stripes;
+    applyLoadedStripes(indexLoader.loadIndexes(indexesToLoad));
+  }
 
-    StoreIndex<V>[] loadedIndexes = indexLoader.loadIndexes(indexesToLoad);
+  private void applyLoadedStripes(StoreIndex<V>[] loadedIndexes) {
+    StoreIndex<V>[] stripes = this.stripes;
     for (int i = 0; i < loadedIndexes.length; i++) {
       StoreIndex<V> loaded = loadedIndexes[i];
       if (loaded != null) {
@@ -257,6 +281,126 @@ final class StripedIndexImpl<V> implements StoreIndex<V> {
     };
   }
 
+  @Nonnull
+  @Override
+  public Iterator<StoreIndexElement<V>> iterator(
+      @Nullable StoreKey begin, @Nullable StoreKey end, int readAheadStripes) {
+    if (readAheadStripes <= 0) {
+      return iterator(begin, end, false);
+    }
+
+    boolean prefix = begin != null && begin.equals(end);
+    int start = begin == null ? 0 : indexForKey(begin);
+    int stop = prefix || end == null ? stripes.length - 1 : indexForKey(end);
+
+    Predicate<StoreKey> endCheck =
+        prefix ? k -> !k.startsWith(begin) : (end != null ? k -> end.compareTo(k) < 0 : k -> false);
+
+    return new ReadAheadIterator(begin, endCheck, start, stop, readAheadStripes);
+  }
+
+  /**
+   * Iterates over the stripes {@code start} to {@code stop}. Before the elements of a stripe are
+   * consumed, the loads of the following {@code readAhead} stripes are triggered via {@link
+   * IndexLoader#loadIndexesAsync(StoreIndex[])}.
+   *
+   * <p>Loaded stripes are only applied to the {@link #stripes} array from the thread that consumes
+   * the iterator, when the iterator reaches a stripe that is covered by a pending load.
+   */
+  private final class ReadAheadIterator extends AbstractIterator<StoreIndexElement<V>> {
+    private final StoreKey begin;
+    private final Predicate<StoreKey> endCheck;
+    private final int start;
+    private final int stop;
+    private final int readAhead;
+
+    /** Pending loads, ordered by the stripes they cover. */
+    private final Deque<PendingLoad<V>> pending = new ArrayDeque<>();
+
+    /** Index of the last stripe for which a load has been triggered. */
+    private int requestedUpTo;
+
+    private int stripe;
+    private Iterator<StoreIndexElement<V>> current;
+
+    ReadAheadIterator(
+        StoreKey begin, Predicate<StoreKey> endCheck, int start, int stop, int readAhead) {
+      this.begin = begin;
+      this.endCheck = endCheck;
+      this.start = start;
+      this.stop = stop;
+      this.readAhead = readAhead;
+      this.requestedUpTo = start - 1;
+      this.stripe = start;
+    }
+
+    @Override
+    protected StoreIndexElement<V> computeNext() {
+      while (true) {
+        if (current == null) {
+          if (stripe > stop) {
+            return endOfData();
+          }
+          current = enterStripe(stripe);
+        }
+
+        if (current.hasNext()) {
+          StoreIndexElement<V> v = current.next();
+          if (endCheck.test(v.key())) {
+            return endOfData();
+          }
+          return v;
+        }
+
+        stripe++;
+        current = null;
+      }
+    }
+
+    private Iterator<StoreIndexElement<V>> enterStripe(int idx) {
+      int readUpTo = Math.min(idx + readAhead, stop);
+      if (readUpTo > requestedUpTo) {
+        StoreIndex<V>[] indexesToLoad = stripesToLoad(requestedUpTo + 1, readUpTo);
+        if (indexesToLoad != null) {
+          pending.addLast(
+              new PendingLoad<>(
+                  requestedUpTo + 1,
+                  indexLoader.loadIndexesAsync(indexesToLoad).toCompletableFuture()));
+        }
+        requestedUpTo = readUpTo;
+      }
+
+      // Apply all pending loads up to the one that covers the current stripe
+      while (!pending.isEmpty() && pending.peekFirst().firstIndex <= idx) {
+        PendingLoad<V> load = pending.removeFirst();
+        try {
+          applyLoadedStripes(load.future.join());
+        } catch (CompletionException e) {
+          Throwable cause = e.getCause();
+          if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+          }
+          throw e;
+        }
+      }
+
+      StoreIndex<V> s = stripes[idx];
+      return idx == start && begin != null ? s.iterator(begin, null, false) : s.iterator();
+    }
+  }
+
+  private static final class PendingLoad<T> {
+    /** Index of the first stripe covered by this load. */
+    final int firstIndex;
+
+    final CompletableFuture<StoreIndex<T>[]> future;
+
+    PendingLoad(int firstIndex, CompletableFuture<StoreIndex<T>[]> future) {
+      this.firstIndex = firstIndex;
+      this.future = future;
+    }
+  }
+
   @Nonnull
   @Override
   public ByteString serialize() {
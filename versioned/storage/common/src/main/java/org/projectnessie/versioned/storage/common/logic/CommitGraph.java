@@ -0,0 +1,271 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.logic;
+
+import static org.projectnessie.versioned.storage.common.logic.CommitLogicImpl.NO_COMMON_ANCESTOR_IN_PARENTS_OF;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitGraphObj.commitGraph;
+import static org.projectnessie.versioned.storage.common.objtypes.StandardObjType.COMMIT;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.EMPTY_OBJ_ID;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import org.agrona.collections.Object2ObjectHashMap;
+import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
+import org.projectnessie.versioned.storage.common.objtypes.CommitGraphObj;
+import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+
+/**
+ * Identifies the common ancestor of two commits, considering only direct parents, using the {@link
+ * CommitGraphObj commit-graph acceleration index}.
+ *
+ * <p>Commit-graph nodes that do not exist yet are built on demand, walking the {@link
+ * CommitObj#tail() tail} of the commits down to the nearest commit that already has a node, and
+ * are persisted when the common ancestor has been identified.
+ *
+ * <p>The number of round-trips to the database is logarithmic to the distance between the two
+ * commits, both commit-graph nodes needed for a step are fetched in a single batch.
+ */
+final class CommitGraph {
+
+  /** Maximum number of commit-graph nodes to persist in a single batch. */
+  static final int STORE_BATCH_SIZE = 50;
+
+  private final Persist persist;
+
+  /** Commit-graph nodes by commit ID. */
+  private final Object2ObjectHashMap<ObjId, CommitGraphObj> nodes = new Object2ObjectHashMap<>();
+
+  /** IDs of the commits that are known to not have a persisted commit-graph node. */
+  private final Set<ObjId> absent = new HashSet<>();
+
+  /** Commit-graph nodes that have been built, but not persisted yet. */
+  private final List<CommitGraphObj> built = new ArrayList<>();
+
+  CommitGraph(Persist persist) {
+    this.persist = persist;
+  }
+
+  ObjId findCommonAncestor(ObjId targetId, ObjId sourceId) {
+    ObjId commonAncestor;
+    try {
+      commonAncestor = walk(targetId, sourceId);
+    } catch (RuntimeException e) {
+      // The nodes built so far are valid, even if the lookup failed, but a failure to persist
+      // those must not hide the original failure.
+      try {
+        storeBuilt();
+      } catch (RuntimeException storeFailure) {
+        e.addSuppressed(storeFailure);
+      }
+      throw e;
+    }
+    storeBuilt();
+    return commonAncestor;
+  }
+
+  private ObjId walk(ObjId targetId, ObjId sourceId) {
+    CommitGraphObj a = EMPTY_OBJ_ID.equals(targetId) ? null : node(targetId);
+    CommitGraphObj b = EMPTY_OBJ_ID.equals(sourceId) ? null : node(sourceId);
+    if (a == null || b == null) {
+      throw noCommonAncestor(targetId, sourceId);
+    }
+
+    while (!a.commitId().equals(b.commitId())) {
+      ObjId nextA = a.commitId();
+      ObjId nextB = b.commitId();
+      if (a.seq() > b.seq()) {
+        nextA = stepTowards(a, b.seq());
+      } else if (b.seq() > a.seq()) {
+        nextB = stepTowards(b, a.seq());
+      } else if (a.jumpSeq() == b.jumpSeq() && !a.jump().equals(b.jump())) {
+        // Both jump targets are different, so the common ancestor must be an ancestor of both.
+        nextA = a.jump();
+        nextB = b.jump();
+      } else {
+        nextA = a.directParent();
+        nextB = b.directParent();
+      }
+
+      if (EMPTY_OBJ_ID.equals(nextA) || EMPTY_OBJ_ID.equals(nextB)) {
+        throw noCommonAncestor(targetId, sourceId);
+      }
+
+      fetchNodes(nextA, nextB);
+      a = node(nextA);
+      b = node(nextB);
+    }
+
+    return a.commitId();
+  }
+
+  /**
+   * Returns the ID of the next commit to visit to reach the ancestor of the given node with the
+   * given {@code seq}.
+   */
+  private static ObjId stepTowards(CommitGraphObj node, long seq) {
+    return node.jumpSeq() >= seq ? node.jump() : node.directParent();
+  }
+
+  /** Fetches the existing commit-graph nodes for the given commit IDs in a single batch. */
+  private void fetchNodes(ObjId... commitIds) {
+    List<ObjId> missing = new ArrayList<>(commitIds.length);
+    for (ObjId commitId : commitIds) {
+      if (!EMPTY_OBJ_ID.equals(commitId)
+          && !nodes.containsKey(commitId)
+          && !absent.contains(commitId)
+          && !missing.contains(commitId)) {
+        missing.add(commitId);
+      }
+    }
+    if (missing.isEmpty()) {
+      return;
+    }
+
+    ObjId[] ids = missing.stream().map(CommitGraphObj::commitGraphObjId).toArray(ObjId[]::new);
+    CommitGraphObj[] fetched =
+        persist.fetchTypedObjsIfExist(ids, CommitGraphObj.TYPE, CommitGraphObj.class);
+    for (int i = 0; i < fetched.length; i++) {
+      CommitGraphObj node = fetched[i];
+      if (node != null) {
+        nodes.put(node.commitId(), node);
+      } else {
+        absent.add(missing.get(i));
+      }
+    }
+  }
+
+  private CommitGraphObj node(ObjId commitId) {
+    CommitGraphObj node = nodes.get(commitId);
+    if (node != null) {
+      return node;
+    }
+
+    if (!absent.contains(commitId)) {
+      fetchNodes(commitId);
+      node = nodes.get(commitId);
+      if (node != null) {
+        return node;
+      }
+    }
+
+    CommitObj[] commit =
+        persist.fetchTypedObjsIfExist(new ObjId[] {commitId}, COMMIT, CommitObj.class);
+    if (commit[0] == null) {
+      throw new NoSuchElementException("Commit '" + commitId + "' not found");
+    }
+    return build(commit[0]);
+  }
+
+  /**
+   * Builds the commit-graph nodes for the given commit and all its direct ancestors that do not
+   * have a commit-graph node yet, using the commits' {@link CommitObj#tail() tail} to fetch the
+   * commits in batches.
+   */
+  private CommitGraphObj build(CommitObj head) {
+    // Commits without a commit-graph node, oldest commit first
+    Deque<CommitObj> missing = new ArrayDeque<>();
+    missing.push(head);
+
+    CommitObj commit = head;
+    while (!isKnown(commit.directParent())) {
+      List<ObjId> tail = commit.tail();
+      fetchNodes(tail.toArray(new ObjId[0]));
+
+      int unknown = 0;
+      while (unknown < tail.size() && !isKnown(tail.get(unknown))) {
+        unknown++;
+      }
+
+      ObjId[] ancestorIds = tail.subList(0, unknown).toArray(new ObjId[0]);
+      CommitObj[] ancestors = persist.fetchTypedObjsIfExist(ancestorIds, COMMIT, CommitObj.class);
+      for (int i = 0; i < ancestors.length; i++) {
+        if (ancestors[i] == null) {
+          throw new NoSuchElementException("Commit '" + ancestorIds[i] + "' not found");
+        }
+        missing.push(ancestors[i]);
+      }
+
+      if (unknown < tail.size()) {
+        break;
+      }
+      commit = ancestors[ancestors.length - 1];
+    }
+
+    CommitGraphObj node = null;
+    while (!missing.isEmpty()) {
+      node = newNode(missing.pop());
+      nodes.put(node.commitId(), node);
+      built.add(node);
+    }
+    return node;
+  }
+
+  private boolean isKnown(ObjId commitId) {
+    return EMPTY_OBJ_ID.equals(commitId) || nodes.containsKey(commitId);
+  }
+
+  /**
+   * Creates the commit-graph node for the given commit, the node of its direct parent must be
+   * known.
+   *
+   * <p>The "jump" pointer uses the skew-binary scheme: if the distances between the parent, the
+   * parent's jump target and that node's jump target are equal, the new jump pointer "skips" both
+   * distances, otherwise it points to the direct parent.
+   */
+  private CommitGraphObj newNode(CommitObj commit) {
+    ObjId parentId = commit.directParent();
+    if (EMPTY_OBJ_ID.equals(parentId)) {
+      return commitGraph(commit.id(), commit.seq(), EMPTY_OBJ_ID, EMPTY_OBJ_ID, 0L);
+    }
+
+    CommitGraphObj parent = nodes.get(parentId);
+    ObjId jump = parentId;
+    long jumpSeq = parent.seq();
+    if (!EMPTY_OBJ_ID.equals(parent.jump())) {
+      CommitGraphObj parentJump = node(parent.jump());
+      if (parent.seq() - parentJump.seq() == parentJump.seq() - parentJump.jumpSeq()) {
+        jump = parentJump.jump();
+        jumpSeq = parentJump.jumpSeq();
+      }
+    }
+
+    return commitGraph(commit.id(), commit.seq(), parentId, jump, jumpSeq);
+  }
+
+  private void storeBuilt() {
+    for (int i = 0; i < built.size(); i += STORE_BATCH_SIZE) {
+      List<CommitGraphObj> batch = built.subList(i, Math.min(i + STORE_BATCH_SIZE, built.size()));
+      try {
+        persist.storeObjs(batch.toArray(new CommitGraphObj[0]));
+      } catch (ObjTooLargeException e) {
+        throw new RuntimeException(e);
+      }
+    }
+    built.clear();
+  }
+
+  private static NoSuchElementException noCommonAncestor(ObjId targetId, ObjId sourceId) {
+    return new NoSuchElementException(
+        NO_COMMON_ANCESTOR_IN_PARENTS_OF + targetId + " and " + sourceId);
+  }
+}
@@ -829,7 +829,7 @@ final class CommitLogicImpl implements CommitLogic {
   @Override
   public ObjId findCommonAncestor(@Nonnull ObjId targetId, @Nonnull ObjId sourceId)
       throws NoSuchElementException {
-    return identifyMergeBase(targetId, sourceId, false);
+    return new CommitGraph(persist).findCommonAncestor(targetId, sourceId);
   }
 
   @Nonnull
@@ -0,0 +1,199 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.logic;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.emptyImmutableIndex;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.layeredIndex;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.materializedStoreIndex;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.COMMIT_OP_SERIALIZER;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import jakarta.annotation.Nonnull;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+import org.projectnessie.versioned.storage.common.indexes.ElementSerializer;
+import org.projectnessie.versioned.storage.common.indexes.StoreIndex;
+import org.projectnessie.versioned.storage.common.indexes.StoreIndexes;
+import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.objtypes.CommitOp;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+
+/**
+ * Cache for the complete indexes of commits, shared across requests and threads.
+ *
+ * <p>Building the complete index of a commit deserializes the commit's incremental index and
+ * layers it over the commit's reference index. Without this cache that happens for every read
+ * operation, which is noticeable for the HEADs of frequently read branches.
+ *
+ * <p>This cache holds the complete index of a commit as an immutable view per repository and commit
+ * ID. The stripes of the reference indexes are loaded lazily and cached per repository and index
+ * segment ID, so commits that share the same reference index stripes, which is the case for most
+ * consecutive commits, also share the loaded stripes. Cached complete indexes do not hold on to
+ * loaded stripes, those are looked up in this cache on every access. A stripe that has been evicted
+ * is therefore garbage collected and loaded again when it is needed.
+ *
+ * <p>All cached indexes are {@link StoreIndexes#materializedStoreIndex(StoreIndex,
+ * ElementSerializer) materialized copies}, which can be read concurrently. The cache is bounded by
+ * the estimated heap size of the cached indexes.
+ */
+public final class CompleteIndexCache {
+
+  /** Estimated factor of the heap size of a materialized index to its serialized size. */
+  static final int HEAP_SIZE_FACTOR = 3;
+
+  /** Estimated heap overhead per cached index and per lazy reference index stripe. */
+  static final int INDEX_OVERHEAD = 256;
+
+  private final Cache<CacheKey, CachedIndex> cache;
+
+  private CompleteIndexCache(long capacityBytes) {
+    this.cache =
+        CacheBuilder.newBuilder()
+            .maximumWeight(capacityBytes)
+            .weigher((CacheKey k, CachedIndex v) -> v.weight)
+            .build();
+  }
+
+  public static CompleteIndexCache completeIndexCache(long capacityBytes) {
+    checkArgument(capacityBytes > 0L, "Capacity must be positive");
+    return new CompleteIndexCache(capacityBytes);
+  }
+
+  /**
+   * Returns the complete index for the given commit, equivalent to {@link
+   * IndexesLogic#buildCompleteIndex(CommitObj, java.util.Optional)}. The returned index must not be
+   * modified.
+   */
+  @Nonnull
+  public StoreIndex<CommitOp> completeIndex(@Nonnull Persist persist, @Nonnull CommitObj commit) {
+    checkArgument(!commit.incompleteIndex(), "Commit %s has no complete key index", commit.id());
+    return get(
+        persist,
+        commit.id(),
+        () -> {
+          IndexesLogicImpl indexesLogic = new IndexesLogicImpl(persist);
+          StoreIndex<CommitOp> incremental =
+              materializedStoreIndex(
+                  indexesLogic.incrementalIndexFromCommit(commit), COMMIT_OP_SERIALIZER);
+          StoreIndex<CommitOp> reference = indexesLogic.sharedReferenceIndex(commit, this);
+          if (reference == null) {
+            reference = emptyImmutableIndex(COMMIT_OP_SERIALIZER);
+          }
+          int weight =
+              weight(incremental) + commit.referenceIndexStripes().size() * INDEX_OVERHEAD;
+          return new CachedIndex(layeredIndex(reference, incremental), weight);
+        });
+  }
+
+  /**
+   * Returns the cached reference index segment with the given ID, using the given loader to load
+   * it, if it is not cached.
+   */
+  StoreIndex<CommitOp> segment(
+      Persist persist, ObjId segmentId, Supplier<StoreIndex<CommitOp>> loader) {
+    return get(persist, segmentId, () -> cachedSegment(loader.get(), segmentId));
+  }
+
+  boolean containsSegment(Persist persist, ObjId segmentId) {
+    return cache.getIfPresent(new CacheKey(persist.config().repositoryId(), segmentId)) != null;
+  }
+
+  /** Adds the given loaded reference index segment, which must have its object ID, to the cache. */
+  void putSegment(Persist persist, StoreIndex<CommitOp> segment) {
+    ObjId segmentId = requireNonNull(segment.getObjId(), "Index segment has no ObjId");
+    cache
+        .asMap()
+        .putIfAbsent(
+            new CacheKey(persist.config().repositoryId(), segmentId),
+            cachedSegment(segment, segmentId));
+  }
+
+  @VisibleForTesting
+  void invalidate(Persist persist, ObjId id) {
+    cache.invalidate(new CacheKey(persist.config().repositoryId(), id));
+  }
+
+  @VisibleForTesting
+  long size() {
+    return cache.size();
+  }
+
+  private StoreIndex<CommitOp> get(Persist persist, ObjId id, Callable<CachedIndex> loader) {
+    try {
+      return cache.get(new CacheKey(persist.config().repositoryId(), id), loader).index;
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  private static CachedIndex cachedSegment(StoreIndex<CommitOp> segment, ObjId segmentId) {
+    StoreIndex<CommitOp> materialized =
+        materializedStoreIndex(segment, COMMIT_OP_SERIALIZER).setObjId(segmentId);
+    return new CachedIndex(materialized, weight(materialized));
+  }
+
+  private static int weight(StoreIndex<CommitOp> index) {
+    long weight = (long) index.estimatedSerializedSize() * HEAP_SIZE_FACTOR + INDEX_OVERHEAD;
+    return (int) Math.min(weight, Integer.MAX_VALUE);
+  }
+
+  private static final class CachedIndex {
+    final StoreIndex<CommitOp> index;
+    final int weight;
+
+    CachedIndex(StoreIndex<CommitOp> index, int weight) {
+      this.index = index;
+      this.weight = weight;
+    }
+  }
+
+  private static final class CacheKey {
+    final String repositoryId;
+    final ObjId id;
+
+    CacheKey(String repositoryId, ObjId id) {
+      this.repositoryId = repositoryId;
+      this.id = id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof CacheKey)) {
+        return false;
+      }
+      CacheKey cacheKey = (CacheKey) o;
+      return repositoryId.equals(cacheKey.repositoryId) && id.equals(cacheKey.id);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(repositoryId, id);
+    }
+  }
+}
@@ -19,11 +19,13 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.cacheBackedStoreIndex;
 import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.deserializeStoreIndex;
 import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.indexFromSplits;
 import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.layeredIndex;
 import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.lazyStoreIndex;
 import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.newStoreIndex;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.sharedLazyStoreIndex;
 import static org.projectnessie.versioned.storage.common.logic.CommitLogQuery.commitLogQuery;
 import static org.projectnessie.versioned.storage.common.logic.Logics.commitLogic;
 import static org.projectnessie.versioned.storage.common.logic.SuppliedCommitIndex.suppliedCommitIndex;
@@ -51,6 +53,8 @@ import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.function.IntFunction;
 import java.util.function.Supplier;
 import org.projectnessie.nessie.relocated.protobuf.ByteString;
@@ -224,10 +228,37 @@ final class IndexesLogicImpl implements IndexesLogic {
   @Nonnull
   public StoreIndex<CommitOp> buildReferenceIndexOnly(
       @Nonnull ObjId indexId, @Nonnull ObjId commitId) {
-    return lazyStoreIndex(() -> loadReferenceIndex(indexId, commitId));
+    return lazyStoreIndex(() -> loadReferenceIndex(indexId, commitId, null));
   }
 
-  private StoreIndex<CommitOp> loadReferenceIndex(@Nonnull ObjId indexId, @Nonnull ObjId commitId) {
+  /**
+   * Builds the reference index of the given commit for the {@link CompleteIndexCache}. The returned
+   * index can be used concurrently from multiple threads. Its stripes are loaded lazily via the
+   * cache, so commits that reference the same stripes share those.
+   *
+   * @return the reference index or {@code null}, if the commit has no reference index
+   */
+  @Nullable
+  StoreIndex<CommitOp> sharedReferenceIndex(
+      @Nonnull CommitObj commit, @Nonnull CompleteIndexCache cache) {
+    ObjId referenceIndexId = commit.referenceIndex();
+    List<IndexStripe> commitStripes = commit.referenceIndexStripes();
+    if (!commitStripes.isEmpty()) {
+      checkState(
+          referenceIndexId == null,
+          "Commit %s: must not have both pointer to a reference index and stripes",
+          commit.id());
+      return sharedReferenceIndexFromStripes(commitStripes, cache);
+    }
+    if (referenceIndexId != null) {
+      return sharedLazyStoreIndex(
+          () -> loadReferenceIndex(referenceIndexId, commit.id(), cache), null, null);
+    }
+    return null;
+  }
+
+  private StoreIndex<CommitOp> loadReferenceIndex(
+      @Nonnull ObjId indexId, @Nonnull ObjId commitId, @Nullable CompleteIndexCache cache) {
     Obj keyIndex;
     try {
       keyIndex = persist.fetchObj(indexId);
@@ -241,9 +272,17 @@ final class IndexesLogicImpl implements IndexesLogic {
         case INDEX_SEGMENTS:
           IndexSegmentsObj split = (IndexSegmentsObj) keyIndex;
           List<IndexStripe> indexStripes = split.stripes();
-          return referenceIndexFromStripes(indexStripes, commitId);
+          return cache != null
+              ? sharedReferenceIndexFromStripes(indexStripes, cache)
+              : referenceIndexFromStripes(indexStripes, commitId);
         case INDEX:
-          return deserializeIndex(((IndexObj) keyIndex).index()).setObjId(keyIndex.id());
+          IndexObj index = (IndexObj) keyIndex;
+          if (cache != null) {
+            // Put the already fetched index into the cache
+            cache.segment(persist, indexId, () -> deserializeIndex(index.index()));
+            return cachedSegment(indexId, null, null, cache);
+          }
+          return deserializeIndex(index.index()).setObjId(keyIndex.id());
         default:
           // fall through
       }
@@ -285,6 +324,31 @@ final class IndexesLogicImpl implements IndexesLogic {
     }
   }
 
+  private CompletionStage<StoreIndex<CommitOp>[]> loadIndexSegmentsAsync(
+      @Nonnull ObjId[] indexes) {
+    return persist
+        .fetchTypedObjsIfExistAsync(indexes, INDEX, IndexObj.class)
+        .thenApply(
+            objs -> {
+              @SuppressWarnings("unchecked")
+              StoreIndex<CommitOp>[] r = new StoreIndex[indexes.length];
+              List<ObjId> notFound = new ArrayList<>();
+              for (int i = 0; i < objs.length; i++) {
+                IndexObj index = objs[i];
+                if (index != null) {
+                  r[i] = deserializeIndex(index.index()).setObjId(indexes[i]);
+                } else if (indexes[i] != null) {
+                  notFound.add(indexes[i]);
+                }
+              }
+              if (!notFound.isEmpty()) {
+                throw new IllegalStateException(
+                    format("Reference index segments %s not found", notFound));
+              }
+              return r;
+            });
+  }
+
   private StoreIndex<CommitOp> referenceIndexFromStripes(
       List<IndexStripe> indexStripes, ObjId commitId) {
     List<StoreIndex<CommitOp>> stripes = new ArrayList<>(indexStripes.size());
@@ -322,42 +386,158 @@ final class IndexesLogicImpl implements IndexesLogic {
     }
 
     IndexLoader<CommitOp> indexLoader =
-        indexesToLoad -> {
-          checkArgument(indexesToLoad.length == loaded.length);
-          ObjId[] ids = new ObjId[indexesToLoad.length];
-          int cnt = 0;
-          for (int i = 0; i < indexesToLoad.length; i++) {
-            StoreIndex<CommitOp> idx = indexesToLoad[i];
-            if (idx != null) {
-              ObjId segmentId = idx.getObjId();
-              if (segmentId != null) {
+        new IndexLoader<>() {
+          @Nonnull
+          @Override
+          public StoreIndex<CommitOp>[] loadIndexes(@Nonnull StoreIndex<CommitOp>[] indexesToLoad) {
+            ObjId[] ids = segmentIds(indexesToLoad);
+            return segmentsLoaded(ids, loadIndexSegments(ids));
+          }
+
+          @Nonnull
+          @Override
+          public CompletionStage<StoreIndex<CommitOp>[]> loadIndexesAsync(
+              @Nonnull StoreIndex<CommitOp>[] indexesToLoad) {
+            ObjId[] ids = segmentIds(indexesToLoad);
+            return loadIndexSegmentsAsync(ids).thenApply(indexes -> segmentsLoaded(ids, indexes));
+          }
+
+          private ObjId[] segmentIds(StoreIndex<CommitOp>[] indexesToLoad) {
+            checkArgument(indexesToLoad.length == loaded.length);
+            ObjId[] ids = new ObjId[indexesToLoad.length];
+            int cnt = 0;
+            for (int i = 0; i < indexesToLoad.length; i++) {
+              StoreIndex<CommitOp> idx = indexesToLoad[i];
+              if (idx != null) {
+                ObjId segmentId = idx.getObjId();
+                if (segmentId != null) {
+                  ids[i] = idx.getObjId();
+                  cnt++;
+                } else {
+                  LOGGER.warn(
+                      "Reference index Segment #{} has no objId for commit {}", i, commitId);
+                }
+              }
+            }
+            LOGGER.debug(
+                "Fetching {} of {} index segments for commit {}", cnt, ids.length, commitId);
+            return ids;
+          }
+
+          private StoreIndex<CommitOp>[] segmentsLoaded(
+              ObjId[] ids, StoreIndex<CommitOp>[] indexes) {
+            for (int i = 0; i < indexes.length; i++) {
+              StoreIndex<CommitOp> idx = indexes[i];
+              if (idx != null) {
+                loaded[i] = idx;
+              } else if (ids[i] != null) {
+                LOGGER.warn(
+                    "Reference index Segment #{} has with id {} not loaded for commit {}",
+                    i,
+                    ids[i],
+                    commitId);
+              }
+            }
+            return indexes;
+          }
+        };
+
+    return indexFromSplits(stripes, firstLastKeys, indexLoader);
+  }
+
+  /**
+   * Variant of {@link #referenceIndexFromStripes(List, ObjId)} for the {@link CompleteIndexCache}.
+   *
+   * <p>The stripes of the returned index get the loaded stripes from the cache on every access and
+   * do not hold on to those, so the cache alone bounds the heap used by loaded stripes.
+   * Bulk-loaded stripes are put into the cache and the loader hands out the cache-backed stripes
+   * again, so that the striped index never publishes a loaded stripe to other threads itself.
+   */
+  private StoreIndex<CommitOp> sharedReferenceIndexFromStripes(
+      List<IndexStripe> indexStripes, CompleteIndexCache cache) {
+    List<StoreIndex<CommitOp>> stripes = new ArrayList<>(indexStripes.size());
+    List<StoreKey> firstLastKeys = new ArrayList<>(indexStripes.size() * 2);
+
+    for (IndexStripe s : indexStripes) {
+      ObjId segmentId = s.segment();
+      stripes.add(cachedSegment(segmentId, s.firstKey(), s.lastKey(), cache));
+      firstLastKeys.add(s.firstKey());
+      firstLastKeys.add(s.lastKey());
+    }
+    if (stripes.size() == 1) {
+      return stripes.get(0);
+    }
+
+    IndexLoader<CommitOp> indexLoader =
+        new IndexLoader<>() {
+          @Nonnull
+          @Override
+          public StoreIndex<CommitOp>[] loadIndexes(@Nonnull StoreIndex<CommitOp>[] indexesToLoad) {
+            ObjId[] ids = uncachedSegmentIds(indexesToLoad);
+            if (ids == null) {
+              return segmentsLoaded(indexesToLoad, null);
+            }
+            return segmentsLoaded(indexesToLoad, loadIndexSegments(ids));
+          }
+
+          @Nonnull
+          @Override
+          public CompletionStage<StoreIndex<CommitOp>[]> loadIndexesAsync(
+              @Nonnull StoreIndex<CommitOp>[] indexesToLoad) {
+            ObjId[] ids = uncachedSegmentIds(indexesToLoad);
+            if (ids == null) {
+              return CompletableFuture.completedFuture(segmentsLoaded(indexesToLoad, null));
+            }
+            return loadIndexSegmentsAsync(ids)
+                .thenApply(indexes -> segmentsLoaded(indexesToLoad, indexes));
+          }
+
+          /** Returns the IDs of the stripes that are not cached, or {@code null} if none. */
+          private ObjId[] uncachedSegmentIds(StoreIndex<CommitOp>[] indexesToLoad) {
+            ObjId[] ids = new ObjId[indexesToLoad.length];
+            int cnt = 0;
+            for (int i = 0; i < indexesToLoad.length; i++) {
+              StoreIndex<CommitOp> idx = indexesToLoad[i];
+              if (idx != null && !cache.containsSegment(persist, idx.getObjId())) {
                 ids[i] = idx.getObjId();
                 cnt++;
-              } else {
-                LOGGER.warn("Reference index Segment #{} has no objId for commit {}", i, commitId);
               }
             }
+            LOGGER.debug("Fetching {} of {} shared index segments", cnt, ids.length);
+            return cnt > 0 ? ids : null;
           }
-          LOGGER.debug("Fetching {} of {} index segments for commit {}", cnt, ids.length, commitId);
-          StoreIndex<CommitOp>[] indexes = loadIndexSegments(ids);
-          for (int i = 0; i < indexes.length; i++) {
-            StoreIndex<CommitOp> idx = indexes[i];
-            if (idx != null) {
-              loaded[i] = idx;
-            } else if (ids[i] != null) {
-              LOGGER.warn(
-                  "Reference index Segment #{} has with id {} not loaded for commit {}",
-                  i,
-                  ids[i],
-                  commitId);
+
+          private StoreIndex<CommitOp>[] segmentsLoaded(
+              StoreIndex<CommitOp>[] indexesToLoad, StoreIndex<CommitOp>[] indexes) {
+            if (indexes != null) {
+              for (StoreIndex<CommitOp> idx : indexes) {
+                if (idx != null) {
+                  cache.putSegment(persist, idx);
+                }
+              }
             }
+            // The cache-backed stripes pick up the cached stripes
+            return indexesToLoad;
           }
-          return indexes;
         };
 
     return indexFromSplits(stripes, firstLastKeys, indexLoader);
   }
 
+  /**
+   * Returns a thread-safe index for the reference index segment with the given ID, that gets the
+   * loaded segment from the cache on every access.
+   */
+  private StoreIndex<CommitOp> cachedSegment(
+      ObjId segmentId, StoreKey firstKey, StoreKey lastKey, CompleteIndexCache cache) {
+    return cacheBackedStoreIndex(
+            () -> cache.segment(persist, segmentId, () -> loadIndexSegment(segmentId)),
+            () -> cache.containsSegment(persist, segmentId),
+            firstKey,
+            lastKey)
+        .setObjId(segmentId);
+  }
+
   @Nonnull
   @Override
   public ObjId persistStripedIndex(@Nonnull StoreIndex<CommitOp> stripedIndex)
@@ -25,13 +25,10 @@ import static org.projectnessie.versioned.storage.common.logic.ShallowCommit.CAN
 import static org.projectnessie.versioned.storage.common.persist.ObjId.EMPTY_OBJ_ID;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.Objects;
 import java.util.PriorityQueue;
 import java.util.function.Function;
-import java.util.stream.Stream;
 import org.agrona.collections.Object2ObjectHashMap;
 import org.immutables.value.Value;
 import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
@@ -121,14 +118,26 @@ public abstract class MergeBase {
         new PriorityQueue<>(comparing(ShallowCommit::seq).reversed());
     List<ShallowCommit> result = new ArrayList<>();
 
+    // Number of queue entries for commits that are not flagged as CANDIDATE, avoids scanning the
+    // whole queue in each iteration.
+    int notCandidates = 0;
+
     commitA.setCommitA();
+    commitA.enqueued();
     queue.add(commitA);
+    notCandidates++;
 
     commitB.setCommitB();
+    commitB.enqueued();
     queue.add(commitB);
+    notCandidates++;
 
-    while (queue.stream().anyMatch(ShallowCommit::isNotCandidate)) {
+    while (notCandidates > 0) {
       ShallowCommit commit = requireNonNull(queue.poll());
+      commit.dequeued();
+      if (commit.isNotCandidate()) {
+        notCandidates--;
+      }
 
       int reachabilityFlags = commit.reachabilityFlags();
       if (reachabilityFlags == BOTH_COMMITS) {
@@ -142,10 +151,24 @@ public abstract class MergeBase {
 
       // Propagate the relevant COMMIT_A, COMMIT_B, CANDIDATE flags down to the parent commits,
       // enqueue those, if the relevant flags were not already set.
-      int reachabilityFlagsFinal = reachabilityFlags;
-      parentCommits(commit)
-          .filter(parent -> parent.setAllFlagsIfAnyMissing(reachabilityFlagsFinal))
-          .forEach(queue::add);
+      for (ObjId parentId : commit.parents()) {
+        ShallowCommit parent = shallowCommit(parentId);
+        if (parent == null) {
+          continue;
+        }
+        boolean wasCandidate = parent.isCandidate();
+        if (parent.setAllFlagsIfAnyMissing(reachabilityFlags)) {
+          if (!wasCandidate && parent.isCandidate()) {
+            // Queue entries of this commit are now CANDIDATEs
+            notCandidates -= parent.queued();
+          }
+          parent.enqueued();
+          queue.add(parent);
+          if (parent.isNotCandidate()) {
+            notCandidates++;
+          }
+        }
+      }
     }
 
     return result;
@@ -299,10 +322,6 @@ public abstract class MergeBase {
         NO_COMMON_ANCESTOR_IN_PARENTS_OF + targetCommitId() + " and " + fromCommitId());
   }
 
-  private Stream<ShallowCommit> parentCommits(ShallowCommit commit) {
-    return Arrays.stream(commit.parents()).map(this::shallowCommit).filter(Objects::nonNull);
-  }
-
   private ShallowCommit shallowCommit(ObjId objId) {
     if (EMPTY_OBJ_ID.equals(objId)) {
       return null;
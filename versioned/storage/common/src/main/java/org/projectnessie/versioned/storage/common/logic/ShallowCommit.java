@@ -43,6 +43,7 @@ final class ShallowCommit {
   private final ObjId[] parents;
   private final long seq;
   private int flags;
+  private int queued;
 
   ShallowCommit(ObjId id, ObjId[] parents, long seq) {
     this.id = id;
@@ -66,6 +67,19 @@ final class ShallowCommit {
     return flags;
   }
 
+  /** Number of times this commit is currently present in the {@link MergeBase} queue. */
+  int queued() {
+    return queued;
+  }
+
+  void enqueued() {
+    queued++;
+  }
+
+  void dequeued() {
+    queued--;
+  }
+
   int reachabilityFlags() {
     return flags & REACHABILITY_FLAGS;
   }
@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.objtypes;
+
+import static org.projectnessie.versioned.storage.common.persist.ObjIdHasher.objIdHasher;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.immutables.value.Value;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.ObjType;
+
+/**
+ * Node of the commit-graph acceleration index, describes the position of a {@link CommitObj} in
+ * the graph of <em>direct</em> parents.
+ *
+ * <p>Each node holds the generation number ({@link #seq()}) of the commit, its direct parent and a
+ * "jump" pointer to an older direct ancestor. Jump pointers follow the skew-binary scheme, which
+ * allows finding the ancestor at a given generation and the common ancestor of two commits in a
+ * logarithmic number of steps, while each node only holds a single additional pointer.
+ *
+ * <p>Commit-graph nodes are derived data, the ID of a node is derived from the ID of the commit it
+ * describes. Nodes are built lazily and can be safely deleted, for example by a repository
+ * cleanup, as they will be re-built on demand.
+ */
+@Value.Immutable
+@JsonSerialize(as = ImmutableCommitGraphObj.class)
+@JsonDeserialize(as = ImmutableCommitGraphObj.class)
+public interface CommitGraphObj extends Obj {
+
+  ObjType TYPE = CustomObjType.customObjType("commit-graph", "cg", CommitGraphObj.class);
+
+  @Override
+  @JsonIgnore
+  default ObjType type() {
+    return TYPE;
+  }
+
+  /** ID of the commit described by this node. */
+  @JsonProperty("c")
+  ObjId commitId();
+
+  /** The {@link CommitObj#seq()} of the commit described by this node. */
+  @JsonProperty("s")
+  long seq();
+
+  /** The {@link CommitObj#directParent()} of the commit described by this node. */
+  @JsonProperty("p")
+  ObjId directParent();
+
+  /**
+   * ID of the direct ancestor commit to "jump" to, {@link ObjId#EMPTY_OBJ_ID} for the
+   * "beginning of time".
+   */
+  @JsonProperty("j")
+  ObjId jump();
+
+  /** The {@link CommitObj#seq()} of the {@link #jump()} commit. */
+  @JsonProperty("js")
+  long jumpSeq();
+
+  static ObjId commitGraphObjId(ObjId commitId) {
+    return objIdHasher(TYPE.name()).hash(commitId).generate();
+  }
+
+  static CommitGraphObj commitGraph(
+      ObjId commitId, long seq, ObjId directParent, ObjId jump, long jumpSeq) {
+    return ImmutableCommitGraphObj.builder()
+        .id(commitGraphObjId(commitId))
+        .commitId(commitId)
+        .seq(seq)
+        .directParent(directParent)
+        .jump(jump)
+        .jumpSeq(jumpSeq)
+        .build();
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.objtypes;
+
+import static org.projectnessie.versioned.storage.common.persist.ObjIdHasher.objIdHasher;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.immutables.value.Value;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.ObjType;
+
+/**
+ * Compression dictionary, trained from a sample of serialized objects of one {@link ObjType}.
+ *
+ * <p>Dictionaries are immutable and content-addressed: training a new dictionary yields a new
+ * object with a new ID, which acts as the dictionary's version. Objects compressed using a
+ * dictionary carry the dictionary's ID, so older dictionaries must stay readable as long as objects
+ * compressed with them exist. Repository cleanup therefore never purges dictionaries.
+ *
+ * <p>Dictionary objects themselves are never compressed.
+ */
+@Value.Immutable
+@JsonSerialize(as = ImmutableCompressionDictionaryObj.class)
+@JsonDeserialize(as = ImmutableCompressionDictionaryObj.class)
+public interface CompressionDictionaryObj extends Obj {
+
+  ObjType TYPE =
+      CustomObjType.customObjType(
+          "compression-dictionary", "cd", CompressionDictionaryObj.class);
+
+  @Override
+  @JsonIgnore
+  default ObjType type() {
+    return TYPE;
+  }
+
+  /** Name of the {@link ObjType} this dictionary has been trained for. */
+  @JsonProperty("t")
+  String objType();
+
+  /** The compression this dictionary is meant for, currently only {@link Compression#ZSTD}. */
+  @JsonProperty("c")
+  Compression compression();
+
+  /** The raw dictionary. */
+  @JsonProperty("d")
+  byte[] dictionary();
+
+  static ObjId compressionDictionaryObjId(
+      String objType, Compression compression, byte[] dictionary) {
+    return objIdHasher(TYPE.name())
+        .hash(objType)
+        .hash(compression)
+        .hash(dictionary)
+        .generate();
+  }
+
+  static CompressionDictionaryObj compressionDictionary(
+      String objType, Compression compression, byte[] dictionary) {
+    return ImmutableCompressionDictionaryObj.builder()
+        .id(compressionDictionaryObjId(objType, compression, dictionary))
+        .objType(objType)
+        .compression(compression)
+        .dictionary(dictionary)
+        .build();
+  }
+}
@@ -24,6 +24,8 @@ public class StandardObjTypeBundle implements ObjTypeBundle {
   @Override
   public void register(Consumer<ObjType> registrar) {
     registrar.accept(JsonObj.TYPE);
+    registrar.accept(CommitGraphObj.TYPE);
+    registrar.accept(CompressionDictionaryObj.TYPE);
     for (StandardObjType objType : StandardObjType.values()) {
       registrar.accept(objType);
     }
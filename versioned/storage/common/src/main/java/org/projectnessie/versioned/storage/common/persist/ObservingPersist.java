@@ -21,6 +21,7 @@ import io.opentelemetry.instrumentation.annotations.WithSpan;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
 import org.projectnessie.versioned.storage.common.config.StoreConfig;
 import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
 import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
@@ -103,6 +104,15 @@ public class ObservingPersist implements Persist {
     return delegate.updateReferencePointer(reference, newPointer);
   }
 
+  @WithSpan
+  @Override
+  @Counted(PREFIX)
+  @Nonnull
+  public CompletionStage<Reference> updateReferencePointerAsync(
+      @Nonnull Reference reference, @Nonnull ObjId newPointer) {
+    return delegate.updateReferencePointerAsync(reference, newPointer);
+  }
+
   @WithSpan
   @Override
   @Counted(PREFIX)
@@ -139,6 +149,14 @@ public class ObservingPersist implements Persist {
     return delegate.fetchReferencesForUpdate(names);
   }
 
+  @WithSpan
+  @Override
+  @Counted(PREFIX)
+  @Nonnull
+  public CompletionStage<Reference[]> fetchReferencesAsync(@Nonnull String[] names) {
+    return delegate.fetchReferencesAsync(names);
+  }
+
   @WithSpan
   @Override
   @Counted(PREFIX)
@@ -213,6 +231,15 @@ public class ObservingPersist implements Persist {
     return delegate.fetchTypedObjsIfExist(ids, type, typeClass);
   }
 
+  @WithSpan
+  @Override
+  @Counted(PREFIX)
+  @Nonnull
+  public <T extends Obj> CompletionStage<T[]> fetchTypedObjsIfExistAsync(
+      @Nonnull ObjId[] ids, ObjType type, @Nonnull Class<T> typeClass) {
+    return delegate.fetchTypedObjsIfExistAsync(ids, type, typeClass);
+  }
+
   @WithSpan
   @Override
   @Counted(PREFIX)
@@ -239,6 +266,14 @@ public class ObservingPersist implements Persist {
     return delegate.storeObjs(objs);
   }
 
+  @WithSpan
+  @Override
+  @Counted(PREFIX)
+  @Nonnull
+  public CompletionStage<boolean[]> storeObjsAsync(@Nonnull Obj[] objs) {
+    return delegate.storeObjsAsync(objs);
+  }
+
   @WithSpan
   @Override
   @Counted(PREFIX)
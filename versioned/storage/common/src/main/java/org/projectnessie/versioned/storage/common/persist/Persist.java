@@ -20,6 +20,8 @@ import jakarta.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import org.projectnessie.versioned.storage.common.config.StoreConfig;
 import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
 import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
@@ -174,6 +176,43 @@ public interface Persist {
     return fetchReferences(names);
   }
 
+  /**
+   * Asynchronous variant of {@link #updateReferencePointer(Reference, ObjId)}.
+   *
+   * <p>The returned {@link CompletionStage} completes exceptionally with a {@link
+   * RefNotFoundException} or {@link RefConditionFailedException} under the same conditions under
+   * which the synchronous variant throws those exceptions.
+   *
+   * <p>The default implementation delegates to the synchronous variant. Database specific
+   * implementations should override this function, if the database driver provides a non-blocking
+   * API.
+   */
+  @Nonnull
+  default CompletionStage<Reference> updateReferencePointerAsync(
+      @Nonnull Reference reference, @Nonnull ObjId newPointer) {
+    try {
+      return CompletableFuture.completedStage(updateReferencePointer(reference, newPointer));
+    } catch (Exception e) {
+      return CompletableFuture.failedStage(e);
+    }
+  }
+
+  /**
+   * Asynchronous variant of {@link #fetchReferences(String[])}.
+   *
+   * <p>The default implementation delegates to the synchronous variant. Database specific
+   * implementations should override this function, if the database driver provides a non-blocking
+   * API.
+   */
+  @Nonnull
+  default CompletionStage<Reference[]> fetchReferencesAsync(@Nonnull String[] names) {
+    try {
+      return CompletableFuture.completedStage(fetchReferences(names));
+    } catch (Exception e) {
+      return CompletableFuture.failedStage(e);
+    }
+  }
+
   // Objects
 
   /**
@@ -309,6 +348,26 @@ public interface Persist {
   <T extends Obj> T[] fetchTypedObjsIfExist(
       @Nonnull ObjId[] ids, ObjType type, @Nonnull Class<T> typeClass);
 
+  /**
+   * Asynchronous variant of {@link #fetchTypedObjsIfExist(ObjId[], ObjType, Class)}.
+   *
+   * <p>Callers must not block on the returned {@link CompletionStage} from within a thread that is
+   * owned by the database driver.
+   *
+   * <p>The default implementation delegates to the synchronous variant. Database specific
+   * implementations should override this function, if the database driver provides a non-blocking
+   * API.
+   */
+  @Nonnull
+  default <T extends Obj> CompletionStage<T[]> fetchTypedObjsIfExistAsync(
+      @Nonnull ObjId[] ids, ObjType type, @Nonnull Class<T> typeClass) {
+    try {
+      return CompletableFuture.completedStage(fetchTypedObjsIfExist(ids, type, typeClass));
+    } catch (Exception e) {
+      return CompletableFuture.failedStage(e);
+    }
+  }
+
   /**
    * Stores the given object as a new record.
    *
@@ -366,6 +425,25 @@ public interface Persist {
   @Nonnull
   boolean[] storeObjs(@Nonnull Obj[] objs) throws ObjTooLargeException;
 
+  /**
+   * Asynchronous variant of {@link #storeObjs(Obj[])}.
+   *
+   * <p>The returned {@link CompletionStage} completes exceptionally with an {@link
+   * ObjTooLargeException} under the same conditions under which the synchronous variant throws it.
+   *
+   * <p>The default implementation delegates to the synchronous variant. Database specific
+   * implementations should override this function, if the database driver provides a non-blocking
+   * API.
+   */
+  @Nonnull
+  default CompletionStage<boolean[]> storeObjsAsync(@Nonnull Obj[] objs) {
+    try {
+      return CompletableFuture.completedStage(storeObjs(objs));
+    } catch (Exception e) {
+      return CompletableFuture.failedStage(e);
+    }
+  }
+
   void deleteObj(@Nonnull ObjId id);
 
   /**
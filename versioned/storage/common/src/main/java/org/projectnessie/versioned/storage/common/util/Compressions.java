@@ -15,6 +15,8 @@
  */
 package org.projectnessie.versioned.storage.common.util;
 
+import com.github.luben.zstd.ZstdInputStream;
+import com.github.luben.zstd.ZstdOutputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
@@ -55,6 +57,8 @@ public final class Compressions {
         return deflate(uncompressed);
       case SNAPPY:
         return snappyCompress(uncompressed);
+      case ZSTD:
+        return zstdCompress(uncompressed);
       default:
         throw new IllegalArgumentException("Compression " + compression + " not implemented");
     }
@@ -70,6 +74,8 @@ public final class Compressions {
         return inflate(compressed);
       case SNAPPY:
         return snappyUncompress(compressed);
+      case ZSTD:
+        return zstdUncompress(compressed);
       default:
         throw new IllegalArgumentException("Compression " + compression + " not implemented");
     }
@@ -134,4 +140,24 @@ public final class Compressions {
     }
     return out.toByteArray();
   }
+
+  private static byte[] zstdCompress(byte[] uncompressed) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(uncompressed.length);
+    try (OutputStream def = new ZstdOutputStream(out)) {
+      def.write(uncompressed);
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+    return out.toByteArray();
+  }
+
+  private static byte[] zstdUncompress(byte[] compressed) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length * 2);
+    try (InputStream input = new ZstdInputStream(new ByteArrayInputStream(compressed))) {
+      input.transferTo(out);
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+    return out.toByteArray();
+  }
 }
@@ -0,0 +1,200 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.indexes;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexElement.indexElement;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.newStoreIndex;
+import static org.projectnessie.versioned.storage.common.indexes.StoreKey.key;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.Action.ADD;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.Action.REMOVE;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.COMMIT_OP_SERIALIZER;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.commitOp;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.projectnessie.versioned.storage.common.objtypes.CommitOp;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestCompactStoreIndexImpl {
+  @InjectSoftAssertions SoftAssertions soft;
+
+  static final String[] ELEMENTS = {
+    "a", "aa", "ab", "b", "ns", "table", "x", "\u00e4\u00f6\u00fc", "\u00ff", "\u0800", "\ue000",
+    "\ufffd", "\ud83d\ude00", "\ud83d\ude01z"
+  };
+
+  static StoreKey randomKey(Random random) {
+    int depth = 1 + random.nextInt(3);
+    List<String> elements = new ArrayList<>(depth);
+    for (int i = 0; i < depth; i++) {
+      elements.add(ELEMENTS[random.nextInt(ELEMENTS.length)] + random.nextInt(5));
+    }
+    return key(elements);
+  }
+
+  static StoreIndex<CommitOp> randomIndex(Random random, int num) {
+    StoreIndex<CommitOp> index = newStoreIndex(COMMIT_OP_SERIALIZER);
+    for (int i = 0; i < num; i++) {
+      index.add(indexElement(randomKey(random), commitOp(ADD, i, randomObjId())));
+    }
+    return index;
+  }
+
+  @Test
+  public void collationWeight() {
+    List<StoreKey> keys = newArrayList();
+    for (String element : ELEMENTS) {
+      keys.add(key(element));
+    }
+    keys.sort(null);
+
+    for (int i = 1; i < keys.size(); i++) {
+      byte[] a = keys.get(i - 1).rawString().getBytes(UTF_8);
+      byte[] b = keys.get(i).rawString().getBytes(UTF_8);
+      int cmp = 0;
+      for (int p = 0; p < Math.min(a.length, b.length) && cmp == 0; p++) {
+        cmp =
+            CompactStoreIndexImpl.collationWeight(a[p] & 0xff)
+                - CompactStoreIndexImpl.collationWeight(b[p] & 0xff);
+      }
+      if (cmp == 0) {
+        cmp = a.length - b.length;
+      }
+      soft.assertThat(cmp).describedAs("%s vs %s", keys.get(i - 1), keys.get(i)).isNegative();
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 1, 2, 10, 100, 1000})
+  public void sameAsStoreIndexImpl(int num) {
+    Random random = new Random(num);
+    StoreIndex<CommitOp> source = randomIndex(random, num);
+
+    StoreIndex<CommitOp> regular =
+        StoreIndexImpl.deserializeStoreIndex(
+            source.serialize().asReadOnlyByteBuffer(), COMMIT_OP_SERIALIZER);
+    StoreIndex<CommitOp> compact =
+        CompactStoreIndexImpl.deserializeStoreIndex(
+            source.serialize().asReadOnlyByteBuffer(), COMMIT_OP_SERIALIZER);
+
+    verifySame(regular, compact, random);
+    soft.assertThat(compact.serialize()).isEqualTo(source.serialize());
+
+    for (int i = 0; i < num + 10; i++) {
+      StoreKey key = randomKey(random);
+      switch (random.nextInt(3)) {
+        case 0:
+          soft.assertThat(compact.remove(key)).isEqualTo(regular.remove(key));
+          break;
+        case 1:
+          StoreIndexElement<CommitOp> el = indexElement(key, commitOp(REMOVE, i, randomObjId()));
+          soft.assertThat(compact.add(el)).isEqualTo(regular.add(el));
+          break;
+        default:
+          soft.assertThat(compact.contains(key)).isEqualTo(regular.contains(key));
+          break;
+      }
+    }
+
+    verifySame(regular, compact, random);
+    soft.assertThat(compact.serialize()).isEqualTo(regular.serialize());
+
+    if (regular.elementCount() > 3) {
+      soft.assertThat(compact.divide(3))
+          .extracting(StoreIndex::asKeyList)
+          .containsExactlyElementsOf(
+              regular.divide(3).stream().map(StoreIndex::asKeyList).collect(toList()));
+    }
+
+    compact.updateAll(el -> el.content().action() == ADD ? null : el.content());
+    regular.updateAll(el -> el.content().action() == ADD ? null : el.content());
+    verifySame(regular, compact, random);
+    soft.assertThat(compact.serialize()).isEqualTo(regular.serialize());
+  }
+
+  @Test
+  public void removeBaseElements() {
+    StoreIndex<CommitOp> source = newStoreIndex(COMMIT_OP_SERIALIZER);
+    for (int i = 0; i < 10; i++) {
+      source.add(indexElement(key("k" + i), commitOp(ADD, i, randomObjId())));
+    }
+    StoreIndex<CommitOp> compact =
+        CompactStoreIndexImpl.deserializeStoreIndex(
+            source.serialize().asReadOnlyByteBuffer(), COMMIT_OP_SERIALIZER);
+
+    for (String k : new String[] {"k0", "k4", "k5", "k9"}) {
+      soft.assertThat(compact.remove(key(k))).isTrue();
+      soft.assertThat(source.remove(key(k))).isTrue();
+    }
+
+    soft.assertThat(compact.elementCount()).isEqualTo(6);
+    soft.assertThat(compact.first()).isEqualTo(key("k1"));
+    soft.assertThat(compact.last()).isEqualTo(key("k8"));
+    soft.assertThat(newArrayList(compact)).containsExactlyElementsOf(newArrayList(source));
+    soft.assertThat(compact.serialize()).isEqualTo(source.serialize());
+
+    StoreIndex<CommitOp> deserialized =
+        CompactStoreIndexImpl.deserializeStoreIndex(
+            compact.serialize().asReadOnlyByteBuffer(), COMMIT_OP_SERIALIZER);
+    soft.assertThat(deserialized.elementCount()).isEqualTo(6);
+    soft.assertThat(deserialized.asKeyList())
+        .containsExactly(key("k1"), key("k2"), key("k3"), key("k6"), key("k7"), key("k8"));
+    soft.assertThat(deserialized).isEqualTo(compact);
+  }
+
+  private void verifySame(StoreIndex<CommitOp> regular, StoreIndex<CommitOp> compact, Random r) {
+    soft.assertThat(compact.elementCount()).isEqualTo(regular.elementCount());
+    soft.assertThat(compact.first()).isEqualTo(regular.first());
+    soft.assertThat(compact.last()).isEqualTo(regular.last());
+    soft.assertThat(compact.asKeyList()).containsExactlyElementsOf(regular.asKeyList());
+    soft.assertThat(newArrayList(compact)).containsExactlyElementsOf(newArrayList(regular));
+
+    for (StoreKey key : regular.asKeyList()) {
+      soft.assertThat(compact.get(key)).isEqualTo(regular.get(key));
+    }
+
+    for (int i = 0; i < 20; i++) {
+      StoreKey begin = randomKey(r);
+      StoreKey end = randomKey(r);
+      if (begin.compareTo(end) > 0) {
+        StoreKey t = begin;
+        begin = end;
+        end = t;
+      }
+      soft.assertThat(newArrayList(compact.iterator(begin, end, false)))
+          .containsExactlyElementsOf(newArrayList(regular.iterator(begin, end, false)));
+      soft.assertThat(newArrayList(compact.iterator(begin, null, false)))
+          .containsExactlyElementsOf(newArrayList(regular.iterator(begin, null, false)));
+      soft.assertThat(newArrayList(compact.iterator(null, end, false)))
+          .containsExactlyElementsOf(newArrayList(regular.iterator(null, end, false)));
+      StoreKey prefix = key(begin.rawString().split("\u0000")[0]);
+      soft.assertThat(newArrayList(compact.iterator(prefix, prefix, false)))
+          .containsExactlyElementsOf(newArrayList(regular.iterator(prefix, prefix, false)));
+    }
+  }
+}
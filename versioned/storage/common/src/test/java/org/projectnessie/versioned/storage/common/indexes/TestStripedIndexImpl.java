@@ -386,6 +386,107 @@ public class TestStripedIndexImpl {
     }
   }
 
+  @ParameterizedTest
+  @ValueSource(ints = {2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16})
+  public void readAheadAndRangeLoad(int numStripes) {
+    KeyIndexTestSet<CommitOp> indexTestSet = basicIndexTestSet();
+
+    StoreIndex<CommitOp> source = indexTestSet.keyIndex();
+    List<StoreIndex<CommitOp>> stripes = source.divide(numStripes);
+    List<StoreKey> firstLastKeys =
+        stripes.stream().flatMap(s -> Stream.of(s.first(), s.last())).collect(Collectors.toList());
+
+    boolean[] individualLoads = new boolean[numStripes];
+    int[] bulkLoads = new int[numStripes];
+    int[] bulkLoadCalls = new int[1];
+
+    Supplier<StoreIndex<CommitOp>> lazyIndexSupplier =
+        () -> {
+          Arrays.fill(individualLoads, false);
+          Arrays.fill(bulkLoads, 0);
+          bulkLoadCalls[0] = 0;
+
+          List<StoreIndex<CommitOp>> lazyStripes = new ArrayList<>(stripes.size());
+          for (int i = 0; i < stripes.size(); i++) {
+            StoreIndex<CommitOp> stripe = stripes.get(i);
+            int index = i;
+            lazyStripes.add(
+                lazyStoreIndex(
+                    () -> {
+                      individualLoads[index] = true;
+                      return stripe;
+                    }));
+          }
+
+          return indexFromSplits(
+              lazyStripes,
+              firstLastKeys,
+              indexes -> {
+                bulkLoadCalls[0]++;
+                @SuppressWarnings("unchecked")
+                StoreIndex<CommitOp>[] r = new StoreIndex[indexes.length];
+                for (int i = 0; i < indexes.length; i++) {
+                  if (indexes[i] != null) {
+                    bulkLoads[i]++;
+                    r[i] = stripes.get(i);
+                  }
+                }
+                return r;
+              });
+        };
+
+    // Range load of all stripes is a single batch
+    StoreIndex<CommitOp> lazyStripedIndex = lazyIndexSupplier.get();
+    lazyStripedIndex.loadIfNecessary(null, null);
+    soft.assertThat(bulkLoadCalls[0]).isEqualTo(1);
+    soft.assertThat(bulkLoads).containsOnly(1);
+    soft.assertThat(individualLoads).containsOnly(false);
+
+    // Range load of a single stripe
+    StoreIndex<CommitOp> lastStripe = stripes.get(numStripes - 1);
+    lazyStripedIndex = lazyIndexSupplier.get();
+    lazyStripedIndex.loadIfNecessary(lastStripe.first(), lastStripe.last());
+    soft.assertThat(bulkLoadCalls[0]).isEqualTo(1);
+    soft.assertThat(bulkLoads[numStripes - 1]).isEqualTo(1);
+    soft.assertThat(Arrays.stream(bulkLoads).sum()).isEqualTo(1);
+
+    for (int readAhead : new int[] {1, 2, numStripes}) {
+      // Read-ahead iteration loads each stripe exactly once, using bulk loads only
+      lazyStripedIndex = lazyIndexSupplier.get();
+      soft.assertThat(newArrayList(lazyStripedIndex.iterator(null, null, readAhead)))
+          .containsExactlyElementsOf(newArrayList(source));
+      soft.assertThat(bulkLoads).containsOnly(1);
+      soft.assertThat(individualLoads).containsOnly(false);
+
+      // Read-ahead iteration over a key range
+      StoreKey begin = stripes.get(1).first();
+      StoreKey end = lastStripe.first();
+      lazyStripedIndex = lazyIndexSupplier.get();
+      soft.assertThat(newArrayList(lazyStripedIndex.iterator(begin, end, readAhead)))
+          .containsExactlyElementsOf(newArrayList(source.iterator(begin, end, false)));
+      soft.assertThat(bulkLoads[0]).isEqualTo(0);
+      soft.assertThat(individualLoads).containsOnly(false);
+
+      // Read-ahead prefix iteration
+      StoreKey prefix = keyFromString(begin.rawString().substring(0, 1));
+      lazyStripedIndex = lazyIndexSupplier.get();
+      soft.assertThat(newArrayList(lazyStripedIndex.iterator(prefix, prefix, readAhead)))
+          .containsExactlyElementsOf(newArrayList(source.iterator(prefix, prefix, false)));
+      soft.assertThat(individualLoads).containsOnly(false);
+    }
+
+    // Seeking skips the stripes that only contain skipped elements
+    lazyStripedIndex = lazyIndexSupplier.get();
+    SeekableIndexIterator<CommitOp> seekable = lazyStripedIndex.seekableIterator(null, null);
+    soft.assertThat(seekable.next().key()).isEqualTo(source.first());
+    seekable.seek(lastStripe.first());
+    soft.assertThat(newArrayList(seekable)).containsExactlyElementsOf(newArrayList(lastStripe));
+    soft.assertThat(bulkLoadCalls[0]).isEqualTo(0);
+    for (int i = 0; i < numStripes; i++) {
+      soft.assertThat(individualLoads[i]).isEqualTo(i == 0 || i == numStripes - 1);
+    }
+  }
+
   @ParameterizedTest
   @ValueSource(ints = {2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16})
   public void striped(int numStripes) {
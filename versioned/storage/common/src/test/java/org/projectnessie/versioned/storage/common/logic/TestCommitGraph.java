@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.logic;
+
+import static java.util.Collections.emptyList;
+import static java.util.Objects.requireNonNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+import static org.projectnessie.versioned.storage.common.logic.CommitLogicImpl.NO_COMMON_ANCESTOR_IN_PARENTS_OF;
+import static org.projectnessie.versioned.storage.common.logic.Logics.commitLogic;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.EMPTY_OBJ_ID;
+import static org.projectnessie.versioned.storage.commontests.AbstractCommitLogicTests.stdCommit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.versioned.storage.common.objtypes.CommitGraphObj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.testextension.NessiePersist;
+import org.projectnessie.versioned.storage.testextension.PersistExtension;
+
+@ExtendWith({PersistExtension.class, SoftAssertionsExtension.class})
+public class TestCommitGraph {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  @NessiePersist protected Persist persist;
+
+  @Test
+  public void nodesPersistedWithoutCommonAncestor() throws Exception {
+    List<ObjId> a = commits("a", EMPTY_OBJ_ID, 5);
+    List<ObjId> b = commits("b", EMPTY_OBJ_ID, 3);
+
+    soft.assertThatThrownBy(
+            () -> new CommitGraph(persist).findCommonAncestor(a.get(4), b.get(2)))
+        .isInstanceOf(NoSuchElementException.class)
+        .hasMessageStartingWith(NO_COMMON_ANCESTOR_IN_PARENTS_OF)
+        .hasNoSuppressedExceptions();
+
+    soft.assertThat(graphNodes(a)).doesNotContainNull();
+    soft.assertThat(graphNodes(b)).doesNotContainNull();
+  }
+
+  @Test
+  public void storeFailureDoesNotHideLookupFailure() throws Exception {
+    List<ObjId> a = commits("c", EMPTY_OBJ_ID, 5);
+    List<ObjId> b = commits("d", EMPTY_OBJ_ID, 3);
+
+    Persist failingStore = spy(persist);
+    doThrow(new IllegalStateException("store failure")).when(failingStore).storeObjs(any());
+
+    soft.assertThatThrownBy(
+            () -> new CommitGraph(failingStore).findCommonAncestor(a.get(4), b.get(2)))
+        .isInstanceOf(NoSuchElementException.class)
+        .hasMessageStartingWith(NO_COMMON_ANCESTOR_IN_PARENTS_OF)
+        .satisfies(
+            e ->
+                soft.assertThat(e.getSuppressed())
+                    .singleElement()
+                    .isInstanceOf(IllegalStateException.class)
+                    .extracting(Throwable::getMessage)
+                    .isEqualTo("store failure"));
+  }
+
+  @Test
+  public void storeFailureAfterSuccessfulLookup() throws Exception {
+    List<ObjId> main = commits("main", EMPTY_OBJ_ID, 5);
+    List<ObjId> branch = commits("branch", main.get(2), 2);
+
+    Persist failingStore = spy(persist);
+    doThrow(new IllegalStateException("store failure")).when(failingStore).storeObjs(any());
+
+    soft.assertThatThrownBy(
+            () -> new CommitGraph(failingStore).findCommonAncestor(main.get(4), branch.get(1)))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("store failure");
+
+    soft.assertThat(new CommitGraph(persist).findCommonAncestor(main.get(4), branch.get(1)))
+        .isEqualTo(main.get(2));
+  }
+
+  private List<ObjId> commits(String name, ObjId parent, int num) throws Exception {
+    CommitLogic commitLogic = commitLogic(persist);
+    List<ObjId> ids = new ArrayList<>();
+    ObjId head = parent;
+    for (int i = 0; i < num; i++) {
+      head =
+          requireNonNull(
+                  commitLogic.doCommit(
+                      stdCommit().parentCommitId(head).message(name + " #" + i).build(),
+                      emptyList()))
+              .id();
+      ids.add(head);
+    }
+    return ids;
+  }
+
+  private CommitGraphObj[] graphNodes(List<ObjId> commitIds) {
+    return persist.fetchTypedObjsIfExist(
+        commitIds.stream().map(CommitGraphObj::commitGraphObjId).toArray(ObjId[]::new),
+        CommitGraphObj.TYPE,
+        CommitGraphObj.class);
+  }
+}
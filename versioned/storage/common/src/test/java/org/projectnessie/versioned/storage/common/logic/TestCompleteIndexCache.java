@@ -0,0 +1,231 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.logic;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static java.util.Collections.emptyList;
+import static java.util.Objects.requireNonNull;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexElement.indexElement;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.indexFromStripes;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.newStoreIndex;
+import static org.projectnessie.versioned.storage.common.indexes.StoreKey.key;
+import static org.projectnessie.versioned.storage.common.logic.CompleteIndexCache.completeIndexCache;
+import static org.projectnessie.versioned.storage.common.logic.Logics.commitLogic;
+import static org.projectnessie.versioned.storage.common.logic.Logics.indexesLogic;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitHeaders.EMPTY_COMMIT_HEADERS;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitObj.commitBuilder;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.Action.ADD;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.Action.INCREMENTAL_REMOVE;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.COMMIT_OP_SERIALIZER;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.commitOp;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.EMPTY_OBJ_ID;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.versioned.storage.common.indexes.StoreIndex;
+import org.projectnessie.versioned.storage.common.indexes.StoreIndexElement;
+import org.projectnessie.versioned.storage.common.indexes.StoreKey;
+import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.objtypes.CommitOp;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.testextension.NessiePersist;
+import org.projectnessie.versioned.storage.testextension.PersistExtension;
+
+@ExtendWith({PersistExtension.class, SoftAssertionsExtension.class})
+public class TestCompleteIndexCache {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  @NessiePersist protected Persist persist;
+
+  @Test
+  public void incrementalOnly() {
+    CompleteIndexCache cache = completeIndexCache(1024 * 1024);
+
+    CommitObj commit = storeCommit(incrementalIndex("a", "b", "c"), b -> {});
+
+    StoreIndex<CommitOp> index = cache.completeIndex(persist, commit);
+    soft.assertThat(newArrayList(index))
+        .containsExactlyElementsOf(
+            newArrayList(indexesLogic(persist).buildCompleteIndex(commit, Optional.empty())));
+    soft.assertThat(cache.completeIndex(persist, commit)).isSameAs(index);
+    soft.assertThatThrownBy(
+            () -> index.add(indexElement(key("d"), commitOp(ADD, 1, randomObjId()))))
+        .isInstanceOf(UnsupportedOperationException.class);
+  }
+
+  @Test
+  public void sharedReferenceIndexStripes() throws Exception {
+    CompleteIndexCache cache = completeIndexCache(16 * 1024 * 1024);
+    IndexesLogic indexesLogic = indexesLogic(persist);
+
+    StoreIndex<CommitOp> reference = newStoreIndex(COMMIT_OP_SERIALIZER);
+    for (int i = 0; i < 1000; i++) {
+      reference.add(indexElement(key("key-" + i), commitOp(ADD, 1, randomObjId())));
+    }
+    StoreIndex<CommitOp> striped = indexFromStripes(reference.divide(5));
+    ObjId referenceIndexId = indexesLogic.persistStripedIndex(striped);
+
+    CommitObj commit1 =
+        storeCommit(incrementalIndex("key-1a", "x"), b -> b.referenceIndex(referenceIndexId));
+    CommitObj commit2 =
+        storeCommit(incrementalIndex("key-2a", "y"), b -> b.referenceIndex(referenceIndexId));
+
+    StoreIndex<CommitOp> index1 = cache.completeIndex(persist, commit1);
+    soft.assertThat(newArrayList(index1))
+        .containsExactlyElementsOf(
+            newArrayList(indexesLogic.buildCompleteIndex(commit1, Optional.empty())));
+    // the commits + the 5 stripes
+    soft.assertThat(cache.size()).isEqualTo(1L + 5L);
+
+    StoreIndex<CommitOp> index2 = cache.completeIndex(persist, commit2);
+    soft.assertThat(index2.get(key("key-500")))
+        .isEqualTo(requireNonNull(striped.get(key("key-500"))));
+    soft.assertThat(index2.get(key("key-2a"))).isNotNull();
+    soft.assertThat(index2.get(key("key-1a"))).isNull();
+    soft.assertThat(cache.size()).isEqualTo(2L + 5L);
+
+    List<IndexStripe> stripes = indexesLogic.persistIndexStripesFromIndex(striped);
+    CommitObj commit3 = storeCommit(incrementalIndex("z"), b -> b.referenceIndexStripes(stripes));
+    StoreIndex<CommitOp> index3 = cache.completeIndex(persist, commit3);
+    soft.assertThat(newArrayList(index3.iterator(key("key-100"), key("key-200"), 2)))
+        .containsExactlyElementsOf(
+            newArrayList(
+                indexesLogic
+                    .buildCompleteIndex(commit3, Optional.empty())
+                    .iterator(key("key-100"), key("key-200"), false)));
+    // stripes are shared with the other commits
+    soft.assertThat(cache.size()).isEqualTo(3L + 5L);
+  }
+
+  @Test
+  public void evictedStripesAreNotRetained() throws Exception {
+    CompleteIndexCache cache = completeIndexCache(16 * 1024 * 1024);
+    IndexesLogic indexesLogic = indexesLogic(persist);
+
+    StoreIndex<CommitOp> reference = newStoreIndex(COMMIT_OP_SERIALIZER);
+    for (int i = 0; i < 1000; i++) {
+      reference.add(indexElement(key("key-" + i), commitOp(ADD, 1, randomObjId())));
+    }
+    List<IndexStripe> stripes =
+        indexesLogic.persistIndexStripesFromIndex(indexFromStripes(reference.divide(5)));
+    CommitObj commit = storeCommit(incrementalIndex("x"), b -> b.referenceIndexStripes(stripes));
+    List<StoreIndexElement<CommitOp>> expected =
+        newArrayList(indexesLogic.buildCompleteIndex(commit, Optional.empty()));
+
+    StoreIndex<CommitOp> index = cache.completeIndex(persist, commit);
+    StoreIndex<CommitOp> referenceIndex =
+        requireNonNull(new IndexesLogicImpl(persist).sharedReferenceIndex(commit, cache));
+    index.loadIfNecessary(null, null);
+    soft.assertThat(cache.size()).isEqualTo(1L + 5L);
+    soft.assertThat(referenceIndex.stripes()).hasSize(5).allMatch(StoreIndex::isLoaded);
+
+    for (IndexStripe stripe : stripes) {
+      cache.invalidate(persist, stripe.segment());
+    }
+    soft.assertThat(cache.size()).isEqualTo(1L);
+    // The cached complete index does not hold on to the evicted stripes ...
+    soft.assertThat(cache.completeIndex(persist, commit)).isSameAs(index);
+    soft.assertThat(referenceIndex.stripes()).noneMatch(StoreIndex::isLoaded);
+
+    // ... but loads those again via the cache
+    soft.assertThat(newArrayList(index)).containsExactlyElementsOf(expected);
+    soft.assertThat(cache.size()).isEqualTo(1L + 5L);
+    soft.assertThat(referenceIndex.stripes()).allMatch(StoreIndex::isLoaded);
+  }
+
+  @Test
+  public void concurrentReads() throws Exception {
+    CompleteIndexCache cache = completeIndexCache(16 * 1024 * 1024);
+    IndexesLogic indexesLogic = indexesLogic(persist);
+
+    StoreIndex<CommitOp> reference = newStoreIndex(COMMIT_OP_SERIALIZER);
+    for (int i = 0; i < 2000; i++) {
+      reference.add(indexElement(key("key-" + i), commitOp(ADD, 1, randomObjId())));
+    }
+    List<IndexStripe> stripes =
+        indexesLogic.persistIndexStripesFromIndex(indexFromStripes(reference.divide(10)));
+    CommitObj commit = storeCommit(incrementalIndex("x"), b -> b.referenceIndexStripes(stripes));
+
+    List<StoreIndexElement<CommitOp>> expected =
+        newArrayList(indexesLogic.buildCompleteIndex(commit, Optional.empty()));
+    List<StoreKey> expectedKeys = new ArrayList<>();
+    expected.forEach(el -> expectedKeys.add(el.key()));
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<List<StoreKey>>> futures = new ArrayList<>();
+      for (int i = 0; i < 32; i++) {
+        int n = i;
+        futures.add(
+            executor.submit(
+                () -> {
+                  StoreIndex<CommitOp> index = cache.completeIndex(persist, commit);
+                  if ((n & 1) == 0) {
+                    index.loadIfNecessary(null, null);
+                  }
+                  List<StoreKey> keys = new ArrayList<>();
+                  index.iterator(null, null, n % 3).forEachRemaining(el -> keys.add(el.key()));
+                  return keys;
+                }));
+      }
+      for (Future<List<StoreKey>> future : futures) {
+        soft.assertThat(future.get()).containsExactlyElementsOf(expectedKeys);
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private StoreIndex<CommitOp> incrementalIndex(String... keys) {
+    StoreIndex<CommitOp> index = newStoreIndex(COMMIT_OP_SERIALIZER);
+    for (int i = 0; i < keys.length; i++) {
+      index.add(
+          indexElement(
+              key(keys[i]),
+              commitOp(i == keys.length - 1 ? INCREMENTAL_REMOVE : ADD, 1, randomObjId())));
+    }
+    return index;
+  }
+
+  private CommitObj storeCommit(
+      StoreIndex<CommitOp> incremental, Consumer<CommitObj.Builder> builder) {
+    CommitObj.Builder b =
+        commitBuilder()
+            .id(randomObjId())
+            .seq(1L)
+            .created(42L)
+            .message("msg")
+            .headers(EMPTY_COMMIT_HEADERS)
+            .addTail(EMPTY_OBJ_ID)
+            .incrementalIndex(incremental.serialize());
+    builder.accept(b);
+    CommitObj commit = b.build();
+    commitLogic(persist).storeCommit(commit, emptyList());
+    return commit;
+  }
+}
@@ -33,6 +33,7 @@ import org.testcontainers.containers.output.Slf4jLogConsumer;
 import org.testcontainers.utility.DockerImageName;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 
 public class DynamoDB2BackendTestFactory implements BackendTestFactory {
@@ -59,17 +60,26 @@ public class DynamoDB2BackendTestFactory implements BackendTestFactory {
   }
 
   public Builder dynamoDBConfigBuilder() {
-    return DynamoDB2BackendConfig.builder().client(buildNewClient());
+    return DynamoDB2BackendConfig.builder()
+        .client(buildNewClient())
+        .asyncClient(buildNewAsyncClient());
   }
 
   public DynamoDbClient buildNewClient() {
+    return clientProducer().createClient();
+  }
+
+  public DynamoDbAsyncClient buildNewAsyncClient() {
+    return clientProducer().createAsyncClient();
+  }
+
+  private DynamoClientProducer clientProducer() {
     return DynamoClientProducer.builder()
         .endpointURI(endpointURI)
         .region("US_WEST_2")
         .credentialsProvider(
             StaticCredentialsProvider.create(AwsBasicCredentials.create("xxx", "xxx")))
-        .build()
-        .createClient();
+        .build();
   }
 
   @Override
@@ -29,6 +29,7 @@ import org.projectnessie.versioned.storage.common.persist.Backend;
 import org.projectnessie.versioned.storage.common.persist.PersistFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeDefinition;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
@@ -47,6 +48,7 @@ public final class DynamoDB2Backend implements Backend {
   private static final Logger LOGGER = LoggerFactory.getLogger(DynamoDB2Backend.class);
 
   private final DynamoDbClient client;
+  private final DynamoDbAsyncClient asyncClient;
   private final boolean closeClient;
 
   final String tableRefs;
@@ -54,6 +56,7 @@ public final class DynamoDB2Backend implements Backend {
 
   public DynamoDB2Backend(@Nonnull DynamoDB2BackendConfig config, boolean closeClient) {
     this.client = config.client();
+    this.asyncClient = config.asyncClient().orElse(null);
     this.tableRefs =
         config.tablePrefix().map(prefix -> prefix + '_' + TABLE_REFS).orElse(TABLE_REFS);
     this.tableObjs =
@@ -66,6 +69,11 @@ public final class DynamoDB2Backend implements Backend {
     return client;
   }
 
+  /** The asynchronous client or {@code null}, if not configured. */
+  DynamoDbAsyncClient asyncClient() {
+    return asyncClient;
+  }
+
   @Override
   @Nonnull
   public PersistFactory createFactory() {
@@ -76,6 +84,9 @@ public final class DynamoDB2Backend implements Backend {
   public void close() {
     if (closeClient) {
       client.close();
+      if (asyncClient != null) {
+        asyncClient.close();
+      }
     }
   }
 
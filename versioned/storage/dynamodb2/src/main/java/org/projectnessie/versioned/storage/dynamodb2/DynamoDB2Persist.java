@@ -41,6 +41,8 @@ import static org.projectnessie.versioned.storage.dynamodb2.DynamoDB2Constants.C
 import static org.projectnessie.versioned.storage.dynamodb2.DynamoDB2Constants.ITEM_SIZE_LIMIT;
 import static org.projectnessie.versioned.storage.dynamodb2.DynamoDB2Constants.KEY_NAME;
 import static org.projectnessie.versioned.storage.dynamodb2.DynamoDB2Serde.attributeToString;
+import static org.projectnessie.versioned.storage.serialize.CompressionDictionaries.dictionaryLoader;
+import static org.projectnessie.versioned.storage.serialize.ObjCompression.objCompression;
 import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.deserializeObj;
 import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.deserializePreviousPointers;
 import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.serializeObj;
@@ -64,6 +66,10 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import org.agrona.collections.Hashing;
 import org.agrona.collections.Object2IntHashMap;
@@ -81,12 +87,14 @@ import org.projectnessie.versioned.storage.common.persist.ObjId;
 import org.projectnessie.versioned.storage.common.persist.ObjType;
 import org.projectnessie.versioned.storage.common.persist.Persist;
 import org.projectnessie.versioned.storage.common.persist.Reference;
+import org.projectnessie.versioned.storage.serialize.ObjCompression;
 import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
 import software.amazon.awssdk.core.exception.AbortedException;
 import software.amazon.awssdk.core.exception.ApiCallAttemptTimeoutException;
 import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
 import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValueUpdate;
 import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
@@ -104,11 +112,13 @@ public class DynamoDB2Persist implements Persist {
   private final DynamoDB2Backend backend;
   private final StoreConfig config;
   private final String keyPrefix;
+  private final ObjCompression objCompression;
 
   DynamoDB2Persist(DynamoDB2Backend backend, StoreConfig config) {
     this.backend = backend;
     this.config = config;
     this.keyPrefix = keyPrefix(config.repositoryId());
+    this.objCompression = objCompression(config, dictionaryLoader(this));
   }
 
   @Nonnull
@@ -185,6 +195,49 @@ public class DynamoDB2Persist implements Persist {
     }
   }
 
+  @Nonnull
+  @Override
+  public CompletionStage<Reference> updateReferencePointerAsync(
+      @Nonnull Reference reference, @Nonnull ObjId newPointer) {
+    DynamoDbAsyncClient asyncClient = backend.asyncClient();
+    if (asyncClient == null) {
+      return Persist.super.updateReferencePointerAsync(reference, newPointer);
+    }
+
+    Reference expected = reference.withDeleted(false);
+    Reference bumpedReference = expected.forNewPointer(newPointer, config);
+    String condition = referenceCondition(expected);
+    Map<String, AttributeValue> values = referenceConditionAttributes(expected);
+
+    return mapUnhandledExceptions(
+        asyncClient
+            .putItem(
+                b ->
+                    b.tableName(backend.tableRefs)
+                        .conditionExpression(condition)
+                        .expressionAttributeValues(values)
+                        .item(referenceAttributeValues(bumpedReference)))
+            .handle(
+                (response, e) -> {
+                  if (e == null) {
+                    return CompletableFuture.completedStage(bumpedReference);
+                  }
+                  if (unwrap(e) instanceof ConditionalCheckFailedException) {
+                    return fetchReferencesAsync(new String[] {reference.name()})
+                        .thenCompose(
+                            refs -> {
+                              Reference r = refs[0];
+                              return CompletableFuture.<Reference>failedStage(
+                                  r == null
+                                      ? new RefNotFoundException(reference.name())
+                                      : new RefConditionFailedException(r));
+                            });
+                  }
+                  return CompletableFuture.<Reference>failedStage(unwrap(e));
+                })
+            .thenCompose(x -> x));
+  }
+
   @Override
   public void purgeReference(@Nonnull Reference reference)
       throws RefNotFoundException, RefConditionFailedException {
@@ -227,17 +280,19 @@ public class DynamoDB2Persist implements Persist {
       return null;
     }
 
-    Map<String, AttributeValue> i = item.item();
+    return itemToReference(name, item.item());
+  }
 
-    String createdAtStr = attributeToString(i, COL_REFERENCES_CREATED_AT);
+  private Reference itemToReference(String name, Map<String, AttributeValue> item) {
+    String createdAtStr = attributeToString(item, COL_REFERENCES_CREATED_AT);
     long createdAt = createdAtStr != null ? Long.parseLong(createdAtStr) : 0L;
     return reference(
         name,
-        DynamoDB2Serde.attributeToObjId(i, COL_REFERENCES_POINTER),
-        DynamoDB2Serde.attributeToBool(i, COL_REFERENCES_DELETED),
+        DynamoDB2Serde.attributeToObjId(item, COL_REFERENCES_POINTER),
+        DynamoDB2Serde.attributeToBool(item, COL_REFERENCES_DELETED),
         createdAt,
-        DynamoDB2Serde.attributeToObjId(i, COL_REFERENCES_EXTENDED_INFO),
-        attributeToPreviousPointers(i));
+        DynamoDB2Serde.attributeToObjId(item, COL_REFERENCES_EXTENDED_INFO),
+        attributeToPreviousPointers(item));
   }
 
   @Nonnull
@@ -280,32 +335,74 @@ public class DynamoDB2Persist implements Persist {
       BatchGetItemResponse response =
           backend.client().batchGetItem(b -> b.requestItems(requestItems));
 
-      response
-          .responses()
-          .get(backend.tableRefs)
-          .forEach(
-              item -> {
-                String name = item.get(KEY_NAME).s().substring(keyPrefix.length());
-                String createdAtStr = attributeToString(item, COL_REFERENCES_CREATED_AT);
-                long createdAt = createdAtStr != null ? Long.parseLong(createdAtStr) : 0L;
-                Reference reference =
-                    reference(
-                        name,
-                        DynamoDB2Serde.attributeToObjId(item, COL_REFERENCES_POINTER),
-                        DynamoDB2Serde.attributeToBool(item, COL_REFERENCES_DELETED),
-                        createdAt,
-                        DynamoDB2Serde.attributeToObjId(item, COL_REFERENCES_EXTENDED_INFO),
-                        attributeToPreviousPointers(item));
-                int idx = nameToIndex.getValue(name);
-                if (idx >= 0) {
-                  r[idx] = reference;
-                }
-              });
+      response.responses().get(backend.tableRefs).forEach(referencesPageConsumer(r, nameToIndex));
     } catch (RuntimeException e) {
       throw unhandledException(e);
     }
   }
 
+  private Consumer<Map<String, AttributeValue>> referencesPageConsumer(
+      Reference[] r, Object2IntHashMap<String> nameToIndex) {
+    return item -> {
+      String name = item.get(KEY_NAME).s().substring(keyPrefix.length());
+      int idx = nameToIndex.getValue(name);
+      if (idx >= 0) {
+        r[idx] = itemToReference(name, item);
+      }
+    };
+  }
+
+  @Nonnull
+  @Override
+  public CompletionStage<Reference[]> fetchReferencesAsync(@Nonnull String[] names) {
+    DynamoDbAsyncClient asyncClient = backend.asyncClient();
+    if (asyncClient == null) {
+      return Persist.super.fetchReferencesAsync(names);
+    }
+
+    Reference[] r = new Reference[names.length];
+    List<CompletableFuture<?>> pages = new ArrayList<>();
+    List<Map<String, AttributeValue>> keys = new ArrayList<>();
+    Object2IntHashMap<String> nameToIndex =
+        new Object2IntHashMap<>(200, Hashing.DEFAULT_LOAD_FACTOR, -1);
+    for (int i = 0; i < names.length; i++) {
+      String name = names[i];
+      if (name != null) {
+        keys.add(referenceKeyMap(name));
+        nameToIndex.put(name, i);
+
+        if (keys.size() == BATCH_GET_LIMIT) {
+          pages.add(
+              batchGetAsync(
+                  asyncClient, backend.tableRefs, keys, referencesPageConsumer(r, nameToIndex)));
+          keys = new ArrayList<>();
+          nameToIndex = new Object2IntHashMap<>(200, Hashing.DEFAULT_LOAD_FACTOR, -1);
+        }
+      }
+    }
+
+    if (!keys.isEmpty()) {
+      pages.add(
+          batchGetAsync(
+              asyncClient, backend.tableRefs, keys, referencesPageConsumer(r, nameToIndex)));
+    }
+
+    return mapUnhandledExceptions(
+        CompletableFuture.allOf(pages.toArray(new CompletableFuture<?>[0])).thenApply(v -> r));
+  }
+
+  private CompletableFuture<?> batchGetAsync(
+      DynamoDbAsyncClient asyncClient,
+      String table,
+      List<Map<String, AttributeValue>> keys,
+      Consumer<Map<String, AttributeValue>> itemConsumer) {
+    Map<String, KeysAndAttributes> requestItems =
+        singletonMap(table, KeysAndAttributes.builder().keys(keys).build());
+    return asyncClient
+        .batchGetItem(b -> b.requestItems(requestItems))
+        .thenAccept(response -> response.responses().get(table).forEach(itemConsumer));
+  }
+
   private List<Reference.PreviousPointer> attributeToPreviousPointers(
       Map<String, AttributeValue> item) {
     AttributeValue attr = item.get(COL_REFERENCES_PREVIOUS);
@@ -406,21 +503,72 @@ public class DynamoDB2Persist implements Persist {
       response
           .responses()
           .get(backend.tableObjs)
-          .forEach(
-              item -> {
-                T obj = itemToObj(item, type, typeClass);
-                if (obj != null) {
-                  int idx = idToIndex.getValue(obj.id());
-                  if (idx != -1) {
-                    r[idx] = obj;
-                  }
-                }
-              });
+          .forEach(objsPageConsumer(r, idToIndex, type, typeClass));
     } catch (RuntimeException e) {
       throw unhandledException(e);
     }
   }
 
+  private <T extends Obj> Consumer<Map<String, AttributeValue>> objsPageConsumer(
+      T[] r, Object2IntHashMap<ObjId> idToIndex, ObjType type, Class<T> typeClass) {
+    return item -> {
+      T obj = itemToObj(item, type, typeClass);
+      if (obj != null) {
+        int idx = idToIndex.getValue(obj.id());
+        if (idx != -1) {
+          r[idx] = obj;
+        }
+      }
+    };
+  }
+
+  @Nonnull
+  @Override
+  public <T extends Obj> CompletionStage<T[]> fetchTypedObjsIfExistAsync(
+      @Nonnull ObjId[] ids, ObjType type, @Nonnull Class<T> typeClass) {
+    DynamoDbAsyncClient asyncClient = backend.asyncClient();
+    if (asyncClient == null) {
+      return Persist.super.fetchTypedObjsIfExistAsync(ids, type, typeClass);
+    }
+
+    @SuppressWarnings("unchecked")
+    T[] r = (T[]) Array.newInstance(typeClass, ids.length);
+    List<CompletableFuture<?>> pages = new ArrayList<>();
+    List<Map<String, AttributeValue>> keys = new ArrayList<>();
+    Object2IntHashMap<ObjId> idToIndex =
+        new Object2IntHashMap<>(200, Hashing.DEFAULT_LOAD_FACTOR, -1);
+    for (int i = 0; i < ids.length; i++) {
+      ObjId id = ids[i];
+      if (id != null) {
+        keys.add(objKeyMap(id));
+        idToIndex.put(id, i);
+
+        if (keys.size() == BATCH_GET_LIMIT) {
+          pages.add(
+              batchGetAsync(
+                  asyncClient,
+                  backend.tableObjs,
+                  keys,
+                  objsPageConsumer(r, idToIndex, type, typeClass)));
+          keys = new ArrayList<>();
+          idToIndex = new Object2IntHashMap<>(200, Hashing.DEFAULT_LOAD_FACTOR, -1);
+        }
+      }
+    }
+
+    if (!keys.isEmpty()) {
+      pages.add(
+          batchGetAsync(
+              asyncClient,
+              backend.tableObjs,
+              keys,
+              objsPageConsumer(r, idToIndex, type, typeClass)));
+    }
+
+    return mapUnhandledExceptions(
+        CompletableFuture.allOf(pages.toArray(new CompletableFuture<?>[0])).thenApply(v -> r));
+  }
+
   @Nonnull
   @Override
   public boolean[] storeObjs(@Nonnull Obj[] objs) throws ObjTooLargeException {
@@ -435,6 +583,82 @@ public class DynamoDB2Persist implements Persist {
     return r;
   }
 
+  @Nonnull
+  @Override
+  public CompletionStage<boolean[]> storeObjsAsync(@Nonnull Obj[] objs) {
+    DynamoDbAsyncClient asyncClient = backend.asyncClient();
+    if (asyncClient == null) {
+      return Persist.super.storeObjsAsync(objs);
+    }
+
+    long referenced = config.currentTimeMicros();
+    boolean[] r = new boolean[objs.length];
+    List<CompletableFuture<?>> puts = new ArrayList<>(objs.length);
+    try {
+      for (int i = 0; i < objs.length; i++) {
+        Obj o = objs[i];
+        if (o != null) {
+          ObjId id = o.id();
+          checkArgument(id != null, "Obj to store must have a non-null ID");
+          // Serialize eagerly, so that an ObjTooLargeException fails the whole operation before
+          // any write has been issued.
+          Map<String, AttributeValue> item = objToItem(o, referenced, id, false);
+          int idx = i;
+          puts.add(
+              storeObjAsync(asyncClient, item, id, referenced)
+                  .thenAccept(stored -> r[idx] = stored));
+        }
+      }
+    } catch (ObjTooLargeException e) {
+      return CompletableFuture.failedStage(e);
+    }
+
+    return mapUnhandledExceptions(
+        CompletableFuture.allOf(puts.toArray(new CompletableFuture<?>[0])).thenApply(v -> r));
+  }
+
+  /**
+   * Asynchronous variant of the "put if not exists, otherwise bump referenced" logic in {@link
+   * #storeObj(Obj, boolean)}.
+   */
+  private CompletableFuture<Boolean> storeObjAsync(
+      DynamoDbAsyncClient asyncClient,
+      Map<String, AttributeValue> item,
+      ObjId id,
+      long referenced) {
+    return asyncClient
+        .putItem(
+            b -> b.tableName(backend.tableObjs).conditionExpression(CONDITION_STORE_OBJ).item(item))
+        .handle(
+            (response, e) -> {
+              if (e == null) {
+                return CompletableFuture.completedFuture(true);
+              }
+              Throwable cause = unwrap(e);
+              if (cause instanceof ConditionalCheckFailedException) {
+                return asyncClient
+                    .updateItem(
+                        b ->
+                            b.tableName(backend.tableObjs)
+                                .key(objKeyMap(id))
+                                .attributeUpdates(referencedUpdate(referenced)))
+                    .thenApply(x -> false);
+              }
+              if (cause instanceof DynamoDbException
+                  && checkItemSizeExceeded(((DynamoDbException) cause).awsErrorDetails())) {
+                return CompletableFuture.<Boolean>failedFuture(new ObjTooLargeException());
+              }
+              return CompletableFuture.<Boolean>failedFuture(cause);
+            })
+        .thenCompose(x -> x);
+  }
+
+  private static Map<String, AttributeValueUpdate> referencedUpdate(long referenced) {
+    return Map.of(
+        COL_OBJ_REFERENCED,
+        AttributeValueUpdate.builder().value(fromS(Long.toString(referenced))).build());
+  }
+
   @Override
   public boolean storeObj(@Nonnull Obj obj, boolean ignoreSoftSizeRestrictions)
       throws ObjTooLargeException {
@@ -461,12 +685,7 @@ public class DynamoDB2Persist implements Persist {
                 b ->
                     b.tableName(backend.tableObjs)
                         .key(objKeyMap(id))
-                        .attributeUpdates(
-                            Map.of(
-                                COL_OBJ_REFERENCED,
-                                AttributeValueUpdate.builder()
-                                    .value(fromS(Long.toString(referenced)))
-                                    .build())));
+                        .attributeUpdates(referencedUpdate(referenced)));
         return false;
       }
     } catch (DynamoDbException e) {
@@ -670,7 +889,7 @@ public class DynamoDB2Persist implements Persist {
     String versionToken = attributeToString(item, COL_OBJ_VERS);
     String referencedString = attributeToString(item, COL_OBJ_REFERENCED);
     long referenced = referencedString != null ? Long.parseLong(referencedString) : -1L;
-    Obj obj = deserializeObj(id, referenced, bin, versionToken);
+    Obj obj = deserializeObj(id, referenced, bin, versionToken, objCompression);
     return typeClass.cast(obj);
   }
 
@@ -692,7 +911,8 @@ public class DynamoDB2Persist implements Persist {
         ignoreSoftSizeRestrictions ? Integer.MAX_VALUE : effectiveIncrementalIndexSizeLimit();
     int indexSizeLimit =
         ignoreSoftSizeRestrictions ? Integer.MAX_VALUE : effectiveIndexSegmentSizeLimit();
-    byte[] serialized = serializeObj(obj, incrementalIndexSizeLimit, indexSizeLimit, false);
+    byte[] serialized =
+        serializeObj(obj, incrementalIndexSizeLimit, indexSizeLimit, false, objCompression);
     item.put(COL_OBJ_VALUE, fromB(fromByteArray(serialized)));
     return item;
   }
@@ -839,6 +1059,32 @@ public class DynamoDB2Persist implements Persist {
     public void close() {}
   }
 
+  private static Throwable unwrap(Throwable e) {
+    return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+  }
+
+  /**
+   * Unwraps {@link CompletionException}s and translates exceptions via {@link
+   * #unhandledException(RuntimeException)}, so callers see the same exceptions as from the
+   * synchronous functions.
+   */
+  private static <T> CompletionStage<T> mapUnhandledExceptions(CompletionStage<T> stage) {
+    CompletableFuture<T> r = new CompletableFuture<>();
+    stage.whenComplete(
+        (v, e) -> {
+          if (e == null) {
+            r.complete(v);
+            return;
+          }
+          Throwable cause = unwrap(e);
+          if (cause instanceof RuntimeException) {
+            cause = unhandledException((RuntimeException) cause);
+          }
+          r.completeExceptionally(cause);
+        });
+    return r;
+  }
+
   static RuntimeException unhandledException(RuntimeException e) {
     if (e instanceof SdkException) {
       if (((SdkException) e).retryable()
@@ -16,17 +16,19 @@
 package org.projectnessie.versioned.storage.jdbc2;
 
 import static com.google.common.base.Preconditions.checkArgument;
-import static java.util.Arrays.stream;
 import static org.projectnessie.versioned.storage.common.persist.ObjTypes.objTypeByName;
 import static org.projectnessie.versioned.storage.common.util.Closing.closeMultiple;
 import static org.projectnessie.versioned.storage.jdbc2.Jdbc2Serde.deserializeObjId;
 import static org.projectnessie.versioned.storage.jdbc2.Jdbc2Serde.serializeObjId;
 import static org.projectnessie.versioned.storage.jdbc2.SqlConstants.ADD_REFERENCE;
+import static org.projectnessie.versioned.storage.jdbc2.SqlConstants.COLS_OBJS_ALL;
+import static org.projectnessie.versioned.storage.jdbc2.SqlConstants.COLS_OBJS_KEY;
 import static org.projectnessie.versioned.storage.jdbc2.SqlConstants.COL_OBJ_ID;
 import static org.projectnessie.versioned.storage.jdbc2.SqlConstants.COL_OBJ_REFERENCED;
 import static org.projectnessie.versioned.storage.jdbc2.SqlConstants.COL_OBJ_VALUE;
 import static org.projectnessie.versioned.storage.jdbc2.SqlConstants.COL_OBJ_VERS;
 import static org.projectnessie.versioned.storage.jdbc2.SqlConstants.DELETE_OBJ;
+import static org.projectnessie.versioned.storage.jdbc2.SqlConstants.DELETE_OBJS;
 import static org.projectnessie.versioned.storage.jdbc2.SqlConstants.DELETE_OBJ_CONDITIONAL;
 import static org.projectnessie.versioned.storage.jdbc2.SqlConstants.DELETE_OBJ_REFERENCED;
 import static org.projectnessie.versioned.storage.jdbc2.SqlConstants.DELETE_OBJ_REFERENCED_NULL;
@@ -35,15 +37,17 @@ import static org.projectnessie.versioned.storage.jdbc2.SqlConstants.FIND_OBJS;
 import static org.projectnessie.versioned.storage.jdbc2.SqlConstants.FIND_OBJS_TYPED;
 import static org.projectnessie.versioned.storage.jdbc2.SqlConstants.FIND_REFERENCES;
 import static org.projectnessie.versioned.storage.jdbc2.SqlConstants.MARK_REFERENCE_AS_DELETED;
-import static org.projectnessie.versioned.storage.jdbc2.SqlConstants.MAX_BATCH_SIZE;
 import static org.projectnessie.versioned.storage.jdbc2.SqlConstants.PURGE_REFERENCE;
 import static org.projectnessie.versioned.storage.jdbc2.SqlConstants.REFS_CREATED_AT_COND;
 import static org.projectnessie.versioned.storage.jdbc2.SqlConstants.REFS_EXTENDED_INFO_COND;
 import static org.projectnessie.versioned.storage.jdbc2.SqlConstants.SCAN_OBJS;
 import static org.projectnessie.versioned.storage.jdbc2.SqlConstants.SCAN_OBJS_ALL;
 import static org.projectnessie.versioned.storage.jdbc2.SqlConstants.STORE_OBJ;
+import static org.projectnessie.versioned.storage.jdbc2.SqlConstants.TABLE_OBJS;
 import static org.projectnessie.versioned.storage.jdbc2.SqlConstants.UPDATE_OBJS_REFERENCED;
 import static org.projectnessie.versioned.storage.jdbc2.SqlConstants.UPDATE_REFERENCE_POINTER;
+import static org.projectnessie.versioned.storage.serialize.CompressionDictionaries.dictionaryLoader;
+import static org.projectnessie.versioned.storage.serialize.ObjCompression.objCompression;
 import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.serializeObj;
 import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.serializePreviousPointers;
 
@@ -58,6 +62,8 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -78,6 +84,7 @@ import org.projectnessie.versioned.storage.common.persist.ObjId;
 import org.projectnessie.versioned.storage.common.persist.ObjType;
 import org.projectnessie.versioned.storage.common.persist.Persist;
 import org.projectnessie.versioned.storage.common.persist.Reference;
+import org.projectnessie.versioned.storage.serialize.ObjCompression;
 import org.projectnessie.versioned.storage.serialize.ProtoSerialization;
 
 @SuppressWarnings({"SqlDialectInspection", "SqlNoDataSourceInspection"})
@@ -86,11 +93,16 @@ abstract class AbstractJdbc2Persist implements Persist {
   private final StoreConfig config;
   private final DatabaseSpecific databaseSpecific;
   private final int fetchSize;
+  private final int batchSize;
+  private final ObjCompression objCompression;
 
-  AbstractJdbc2Persist(DatabaseSpecific databaseSpecific, int fetchSize, StoreConfig config) {
+  AbstractJdbc2Persist(
+      DatabaseSpecific databaseSpecific, int fetchSize, int batchSize, StoreConfig config) {
     this.config = config;
     this.fetchSize = fetchSize;
+    this.batchSize = batchSize;
     this.databaseSpecific = databaseSpecific;
+    this.objCompression = objCompression(config, dictionaryLoader(this));
   }
 
   @Nonnull
@@ -387,7 +399,8 @@ abstract class AbstractJdbc2Persist implements Persist {
     if (rs.wasNull()) {
       referenced = -1;
     }
-    return ProtoSerialization.deserializeObj(id, referenced, serialized, versionToken);
+    return ProtoSerialization.deserializeObj(
+        id, referenced, serialized, versionToken, objCompression);
   }
 
   protected final boolean storeObj(
@@ -451,7 +464,8 @@ abstract class AbstractJdbc2Persist implements Persist {
     checkArgument(expected.type().equals(newValue.type()));
     checkArgument(!expected.versionToken().equals(newValue.versionToken()));
 
-    // See comment in upsertObjs() why this is implemented this way.
+    // Both statements run in the same transaction, the JDBC connection is configured with
+    // auto-commit=false.
     return deleteConditional(conn, expected)
         && upsertObjs(conn, new Obj[] {newValue}, false, true)[0];
   }
@@ -463,19 +477,18 @@ abstract class AbstractJdbc2Persist implements Persist {
       boolean ignoreSoftSizeRestrictions,
       boolean insert)
       throws ObjTooLargeException {
+    boolean[] r = new boolean[objs.length];
+
     if (!insert) {
-      // Sadly an INSERT INTO ... ON CONFLICT DO UPDATE SET ... does not work with parameters in the
-      // UPDATE SET clause. Since the JDBC connection is configured with auto-commit=false, we can
-      // just DELETE the updates to be upserted and INSERT them again.
-      deleteObjs(
-          conn, stream(objs).map(obj -> obj == null ? null : obj.id()).toArray(ObjId[]::new));
+      upsertObjsMultiRow(conn, objs, ignoreSoftSizeRestrictions, r);
+      return r;
     }
 
-    boolean[] r = new boolean[objs.length];
-
     List<ObjId> updateReferenced = new ArrayList<>();
 
-    upsertObjsWrite(conn, objs, ignoreSoftSizeRestrictions, r, updateReferenced);
+    if (!insertObjsMultiRow(conn, objs, ignoreSoftSizeRestrictions, r, updateReferenced)) {
+      upsertObjsWrite(conn, objs, ignoreSoftSizeRestrictions, r, updateReferenced);
+    }
 
     if (!updateReferenced.isEmpty()) {
       upsertObjsReferenced(conn, updateReferenced);
@@ -484,6 +497,91 @@ abstract class AbstractJdbc2Persist implements Persist {
     return r;
   }
 
+  /**
+   * Inserts the objects using multi-row {@code INSERT ... RETURNING} statements with up to {@link
+   * #batchSize} rows each, if the database supports it.
+   *
+   * @return {@code false} if the database does not support this, nothing has been written then
+   */
+  private boolean insertObjsMultiRow(
+      Connection conn,
+      Obj[] objs,
+      boolean ignoreSoftSizeRestrictions,
+      boolean[] r,
+      List<ObjId> updateReferenced)
+      throws ObjTooLargeException {
+    int[] indexes = nonNullIndexes(objs, false);
+    long referenced = config.currentTimeMicros();
+
+    for (int start = 0; start < indexes.length; start += batchSize) {
+      int rows = Math.min(batchSize, indexes.length - start);
+      Optional<String> sql =
+          databaseSpecific.insertMultiRowReturning(TABLE_OBJS, COLS_OBJS_ALL, rows, COL_OBJ_ID);
+      if (!sql.isPresent()) {
+        // Same for all row counts, so this can only happen for the first chunk
+        return false;
+      }
+
+      Set<ObjId> inserted = new HashSet<>();
+      try (PreparedStatement ps = conn.prepareStatement(sql.get())) {
+        int idx = 1;
+        for (int i = start; i < start + rows; i++) {
+          idx = bindObj(ps, idx, objs[indexes[i]], referenced, ignoreSoftSizeRestrictions);
+        }
+        try (ResultSet rs = ps.executeQuery()) {
+          while (rs.next()) {
+            inserted.add(deserializeObjId(rs, COL_OBJ_ID));
+          }
+        }
+      } catch (SQLException e) {
+        throw storeObjsSQLException(e);
+      }
+
+      for (int i = start; i < start + rows; i++) {
+        int objIndex = indexes[i];
+        ObjId id = objs[objIndex].id();
+        // remove() so that only the first of duplicate objects is reported as inserted
+        if (inserted.remove(id)) {
+          r[objIndex] = true;
+        } else {
+          updateReferenced.add(id);
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Inserts or updates the objects using multi-row upsert statements with up to {@link #batchSize}
+   * rows each.
+   */
+  private void upsertObjsMultiRow(
+      Connection conn, Obj[] objs, boolean ignoreSoftSizeRestrictions, boolean[] r)
+      throws ObjTooLargeException {
+    // A multi-row upsert must not contain the same key twice, PostgreSQL rejects that.
+    int[] indexes = nonNullIndexes(objs, true);
+    long referenced = config.currentTimeMicros();
+
+    for (int start = 0; start < indexes.length; start += batchSize) {
+      int rows = Math.min(batchSize, indexes.length - start);
+      String sql = databaseSpecific.upsertMultiRow(TABLE_OBJS, COLS_OBJS_KEY, COLS_OBJS_ALL, rows);
+      try (PreparedStatement ps = conn.prepareStatement(sql)) {
+        int idx = 1;
+        for (int i = start; i < start + rows; i++) {
+          idx = bindObj(ps, idx, objs[indexes[i]], referenced, ignoreSoftSizeRestrictions);
+        }
+        ps.executeUpdate();
+      } catch (SQLException e) {
+        throw unhandledSQLException(e);
+      }
+
+      for (int i = start; i < start + rows; i++) {
+        r[indexes[i]] = true;
+      }
+    }
+  }
+
+  /** Uses a JDBC batch of single-row inserts, for databases without multi-row insert support. */
   private void upsertObjsWrite(
       Connection conn,
       Obj[] objs,
@@ -520,39 +618,14 @@ abstract class AbstractJdbc2Persist implements Persist {
           continue;
         }
 
-        ObjId id = obj.id();
-        ObjType type = obj.type();
-
-        int incrementalIndexSizeLimit =
-            ignoreSoftSizeRestrictions ? Integer.MAX_VALUE : effectiveIncrementalIndexSizeLimit();
-        int indexSizeLimit =
-            ignoreSoftSizeRestrictions ? Integer.MAX_VALUE : effectiveIndexSegmentSizeLimit();
-
-        checkArgument(id != null, "Obj to store must have a non-null ID");
         // INSERT INTO objs2 (repo, obj_id, obj_type, obj_vers, obj_value) VALUES (?, ?, ?, ?, ?) ON
         // CONFLICT DO NOTHING
-        ps.setString(1, config.repositoryId());
-        serializeObjId(ps, 2, id, databaseSpecific);
-        ps.setString(3, type.shortName());
-        Optional<String> versionToken = UpdateableObj.extractVersionToken(obj);
-        if (versionToken.isPresent()) {
-          ps.setString(4, versionToken.get());
-        } else {
-          ps.setNull(4, Types.VARCHAR);
-        }
-        byte[] serialized = serializeObj(obj, incrementalIndexSizeLimit, indexSizeLimit, false);
-        ps.setBytes(5, serialized);
-        if (obj.referenced() == -1L) {
-          // -1 is a sentinel for AbstractBasePersistTests.deleteWithReferenced()
-          ps.setNull(6, Types.BIGINT);
-        } else {
-          ps.setLong(6, referenced);
-        }
+        bindObj(ps, 1, obj, referenced, ignoreSoftSizeRestrictions);
 
         batchIndexToObjIndex.put(batchIndex++, i);
         ps.addBatch();
 
-        if (batchIndex == MAX_BATCH_SIZE) {
+        if (batchIndex == batchSize) {
           batchIndex = 0;
           batchResultHandler.accept(ps.executeBatch());
         }
@@ -562,38 +635,89 @@ abstract class AbstractJdbc2Persist implements Persist {
         batchResultHandler.accept(ps.executeBatch());
       }
     } catch (SQLException e) {
-      if (databaseSpecific.isConstraintViolation(e)) {
-        throw new UnsupportedOperationException(
-            "The database should support a functionality like PostgreSQL's "
-                + "'ON CONFLICT DO NOTHING' for INSERT statements. For H2, enable the "
-                + "PostgreSQL Compatibility Mode.");
+      throw storeObjsSQLException(e);
+    }
+  }
+
+  /**
+   * Binds the values of {@link SqlConstants#COLS_OBJS_ALL} for the given object, starting at
+   * parameter index {@code idx}.
+   *
+   * @return the parameter index following the bound values
+   */
+  private int bindObj(
+      PreparedStatement ps, int idx, Obj obj, long referenced, boolean ignoreSoftSizeRestrictions)
+      throws SQLException, ObjTooLargeException {
+    ObjId id = obj.id();
+    ObjType type = obj.type();
+
+    int incrementalIndexSizeLimit =
+        ignoreSoftSizeRestrictions ? Integer.MAX_VALUE : effectiveIncrementalIndexSizeLimit();
+    int indexSizeLimit =
+        ignoreSoftSizeRestrictions ? Integer.MAX_VALUE : effectiveIndexSegmentSizeLimit();
+
+    checkArgument(id != null, "Obj to store must have a non-null ID");
+    ps.setString(idx++, config.repositoryId());
+    serializeObjId(ps, idx++, id, databaseSpecific);
+    ps.setString(idx++, type.shortName());
+    Optional<String> versionToken = UpdateableObj.extractVersionToken(obj);
+    if (versionToken.isPresent()) {
+      ps.setString(idx++, versionToken.get());
+    } else {
+      ps.setNull(idx++, Types.VARCHAR);
+    }
+    byte[] serialized =
+        serializeObj(obj, incrementalIndexSizeLimit, indexSizeLimit, false, objCompression);
+    ps.setBytes(idx++, serialized);
+    if (obj.referenced() == -1L) {
+      // -1 is a sentinel for AbstractBasePersistTests.deleteWithReferenced()
+      ps.setNull(idx++, Types.BIGINT);
+    } else {
+      ps.setLong(idx++, referenced);
+    }
+    return idx;
+  }
+
+  private RuntimeException storeObjsSQLException(SQLException e) {
+    if (databaseSpecific.isConstraintViolation(e)) {
+      return new UnsupportedOperationException(
+          "The database should support a functionality like PostgreSQL's "
+              + "'ON CONFLICT DO NOTHING' for INSERT statements. For H2, enable the "
+              + "PostgreSQL Compatibility Mode.");
+    }
+    return unhandledSQLException(e);
+  }
+
+  /** Indexes of the non-null objects, optionally skipping objects with an already seen ID. */
+  private static int[] nonNullIndexes(Obj[] objs, boolean distinctIds) {
+    Set<ObjId> seen = distinctIds ? new HashSet<>() : null;
+    int[] indexes = new int[objs.length];
+    int n = 0;
+    for (int i = 0; i < objs.length; i++) {
+      Obj obj = objs[i];
+      if (obj != null && (seen == null || seen.add(obj.id()))) {
+        indexes[n++] = i;
       }
-      throw unhandledSQLException(e);
     }
+    return n == indexes.length ? indexes : Arrays.copyOf(indexes, n);
   }
 
   private void upsertObjsReferenced(Connection conn, List<ObjId> updateReferenced) {
-    try (PreparedStatement ps = conn.prepareStatement(UPDATE_OBJS_REFERENCED)) {
-      long referenced = config.currentTimeMicros();
-
-      int batchIndex = 0;
-      for (ObjId id : updateReferenced) {
+    long referenced = config.currentTimeMicros();
+    for (int start = 0; start < updateReferenced.size(); start += batchSize) {
+      int rows = Math.min(batchSize, updateReferenced.size() - start);
+      try (PreparedStatement ps =
+          conn.prepareStatement(sqlSelectMultiple(UPDATE_OBJS_REFERENCED, rows))) {
         ps.setLong(1, referenced);
         ps.setString(2, config.repositoryId());
-        serializeObjId(ps, 3, id, databaseSpecific);
-        ps.addBatch();
-
-        if (batchIndex++ == MAX_BATCH_SIZE) {
-          batchIndex = 0;
-          ps.executeBatch();
+        int idx = 3;
+        for (int i = start; i < start + rows; i++) {
+          serializeObjId(ps, idx++, updateReferenced.get(i), databaseSpecific);
         }
+        ps.executeUpdate();
+      } catch (SQLException e) {
+        throw unhandledSQLException(e);
       }
-
-      if (batchIndex > 0) {
-        ps.executeBatch();
-      }
-    } catch (SQLException e) {
-      throw unhandledSQLException(e);
     }
   }
 
@@ -609,33 +733,25 @@ abstract class AbstractJdbc2Persist implements Persist {
   }
 
   protected final void deleteObjs(@Nonnull Connection conn, @Nonnull ObjId[] ids) {
-    if (ids.length == 0) {
-      return;
+    List<ObjId> nonNull = new ArrayList<>(ids.length);
+    for (ObjId id : ids) {
+      if (id != null) {
+        nonNull.add(id);
+      }
     }
 
-    try (PreparedStatement ps = conn.prepareStatement(DELETE_OBJ)) {
-      int batchSize = 0;
-
-      for (ObjId id : ids) {
-        if (id == null) {
-          continue;
-        }
+    for (int start = 0; start < nonNull.size(); start += batchSize) {
+      int rows = Math.min(batchSize, nonNull.size() - start);
+      try (PreparedStatement ps = conn.prepareStatement(sqlSelectMultiple(DELETE_OBJS, rows))) {
         ps.setString(1, config.repositoryId());
-        serializeObjId(ps, 2, id, databaseSpecific);
-        ps.addBatch();
-
-        if (++batchSize == MAX_BATCH_SIZE) {
-          batchSize = 0;
-          ps.executeBatch();
+        int idx = 2;
+        for (int i = start; i < start + rows; i++) {
+          serializeObjId(ps, idx++, nonNull.get(i), databaseSpecific);
         }
+        ps.executeUpdate();
+      } catch (SQLException e) {
+        throw unhandledSQLException(e);
       }
-
-      if (batchSize > 0) {
-        ps.executeBatch();
-      }
-
-    } catch (SQLException e) {
-      throw unhandledSQLException(e);
     }
   }
 
@@ -16,7 +16,9 @@
 package org.projectnessie.versioned.storage.jdbc2;
 
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 public interface DatabaseSpecific {
 
@@ -33,4 +35,18 @@ public interface DatabaseSpecific {
   String wrapInsert(String sql);
 
   String primaryKeyCol(String col, Jdbc2ColumnType columnType);
+
+  /**
+   * Returns a statement that inserts {@code rows} rows with the given {@code columns} into {@code
+   * table} and updates all non-key columns of the rows that already exist.
+   */
+  String upsertMultiRow(String table, List<String> keyColumns, List<String> columns, int rows);
+
+  /**
+   * Returns a statement that inserts {@code rows} rows with the given {@code columns} into {@code
+   * table}, ignores the rows that already exist and returns the {@code returnColumn} of the
+   * inserted rows, or an empty optional if the database does not support this.
+   */
+  Optional<String> insertMultiRowReturning(
+      String table, List<String> columns, int rows, String returnColumn);
 }
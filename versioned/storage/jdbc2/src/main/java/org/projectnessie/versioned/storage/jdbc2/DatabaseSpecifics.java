@@ -21,8 +21,10 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
 import java.util.EnumMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
 import javax.sql.DataSource;
 
 public final class DatabaseSpecifics {
@@ -49,8 +51,7 @@ public final class DatabaseSpecifics {
   public static final DatabaseSpecific COCKROACH_DATABASE_SPECIFIC =
       new BasePostgresDatabaseSpecific("VARCHAR", Types.BINARY);
 
-  public static final DatabaseSpecific H2_DATABASE_SPECIFIC =
-      new BasePostgresDatabaseSpecific("VARCHAR", Types.VARBINARY);
+  public static final DatabaseSpecific H2_DATABASE_SPECIFIC = new H2DatabaseSpecific();
 
   public static final DatabaseSpecific MARIADB_DATABASE_SPECIFIC = new MariaDBDatabaseSpecific();
 
@@ -89,6 +90,47 @@ public final class DatabaseSpecifics {
     }
   }
 
+  /** Builds {@code <verb> <table> (<columns>)<keyClause> VALUES (?, ...), ...}. */
+  static String multiRowInsert(
+      String verb, String table, List<String> columns, String keyClause, int rows) {
+    StringBuilder sql =
+        new StringBuilder(verb)
+            .append(' ')
+            .append(table)
+            .append(" (")
+            .append(String.join(", ", columns))
+            .append(')')
+            .append(keyClause)
+            .append(" VALUES ");
+    for (int r = 0; r < rows; r++) {
+      if (r > 0) {
+        sql.append(", ");
+      }
+      sql.append('(');
+      for (int c = 0; c < columns.size(); c++) {
+        sql.append(c > 0 ? ", ?" : "?");
+      }
+      sql.append(')');
+    }
+    return sql.toString();
+  }
+
+  /** Builds {@code col1=<prefix>col1<suffix>, ...} for all non-key columns. */
+  static String updateNonKeyColumns(
+      List<String> keyColumns, List<String> columns, String prefix, String suffix) {
+    StringBuilder sql = new StringBuilder();
+    for (String column : columns) {
+      if (keyColumns.contains(column)) {
+        continue;
+      }
+      if (sql.length() > 0) {
+        sql.append(", ");
+      }
+      sql.append(column).append('=').append(prefix).append(column).append(suffix);
+    }
+    return sql.toString();
+  }
+
   static class BasePostgresDatabaseSpecific implements DatabaseSpecific {
 
     /** Integrity constraint violation error code, as returned by H2, Postgres &amp; Cockroach. */
@@ -170,6 +212,46 @@ public final class DatabaseSpecifics {
     public String primaryKeyCol(String col, Jdbc2ColumnType columnType) {
       return col;
     }
+
+    @Override
+    public String upsertMultiRow(
+        String table, List<String> keyColumns, List<String> columns, int rows) {
+      return multiRowInsert("INSERT INTO", table, columns, "", rows)
+          + " ON CONFLICT ("
+          + String.join(", ", keyColumns)
+          + ") DO UPDATE SET "
+          + updateNonKeyColumns(keyColumns, columns, "EXCLUDED.", "");
+    }
+
+    @Override
+    public Optional<String> insertMultiRowReturning(
+        String table, List<String> columns, int rows, String returnColumn) {
+      return Optional.of(
+          wrapInsert(multiRowInsert("INSERT INTO", table, columns, "", rows))
+              + " RETURNING "
+              + returnColumn);
+    }
+  }
+
+  static class H2DatabaseSpecific extends BasePostgresDatabaseSpecific {
+
+    H2DatabaseSpecific() {
+      super("VARCHAR", Types.VARBINARY);
+    }
+
+    @Override
+    public String upsertMultiRow(
+        String table, List<String> keyColumns, List<String> columns, int rows) {
+      return multiRowInsert(
+          "MERGE INTO", table, columns, " KEY (" + String.join(", ", keyColumns) + ")", rows);
+    }
+
+    /** H2 does not support {@code RETURNING}, not even in PostgreSQL compatibility mode. */
+    @Override
+    public Optional<String> insertMultiRowReturning(
+        String table, List<String> columns, int rows, String returnColumn) {
+      return Optional.empty();
+    }
   }
 
   static class MariaDBDatabaseSpecific implements DatabaseSpecific {
@@ -240,5 +322,20 @@ public final class DatabaseSpecifics {
           return col;
       }
     }
+
+    @Override
+    public String upsertMultiRow(
+        String table, List<String> keyColumns, List<String> columns, int rows) {
+      return multiRowInsert("INSERT INTO", table, columns, "", rows)
+          + " ON DUPLICATE KEY UPDATE "
+          + updateNonKeyColumns(keyColumns, columns, "VALUES(", ")");
+    }
+
+    /** MariaDB supports {@code RETURNING} only since 10.5 and MySQL not at all. */
+    @Override
+    public Optional<String> insertMultiRowReturning(
+        String table, List<String> columns, int rows, String returnColumn) {
+      return Optional.empty();
+    }
   }
 }
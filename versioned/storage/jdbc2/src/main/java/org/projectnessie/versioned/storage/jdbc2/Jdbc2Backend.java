@@ -15,6 +15,7 @@
  */
 package org.projectnessie.versioned.storage.jdbc2;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static java.lang.String.format;
 import static org.projectnessie.versioned.storage.jdbc2.AbstractJdbc2Persist.sqlSelectMultiple;
@@ -76,6 +77,7 @@ public final class Jdbc2Backend implements Backend {
   private final String createTableRefsSql;
   private final String createTableObjsSql;
   private final int fetchSize;
+  private final int batchSize;
 
   public Jdbc2Backend(
       @Nonnull Jdbc2BackendConfig config,
@@ -83,6 +85,12 @@ public final class Jdbc2Backend implements Backend {
       boolean closeDataSource) {
     this.dataSource = config.dataSource();
     this.fetchSize = config.fetchSize().orElse(Jdbc2BackendBaseConfig.DEFAULT_FETCH_SIZE);
+    this.batchSize = config.batchSize().orElse(Jdbc2BackendBaseConfig.DEFAULT_BATCH_SIZE);
+    checkArgument(
+        batchSize > 0 && batchSize <= Jdbc2BackendBaseConfig.MAX_BATCH_SIZE,
+        "JDBC batch size must be between 1 and %s, but is %s",
+        Jdbc2BackendBaseConfig.MAX_BATCH_SIZE,
+        batchSize);
     this.databaseSpecific = databaseSpecific;
     this.closeDataSource = closeDataSource;
     createTableRefsSql = buildCreateTableRefsSql(databaseSpecific);
@@ -192,6 +200,10 @@ public final class Jdbc2Backend implements Backend {
     return fetchSize;
   }
 
+  int batchSize() {
+    return batchSize;
+  }
+
   Connection borrowConnection() throws SQLException {
     Connection c = dataSource.getConnection();
     c.setAutoCommit(false);
@@ -23,7 +23,15 @@ public interface Jdbc2BackendBaseConfig {
   String DEFAULT_FETCH_SIZE_STRING = "100";
   int DEFAULT_FETCH_SIZE = Integer.parseInt(DEFAULT_FETCH_SIZE_STRING);
 
+  String DEFAULT_BATCH_SIZE_STRING = "50";
+  int DEFAULT_BATCH_SIZE = Integer.parseInt(DEFAULT_BATCH_SIZE_STRING);
+
+  /** Upper bound for {@link #batchSize()}, keeps multi-row statements below bind limits. */
+  int MAX_BATCH_SIZE = 1000;
+
   Optional<String> datasourceName();
 
   OptionalInt fetchSize();
+
+  OptionalInt batchSize();
 }
@@ -15,9 +15,9 @@
  */
 package org.projectnessie.versioned.storage.jdbc2;
 
-final class SqlConstants {
+import java.util.List;
 
-  static final int MAX_BATCH_SIZE = 50;
+final class SqlConstants {
 
   static final String TABLE_REFS = "refs2";
   static final String TABLE_OBJS = "objs2";
@@ -35,6 +35,8 @@ final class SqlConstants {
       "DELETE FROM " + TABLE_REFS + " WHERE " + COL_REPO_ID + " IN (?)";
   static final String DELETE_OBJ =
       "DELETE FROM " + TABLE_OBJS + " WHERE " + COL_REPO_ID + "=? AND " + COL_OBJ_ID + "=?";
+  static final String DELETE_OBJS =
+      "DELETE FROM " + TABLE_OBJS + " WHERE " + COL_REPO_ID + "=? AND " + COL_OBJ_ID + " IN (?)";
   static final String DELETE_OBJ_CONDITIONAL =
       "DELETE FROM "
           + TABLE_OBJS
@@ -56,7 +58,7 @@ final class SqlConstants {
           + COL_REPO_ID
           + "=? AND "
           + COL_OBJ_ID
-          + "=?";
+          + " IN (?)";
   static final String DELETE_OBJ_REFERENCED =
       "DELETE FROM "
           + TABLE_OBJS
@@ -217,6 +219,11 @@ final class SqlConstants {
           + COL_OBJ_ID
           + " IN (?)";
 
+  static final List<String> COLS_OBJS_KEY = List.of(COL_REPO_ID, COL_OBJ_ID);
+  static final List<String> COLS_OBJS_ALL =
+      List.of(
+          COL_REPO_ID, COL_OBJ_ID, COL_OBJ_TYPE, COL_OBJ_VERS, COL_OBJ_VALUE, COL_OBJ_REFERENCED);
+
   static final String STORE_OBJ =
       "INSERT INTO "
           + TABLE_OBJS
@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.jdbc2;
+
+import static org.projectnessie.versioned.storage.jdbc2.DatabaseSpecifics.H2_DATABASE_SPECIFIC;
+import static org.projectnessie.versioned.storage.jdbc2.DatabaseSpecifics.MARIADB_DATABASE_SPECIFIC;
+import static org.projectnessie.versioned.storage.jdbc2.DatabaseSpecifics.POSTGRESQL_DATABASE_SPECIFIC;
+
+import java.util.List;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestDatabaseSpecifics {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  static final List<String> KEY = List.of("k1", "k2");
+  static final List<String> COLS = List.of("k1", "k2", "v1", "v2");
+
+  @Test
+  public void upsertMultiRow() {
+    soft.assertThat(POSTGRESQL_DATABASE_SPECIFIC.upsertMultiRow("t", KEY, COLS, 2))
+        .isEqualTo(
+            "INSERT INTO t (k1, k2, v1, v2) VALUES (?, ?, ?, ?), (?, ?, ?, ?)"
+                + " ON CONFLICT (k1, k2) DO UPDATE SET v1=EXCLUDED.v1, v2=EXCLUDED.v2");
+    soft.assertThat(MARIADB_DATABASE_SPECIFIC.upsertMultiRow("t", KEY, COLS, 2))
+        .isEqualTo(
+            "INSERT INTO t (k1, k2, v1, v2) VALUES (?, ?, ?, ?), (?, ?, ?, ?)"
+                + " ON DUPLICATE KEY UPDATE v1=VALUES(v1), v2=VALUES(v2)");
+    soft.assertThat(H2_DATABASE_SPECIFIC.upsertMultiRow("t", KEY, COLS, 2))
+        .isEqualTo("MERGE INTO t (k1, k2, v1, v2) KEY (k1, k2) VALUES (?, ?, ?, ?), (?, ?, ?, ?)");
+  }
+
+  @Test
+  public void insertMultiRowReturning() {
+    soft.assertThat(POSTGRESQL_DATABASE_SPECIFIC.insertMultiRowReturning("t", COLS, 2, "k2"))
+        .contains(
+            "INSERT INTO t (k1, k2, v1, v2) VALUES (?, ?, ?, ?), (?, ?, ?, ?)"
+                + " ON CONFLICT DO NOTHING RETURNING k2");
+    soft.assertThat(MARIADB_DATABASE_SPECIFIC.insertMultiRowReturning("t", COLS, 2, "k2"))
+        .isEmpty();
+    soft.assertThat(H2_DATABASE_SPECIFIC.insertMultiRowReturning("t", COLS, 2, "k2")).isEmpty();
+  }
+}
@@ -44,6 +44,8 @@ import static org.projectnessie.versioned.storage.mongodb2.MongoDB2Constants.ID_
 import static org.projectnessie.versioned.storage.mongodb2.MongoDB2Constants.ID_REPO_PATH;
 import static org.projectnessie.versioned.storage.mongodb2.MongoDB2Serde.binaryToObjId;
 import static org.projectnessie.versioned.storage.mongodb2.MongoDB2Serde.objIdToBinary;
+import static org.projectnessie.versioned.storage.serialize.CompressionDictionaries.dictionaryLoader;
+import static org.projectnessie.versioned.storage.serialize.ObjCompression.objCompression;
 import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.deserializeObj;
 import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.deserializePreviousPointers;
 import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.serializeObj;
@@ -101,15 +103,18 @@ import org.projectnessie.versioned.storage.common.persist.ObjId;
 import org.projectnessie.versioned.storage.common.persist.ObjType;
 import org.projectnessie.versioned.storage.common.persist.Persist;
 import org.projectnessie.versioned.storage.common.persist.Reference;
+import org.projectnessie.versioned.storage.serialize.ObjCompression;
 
 public class MongoDB2Persist implements Persist {
 
   private final StoreConfig config;
   private final MongoDB2Backend backend;
+  private final ObjCompression objCompression;
 
   MongoDB2Persist(MongoDB2Backend backend, StoreConfig config) {
     this.config = config;
     this.backend = backend;
+    this.objCompression = objCompression(config, dictionaryLoader(this));
   }
 
   @Nonnull
@@ -770,7 +775,12 @@ public class MongoDB2Persist implements Persist {
     String versionToken = doc.getString(COL_OBJ_VERS);
     Long referenced = doc.getLong(COL_OBJ_REFERENCED);
     Obj obj =
-        deserializeObj(id, referenced != null ? referenced : -1L, bin.getData(), versionToken);
+        deserializeObj(
+            id,
+            referenced != null ? referenced : -1L,
+            bin.getData(),
+            versionToken,
+            objCompression);
     @SuppressWarnings("unchecked")
     T r = (T) obj;
     return r;
@@ -796,7 +806,8 @@ public class MongoDB2Persist implements Persist {
         ignoreSoftSizeRestrictions ? Integer.MAX_VALUE : effectiveIncrementalIndexSizeLimit();
     int indexSizeLimit =
         ignoreSoftSizeRestrictions ? Integer.MAX_VALUE : effectiveIndexSegmentSizeLimit();
-    byte[] serialized = serializeObj(obj, incrementalIndexSizeLimit, indexSizeLimit, false);
+    byte[] serialized =
+        serializeObj(obj, incrementalIndexSizeLimit, indexSizeLimit, false, objCompression);
     doc.put(COL_OBJ_VALUE, new Binary(serialized));
     return doc;
   }
@@ -19,6 +19,8 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Collections.singleton;
 import static org.projectnessie.versioned.storage.rocksdb.RocksDBBackend.keyPrefix;
 import static org.projectnessie.versioned.storage.rocksdb.RocksDBBackend.rocksDbException;
+import static org.projectnessie.versioned.storage.serialize.CompressionDictionaries.dictionaryLoader;
+import static org.projectnessie.versioned.storage.serialize.ObjCompression.objCompression;
 import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.deserializeObj;
 import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.deserializeObjId;
 import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.deserializeReference;
@@ -48,6 +50,7 @@ import org.projectnessie.versioned.storage.common.persist.ObjId;
 import org.projectnessie.versioned.storage.common.persist.ObjType;
 import org.projectnessie.versioned.storage.common.persist.Persist;
 import org.projectnessie.versioned.storage.common.persist.Reference;
+import org.projectnessie.versioned.storage.serialize.ObjCompression;
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
@@ -60,12 +63,14 @@ class RocksDBPersist implements Persist {
   private final StoreConfig config;
 
   private final ByteString keyPrefix;
+  private final ObjCompression objCompression;
 
   RocksDBPersist(RocksDBBackend backend, RocksDBRepo repo, StoreConfig config) {
     this.backend = backend;
     this.repo = repo;
     this.config = config;
     this.keyPrefix = keyPrefix(config.repositoryId());
+    this.objCompression = objCompression(config, dictionaryLoader(this));
   }
 
   private byte[] dbKey(ByteString key) {
@@ -271,7 +276,7 @@ class RocksDBPersist implements Persist {
       if (obj == null) {
         throw new ObjNotFoundException(id);
       }
-      Obj o = deserializeObj(id, 0L, obj, null);
+      Obj o = deserializeObj(id, 0L, obj, null, objCompression);
       if (o == null || (type != null && !type.equals(o.type()))) {
         throw new ObjNotFoundException(id);
       }
@@ -310,7 +315,7 @@ class RocksDBPersist implements Persist {
           if (id != null) {
             byte[] obj = dbResult.get(ri++);
             if (obj != null) {
-              Obj o = deserializeObj(id, 0L, obj, null);
+              Obj o = deserializeObj(id, 0L, obj, null, objCompression);
               if (type != null && !type.equals(o.type())) {
                 o = null;
               }
@@ -345,7 +350,7 @@ class RocksDBPersist implements Persist {
 
       byte[] existing = db.get(cf, key);
       if (existing != null) {
-        obj = deserializeObj(obj.id(), referenced, existing, null);
+        obj = deserializeObj(obj.id(), referenced, existing, null, objCompression);
         ignoreSoftSizeRestrictions = true;
         r = false;
       } else {
@@ -359,7 +364,8 @@ class RocksDBPersist implements Persist {
           ignoreSoftSizeRestrictions ? Integer.MAX_VALUE : effectiveIncrementalIndexSizeLimit();
       int indexSizeLimit =
           ignoreSoftSizeRestrictions ? Integer.MAX_VALUE : effectiveIndexSegmentSizeLimit();
-      byte[] serialized = serializeObj(obj, incrementalIndexSizeLimit, indexSizeLimit, true);
+      byte[] serialized =
+          serializeObj(obj, incrementalIndexSizeLimit, indexSizeLimit, true, objCompression);
 
       db.put(cf, key, serialized);
       return r;
@@ -426,7 +432,11 @@ class RocksDBPersist implements Persist {
 
       byte[] serialized =
           serializeObj(
-              obj, effectiveIncrementalIndexSizeLimit(), effectiveIndexSegmentSizeLimit(), true);
+              obj,
+              effectiveIncrementalIndexSizeLimit(),
+              effectiveIndexSegmentSizeLimit(),
+              true,
+              objCompression);
 
       db.put(cf, key, serialized);
     } catch (RocksDBException e) {
@@ -459,7 +469,7 @@ class RocksDBPersist implements Persist {
       if (bytes == null) {
         return false;
       }
-      Obj existing = deserializeObj(id, 0L, bytes, null);
+      Obj existing = deserializeObj(id, 0L, bytes, null, objCompression);
       if (!existing.type().equals(obj.type())) {
         return false;
       }
@@ -492,7 +502,7 @@ class RocksDBPersist implements Persist {
       if (bytes == null) {
         return false;
       }
-      Obj existing = deserializeObj(id, 0L, bytes, null);
+      Obj existing = deserializeObj(id, 0L, bytes, null, objCompression);
       if (!existing.type().equals(obj.type())) {
         return false;
       }
@@ -529,7 +539,7 @@ class RocksDBPersist implements Persist {
       if (obj == null) {
         return false;
       }
-      Obj existing = deserializeObj(id, 0L, obj, null);
+      Obj existing = deserializeObj(id, 0L, obj, null, objCompression);
       if (!existing.type().equals(expected.type())) {
         return false;
       }
@@ -544,7 +554,8 @@ class RocksDBPersist implements Persist {
               newValue.withReferenced(referenced),
               effectiveIncrementalIndexSizeLimit(),
               effectiveIndexSegmentSizeLimit(),
-              true);
+              true,
+              objCompression);
 
       db.put(cf, key, serialized);
 
@@ -625,7 +636,7 @@ class RocksDBPersist implements Persist {
         }
 
         ObjId id = deserializeObjId(key.substring(keyPrefix.size()));
-        Obj o = deserializeObj(id, 0L, obj, null);
+        Obj o = deserializeObj(id, 0L, obj, null, objCompression);
 
         if (filter.test(o.type())) {
           return o;
@@ -0,0 +1,257 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.versionstore;
+
+import static org.projectnessie.versioned.storage.versionstore.BaseCommitHelper.committingOperation;
+
+import com.google.common.annotations.VisibleForTesting;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import org.projectnessie.model.CommitMeta;
+import org.projectnessie.model.ContentKey;
+import org.projectnessie.model.Operation;
+import org.projectnessie.versioned.BranchName;
+import org.projectnessie.versioned.CommitResult;
+import org.projectnessie.versioned.Hash;
+import org.projectnessie.versioned.ReferenceConflictException;
+import org.projectnessie.versioned.ReferenceNotFoundException;
+import org.projectnessie.versioned.VersionStore.CommitValidator;
+import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
+import org.projectnessie.versioned.storage.common.logic.CommitRetry.RetryException;
+import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.common.persist.Reference;
+import org.projectnessie.versioned.storage.versionstore.CommitImpl.CommitRetryState;
+
+/**
+ * In-process "group commit" for {@link VersionStoreImpl#commit(BranchName, Optional, CommitMeta,
+ * List, CommitValidator, BiConsumer)}, enabled via {@link
+ * org.projectnessie.versioned.storage.common.config.StoreConfig#commitSequencerEnabled()}.
+ *
+ * <p>Concurrent commits against the same branch are queued. One of the committing threads, the
+ * leader, takes up to {@link
+ * org.projectnessie.versioned.storage.common.config.StoreConfig#commitSequencerMaxGroupSize()}
+ * queued commits and applies them as consecutive commits: each commit is built on top of the
+ * previous commit of the same group, conflicting commits fail individually without affecting the
+ * others. The reference pointer is then bumped once for the whole group. This replaces the
+ * reference-pointer CAS contention between the threads of this process, and the resulting retry
+ * sleeps, by a single CAS per group.
+ *
+ * <p>Concurrent commits from other Nessie processes are still handled by the usual commit-retry
+ * mechanism: if the reference pointer bump fails, the whole group is retried on top of the new
+ * HEAD.
+ */
+final class CommitSequencer {
+  private final Persist persist;
+  private final int maxGroupSize;
+
+  @VisibleForTesting
+  final ConcurrentMap<BranchName, BranchQueue> queues = new ConcurrentHashMap<>();
+
+  CommitSequencer(@Nonnull Persist persist) {
+    this.persist = persist;
+    this.maxGroupSize = Math.max(1, persist.config().commitSequencerMaxGroupSize());
+  }
+
+  CommitResult commit(
+      @Nonnull BranchName branch,
+      @Nonnull Optional<Hash> referenceHash,
+      @Nonnull CommitMeta metadata,
+      @Nonnull List<Operation> operations,
+      @Nonnull CommitValidator validator,
+      @Nonnull BiConsumer<ContentKey, String> addedContents)
+      throws ReferenceNotFoundException, ReferenceConflictException {
+    PendingCommit commit = new PendingCommit(referenceHash, metadata, operations, validator);
+
+    BranchQueue queue = queues.computeIfAbsent(branch, b -> new BranchQueue());
+    queue.pending.add(commit);
+
+    // Threads that wait for the lock usually find their commit already applied by the previous
+    // lock holder. Each thread only leads groups until its own commit is done, so no thread is
+    // starved by commits of other threads.
+    queue.lock.lock();
+    try {
+      while (!commit.done) {
+        List<PendingCommit> group = queue.nextGroup(maxGroupSize);
+        if (group.isEmpty()) {
+          throw new IllegalStateException("Queued commit has been lost");
+        }
+        commitGroup(branch, group);
+      }
+    } finally {
+      queue.lock.unlock();
+      if (queue.pending.isEmpty()) {
+        // A thread that concurrently added a commit to this queue still processes it, a new queue
+        // for the same branch only means more reference-pointer contention, but stays correct.
+        queues.remove(branch, queue);
+      }
+    }
+
+    CommitResult result = commit.result();
+    commit.retryState.generatedContentIds.forEach(addedContents);
+    return result;
+  }
+
+  private void commitGroup(BranchName branch, List<PendingCommit> group) {
+    try {
+      committingOperation(
+          "commit",
+          branch,
+          Optional.empty(),
+          persist,
+          GroupCommitter::new,
+          (committer, retryState) -> committer.commit(group));
+    } catch (ReferenceNotFoundException | ReferenceConflictException | RuntimeException e) {
+      // Failure that applies to the whole group, for example a non-existing branch or a
+      // commit-retry timeout.
+      for (PendingCommit commit : group) {
+        if (!commit.done) {
+          commit.fail(e);
+        }
+      }
+    }
+  }
+
+  @VisibleForTesting
+  static final class BranchQueue {
+    final Queue<PendingCommit> pending = new ConcurrentLinkedQueue<>();
+    final ReentrantLock lock = new ReentrantLock();
+
+    List<PendingCommit> nextGroup(int maxGroupSize) {
+      List<PendingCommit> group = new ArrayList<>();
+      for (PendingCommit c; group.size() < maxGroupSize && (c = pending.poll()) != null; ) {
+        group.add(c);
+      }
+      return group;
+    }
+  }
+
+  /**
+   * A queued commit. All fields are only accessed while holding the {@link BranchQueue#lock}, or by
+   * the committing thread after it released the lock.
+   */
+  static final class PendingCommit {
+    final Optional<Hash> referenceHash;
+    final CommitMeta metadata;
+    final List<Operation> operations;
+    final CommitValidator validator;
+    final CommitRetryState retryState = new CommitRetryState();
+
+    boolean done;
+    CommitResult result;
+    Exception failure;
+
+    PendingCommit(
+        Optional<Hash> referenceHash,
+        CommitMeta metadata,
+        List<Operation> operations,
+        CommitValidator validator) {
+      this.referenceHash = referenceHash;
+      this.metadata = metadata;
+      this.operations = operations;
+      this.validator = validator;
+    }
+
+    void complete(CommitResult result) {
+      this.result = result;
+      this.done = true;
+    }
+
+    void fail(Exception failure) {
+      this.failure = failure;
+      this.done = true;
+    }
+
+    CommitResult result() throws ReferenceNotFoundException, ReferenceConflictException {
+      if (failure == null) {
+        return result;
+      }
+      if (failure instanceof ReferenceNotFoundException) {
+        throw (ReferenceNotFoundException) failure;
+      }
+      if (failure instanceof ReferenceConflictException) {
+        throw (ReferenceConflictException) failure;
+      }
+      if (failure instanceof RuntimeException) {
+        throw (RuntimeException) failure;
+      }
+      throw new RuntimeException(failure);
+    }
+  }
+
+  /** Applies a group of queued commits within one commit-retry attempt. */
+  static final class GroupCommitter extends BaseCommitHelper {
+    GroupCommitter(
+        @Nonnull BranchName branch,
+        @Nonnull Optional<Hash> referenceHash,
+        @Nonnull Persist persist,
+        @Nonnull Reference reference,
+        @Nullable CommitObj head)
+        throws ReferenceNotFoundException {
+      super(branch, referenceHash, persist, reference, head);
+    }
+
+    Void commit(List<PendingCommit> group) throws RetryException, ReferenceNotFoundException {
+      List<PendingCommit> applied = new ArrayList<>(group.size());
+      List<CommitImpl> committers = new ArrayList<>(group.size());
+      List<CommitObj> newHeads = new ArrayList<>(group.size());
+
+      CommitObj groupHead = head;
+      for (PendingCommit commit : group) {
+        if (commit.done) {
+          // Failed during a previous attempt, a conflict does not go away by retrying
+          continue;
+        }
+        try {
+          CommitImpl committer =
+              new CommitImpl(branch, commit.referenceHash, persist, reference, groupHead);
+          CommitObj newHead =
+              committer.storeCommit(
+                  commit.retryState, commit.metadata, commit.operations, commit.validator);
+          applied.add(commit);
+          committers.add(committer);
+          newHeads.add(newHead);
+          groupHead = newHead;
+        } catch (ReferenceNotFoundException
+            | ReferenceConflictException
+            | ObjTooLargeException
+            | RuntimeException e) {
+          commit.fail(e);
+        }
+      }
+
+      if (groupHead == head) {
+        return null;
+      }
+
+      bumpReferencePointer(groupHead.id(), Optional.empty());
+
+      for (int i = 0; i < applied.size(); i++) {
+        applied.get(i).complete(committers.get(i).commitResult(newHeads.get(i)));
+      }
+      return null;
+    }
+  }
+}
@@ -31,6 +31,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
 import java.util.stream.Collectors;
 import org.projectnessie.model.CommitMeta;
 import org.projectnessie.model.Content;
@@ -106,6 +107,15 @@ public final class ContentMapping {
     return r;
   }
 
+  /**
+   * Asynchronously fetches the content values with the given IDs. The returned array contains
+   * {@code null} elements for content values that do not exist.
+   */
+  @Nonnull
+  CompletionStage<ContentValueObj[]> fetchContentValuesAsync(@Nonnull ObjId[] ids) {
+    return persist.fetchTypedObjsIfExistAsync(ids, VALUE, ContentValueObj.class);
+  }
+
   private Map<ContentKey, Content> fetchContentsDuplicateObjIds(
       StoreIndex<CommitOp> index, Collection<ContentKey> keys) throws ObjNotFoundException {
     Map<ObjId, List<ContentKey>> idsToKeys = newHashMapWithExpectedSize(keys.size());
@@ -142,7 +152,7 @@ public final class ContentMapping {
     return requireNonNull(indexElement.content().value(), "Required value pointer is null");
   }
 
-  private static Content valueToContent(ContentValueObj contentValue) {
+  static Content valueToContent(ContentValueObj contentValue) {
     return STORE_WORKER.valueFromStore((byte) contentValue.payload(), contentValue.data());
   }
 
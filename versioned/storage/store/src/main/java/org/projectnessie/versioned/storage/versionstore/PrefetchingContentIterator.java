@@ -0,0 +1,189 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.versionstore;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Collections.emptyIterator;
+import static java.util.Objects.requireNonNull;
+import static org.projectnessie.versioned.storage.versionstore.ContentMapping.valueToContent;
+import static org.projectnessie.versioned.storage.versionstore.VersionStoreImpl.GET_KEYS_CONTENT_BATCH_SIZE;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Throwables;
+import com.google.common.collect.AbstractIterator;
+import jakarta.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.projectnessie.model.Content;
+import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
+import org.projectnessie.versioned.storage.common.objtypes.ContentValueObj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.versionstore.VersionStoreImpl.ContentKeyWithCommitOp;
+
+/**
+ * Fetches the contents for the keys returned by {@link VersionStoreImpl}{@code .getKeys()} in
+ * batches, keeping a configured number of batches in flight ahead of the consumer.
+ *
+ * <p>The first batch contains {@value VersionStoreImpl#GET_KEYS_CONTENT_BATCH_SIZE} keys. Whenever
+ * the consumer has to wait for a batch, the database latency is higher than the time the consumer
+ * needs to process the previous batch. In that case the size of the following batches is doubled,
+ * up to the maximum batch size, to reduce the number of round-trips.
+ */
+final class PrefetchingContentIterator extends AbstractIterator<ContentKeyWithCommitOp> {
+
+  private final Iterator<ContentKeyWithCommitOp> source;
+  private final ContentMapping contentMapping;
+  private final int prefetchBatches;
+  private final int maxBatchSize;
+
+  private final Deque<Batch> inFlight = new ArrayDeque<>();
+  private Iterator<ContentKeyWithCommitOp> current = emptyIterator();
+  private int batchSize;
+
+  PrefetchingContentIterator(
+      Iterator<ContentKeyWithCommitOp> source,
+      ContentMapping contentMapping,
+      int prefetchBatches,
+      int maxBatchSize) {
+    checkArgument(prefetchBatches > 0, "prefetchBatches must be positive");
+    this.source = source;
+    this.contentMapping = contentMapping;
+    this.prefetchBatches = prefetchBatches;
+    this.maxBatchSize = Math.max(maxBatchSize, GET_KEYS_CONTENT_BATCH_SIZE);
+    this.batchSize = GET_KEYS_CONTENT_BATCH_SIZE;
+  }
+
+  @VisibleForTesting
+  int batchSize() {
+    return batchSize;
+  }
+
+  @Override
+  protected ContentKeyWithCommitOp computeNext() {
+    while (true) {
+      if (current.hasNext()) {
+        return current.next();
+      }
+
+      startBatches();
+      Batch batch = inFlight.poll();
+      if (batch == null) {
+        return endOfData();
+      }
+      // Issue the next batches before waiting for the current one.
+      startBatches();
+      current = batch.await();
+    }
+  }
+
+  private void startBatches() {
+    while (inFlight.size() < prefetchBatches) {
+      Batch batch = nextBatch();
+      if (batch == null) {
+        break;
+      }
+      inFlight.add(batch);
+    }
+  }
+
+  @Nullable
+  private Batch nextBatch() {
+    List<ContentKeyWithCommitOp> ops = new ArrayList<>(batchSize);
+    for (int i = 0; i < batchSize && source.hasNext(); i++) {
+      ops.add(source.next());
+    }
+    if (ops.isEmpty()) {
+      return null;
+    }
+
+    // There is a *very* low chance (only for old, migrated repositories) that the exact same
+    // content object is used for multiple content-keys.
+    Map<ObjId, List<ContentKeyWithCommitOp>> opsById = new LinkedHashMap<>();
+    for (ContentKeyWithCommitOp op : ops) {
+      ObjId valueObjId = requireNonNull(op.commitOp.value(), "Required value pointer is null");
+      opsById.computeIfAbsent(valueObjId, x -> new ArrayList<>(1)).add(op);
+    }
+
+    ObjId[] ids = opsById.keySet().toArray(new ObjId[0]);
+    CompletableFuture<ContentValueObj[]> values =
+        contentMapping.fetchContentValuesAsync(ids).toCompletableFuture();
+    return new Batch(ops, opsById, ids, values);
+  }
+
+  private final class Batch {
+    final List<ContentKeyWithCommitOp> ops;
+    final Map<ObjId, List<ContentKeyWithCommitOp>> opsById;
+    final ObjId[] ids;
+    final CompletableFuture<ContentValueObj[]> values;
+
+    Batch(
+        List<ContentKeyWithCommitOp> ops,
+        Map<ObjId, List<ContentKeyWithCommitOp>> opsById,
+        ObjId[] ids,
+        CompletableFuture<ContentValueObj[]> values) {
+      this.ops = ops;
+      this.opsById = opsById;
+      this.ids = ids;
+      this.values = values;
+    }
+
+    Iterator<ContentKeyWithCommitOp> await() {
+      if (!values.isDone()) {
+        // The consumer is faster than the database, use larger batches.
+        batchSize = Math.min(batchSize * 2, maxBatchSize);
+      }
+
+      ContentValueObj[] objs;
+      try {
+        objs = values.join();
+      } catch (CompletionException e) {
+        Throwables.throwIfUnchecked(e.getCause());
+        throw new RuntimeException("Could not fetch or map content", e.getCause());
+      }
+
+      // Same behavior as the synchronous path, which fails for content objects that do not exist.
+      List<ObjId> notFound = null;
+      for (int i = 0; i < ids.length; i++) {
+        if (objs[i] == null) {
+          if (notFound == null) {
+            notFound = new ArrayList<>();
+          }
+          notFound.add(ids[i]);
+        }
+      }
+      if (notFound != null) {
+        throw new RuntimeException(
+            "Could not fetch or map content", new ObjNotFoundException(notFound));
+      }
+
+      // Deserialize the contents in the consumer's thread, not in a database driver thread.
+      for (int i = 0; i < ids.length; i++) {
+        Content content = valueToContent(objs[i]);
+        for (ContentKeyWithCommitOp op : opsById.get(ids[i])) {
+          op.content = content;
+        }
+      }
+      return ops.iterator();
+    }
+  }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.versionstore;
+
+import static java.util.Collections.emptyIterator;
+import static org.projectnessie.versioned.storage.common.objtypes.StandardObjType.COMMIT;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.EMPTY_OBJ_ID;
+import static org.projectnessie.versioned.storage.versionstore.RefMapping.referenceToNamedRef;
+
+import com.google.common.collect.AbstractIterator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import org.projectnessie.model.CommitMeta;
+import org.projectnessie.versioned.NamedRef;
+import org.projectnessie.versioned.ReferenceInfo;
+import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
+import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.common.persist.Reference;
+
+/**
+ * Resolves the {@link ReferenceInfo}s for the references returned by the given iterator page by
+ * page.
+ *
+ * <p>The head commits of all references of a page are fetched using a single {@link
+ * Persist#fetchTypedObjsIfExist} call. If an {@link Executor} is given, the {@link ReferenceInfo}s
+ * of a page are built in parallel, which is beneficial if those require additional database
+ * round-trips, for example to compute the common ancestor.
+ */
+final class ReferenceInfoPages extends AbstractIterator<ReferenceInfoPages.ResolvedReference> {
+
+  static final int PAGE_SIZE = 50;
+
+  @FunctionalInterface
+  interface ReferenceInfoBuilder {
+    ReferenceInfo<CommitMeta> build(NamedRef namedRef, CommitObj head) throws ObjNotFoundException;
+  }
+
+  static final class ResolvedReference {
+    private final Reference reference;
+    private final ReferenceInfo<CommitMeta> referenceInfo;
+
+    ResolvedReference(Reference reference, ReferenceInfo<CommitMeta> referenceInfo) {
+      this.reference = reference;
+      this.referenceInfo = referenceInfo;
+    }
+
+    Reference reference() {
+      return reference;
+    }
+
+    ReferenceInfo<CommitMeta> referenceInfo() {
+      return referenceInfo;
+    }
+  }
+
+  private final Persist persist;
+  private final Iterator<Reference> references;
+  private final ReferenceInfoBuilder referenceInfoBuilder;
+  private final Executor executor;
+
+  private Iterator<ResolvedReference> page = emptyIterator();
+
+  ReferenceInfoPages(
+      Persist persist,
+      Iterator<Reference> references,
+      ReferenceInfoBuilder referenceInfoBuilder,
+      Executor executor) {
+    this.persist = persist;
+    this.references = references;
+    this.referenceInfoBuilder = referenceInfoBuilder;
+    this.executor = executor;
+  }
+
+  @Override
+  protected ResolvedReference computeNext() {
+    if (!page.hasNext()) {
+      List<Reference> refs = new ArrayList<>(PAGE_SIZE);
+      while (refs.size() < PAGE_SIZE && references.hasNext()) {
+        refs.add(references.next());
+      }
+      if (refs.isEmpty()) {
+        return endOfData();
+      }
+      page = resolvePage(refs).iterator();
+    }
+    return page.next();
+  }
+
+  private List<ResolvedReference> resolvePage(List<Reference> refs) {
+    CommitObj[] heads = fetchHeads(refs);
+
+    List<ResolvedReference> resolved = new ArrayList<>(refs.size());
+    if (executor == null || refs.size() == 1) {
+      for (int i = 0; i < refs.size(); i++) {
+        resolved.add(resolve(refs.get(i), heads[i]));
+      }
+      return resolved;
+    }
+
+    List<CompletableFuture<ResolvedReference>> futures = new ArrayList<>(refs.size());
+    for (int i = 0; i < refs.size(); i++) {
+      Reference reference = refs.get(i);
+      CommitObj head = heads[i];
+      futures.add(CompletableFuture.supplyAsync(() -> resolve(reference, head), executor));
+    }
+    for (CompletableFuture<ResolvedReference> future : futures) {
+      try {
+        resolved.add(future.join());
+      } catch (CompletionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
+        }
+        throw e;
+      }
+    }
+    return resolved;
+  }
+
+  private CommitObj[] fetchHeads(List<Reference> refs) {
+    ObjId[] ids = new ObjId[refs.size()];
+    int num = 0;
+    for (Reference ref : refs) {
+      if (!EMPTY_OBJ_ID.equals(ref.pointer())) {
+        ids[num++] = ref.pointer();
+      }
+    }
+
+    CommitObj[] fetched =
+        num > 0
+            ? persist.fetchTypedObjsIfExist(
+                num == ids.length ? ids : Arrays.copyOf(ids, num), COMMIT, CommitObj.class)
+            : new CommitObj[0];
+
+    CommitObj[] heads = new CommitObj[refs.size()];
+    for (int i = 0, f = 0; i < heads.length; i++) {
+      Reference ref = refs.get(i);
+      if (EMPTY_OBJ_ID.equals(ref.pointer())) {
+        continue;
+      }
+      CommitObj head = fetched[f++];
+      if (head == null) {
+        throw new RuntimeException(
+            "Could not resolve reference " + ref, new ObjNotFoundException(ref.pointer()));
+      }
+      heads[i] = head;
+    }
+    return heads;
+  }
+
+  private ResolvedReference resolve(Reference reference, CommitObj head) {
+    try {
+      NamedRef namedRef = referenceToNamedRef(reference);
+      return new ResolvedReference(reference, referenceInfoBuilder.build(namedRef, head));
+    } catch (ObjNotFoundException e) {
+      throw new RuntimeException("Could not resolve reference " + reference, e);
+    }
+  }
+}
@@ -169,6 +169,17 @@ public final class TypeMapping {
     return StoreKey.keyFromString(sb.toString());
   }
 
+  /**
+   * Computes the lowest store key that is greater than the store keys of all content keys that
+   * start with the given key elements and have more elements.
+   */
+  @Nonnull
+  public static StoreKey keyToStoreKeyAfterChildren(@Nonnull List<String> keyElements) {
+    StringBuilder sb = keyToStoreKeyPrepare(keyElements);
+    sb.append((char) 2);
+    return StoreKey.keyFromString(sb.toString());
+  }
+
   @Nonnull
   private static StringBuilder keyToStoreKeyPrepare(@Nonnull ContentKey key) {
     return keyToStoreKeyPrepare(key.getElements());
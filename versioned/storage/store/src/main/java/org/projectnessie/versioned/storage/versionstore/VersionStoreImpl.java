@@ -26,6 +26,7 @@ import static org.projectnessie.versioned.ContentResult.contentResult;
 import static org.projectnessie.versioned.ReferenceHistory.ReferenceHistoryElement.referenceHistoryElement;
 import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.emptyImmutableIndex;
 import static org.projectnessie.versioned.storage.common.logic.CommitLogQuery.commitLogQuery;
+import static org.projectnessie.versioned.storage.common.logic.CompleteIndexCache.completeIndexCache;
 import static org.projectnessie.versioned.storage.common.logic.DiffQuery.diffQuery;
 import static org.projectnessie.versioned.storage.common.logic.Logics.commitLogic;
 import static org.projectnessie.versioned.storage.common.logic.Logics.consistencyLogic;
@@ -55,6 +56,7 @@ import static org.projectnessie.versioned.storage.versionstore.RefMapping.verify
 import static org.projectnessie.versioned.storage.versionstore.TypeMapping.CONTENT_DISCRIMINATOR;
 import static org.projectnessie.versioned.storage.versionstore.TypeMapping.hashToObjId;
 import static org.projectnessie.versioned.storage.versionstore.TypeMapping.keyToStoreKey;
+import static org.projectnessie.versioned.storage.versionstore.TypeMapping.keyToStoreKeyAfterChildren;
 import static org.projectnessie.versioned.storage.versionstore.TypeMapping.keyToStoreKeyMin;
 import static org.projectnessie.versioned.storage.versionstore.TypeMapping.keyToStoreKeyNoVariant;
 import static org.projectnessie.versioned.storage.versionstore.TypeMapping.objIdToHash;
@@ -64,6 +66,7 @@ import static org.projectnessie.versioned.store.DefaultStoreWorker.contentTypeFo
 
 import com.google.common.collect.AbstractIterator;
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
@@ -74,6 +77,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
@@ -132,14 +136,15 @@ import org.projectnessie.versioned.storage.common.exceptions.RefAlreadyExistsExc
 import org.projectnessie.versioned.storage.common.exceptions.RefConditionFailedException;
 import org.projectnessie.versioned.storage.common.exceptions.RefNotFoundException;
 import org.projectnessie.versioned.storage.common.exceptions.RetryTimeoutException;
+import org.projectnessie.versioned.storage.common.indexes.SeekableIndexIterator;
 import org.projectnessie.versioned.storage.common.indexes.StoreIndex;
 import org.projectnessie.versioned.storage.common.indexes.StoreIndexElement;
 import org.projectnessie.versioned.storage.common.indexes.StoreKey;
 import org.projectnessie.versioned.storage.common.logic.CommitLogic;
+import org.projectnessie.versioned.storage.common.logic.CompleteIndexCache;
 import org.projectnessie.versioned.storage.common.logic.ConsistencyLogic;
 import org.projectnessie.versioned.storage.common.logic.DiffEntry;
 import org.projectnessie.versioned.storage.common.logic.DiffPagedResult;
-import org.projectnessie.versioned.storage.common.logic.IndexesLogic;
 import org.projectnessie.versioned.storage.common.logic.PagedResult;
 import org.projectnessie.versioned.storage.common.logic.PagingToken;
 import org.projectnessie.versioned.storage.common.logic.ReferenceLogic;
@@ -150,11 +155,22 @@ import org.projectnessie.versioned.storage.common.persist.ObjId;
 import org.projectnessie.versioned.storage.common.persist.Persist;
 import org.projectnessie.versioned.storage.common.persist.Reference;
 import org.projectnessie.versioned.storage.versionstore.BaseCommitHelper.CommitterSupplier;
+import org.projectnessie.versioned.storage.versionstore.ReferenceInfoPages.ResolvedReference;
 
 public class VersionStoreImpl implements VersionStore {
 
   public static final int GET_KEYS_CONTENT_BATCH_SIZE = 50;
+
+  /**
+   * Number of reference index stripes to load in the background while iterating over the keys of
+   * a striped reference index in {@link #getKeys(Ref, String, boolean, KeyRestrictions)}.
+   */
+  public static final int GET_KEYS_READ_AHEAD_STRIPES = 2;
+
   private final Persist persist;
+  private final Executor referenceInfoExecutor;
+  private final CommitSequencer commitSequencer;
+  private final CompleteIndexCache completeIndexCache;
 
   @SuppressWarnings("unused")
   public VersionStoreImpl() {
@@ -162,7 +178,41 @@ public class VersionStoreImpl implements VersionStore {
   }
 
   public VersionStoreImpl(Persist persist) {
+    this(persist, null);
+  }
+
+  /**
+   * Creates a version store.
+   *
+   * @param persist the persistence layer to use
+   * @param referenceInfoExecutor optional executor used to build the {@link ReferenceInfo}s of a
+   *     page of references in parallel, if those require a common-ancestor lookup. The executor is
+   *     expected to bound its concurrency. The calling thread waits for the submitted tasks, so the
+   *     executor must not use the threads of the callers, but it may run tasks on the calling
+   *     thread. If {@code null}, {@link ReferenceInfo}s are built sequentially.
+   */
+  public VersionStoreImpl(Persist persist, @Nullable Executor referenceInfoExecutor) {
     this.persist = persist;
+    this.referenceInfoExecutor = referenceInfoExecutor;
+    this.commitSequencer =
+        persist != null && persist.config().commitSequencerEnabled()
+            ? new CommitSequencer(persist)
+            : null;
+    this.completeIndexCache =
+        persist != null && persist.config().indexCacheCapacityMb() > 0
+            ? completeIndexCache(persist.config().indexCacheCapacityMb() * 1024L * 1024L)
+            : null;
+  }
+
+  /**
+   * Returns the complete index of the given commit for read operations, from the {@link
+   * CompleteIndexCache}, if enabled. The returned index must not be modified.
+   */
+  private StoreIndex<CommitOp> completeIndexForRead(CommitObj head) {
+    CompleteIndexCache cache = completeIndexCache;
+    return cache != null
+        ? cache.completeIndex(persist, head)
+        : indexesLogic(persist).buildCompleteIndex(head, Optional.empty());
   }
 
   @Nonnull
@@ -536,22 +586,20 @@ public class VersionStoreImpl implements VersionStore {
 
     CommitLogic commitLogic = commitLogic(persist);
 
-    return new FilteringPaginationIterator<>(
-        result,
-        reference -> {
-          try {
-            NamedRef namedRef = referenceToNamedRef(reference);
-            CommitObj head = commitLogic(persist).headCommit(reference);
-            return buildReferenceInfo(params, baseRefHead, commitLogic, namedRef, head);
-          } catch (ObjNotFoundException e) {
-            throw new RuntimeException("Could not resolve reference " + reference, e);
-          }
-        }) {
+    ReferenceInfoPages pages =
+        new ReferenceInfoPages(
+            persist,
+            result,
+            (namedRef, head) ->
+                buildReferenceInfo(params, baseRefHead, commitLogic, namedRef, head),
+            requiresCommonAncestor(params) ? referenceInfoExecutor : null);
+
+    return new FilteringPaginationIterator<>(pages, ResolvedReference::referenceInfo) {
 
       @Override
       protected String computeTokenForCurrent() {
-        Reference c = current();
-        return c != null ? tokenFor(c.name()) : null;
+        ResolvedReference c = current();
+        return c != null ? tokenFor(c.reference().name()) : null;
       }
 
       @Override
@@ -565,6 +613,15 @@ public class VersionStoreImpl implements VersionStore {
     };
   }
 
+  private static boolean requiresCommonAncestor(GetNamedRefsParams params) {
+    RetrieveOptions branches = params.getBranchRetrieveOptions();
+    RetrieveOptions tags = params.getTagRetrieveOptions();
+    return branches.isComputeAheadBehind()
+        || branches.isComputeCommonAncestor()
+        || tags.isComputeAheadBehind()
+        || tags.isComputeCommonAncestor();
+  }
+
   private ReferenceInfo<CommitMeta> buildReferenceInfo(
       GetNamedRefsParams params,
       Optional<CommitObj> baseRefHead,
@@ -678,8 +735,7 @@ public class VersionStoreImpl implements VersionStore {
     if (head == null) {
       return emptyList();
     }
-    IndexesLogic indexesLogic = indexesLogic(persist);
-    StoreIndex<CommitOp> index = indexesLogic.buildCompleteIndex(head, Optional.empty());
+    StoreIndex<CommitOp> index = completeIndexForRead(head);
 
     return keys.stream()
         .map(
@@ -714,15 +770,25 @@ public class VersionStoreImpl implements VersionStore {
     if (head == null) {
       return emptyOrNotFound(ref, PaginationIterator.empty());
     }
-    IndexesLogic indexesLogic = indexesLogic(persist);
-    StoreIndex<CommitOp> index = indexesLogic.buildCompleteIndex(head, Optional.empty());
-
+    StoreIndex<CommitOp> index = completeIndexForRead(head);
+
+    // The skip-scan uses a seekable iterator without read-ahead, so that only the index stripes
+    // that contain the keys being returned are loaded.
+    int skipScanDepth = keyRestrictions.skipScanDepth();
+    SeekableIndexIterator<CommitOp> seekable =
+        skipScanDepth > 0
+            ? index.seekableIterator(keyRanges.beginStoreKey(), keyRanges.endStoreKey())
+            : null;
     Iterator<StoreIndexElement<CommitOp>> result =
-        index.iterator(keyRanges.beginStoreKey(), keyRanges.endStoreKey(), false);
+        seekable != null
+            ? seekable
+            : index.iterator(
+                keyRanges.beginStoreKey(), keyRanges.endStoreKey(), GET_KEYS_READ_AHEAD_STRIPES);
     ContentMapping contentMapping = new ContentMapping(persist);
 
     BiPredicate<ContentKey, Content.Type> contentKeyPredicate =
         keyRestrictions.contentKeyPredicate();
+    Set<Content.Type> contentTypes = keyRestrictions.contentTypes();
 
     Predicate<StoreIndexElement<CommitOp>> stopPredicate;
     ContentKey prefixKey = keyRestrictions.prefixKey();
@@ -758,6 +824,12 @@ public class VersionStoreImpl implements VersionStore {
                 continue;
               }
 
+              if (contentTypes != null
+                  && !contentTypes.contains(
+                      contentTypeForPayload(indexElement.content().payload()))) {
+                continue;
+              }
+
               ContentKey key = storeKeyToKey(storeKey);
 
               if (contentKeyPredicate != null
@@ -766,57 +838,70 @@ public class VersionStoreImpl implements VersionStore {
                 continue;
               }
 
+              if (seekable != null && key.getElementCount() > skipScanDepth) {
+                // Skip all other keys below the same namespace at the skip-scan depth.
+                seekable.seek(
+                    keyToStoreKeyAfterChildren(key.getElements().subList(0, skipScanDepth)));
+              }
+
               return new ContentKeyWithCommitOp(storeKey, key, indexElement.content());
             }
           }
         };
 
     // "Fetch content" iterator - same as the "base" iterator when not fetching the content,
-    // fetches contents in batches if 'withContent == true'.
+    // fetches contents in batches if 'withContent == true', optionally pipelined.
+    int prefetchBatches = persist.config().getKeysContentPrefetchBatches();
     Iterator<ContentKeyWithCommitOp> fetchContent =
-        withContent
-            ? new AbstractIterator<>() {
-              final List<ContentKeyWithCommitOp> batch =
-                  new ArrayList<>(GET_KEYS_CONTENT_BATCH_SIZE);
-
-              Iterator<ContentKeyWithCommitOp> current;
-
-              @CheckForNull
-              @Override
-              protected ContentKeyWithCommitOp computeNext() {
-                Iterator<ContentKeyWithCommitOp> c = current;
-                if (c != null && c.hasNext()) {
-                  return c.next();
-                }
-
-                for (int i = 0; i < GET_KEYS_CONTENT_BATCH_SIZE; i++) {
-                  if (!keyAndOp.hasNext()) {
-                    break;
-                  }
-                  batch.add(keyAndOp.next());
-                }
-
-                if (batch.isEmpty()) {
-                  current = null;
-                  return endOfData();
-                }
-
-                try {
-                  Map<ContentKey, Content> contents =
-                      contentMapping.fetchContents(
-                          index, batch.stream().map(op -> op.key).collect(Collectors.toList()));
-                  for (ContentKeyWithCommitOp op : batch) {
-                    op.content = contents.get(op.key);
+        !withContent
+            ? keyAndOp
+            : prefetchBatches > 0
+                ? new PrefetchingContentIterator(
+                    keyAndOp,
+                    contentMapping,
+                    prefetchBatches,
+                    persist.config().getKeysContentMaxBatchSize())
+                : new AbstractIterator<>() {
+                  final List<ContentKeyWithCommitOp> batch =
+                      new ArrayList<>(GET_KEYS_CONTENT_BATCH_SIZE);
+
+                  Iterator<ContentKeyWithCommitOp> current;
+
+                  @CheckForNull
+                  @Override
+                  protected ContentKeyWithCommitOp computeNext() {
+                    Iterator<ContentKeyWithCommitOp> c = current;
+                    if (c != null && c.hasNext()) {
+                      return c.next();
+                    }
+
+                    for (int i = 0; i < GET_KEYS_CONTENT_BATCH_SIZE; i++) {
+                      if (!keyAndOp.hasNext()) {
+                        break;
+                      }
+                      batch.add(keyAndOp.next());
+                    }
+
+                    if (batch.isEmpty()) {
+                      current = null;
+                      return endOfData();
+                    }
+
+                    try {
+                      Map<ContentKey, Content> contents =
+                          contentMapping.fetchContents(
+                              index, batch.stream().map(op -> op.key).collect(Collectors.toList()));
+                      for (ContentKeyWithCommitOp op : batch) {
+                        op.content = contents.get(op.key);
+                      }
+                    } catch (ObjNotFoundException e) {
+                      throw new RuntimeException("Could not fetch or map content", e);
+                    }
+                    current = new ArrayList<>(batch).iterator();
+                    batch.clear();
+                    return current.next();
                   }
-                } catch (ObjNotFoundException e) {
-                  throw new RuntimeException("Could not fetch or map content", e);
-                }
-                current = new ArrayList<>(batch).iterator();
-                batch.clear();
-                return current.next();
-              }
-            }
-            : keyAndOp;
+                };
 
     // "Final" iterator, adding functionality for paging. Needs to be a separate instance, because
     // we cannot use the "base" iterator to provide the token for the "current" entry.
@@ -901,8 +986,7 @@ public class VersionStoreImpl implements VersionStore {
     try {
 
       StoreKey storeKey = keyToStoreKey(key);
-      IndexesLogic indexesLogic = indexesLogic(persist);
-      StoreIndex<CommitOp> index = indexesLogic.buildCompleteIndex(head, Optional.empty());
+      StoreIndex<CommitOp> index = completeIndexForRead(head);
 
       index.loadIfNecessary(singleton(storeKey));
 
@@ -983,11 +1067,8 @@ public class VersionStoreImpl implements VersionStore {
     CommitObj head = refMapping.resolveRefHead(ref);
 
     try {
-      IndexesLogic indexesLogic = indexesLogic(persist);
       StoreIndex<CommitOp> index =
-          head != null
-              ? indexesLogic.buildCompleteIndex(head, Optional.empty())
-              : emptyImmutableIndex(COMMIT_OP_SERIALIZER);
+          head != null ? completeIndexForRead(head) : emptyImmutableIndex(COMMIT_OP_SERIALIZER);
 
       ContentMapping contentMapping = new ContentMapping(persist);
       Map<ContentKey, Content> fetched = contentMapping.fetchContents(index, keys);
@@ -1021,6 +1102,10 @@ public class VersionStoreImpl implements VersionStore {
       @Nonnull CommitValidator validator,
       @Nonnull BiConsumer<ContentKey, String> addedContents)
       throws ReferenceNotFoundException, ReferenceConflictException {
+    if (commitSequencer != null) {
+      return commitSequencer.commit(
+          branch, referenceHash, metadata, operations, validator, addedContents);
+    }
     return committingOperation(
         "commit",
         branch,
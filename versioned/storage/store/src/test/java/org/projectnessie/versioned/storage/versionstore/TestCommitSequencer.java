@@ -0,0 +1,204 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.versionstore;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.projectnessie.model.CommitMeta.fromMessage;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_COMMIT_SEQUENCER_ENABLED;
+
+import jakarta.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.model.ContentKey;
+import org.projectnessie.model.IcebergTable;
+import org.projectnessie.model.Operation.Put;
+import org.projectnessie.versioned.BranchName;
+import org.projectnessie.versioned.Commit;
+import org.projectnessie.versioned.CommitResult;
+import org.projectnessie.versioned.Hash;
+import org.projectnessie.versioned.ReferenceConflictException;
+import org.projectnessie.versioned.VersionStore;
+import org.projectnessie.versioned.storage.common.exceptions.RefConditionFailedException;
+import org.projectnessie.versioned.storage.common.exceptions.RefNotFoundException;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.common.persist.Reference;
+import org.projectnessie.versioned.storage.testextension.NessiePersist;
+import org.projectnessie.versioned.storage.testextension.NessieStoreConfig;
+import org.projectnessie.versioned.storage.testextension.PersistExtension;
+
+@ExtendWith({PersistExtension.class, SoftAssertionsExtension.class})
+public class TestCommitSequencer {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  @NessiePersist
+  @NessieStoreConfig(name = CONFIG_COMMIT_SEQUENCER_ENABLED, value = "true")
+  protected Persist persist;
+
+  /**
+   * Blocks the first reference-pointer bump until released, so that the concurrently submitted
+   * commits queue up behind it.
+   */
+  static final class BlockingPersist extends PersistDelegate {
+    final CountDownLatch entered = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final AtomicInteger bumps = new AtomicInteger();
+
+    BlockingPersist(Persist delegate) {
+      super(delegate);
+    }
+
+    @Nonnull
+    @Override
+    public Reference updateReferencePointer(
+        @Nonnull Reference reference, @Nonnull ObjId newPointer)
+        throws RefNotFoundException, RefConditionFailedException {
+      if (bumps.incrementAndGet() == 1) {
+        entered.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          throw new RuntimeException(e);
+        }
+      }
+      return super.updateReferencePointer(reference, newPointer);
+    }
+  }
+
+  @Test
+  public void queuedCommitsAreAppliedAsOneGroup() throws Exception {
+    VersionStore store = new VersionStoreImpl(persist);
+    BranchName branch = BranchName.of("grouped");
+    Hash initial = store.create(branch, Optional.empty()).getHash();
+
+    BlockingPersist blocking = new BlockingPersist(persist);
+    CommitSequencer sequencer = new CommitSequencer(blocking);
+
+    int numQueued = 4;
+    ExecutorService executor = Executors.newFixedThreadPool(numQueued + 1);
+    try {
+      Future<CommitResult> first = executor.submit(() -> commit(sequencer, branch, initial, 0));
+      soft.assertThat(blocking.entered.await(30, TimeUnit.SECONDS)).isTrue();
+
+      List<Future<CommitResult>> queued = new ArrayList<>();
+      for (int i = 1; i <= numQueued; i++) {
+        int n = i;
+        queued.add(executor.submit(() -> commit(sequencer, branch, initial, n)));
+      }
+      while (sequencer.queues.get(branch).pending.size() < numQueued) {
+        Thread.sleep(1L);
+      }
+
+      blocking.release.countDown();
+
+      Hash firstHash = first.get(30, TimeUnit.SECONDS).getCommitHash();
+      Map<Hash, Commit> byParent = new HashMap<>();
+      for (Future<CommitResult> future : queued) {
+        Commit commit = future.get(30, TimeUnit.SECONDS).getCommit();
+        byParent.put(commit.getParentHash(), commit);
+      }
+
+      // The queued commits form a chain on top of the first commit ...
+      Hash head = firstHash;
+      for (int i = 0; i < numQueued; i++) {
+        soft.assertThat(byParent).containsKey(head);
+        head = byParent.get(head).getHash();
+      }
+
+      // ... which has been applied with a single reference-pointer bump
+      soft.assertThat(blocking.bumps).hasValue(2);
+      soft.assertThat(store.hashOnReference(branch, Optional.empty(), emptyList()))
+          .isEqualTo(head);
+    } finally {
+      blocking.release.countDown();
+      executor.shutdown();
+      soft.assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+    }
+    soft.assertThat(sequencer.queues).isEmpty();
+  }
+
+  @Test
+  public void conflictingCommitFailsIndividually() throws Exception {
+    VersionStore store = new VersionStoreImpl(persist);
+    BranchName branch = BranchName.of("conflicting");
+    Hash initial = store.create(branch, Optional.empty()).getHash();
+
+    BlockingPersist blocking = new BlockingPersist(persist);
+    CommitSequencer sequencer = new CommitSequencer(blocking);
+
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    try {
+      Future<CommitResult> first = executor.submit(() -> commit(sequencer, branch, initial, 0));
+      soft.assertThat(blocking.entered.await(30, TimeUnit.SECONDS)).isTrue();
+
+      // Creates the same key as the first commit, based on the same expected hash
+      Future<CommitResult> conflicting =
+          executor.submit(() -> commit(sequencer, branch, initial, 0));
+      while (sequencer.queues.get(branch).pending.size() < 1) {
+        Thread.sleep(1L);
+      }
+      Future<CommitResult> other = executor.submit(() -> commit(sequencer, branch, initial, 1));
+      while (sequencer.queues.get(branch).pending.size() < 2) {
+        Thread.sleep(1L);
+      }
+
+      blocking.release.countDown();
+
+      Hash firstHash = first.get(30, TimeUnit.SECONDS).getCommitHash();
+      soft.assertThatThrownBy(() -> conflicting.get(30, TimeUnit.SECONDS))
+          .isInstanceOf(ExecutionException.class)
+          .hasCauseInstanceOf(ReferenceConflictException.class);
+      Commit otherCommit = other.get(30, TimeUnit.SECONDS).getCommit();
+      soft.assertThat(otherCommit.getParentHash()).isEqualTo(firstHash);
+
+      soft.assertThat(blocking.bumps).hasValue(2);
+      soft.assertThat(store.hashOnReference(branch, Optional.empty(), emptyList()))
+          .isEqualTo(otherCommit.getHash());
+    } finally {
+      blocking.release.countDown();
+      executor.shutdown();
+      soft.assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+    }
+  }
+
+  private static CommitResult commit(
+      CommitSequencer sequencer, BranchName branch, Hash expected, int num) throws Exception {
+    return sequencer.commit(
+        branch,
+        Optional.of(expected),
+        fromMessage("commit " + num),
+        singletonList(
+            Put.of(ContentKey.of("key-" + num), IcebergTable.of("meta-" + num, 42, 43, 44, 45))),
+        x -> {},
+        (k, c) -> {});
+  }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.versionstore;
+
+import static org.assertj.core.api.InstanceOfAssertFactories.list;
+import static org.assertj.core.api.InstanceOfAssertFactories.type;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.Action.ADD;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.commitOp;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+import static org.projectnessie.versioned.storage.versionstore.TypeMapping.keyToStoreKey;
+import static org.projectnessie.versioned.storage.versionstore.VersionStoreImpl.GET_KEYS_CONTENT_BATCH_SIZE;
+
+import jakarta.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.model.Content;
+import org.projectnessie.model.ContentKey;
+import org.projectnessie.model.IcebergTable;
+import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
+import org.projectnessie.versioned.storage.common.objtypes.ContentValueObj;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.ObjType;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.testextension.NessiePersist;
+import org.projectnessie.versioned.storage.testextension.PersistExtension;
+import org.projectnessie.versioned.storage.versionstore.VersionStoreImpl.ContentKeyWithCommitOp;
+
+@ExtendWith({PersistExtension.class, SoftAssertionsExtension.class})
+public class TestPrefetchingContentIterator {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  @NessiePersist protected Persist persist;
+
+  /** Completes the asynchronous fetches with a delay, so that the consumer has to wait. */
+  static final class SlowPersist extends PersistDelegate {
+    final AtomicInteger fetches = new AtomicInteger();
+
+    SlowPersist(Persist delegate) {
+      super(delegate);
+    }
+
+    @Nonnull
+    @Override
+    public <T extends Obj> CompletionStage<T[]> fetchTypedObjsIfExistAsync(
+        @Nonnull ObjId[] ids, ObjType type, @Nonnull Class<T> typeClass) {
+      fetches.incrementAndGet();
+      return CompletableFuture.supplyAsync(
+          () -> fetchTypedObjsIfExist(ids, type, typeClass),
+          CompletableFuture.delayedExecutor(20, TimeUnit.MILLISECONDS));
+    }
+  }
+
+  @Test
+  public void allContents() throws Exception {
+    List<ContentKeyWithCommitOp> ops = storeContents(persist, 500);
+    List<Content> expected = new ArrayList<>();
+    ops.forEach(op -> expected.add(op.content));
+    // Same content object for two keys
+    ops.add(withoutContent(ops.get(3), ContentKey.of("duplicate")));
+    expected.add(expected.get(3));
+    List<ContentKeyWithCommitOp> source = new ArrayList<>();
+    ops.forEach(op -> source.add(withoutContent(op, op.key)));
+
+    PrefetchingContentIterator iter =
+        new PrefetchingContentIterator(source.iterator(), new ContentMapping(persist), 2, 200);
+    List<Content> contents = new ArrayList<>();
+    iter.forEachRemaining(op -> contents.add(op.content));
+
+    soft.assertThat(contents).containsExactlyElementsOf(expected);
+    // fetches complete immediately, the batch size must not grow
+    soft.assertThat(iter.batchSize()).isEqualTo(GET_KEYS_CONTENT_BATCH_SIZE);
+  }
+
+  @Test
+  public void batchSizeGrowsWhileWaiting() throws Exception {
+    List<ContentKeyWithCommitOp> ops = storeContents(persist, 1000);
+    List<ContentKeyWithCommitOp> source = new ArrayList<>();
+    ops.forEach(op -> source.add(withoutContent(op, op.key)));
+
+    SlowPersist slow = new SlowPersist(persist);
+    PrefetchingContentIterator iter =
+        new PrefetchingContentIterator(source.iterator(), new ContentMapping(slow), 1, 200);
+    List<ContentKey> keys = new ArrayList<>();
+    iter.forEachRemaining(
+        op -> {
+          soft.assertThat(op.content).isNotNull();
+          keys.add(op.key);
+        });
+
+    soft.assertThat(keys).hasSize(ops.size());
+    soft.assertThat(iter.batchSize())
+        .isGreaterThan(GET_KEYS_CONTENT_BATCH_SIZE)
+        .isLessThanOrEqualTo(200);
+    soft.assertThat(slow.fetches.get()).isLessThan(ops.size() / GET_KEYS_CONTENT_BATCH_SIZE);
+  }
+
+  @Test
+  public void missingContent() throws Exception {
+    List<ContentKeyWithCommitOp> ops = storeContents(persist, 5);
+    List<ContentKeyWithCommitOp> source = new ArrayList<>();
+    ops.forEach(op -> source.add(withoutContent(op, op.key)));
+    ObjId missing = randomObjId();
+    ContentKey key = ContentKey.of("ns", "missing");
+    source.add(
+        new ContentKeyWithCommitOp(
+            keyToStoreKey(key), key, commitOp(ADD, 1, missing, UUID.randomUUID())));
+
+    PrefetchingContentIterator iter =
+        new PrefetchingContentIterator(source.iterator(), new ContentMapping(persist), 2, 200);
+    soft.assertThatThrownBy(iter::hasNext)
+        .isInstanceOf(RuntimeException.class)
+        .hasMessage("Could not fetch or map content")
+        .cause()
+        .isInstanceOf(ObjNotFoundException.class)
+        .asInstanceOf(type(ObjNotFoundException.class))
+        .extracting(ObjNotFoundException::objIds, list(ObjId.class))
+        .containsExactly(missing);
+  }
+
+  @Test
+  public void emptySource() {
+    PrefetchingContentIterator iter =
+        new PrefetchingContentIterator(
+            new ArrayList<ContentKeyWithCommitOp>().iterator(), new ContentMapping(persist), 2, 0);
+    soft.assertThat(iter.hasNext()).isFalse();
+  }
+
+  private static List<ContentKeyWithCommitOp> storeContents(Persist persist, int num)
+      throws Exception {
+    ContentMapping contentMapping = new ContentMapping(persist);
+    List<ContentKeyWithCommitOp> ops = new ArrayList<>();
+    for (int i = 0; i < num; i++) {
+      ContentKey key = ContentKey.of("ns", "table-" + i);
+      IcebergTable table =
+          IcebergTable.of("meta-" + i, 42, 43, 44, 45, UUID.randomUUID().toString());
+      ContentValueObj value = contentMapping.buildContent(table, 1);
+      persist.storeObj(value);
+      ContentKeyWithCommitOp op =
+          new ContentKeyWithCommitOp(
+              keyToStoreKey(key),
+              key,
+              commitOp(ADD, 1, value.id(), UUID.fromString(table.getId())));
+      op.content = table;
+      ops.add(op);
+    }
+    return ops;
+  }
+
+  private static ContentKeyWithCommitOp withoutContent(ContentKeyWithCommitOp op, ContentKey key) {
+    return new ContentKeyWithCommitOp(keyToStoreKey(key), key, op.commitOp);
+  }
+}
@@ -15,15 +15,21 @@
  */
 package org.projectnessie.versioned.storage.versionstore;
 
+import static com.google.common.collect.Lists.newArrayList;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 import static org.projectnessie.model.CommitMeta.fromMessage;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_COMMIT_RETRIES;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_COMMIT_TIMEOUT_MILLIS;
+import static org.projectnessie.versioned.storage.versionstore.ReferenceInfoPages.PAGE_SIZE;
 
 import jakarta.annotation.Nonnull;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
@@ -34,15 +40,20 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.projectnessie.model.CommitMeta;
 import org.projectnessie.model.ContentKey;
 import org.projectnessie.model.IcebergTable;
 import org.projectnessie.model.Operation.Put;
 import org.projectnessie.versioned.BranchName;
+import org.projectnessie.versioned.GetNamedRefsParams;
+import org.projectnessie.versioned.GetNamedRefsParams.RetrieveOptions;
 import org.projectnessie.versioned.Hash;
 import org.projectnessie.versioned.ReferenceConflictException;
+import org.projectnessie.versioned.ReferenceInfo;
 import org.projectnessie.versioned.ReferenceNotFoundException;
 import org.projectnessie.versioned.ReferenceRetryFailureException;
 import org.projectnessie.versioned.VersionStore;
+import org.projectnessie.versioned.paging.PaginationIterator;
 import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
 import org.projectnessie.versioned.storage.common.exceptions.RefConditionFailedException;
 import org.projectnessie.versioned.storage.common.exceptions.RefNotFoundException;
@@ -64,6 +75,84 @@ public class TestVersionStoreImpl extends AbstractVersionStoreTests {
     return ValidatingVersionStoreImpl.of(soft, persist);
   }
 
+  @Test
+  public void namedRefsWithExecutor() throws Exception {
+    VersionStore store = new VersionStoreImpl(persist);
+
+    BranchName base = BranchName.of("named-refs-base");
+    Hash baseHead = store.create(base, Optional.empty()).getHash();
+    baseHead =
+        store
+            .commit(
+                base,
+                Optional.of(baseHead),
+                fromMessage("base commit"),
+                singletonList(
+                    Put.of(ContentKey.of("base-key"), IcebergTable.of("meta", 42, 43, 44, 45))))
+            .getCommitHash();
+
+    // More than two pages of references, some of them ahead of the base reference
+    int numBranches = PAGE_SIZE * 2 + 7;
+    for (int i = 0; i < numBranches; i++) {
+      BranchName branch = BranchName.of("named-refs-" + i);
+      Hash head = store.create(branch, Optional.of(baseHead)).getHash();
+      if (i % 3 == 0) {
+        store.commit(
+            branch,
+            Optional.of(head),
+            fromMessage("commit " + i),
+            singletonList(
+                Put.of(ContentKey.of("key-" + i), IcebergTable.of("meta", 42, 43, 44, 45))));
+      }
+    }
+
+    GetNamedRefsParams params =
+        GetNamedRefsParams.builder()
+            .baseReference(base)
+            .branchRetrieveOptions(RetrieveOptions.BASE_REFERENCE_RELATED_AND_COMMIT_META)
+            .tagRetrieveOptions(RetrieveOptions.OMIT)
+            .build();
+
+    List<ReferenceInfo<CommitMeta>> expected;
+    try (PaginationIterator<ReferenceInfo<CommitMeta>> refs = store.getNamedRefs(params, null)) {
+      expected = newArrayList(refs);
+    }
+    soft.assertThat(expected)
+        .filteredOn(r -> r.getNamedRef().getName().matches("named-refs-[0-9]+"))
+        .hasSize(numBranches);
+    soft.assertThat(expected)
+        .filteredOn(r -> r.getNamedRef().getName().equals("named-refs-3"))
+        .singleElement()
+        .satisfies(r -> soft.assertThat(r.getAheadBehind().getAhead()).isEqualTo(1));
+
+    ExecutorService pool = Executors.newFixedThreadPool(4);
+    try {
+      AtomicInteger tasks = new AtomicInteger();
+      Executor executor =
+          r -> {
+            tasks.incrementAndGet();
+            pool.execute(r);
+          };
+      VersionStore parallel = new VersionStoreImpl(persist, executor);
+
+      try (PaginationIterator<ReferenceInfo<CommitMeta>> refs =
+          parallel.getNamedRefs(params, null)) {
+        soft.assertThat(newArrayList(refs)).containsExactlyElementsOf(expected);
+      }
+      soft.assertThat(tasks.get()).isGreaterThanOrEqualTo(numBranches);
+
+      // The executor is only used if building a ReferenceInfo requires database round-trips
+      tasks.set(0);
+      try (PaginationIterator<ReferenceInfo<CommitMeta>> refs =
+          parallel.getNamedRefs(GetNamedRefsParams.DEFAULT, null)) {
+        soft.assertThat(newArrayList(refs)).hasSize(expected.size());
+      }
+      soft.assertThat(tasks).hasValue(0);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
   @Test
   public void commitWithInfiniteConcurrentConflict(
       @NessieStoreConfig(name = CONFIG_COMMIT_RETRIES, value = "3")
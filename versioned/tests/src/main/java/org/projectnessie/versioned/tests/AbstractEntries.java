@@ -157,6 +157,62 @@ public abstract class AbstractEntries extends AbstractNestedVersionStore {
         .containsExactlyInAnyOrder(key2, key2a, key2b, key2c, key2d, key23, key23a, key23b);
   }
 
+  @Test
+  public void entriesSkipScan() throws Exception {
+    BranchName branch = BranchName.of("foo");
+    ContentKey key1 = ContentKey.of("k1");
+    ContentKey key2 = ContentKey.of("k2");
+    ContentKey key2a = ContentKey.of("k2", "a");
+    ContentKey key2b = ContentKey.of("k2", "aπ"); // UNICODE CHAR
+    ContentKey key2c = ContentKey.of("k2", "πa"); // UNICODE CHAR, This is GREATER than k2.k3 !
+    ContentKey key2d = ContentKey.of("k2", "aa");
+    ContentKey key23 = ContentKey.of("k2", "k3");
+    ContentKey key23a = ContentKey.of("k2", "k3", "a");
+    ContentKey key23b = ContentKey.of("k2", "k3", "b");
+    ContentKey key3 = ContentKey.of("k3");
+    store().create(branch, Optional.empty()).getHash();
+    Hash initialCommit =
+        commit("Initial Commit")
+            .put(key1, newOnRef("v1"))
+            .put(key2, Namespace.of(key2))
+            .put(key23, Namespace.of(key23))
+            .put(key2a, newOnRef("v2a"))
+            .put(key2b, newOnRef("v2b"))
+            .put(key2c, newOnRef("v2c"))
+            .put(key2d, newOnRef("v2d"))
+            .put(key23a, newOnRef("v23a"))
+            .put(key23b, newOnRef("v23b"))
+            .put(key3, newOnRef("v3"))
+            .toBranch(branch);
+
+    soft.assertThat(keysAsList(initialCommit, KeyRestrictions.builder().skipScanDepth(1).build()))
+        .map(e -> e.getKey().contentKey())
+        .containsExactly(key1, key2, key2a, key3);
+    soft.assertThat(keysAsList(initialCommit, KeyRestrictions.builder().skipScanDepth(2).build()))
+        .map(e -> e.getKey().contentKey())
+        .containsExactly(key1, key2, key2a, key2d, key2b, key23, key23a, key2c, key3);
+    soft.assertThat(
+            keysAsList(
+                initialCommit,
+                KeyRestrictions.builder()
+                    .skipScanDepth(1)
+                    .contentKeyPredicate((k, t) -> !k.equals(key2a))
+                    .build()))
+        .map(e -> e.getKey().contentKey())
+        .containsExactly(key1, key2, key2d, key3);
+    soft.assertThat(
+            keysAsList(
+                initialCommit, KeyRestrictions.builder().skipScanDepth(1).prefixKey(key2).build()))
+        .map(e -> e.getKey().contentKey())
+        .containsExactly(key2, key2a);
+    soft.assertThat(
+            keysAsList(
+                initialCommit,
+                KeyRestrictions.builder().skipScanDepth(2).minKey(key23).maxKey(key2c).build()))
+        .map(e -> e.getKey().contentKey())
+        .containsExactly(key23, key23a, key2c);
+  }
+
   List<KeyEntry> keysAsList(Ref ref, KeyRestrictions keyRestrictions) throws Exception {
     try (PaginationIterator<KeyEntry> keys = store().getKeys(ref, null, false, keyRestrictions)) {
       return newArrayList(keys);